@@ -77,6 +77,36 @@ public class EventBusOptionsConverter {
             obj.setClusterNodeMetadata(((JsonObject)member.getValue()).copy());
           }
           break;
+        case "clusterWriteBatching":
+          if (member.getValue() instanceof Boolean) {
+            obj.setClusterWriteBatching((Boolean)member.getValue());
+          }
+          break;
+        case "clusterWriteBatchMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterWriteBatchMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clusterWriteBatchMaxLinger":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterWriteBatchMaxLinger(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "clusterZeroCopyDecoding":
+          if (member.getValue() instanceof Boolean) {
+            obj.setClusterZeroCopyDecoding((Boolean)member.getValue());
+          }
+          break;
+        case "clusterCompactWireFormat":
+          if (member.getValue() instanceof Boolean) {
+            obj.setClusterCompactWireFormat((Boolean)member.getValue());
+          }
+          break;
+        case "clusterConnectionsPerNode":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterConnectionsPerNode(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -107,5 +137,11 @@ public class EventBusOptionsConverter {
     if (obj.getClusterNodeMetadata() != null) {
       json.put("clusterNodeMetadata", obj.getClusterNodeMetadata());
     }
+    json.put("clusterWriteBatching", obj.isClusterWriteBatching());
+    json.put("clusterWriteBatchMaxSize", obj.getClusterWriteBatchMaxSize());
+    json.put("clusterWriteBatchMaxLinger", obj.getClusterWriteBatchMaxLinger());
+    json.put("clusterZeroCopyDecoding", obj.isClusterZeroCopyDecoding());
+    json.put("clusterCompactWireFormat", obj.isClusterCompactWireFormat());
+    json.put("clusterConnectionsPerNode", obj.getClusterConnectionsPerNode());
   }
 }
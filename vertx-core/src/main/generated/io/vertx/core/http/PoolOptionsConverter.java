@@ -52,6 +52,31 @@ public class PoolOptionsConverter {
             obj.setMaxWaitQueueSize(((Number)member.getValue()).intValue());
           }
           break;
+        case "sharded":
+          if (member.getValue() instanceof Boolean) {
+            obj.setSharded((Boolean)member.getValue());
+          }
+          break;
+        case "minIdle":
+          if (member.getValue() instanceof Number) {
+            obj.setMinIdle(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "warmup":
+          if (member.getValue() instanceof Boolean) {
+            obj.setWarmup((Boolean)member.getValue());
+          }
+          break;
+        case "adaptiveConcurrencyLimit":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAdaptiveConcurrencyLimit((Boolean)member.getValue());
+          }
+          break;
+        case "maxConcurrencyLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxConcurrencyLimit(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -71,5 +96,10 @@ public class PoolOptionsConverter {
     json.put("cleanerPeriod", obj.getCleanerPeriod());
     json.put("eventLoopSize", obj.getEventLoopSize());
     json.put("maxWaitQueueSize", obj.getMaxWaitQueueSize());
+    json.put("sharded", obj.isSharded());
+    json.put("minIdle", obj.getMinIdle());
+    json.put("warmup", obj.isWarmup());
+    json.put("adaptiveConcurrencyLimit", obj.isAdaptiveConcurrencyLimit());
+    json.put("maxConcurrencyLimit", obj.getMaxConcurrencyLimit());
   }
 }
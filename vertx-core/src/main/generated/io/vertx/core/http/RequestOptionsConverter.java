@@ -47,6 +47,16 @@ public class RequestOptionsConverter {
             obj.setRoutingKey((String)member.getValue());
           }
           break;
+        case "hedgingDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgingDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "hedgingPercentile":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgingPercentile(((Number)member.getValue()).doubleValue());
+          }
+          break;
       }
     }
   }
@@ -70,5 +80,7 @@ public class RequestOptionsConverter {
     if (obj.getRoutingKey() != null) {
       json.put("routingKey", obj.getRoutingKey());
     }
+    json.put("hedgingDelay", obj.getHedgingDelay());
+    json.put("hedgingPercentile", obj.getHedgingPercentile());
   }
 }
@@ -0,0 +1,67 @@
+package io.vertx.core.net.endpoint;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.core.net.endpoint.OutlierDetectionOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.core.net.endpoint.OutlierDetectionOptions} original class using Vert.x codegen.
+ */
+public class OutlierDetectionOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, OutlierDetectionOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "consecutiveFailures":
+          if (member.getValue() instanceof Number) {
+            obj.setConsecutiveFailures(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "failureRateThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setFailureRateThreshold(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "failureRateMinimumRequests":
+          if (member.getValue() instanceof Number) {
+            obj.setFailureRateMinimumRequests(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "interval":
+          if (member.getValue() instanceof Number) {
+            obj.setInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "baseEjectionTime":
+          if (member.getValue() instanceof Number) {
+            obj.setBaseEjectionTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxEjectionTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEjectionTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxEjectionPercent":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEjectionPercent(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(OutlierDetectionOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(OutlierDetectionOptions obj, java.util.Map<String, Object> json) {
+    json.put("consecutiveFailures", obj.getConsecutiveFailures());
+    json.put("failureRateThreshold", obj.getFailureRateThreshold());
+    json.put("failureRateMinimumRequests", obj.getFailureRateMinimumRequests());
+    json.put("interval", obj.getInterval());
+    json.put("baseEjectionTime", obj.getBaseEjectionTime());
+    json.put("maxEjectionTime", obj.getMaxEjectionTime());
+    json.put("maxEjectionPercent", obj.getMaxEjectionPercent());
+  }
+}
@@ -0,0 +1,37 @@
+package io.vertx.core.shareddata;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.core.shareddata.LocalAsyncMapOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.core.shareddata.LocalAsyncMapOptions} original class using Vert.x codegen.
+ */
+public class LocalAsyncMapOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, LocalAsyncMapOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxEntries":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEntries(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxWeight":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxWeight(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(LocalAsyncMapOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(LocalAsyncMapOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxEntries", obj.getMaxEntries());
+    json.put("maxWeight", obj.getMaxWeight());
+  }
+}
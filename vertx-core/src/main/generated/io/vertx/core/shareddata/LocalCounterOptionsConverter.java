@@ -0,0 +1,31 @@
+package io.vertx.core.shareddata;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.core.shareddata.LocalCounterOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.core.shareddata.LocalCounterOptions} original class using Vert.x codegen.
+ */
+public class LocalCounterOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, LocalCounterOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "striped":
+          if (member.getValue() instanceof Boolean) {
+            obj.setStriped((Boolean)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(LocalCounterOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(LocalCounterOptions obj, java.util.Map<String, Object> json) {
+    json.put("striped", obj.isStriped());
+  }
+}
@@ -61,11 +61,47 @@ public class EventBusOptions extends TCPSSLOptions {
    */
   public static final long DEFAULT_CLUSTER_PING_REPLY_INTERVAL = TimeUnit.SECONDS.toMillis(20);
 
+  /**
+   * The default value of cluster write batching = false
+   */
+  public static final boolean DEFAULT_CLUSTER_WRITE_BATCHING = false;
+
+  /**
+   * The default value of cluster write batch max size = 65536 bytes
+   */
+  public static final int DEFAULT_CLUSTER_WRITE_BATCH_MAX_SIZE = 64 * 1024;
+
+  /**
+   * The default value of cluster write batch max linger = 0 ms, which means a batch is flushed at the end of the current event-loop tick
+   */
+  public static final long DEFAULT_CLUSTER_WRITE_BATCH_MAX_LINGER = 0L;
+
+  /**
+   * The default value of cluster zero-copy decoding = false
+   */
+  public static final boolean DEFAULT_CLUSTER_ZERO_COPY_DECODING = false;
+
+  /**
+   * The default value of cluster compact wire format = false
+   */
+  public static final boolean DEFAULT_CLUSTER_COMPACT_WIRE_FORMAT = false;
+
+  /**
+   * The default number of connections per cluster node = 1
+   */
+  public static final int DEFAULT_CLUSTER_CONNECTIONS_PER_NODE = 1;
+
   private String clusterPublicHost = DEFAULT_CLUSTER_PUBLIC_HOST;
   private int clusterPublicPort = DEFAULT_CLUSTER_PUBLIC_PORT;
   private long clusterPingInterval = DEFAULT_CLUSTER_PING_INTERVAL;
   private long clusterPingReplyInterval = DEFAULT_CLUSTER_PING_REPLY_INTERVAL;
   private JsonObject clusterNodeMetadata;
+  private boolean clusterWriteBatching = DEFAULT_CLUSTER_WRITE_BATCHING;
+  private int clusterWriteBatchMaxSize = DEFAULT_CLUSTER_WRITE_BATCH_MAX_SIZE;
+  private long clusterWriteBatchMaxLinger = DEFAULT_CLUSTER_WRITE_BATCH_MAX_LINGER;
+  private boolean clusterZeroCopyDecoding = DEFAULT_CLUSTER_ZERO_COPY_DECODING;
+  private boolean clusterCompactWireFormat = DEFAULT_CLUSTER_COMPACT_WIRE_FORMAT;
+  private int clusterConnectionsPerNode = DEFAULT_CLUSTER_CONNECTIONS_PER_NODE;
 
   // Attributes used to configure the server of the event bus when the event bus is clustered.
 
@@ -143,6 +179,12 @@ public class EventBusOptions extends TCPSSLOptions {
     this.clusterPingInterval = other.clusterPingInterval;
     this.clusterPingReplyInterval = other.clusterPingReplyInterval;
     this.clusterNodeMetadata = other.clusterNodeMetadata == null ? null : other.clusterNodeMetadata.copy();
+    this.clusterWriteBatching = other.clusterWriteBatching;
+    this.clusterWriteBatchMaxSize = other.clusterWriteBatchMaxSize;
+    this.clusterWriteBatchMaxLinger = other.clusterWriteBatchMaxLinger;
+    this.clusterZeroCopyDecoding = other.clusterZeroCopyDecoding;
+    this.clusterCompactWireFormat = other.clusterCompactWireFormat;
+    this.clusterConnectionsPerNode = other.clusterConnectionsPerNode;
 
     this.port = other.port;
     this.host = other.host;
@@ -654,4 +696,151 @@ public class EventBusOptions extends TCPSSLOptions {
     this.clusterNodeMetadata = clusterNodeMetadata;
     return this;
   }
+
+  /**
+   * @return whether messages written to other cluster nodes are batched
+   */
+  public boolean isClusterWriteBatching() {
+    return clusterWriteBatching;
+  }
+
+  /**
+   * Set whether messages written to other cluster nodes are batched.
+   * <p>
+   * When batching is enabled, the messages sent to a node are encoded into a single pooled buffer and written to the
+   * cluster connection at once, instead of one buffer and one write per message. A batch is flushed when it reaches
+   * {@link #getClusterWriteBatchMaxSize()} bytes or after {@link #getClusterWriteBatchMaxLinger()} ms.
+   * <p>
+   * The default value is {@code false}.
+   *
+   * @param clusterWriteBatching {@code true} to batch writes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterWriteBatching(boolean clusterWriteBatching) {
+    this.clusterWriteBatching = clusterWriteBatching;
+    return this;
+  }
+
+  /**
+   * @return the maximum size of a batch of messages written to another cluster node, in bytes
+   */
+  public int getClusterWriteBatchMaxSize() {
+    return clusterWriteBatchMaxSize;
+  }
+
+  /**
+   * Set the maximum size of a batch of messages written to another cluster node, in bytes. When the batch reaches
+   * this size it is flushed immediately.
+   *
+   * @param clusterWriteBatchMaxSize the maximum batch size, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterWriteBatchMaxSize(int clusterWriteBatchMaxSize) {
+    if (clusterWriteBatchMaxSize < 1) {
+      throw new IllegalArgumentException("clusterWriteBatchMaxSize must be greater than 0");
+    }
+    this.clusterWriteBatchMaxSize = clusterWriteBatchMaxSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum time a batch of messages is kept before being written to another cluster node, in ms
+   */
+  public long getClusterWriteBatchMaxLinger() {
+    return clusterWriteBatchMaxLinger;
+  }
+
+  /**
+   * Set the maximum time a batch of messages is kept before being written to another cluster node, in ms.
+   * <p>
+   * The default value is {@code 0} which means the batch is flushed at the end of the current event-loop tick.
+   *
+   * @param clusterWriteBatchMaxLinger the maximum linger time, in ms
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterWriteBatchMaxLinger(long clusterWriteBatchMaxLinger) {
+    if (clusterWriteBatchMaxLinger < 0) {
+      throw new IllegalArgumentException("clusterWriteBatchMaxLinger must be >= 0");
+    }
+    this.clusterWriteBatchMaxLinger = clusterWriteBatchMaxLinger;
+    return this;
+  }
+
+  /**
+   * @return whether messages received from other cluster nodes are decoded from the network buffers without copy
+   */
+  public boolean isClusterZeroCopyDecoding() {
+    return clusterZeroCopyDecoding;
+  }
+
+  /**
+   * Set whether messages received from other cluster nodes are decoded from the network buffers without copy.
+   * <p>
+   * When enabled, each received message holds a reference-counted slice of the pooled network buffer instead of
+   * a copy of its frame. The headers and the body are still decoded lazily from the slice, the slice is released
+   * once the body is decoded or the message handler returns, what remains to decode is then decoded. When many
+   * received messages are waiting in paused or slow consumers, the next frames are copied instead.
+   * <p>
+   * Custom {@link MessageCodec} must not retain the wire buffer passed to {@link MessageCodec#decodeFromWire(int, Buffer)}
+   * when this is enabled.
+   * <p>
+   * The default value is {@code false}.
+   *
+   * @param clusterZeroCopyDecoding {@code true} to decode messages without copy
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterZeroCopyDecoding(boolean clusterZeroCopyDecoding) {
+    this.clusterZeroCopyDecoding = clusterZeroCopyDecoding;
+    return this;
+  }
+
+  /**
+   * @return whether the compact wire format is requested when connecting to other cluster nodes
+   */
+  public boolean isClusterCompactWireFormat() {
+    return clusterCompactWireFormat;
+  }
+
+  /**
+   * Set whether the compact wire format is requested when connecting to other cluster nodes.
+   * <p>
+   * The compact wire format is negotiated for each connection, addresses, codec names and node ids are sent once
+   * and then referenced by a small integer id in the following messages. Nodes that do not support it keep
+   * receiving the regular wire format.
+   * <p>
+   * The default value is {@code false}.
+   *
+   * @param clusterCompactWireFormat {@code true} to request the compact wire format
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterCompactWireFormat(boolean clusterCompactWireFormat) {
+    this.clusterCompactWireFormat = clusterCompactWireFormat;
+    return this;
+  }
+
+  /**
+   * @return the number of connections opened to each other cluster node
+   */
+  public int getClusterConnectionsPerNode() {
+    return clusterConnectionsPerNode;
+  }
+
+  /**
+   * Set the number of connections opened to each other cluster node.
+   * <p>
+   * Messages are spread over the connections by address, so the messages sent to an address are kept in order.
+   * The connections are assigned to different event-loops.
+   * <p>
+   * The default value is {@code 1}.
+   *
+   * @param clusterConnectionsPerNode the number of connections per node
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterConnectionsPerNode(int clusterConnectionsPerNode) {
+    if (clusterConnectionsPerNode < 1) {
+      throw new IllegalArgumentException("clusterConnectionsPerNode must be greater than 0");
+    }
+    this.clusterConnectionsPerNode = clusterConnectionsPerNode;
+    return this;
+  }
 }
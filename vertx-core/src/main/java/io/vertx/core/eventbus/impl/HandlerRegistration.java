@@ -101,6 +101,7 @@ public abstract class HandlerRegistration<T> implements Closeable {
     } else {
       dispatch(context, message, processor);
     }
+    message.release();
   }
 
   private void dispatch(ContextInternal ctx, MessageImpl<?, T> message, Function<Message<T>, Future<?>> processor) {
@@ -157,6 +158,7 @@ public abstract class HandlerRegistration<T> implements Closeable {
     if (replyAddress != null) {
       msg.reply(new ReplyException(ReplyFailure.TIMEOUT, "Discarded the request. address: " + replyAddress + ", repliedAddress: " + msg.address()));
     }
+    ((MessageImpl)msg).discard();
   }
 
   @Override
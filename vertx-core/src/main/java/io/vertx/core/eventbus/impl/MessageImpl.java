@@ -71,6 +71,21 @@ public class MessageImpl<U, V> implements Message<V> {
     return new MessageImpl<>(this);
   }
 
+  /**
+   * Release the resources held by this message after it has been handled or discarded, the message must remain
+   * usable after this call.
+   */
+  protected void release() {
+  }
+
+  /**
+   * Release the resources held by this message after it has been discarded, the body of the message might no longer
+   * be available after this call.
+   */
+  protected void discard() {
+    release();
+  }
+
   @Override
   public String address() {
     return address;
@@ -57,6 +57,7 @@ public final class ClusteredEventBus extends EventBusImpl {
   private final NodeSelector nodeSelector;
   private final AtomicLong handlerSequence = new AtomicLong(0);
   private final NetClient client;
+  private final int connectionsPerNode;
 
   private final ConcurrentMap<String, OutboundConnection> outboundConnections = new ConcurrentHashMap<>();
   private final ContextInternal context;
@@ -80,6 +81,7 @@ public final class ClusteredEventBus extends EventBusImpl {
       .withCloseFuture(new CloseFuture())
       .build();
     this.client = client;
+    this.connectionsPerNode = this.options.getClusterConnectionsPerNode();
   }
 
   CodecManager codecManager() {
@@ -142,7 +144,13 @@ public final class ClusteredEventBus extends EventBusImpl {
     server.connectHandler(socket -> {
       InboundConnection inboundConnection = new InboundConnection(this, socket);
       inboundConnection.handler(this::deliverMessageLocally);
-      socket.handler(inboundConnection);
+      if (options.isClusterZeroCopyDecoding()) {
+        NetSocketInternal soi = (NetSocketInternal) socket;
+        soi.messageHandler(inboundConnection::handleMessage);
+        soi.closeHandler(v -> inboundConnection.handleClose());
+      } else {
+        socket.handler(inboundConnection);
+      }
     });
     int port = getClusterPort();
     String host = getClusterHost();
@@ -342,15 +350,27 @@ public final class ClusteredEventBus extends EventBusImpl {
   }
 
   private void sendRemote(String remoteNodeId, MessageImpl<?, ?> message, Promise<Void> writePromise) {
-    OutboundConnection outboundConnection = getOutboundConnection(remoteNodeId);
+    OutboundConnection outboundConnection = getOutboundConnection(remoteNodeId, connectionIndex(message.address()));
     outboundConnection.writeMessage(message, writePromise);
   }
 
-  private OutboundConnection getOutboundConnection(String remoteNodeId) {
-    OutboundConnection conn = outboundConnections.get(remoteNodeId);
+  /**
+   * Messages are spread over the connections to a node by address, so the ordering of the messages sent to an
+   * address is preserved.
+   */
+  private int connectionIndex(String address) {
+    if (connectionsPerNode == 1) {
+      return 0;
+    }
+    return (address.hashCode() & 0x7FFFFFFF) % connectionsPerNode;
+  }
+
+  private OutboundConnection getOutboundConnection(String remoteNodeId, int index) {
+    String key = index == 0 ? remoteNodeId : remoteNodeId + '#' + index;
+    OutboundConnection conn = outboundConnections.get(key);
     if (conn == null) {
-      conn = new OutboundConnection(this, remoteNodeId);
-      OutboundConnection prev = outboundConnections.putIfAbsent(remoteNodeId, conn);
+      conn = new OutboundConnection(this, remoteNodeId, key);
+      OutboundConnection prev = outboundConnections.putIfAbsent(key, conn);
       if (prev != null) {
         conn = prev;
       } else {
@@ -360,17 +380,28 @@ public final class ClusteredEventBus extends EventBusImpl {
     return conn;
   }
 
+  private Future<NetSocket> connect(NodeInfo info) {
+    if (connectionsPerNode == 1) {
+      return client.connect(info.port(), info.host());
+    }
+    // Spread the connections to a node over the event-loops
+    ContextInternal ctx = vertx.createEventLoopContext();
+    Promise<NetSocket> promise = ctx.promise();
+    ctx.runOnContext(v -> client.connect(info.port(), info.host()).onComplete(promise));
+    return promise.future();
+  }
+
   private void connect(OutboundConnection conn) {
     Promise<NodeInfo> promise = Promise.promise();
     clusterManager.getNodeInfo(conn.remoteNodeId(), promise);
     promise.future()
-      .flatMap(info -> client.connect(info.port(), info.host()))
+      .flatMap(this::connect)
       .onComplete(ar -> {
         if (ar.succeeded()) {
           NetSocket connection = ar.result();
           connection.handler(conn);
           connection.closeHandler(v -> {
-            if (outboundConnections.remove(conn.remoteNodeId(), conn)) {
+            if (outboundConnections.remove(conn.key(), conn)) {
               if (log.isDebugEnabled()) {
                 log.debug("Cluster connection closed for server " + conn.remoteNodeId());
               }
@@ -382,7 +413,7 @@ public final class ClusteredEventBus extends EventBusImpl {
           if (log.isWarnEnabled()) {
             log.warn("Connecting to server " + conn.remoteNodeId() + " failed", ar.cause());
           }
-          outboundConnections.remove(conn.remoteNodeId(), conn);
+          outboundConnections.remove(conn.key(), conn);
           conn.handleClose(ar.cause());
         }
       });
@@ -11,6 +11,7 @@
 
 package io.vertx.core.eventbus.impl.clustered;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.util.CharsetUtil;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
@@ -21,11 +22,13 @@ import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.eventbus.impl.CodecManager;
 import io.vertx.core.eventbus.impl.EventBusImpl;
 import io.vertx.core.eventbus.impl.MessageImpl;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -36,6 +39,11 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
 
   private static final byte WIRE_PROTOCOL_VERSION = 2;
 
+  /**
+   * Version of the compact wire format, negotiated per connection, see {@link WireDictionary}.
+   */
+  static final byte COMPACT_WIRE_PROTOCOL_VERSION = 3;
+
   private String sender;
   private String repliedTo;
   private Buffer wireBuffer;
@@ -43,6 +51,10 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
   private int headersPos;
   private boolean fromWire;
   private boolean toWire;
+  private boolean wireRetained;
+  // The number of messages holding a slice of the network buffers of the inbound connection
+  private AtomicInteger retainedSlices;
+  private boolean compactWire;
   private String failure;
 
   public ClusteredMessage(EventBusImpl bus) {
@@ -62,6 +74,13 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
       this.wireBuffer = other.wireBuffer;
       this.bodyPos = other.bodyPos;
       this.headersPos = other.headersPos;
+      this.compactWire = other.compactWire;
+      if (other.wireRetained) {
+        ((BufferInternal) wireBuffer).unwrap().retain();
+        this.wireRetained = true;
+        this.retainedSlices = other.retainedSlices;
+        retainedSlices.incrementAndGet();
+      }
     }
     this.fromWire = other.fromWire;
   }
@@ -108,9 +127,25 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
   }
 
   public Buffer encodeToWire() {
-    toWire = true;
+    return encodeToWire((WireDictionary) null);
+  }
+
+  Buffer encodeToWire(WireDictionary dictionary) {
     int length = 1024; // TODO make this configurable
     Buffer buffer = Buffer.buffer(length);
+    encodeToWire(buffer, dictionary);
+    return buffer;
+  }
+
+  /**
+   * Append the wire frame of this message to the {@code buffer}.
+   *
+   * @param buffer the buffer to append to
+   * @return the number of bytes appended
+   */
+  public int encodeToWire(Buffer buffer) {
+    toWire = true;
+    int start = buffer.length();
     buffer.appendInt(0);
     buffer.appendByte(WIRE_PROTOCOL_VERSION);
     byte systemCodecID = messageCodec.systemCodecID();
@@ -129,14 +164,61 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     writeString(buffer, sender);
     encodeHeaders(buffer);
     writeBody(buffer);
-    buffer.setInt(0, buffer.length() - 4);
-    return buffer;
+    int length = buffer.length() - start;
+    buffer.setInt(start, length - 4);
+    return length;
+  }
+
+  /**
+   * Append the wire frame of this message to the {@code buffer} using the compact wire format when a
+   * {@code dictionary} is provided.
+   *
+   * @param buffer the buffer to append to
+   * @param dictionary the connection dictionary or {@code null}
+   * @return the number of bytes appended
+   */
+  int encodeToWire(Buffer buffer, WireDictionary dictionary) {
+    if (dictionary == null) {
+      return encodeToWire(buffer);
+    }
+    toWire = true;
+    int start = buffer.length();
+    buffer.appendInt(0);
+    buffer.appendByte(COMPACT_WIRE_PROTOCOL_VERSION);
+    byte systemCodecID = messageCodec.systemCodecID();
+    buffer.appendByte(systemCodecID);
+    if (systemCodecID == -1) {
+      // User codec
+      dictionary.writeString(buffer, messageCodec.name(), true);
+    }
+    buffer.appendByte(send ? (byte) 0 : (byte) 1);
+    // Reply addresses are unique, they are not worth interning
+    dictionary.writeString(buffer, address, repliedTo == null);
+    dictionary.writeString(buffer, replyAddress, false);
+    dictionary.writeString(buffer, sender, true);
+    encodeCompactHeaders(buffer);
+    writeBody(buffer);
+    int length = buffer.length() - start;
+    buffer.setInt(start, length - 4);
+    return length;
   }
 
   public void readFromWire(Buffer buffer, CodecManager codecManager) {
+    readFromWire(buffer, codecManager, null);
+  }
+
+  void readFromWire(Buffer buffer, CodecManager codecManager, WireDictionary dictionary) {
     int pos = 0;
     // Overall Length already read when passed in here
     byte protocolVersion = buffer.getByte(pos);
+    if (protocolVersion == COMPACT_WIRE_PROTOCOL_VERSION) {
+      if (dictionary == null) {
+        setFailure("Compact wire protocol has not been negotiated");
+      } else {
+        readCompactFromWire(buffer, codecManager, dictionary);
+      }
+      return;
+    }
     if (protocolVersion > WIRE_PROTOCOL_VERSION) {
       setFailure("Invalid wire protocol version " + protocolVersion + " should be <= " + WIRE_PROTOCOL_VERSION);
     }
@@ -149,13 +231,10 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
       pos += 4;
       byte[] bytes = buffer.getBytes(pos, pos + length);
       String codecName = new String(bytes, CharsetUtil.UTF_8);
-      messageCodec = codecManager.getCodec(codecName);
-      if (messageCodec == null) {
-        setFailure("No message codec registered with name " + codecName);
-      }
+      readCodec(codecManager, systemCodecCode, codecName);
       pos += length;
     } else {
-      messageCodec = codecManager.systemCodecs()[systemCodecCode];
+      readCodec(codecManager, systemCodecCode, null);
     }
     byte bsend = buffer.getByte(pos);
     send = bsend == 0;
@@ -185,6 +264,88 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     fromWire = true;
   }
 
+  private void readCompactFromWire(Buffer buffer, CodecManager codecManager, WireDictionary dictionary) {
+    ByteBuf buf = ((BufferInternal) buffer).unwrap().duplicate().readerIndex(1);
+    byte systemCodecCode = buf.readByte();
+    // User codec when -1
+    readCodec(codecManager, systemCodecCode, systemCodecCode == -1 ? dictionary.readString(buf) : null);
+    send = buf.readByte() == 0;
+    address = dictionary.readString(buf);
+    replyAddress = dictionary.readString(buf);
+    sender = dictionary.readString(buf);
+    headersPos = buf.readerIndex();
+    int headersLength = buf.readInt();
+    bodyPos = headersPos + headersLength;
+    wireBuffer = buffer;
+    compactWire = true;
+    fromWire = true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readCodec(CodecManager codecManager, byte systemCodecCode, String codecName) {
+    if (systemCodecCode == -1) {
+      messageCodec = codecManager.getCodec(codecName);
+      if (messageCodec == null) {
+        setFailure("No message codec registered with name " + codecName);
+      }
+    } else {
+      messageCodec = codecManager.systemCodecs()[systemCodecCode];
+    }
+  }
+
+  /**
+   * Read the message from a retained slice of an inbound network buffer, the message takes ownership of the slice.
+   *
+   * @param retainedSlices the number of messages holding a slice of the connection network buffers
+   */
+  void readFromWire(ByteBuf slice, CodecManager codecManager, WireDictionary dictionary, AtomicInteger retainedSlices) {
+    readFromWire(BufferInternal.buffer(slice), codecManager, dictionary);
+    wireRetained = true;
+    this.retainedSlices = retainedSlices;
+    retainedSlices.incrementAndGet();
+  }
+
+  @Override
+  protected void release() {
+    if (wireRetained) {
+      // The message can still be used after it has been handled, e.g. by a deferred interceptor or when the message
+      // is forwarded, decode what remains so the network buffer can be released
+      try {
+        if (headersPos != 0) {
+          decodeHeaders();
+        }
+        if (bodyPos != 0) {
+          decodeBody();
+        }
+      } catch (RuntimeException e) {
+        // Keep a copy so the failure is reported when the message is read
+        Buffer copy = Buffer.buffer(wireBuffer.getBytes());
+        releaseWire();
+        wireBuffer = copy;
+        return;
+      }
+      releaseWire();
+    }
+  }
+
+  @Override
+  protected void discard() {
+    if (wireRetained) {
+      releaseWire();
+      headersPos = 0;
+      bodyPos = 0;
+    }
+  }
+
+  void releaseWire() {
+    if (wireRetained) {
+      wireRetained = false;
+      retainedSlices.decrementAndGet();
+      ((BufferInternal) wireBuffer).unwrap().release();
+      wireBuffer = null;
+    }
+  }
+
   private void setFailure(String s) {
     if (failure == null) {
       failure = s;
@@ -192,8 +353,12 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
   }
 
   private void decodeBody() {
+    if (wireRetained && headersPos != 0) {
+      decodeHeaders();
+    }
     receivedBody = messageCodec.decodeFromWire(bodyPos, wireBuffer);
     bodyPos = 0;
+    releaseWire();
   }
 
   private void encodeHeaders(Buffer buffer) {
@@ -213,7 +378,40 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     }
   }
 
+  private void encodeCompactHeaders(Buffer buffer) {
+    int headersLengthPos = buffer.length();
+    buffer.appendInt(0);
+    if (headers != null && !headers.isEmpty()) {
+      List<Map.Entry<String, String>> entries = headers.entries();
+      WireDictionary.writeVarInt(buffer, entries.size());
+      for (Map.Entry<String, String> entry: entries) {
+        WireDictionary.writeLiteral(buffer, entry.getKey());
+        WireDictionary.writeLiteral(buffer, entry.getValue());
+      }
+    }
+    buffer.setInt(headersLengthPos, buffer.length() - headersLengthPos);
+  }
+
+  private void decodeCompactHeaders() {
+    ByteBuf buf = ((BufferInternal) wireBuffer).unwrap().duplicate().readerIndex(headersPos);
+    int length = buf.readInt();
+    if (length != 4) {
+      int numHeaders = WireDictionary.readVarInt(buf);
+      headers = MultiMap.caseInsensitiveMultiMap();
+      for (int i = 0; i < numHeaders; i++) {
+        String key = WireDictionary.readLiteral(buf);
+        String val = WireDictionary.readLiteral(buf);
+        headers.add(key, val);
+      }
+    }
+    headersPos = 0;
+  }
+
   private void decodeHeaders() {
+    if (compactWire) {
+      decodeCompactHeaders();
+      return;
+    }
     int length = wireBuffer.getInt(headersPos);
     if (length != 4) {
       headersPos += 4;
@@ -24,6 +24,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Node selector implementation that preserves the ordering of select operations.
+ * <p>
+ * Each address holds a routing snapshot (a {@link RoundRobinSelector}) read without locking by select operations. A
+ * registration update only replaces the snapshot when the weights of the nodes changed: registrations added or
+ * removed on a node that keep the node weights unchanged do not rebuild the snapshot.
  */
 public class DefaultNodeSelector implements NodeSelector {
 
@@ -41,6 +45,31 @@ public class DefaultNodeSelector implements NodeSelector {
     final AtomicInteger wip = new AtomicInteger(1);
     final Queue<Action> queue = PlatformDependent.newMpscQueue();
     Object value;
+    // The weights of the last snapshot, guarded by the node monitor
+    private Map<String, Weight> weights;
+
+    private synchronized void initialize(Map<String, Weight> weights) {
+      if (this.weights == null) {
+        this.weights = weights;
+      }
+    }
+
+    private void update(Map<String, Weight> weights) {
+      RoundRobinSelector selector;
+      int amount;
+      synchronized (this) {
+        if (sameWeights(this.weights, weights)) {
+          return;
+        }
+        this.weights = weights;
+        selector = data(weights);
+        queue.add(new Update(selector));
+        amount = wip.incrementAndGet();
+      }
+      if (amount == 1) {
+        signal(selector, amount);
+      }
+    }
 
     private void signal(Object value, int amount) {
       while (amount > 0) {
@@ -138,9 +167,10 @@ public class DefaultNodeSelector implements NodeSelector {
   }
 
   private void succeed(Node node, String address, List<RegistrationInfo> registrations) {
-    List<String> accessible = computeAccessible(registrations);
-    RoundRobinSelector selector = data(accessible);
+    Map<String, Weight> weights = computeWeights(registrations);
+    RoundRobinSelector selector = data(weights);
     if (selector != null) {
+      node.initialize(weights);
       node.signal(selector, node.wip.get());
     } else {
       if (entries.remove(address, node)) {
@@ -174,11 +204,10 @@ public class DefaultNodeSelector implements NodeSelector {
     return entries.containsKey(address);
   }
 
-  private RoundRobinSelector data(List<String> nodeIds) {
-    if (nodeIds == null || nodeIds.isEmpty()) {
+  private static RoundRobinSelector data(Map<String, Weight> weights) {
+    if (weights.isEmpty()) {
       return null;
     } else {
-      Map<String, Weight> weights = computeWeights(nodeIds);
       RoundRobinSelector selector;
       if (isEvenlyDistributed(weights)) {
         selector = new SimpleRoundRobinSelector(new ArrayList<>(weights.keySet()));
@@ -189,15 +218,33 @@ public class DefaultNodeSelector implements NodeSelector {
     }
   }
 
-  private Map<String, Weight> computeWeights(List<String> nodeIds) {
+  private Map<String, Weight> computeWeights(List<RegistrationInfo> registrations) {
+    if (registrations == null || registrations.isEmpty()) {
+      return Collections.emptyMap();
+    }
     Map<String, Weight> weights = new HashMap<>();
-    for (String nodeId : nodeIds) {
-      weights.compute(nodeId, (s, weight) -> weight == null ? new Weight(0) : weight.increment());
+    for (RegistrationInfo registration : registrations) {
+      if (isAccessible(registration)) {
+        weights.compute(registration.nodeId(), (s, weight) -> weight == null ? new Weight(0) : weight.increment());
+      }
     }
     return weights;
   }
 
-  private boolean isEvenlyDistributed(Map<String, Weight> weights) {
+  private static boolean sameWeights(Map<String, Weight> current, Map<String, Weight> weights) {
+    if (current == null || current.size() != weights.size()) {
+      return false;
+    }
+    for (Map.Entry<String, Weight> entry : weights.entrySet()) {
+      Weight weight = current.get(entry.getKey());
+      if (weight == null || weight.value() != entry.getValue().value()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isEvenlyDistributed(Map<String, Weight> weights) {
     if (weights.size() > 1) {
       Weight previous = null;
       for (Weight weight : weights.values()) {
@@ -210,21 +257,6 @@ public class DefaultNodeSelector implements NodeSelector {
     return true;
   }
 
-  private List<String> computeAccessible(List<RegistrationInfo> registrations) {
-    if (registrations == null || registrations.isEmpty()) {
-      return Collections.emptyList();
-    }
-    ArrayList<String> list = new ArrayList<>(registrations.size());
-    for (RegistrationInfo registration : registrations) {
-      if (isAccessible(registration)) {
-        String nodeId = registration.nodeId();
-        list.add(nodeId);
-      }
-    }
-    list.trimToSize();
-    return list;
-  }
-
   private boolean isAccessible(RegistrationInfo registrationInfo) {
     return !registrationInfo.localOnly() || clusterManager.getNodeId().equals(registrationInfo.nodeId());
   }
@@ -236,16 +268,11 @@ public class DefaultNodeSelector implements NodeSelector {
   @Override
   public void registrationsUpdated(RegistrationUpdateEvent event) {
     String address = event.address();
-    List<String> accessible = computeAccessible(event.registrations());
-    RoundRobinSelector selector = data(accessible);
-    if (selector != null) {
+    Map<String, Weight> weights = computeWeights(event.registrations());
+    if (!weights.isEmpty()) {
       Node node = entries.get(address);
       if (node != null) {
-        node.queue.add(new Update(selector));
-        int amount = node.wip.incrementAndGet();
-        if (amount == 1) {
-          node.signal(selector, amount);
-        }
+        node.update(weights);
       } else {
         // ????
       }
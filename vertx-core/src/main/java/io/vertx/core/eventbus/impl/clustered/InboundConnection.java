@@ -10,26 +10,53 @@
  */
 package io.vertx.core.eventbus.impl.clustered;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.ReferenceCounted;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.impl.CodecManager;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.net.NetSocket;
 import io.vertx.core.parsetools.RecordParser;
 import io.vertx.core.spi.metrics.EventBusMetrics;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Process event-bus server connections, this connection reads messages, the only data
  * it writes are pong replies.
+ * <p>
+ * When zero-copy decoding is enabled, frames are read from the pooled network buffers with {@link #handleMessage(Object)}
+ * instead of {@link #handle(Buffer)}, each message holds a retained slice of the network buffer. Frames that span
+ * several network reads are accumulated in a composite buffer. Beyond {@link #MAX_RETAINED_SLICES} messages holding a
+ * slice, e.g. when consumers are paused or fall behind, frames are copied to heap buffers so the backlog does not pin
+ * the network buffers.
+ * <p>
+ * A malformed frame closes the connection, since the next frames cannot be delimited or decoded reliably.
  */
 final class InboundConnection implements Handler<Buffer> {
 
+  private static final Logger log = LoggerFactory.getLogger(InboundConnection.class);
+
   private static final Buffer PONG = Buffer.buffer(new byte[]{(byte) 1});
+  private static final Buffer HANDSHAKE_ACK = Buffer.buffer(new byte[]{WireDictionary.HANDSHAKE_ACK});
+
+  // Max number of messages holding a slice of the network buffers of a connection
+  static final int MAX_RETAINED_SLICES = 1024;
 
   private final ClusteredEventBus clusteredEventBus;
   private final NetSocket socket;
   private final RecordParser parser;
   private int size = -1;
   private Handler<ClusteredMessage<?, ?>> handler;
+  private ByteBuf cumulation;
+  private final AtomicInteger retainedSlices = new AtomicInteger();
+  private WireDictionary dictionary;
+  private boolean failed;
 
   public InboundConnection(ClusteredEventBus clusteredEventBus, NetSocket socket) {
     this.clusteredEventBus = clusteredEventBus;
@@ -43,7 +70,71 @@ final class InboundConnection implements Handler<Buffer> {
 
   @Override
   public void handle(Buffer data) {
-    parser.handle(data);
+    if (!failed) {
+      parser.handle(data);
+    }
+  }
+
+  /**
+   * Handle a raw network message, the connection takes ownership of the message.
+   */
+  void handleMessage(Object msg) {
+    if (failed || !(msg instanceof ByteBuf)) {
+      if (msg instanceof ReferenceCounted) {
+        ((ReferenceCounted) msg).release();
+      }
+      return;
+    }
+    ByteBuf buf = (ByteBuf) msg;
+    if (cumulation == null) {
+      cumulation = buf;
+    } else {
+      cumulation = ByteToMessageDecoder.COMPOSITE_CUMULATOR.cumulate(buf.alloc(), cumulation, buf);
+    }
+    while (cumulation != null) {
+      int readable = cumulation.readableBytes();
+      if (readable < 4) {
+        break;
+      }
+      int length = cumulation.getInt(cumulation.readerIndex());
+      if (readable < 4 + length) {
+        break;
+      }
+      cumulation.skipBytes(4);
+      boolean copy = retainedSlices.get() >= MAX_RETAINED_SLICES;
+      ByteBuf frame = copy ? Unpooled.copiedBuffer(cumulation.readSlice(length)) : cumulation.readRetainedSlice(length);
+      if (!cumulation.isReadable()) {
+        cumulation.release();
+        cumulation = null;
+      }
+      ClusteredMessage<?, ?> received = new ClusteredMessage<>(clusteredEventBus);
+      try {
+        if (copy) {
+          received.readFromWire(BufferInternal.buffer(frame), clusteredEventBus.codecManager(), dictionary);
+        } else {
+          received.readFromWire(frame, clusteredEventBus.codecManager(), dictionary, retainedSlices);
+        }
+      } catch (RuntimeException e) {
+        frame.release();
+        handleMalformedFrame(e);
+        return;
+      }
+      try {
+        handleMessage(received, length);
+      } finally {
+        received.releaseWire();
+      }
+    }
+  }
+
+  /**
+   * Release the pending network buffers when the connection is closed.
+   */
+  void handleClose() {
+    if (cumulation != null) {
+      cumulation.release();
+      cumulation = null;
+    }
   }
 
   InboundConnection handler(Handler<ClusteredMessage<?, ?>> messageHandler) {
@@ -57,21 +148,43 @@ final class InboundConnection implements Handler<Buffer> {
       parser.fixedSizeMode(size);
     } else {
       ClusteredMessage<?, ?> received = new ClusteredMessage<>(clusteredEventBus);
-      received.readFromWire(buff, clusteredEventBus.codecManager());
+      try {
+        received.readFromWire(buff, clusteredEventBus.codecManager(), dictionary);
+      } catch (RuntimeException e) {
+        handleMalformedFrame(e);
+        return;
+      }
       parser.fixedSizeMode(4);
       size = -1;
-      if (received.hasFailure()) {
-        received.internalError();
-      } else if (received.codec() == CodecManager.PING_MESSAGE_CODEC) {
+      handleMessage(received, buff.length());
+    }
+  }
+
+  private void handleMalformedFrame(Throwable cause) {
+    log.error("Malformed frame received from " + socket.remoteAddress() + ", closing the connection", cause);
+    failed = true;
+    handleClose();
+    socket.close();
+  }
+
+  private void handleMessage(ClusteredMessage<?, ?> received, int length) {
+    if (received.hasFailure()) {
+      received.internalError();
+    } else if (received.codec() == CodecManager.PING_MESSAGE_CODEC) {
+      if (dictionary == null && received.headers().contains(WireDictionary.HANDSHAKE_HEADER)) {
+        // Accept the compact wire format for the next messages
+        dictionary = new WireDictionary();
+        socket.write(HANDSHAKE_ACK);
+      } else {
         // Just send back pong directly on connection
         socket.write(PONG);
-      } else {
-        EventBusMetrics<?> metrics = clusteredEventBus.metrics();
-        if (metrics != null) {
-          metrics.messageRead(received.address(), buff.length());
-        }
-        handler.handle(received);
       }
+    } else {
+      EventBusMetrics<?> metrics = clusteredEventBus.metrics();
+      if (metrics != null) {
+        metrics.messageRead(received.address(), length);
+      }
+      handler.handle(received);
     }
   }
 }
@@ -11,13 +11,17 @@
 
 package io.vertx.core.eventbus.impl.clustered;
 
+import io.netty.util.concurrent.EventExecutor;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBusOptions;
 import io.vertx.core.eventbus.impl.MessageImpl;
 import io.vertx.core.eventbus.impl.codecs.PingMessageCodec;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
@@ -26,11 +30,17 @@ import io.vertx.core.net.NetSocket;
 import io.vertx.core.spi.metrics.EventBusMetrics;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 
 /**
  * Connects the event-bus to another event-bus server, this connection write messages, the only data
  * it receives are pong replies.
+ * <p>
+ * When the compact wire format is enabled, the connection first sends a handshake ping and queues messages until
+ * the server replies. A server supporting the compact wire format acknowledges the handshake, older servers reply
+ * with a regular pong and messages are then sent with the regular wire format.
  *
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -42,28 +52,53 @@ final class OutboundConnection implements Handler<Buffer> {
 
   private final ClusteredEventBus eventBus;
   private final String remoteNodeId;
+  private final String key;
   private final VertxInternal vertx;
   private final EventBusMetrics<?> metrics;
+  private final boolean batching;
+  private final int batchMaxSize;
+  private final long batchMaxLinger;
+  private final boolean compactWire;
 
   private Queue<MessageWrite> pendingWrites;
   private NetSocket socket;
+  private EventExecutor eventLoop;
+  private BufferInternal batch;
+  private List<Promise<Void>> batchPromises;
+  private boolean batchFlushScheduled;
+  private boolean handshaking;
+  private WireDictionary dictionary;
   private boolean connected;
   private long pingReplyTimeoutID = -1;
   private long pingTimeoutID = -1;
   private boolean closed;
 
-  OutboundConnection(ClusteredEventBus eventBus, String remoteNodeId) {
+  OutboundConnection(ClusteredEventBus eventBus, String remoteNodeId, String key) {
     this.eventBus = eventBus;
     this.remoteNodeId = remoteNodeId;
+    this.key = key;
     this.vertx = eventBus.vertx();
     this.metrics = eventBus.getMetrics();
+
+    EventBusOptions options = eventBus.options();
+    this.batching = options.isClusterWriteBatching();
+    this.batchMaxSize = options.getClusterWriteBatchMaxSize();
+    this.batchMaxLinger = options.getClusterWriteBatchMaxLinger();
+    this.compactWire = options.isClusterCompactWireFormat();
   }
 
   String remoteNodeId() {
     return remoteNodeId;
   }
 
-  synchronized void writeMessage(MessageImpl<?, ?> message, Promise<Void> writePromise) {
+  /**
+   * @return the key of this connection in the event-bus outbound connections
+   */
+  String key() {
+    return key;
+  }
+
+  void writeMessage(MessageImpl<?, ?> message, Promise<Void> writePromise) {
     Throwable failure;
     synchronized (this) {
       if (closed) {
@@ -82,8 +117,12 @@ final class OutboundConnection implements Handler<Buffer> {
       }
     }
     if (failure == null) {
-      writeMessage(message)
-        .onComplete(writePromise);
+      if (batching) {
+        batchMessage(message, writePromise);
+      } else {
+        writeToSocket(message, dictionary)
+          .onComplete(writePromise);
+      }
     } else {
       writePromise.tryFail(failure);
     }
@@ -91,6 +130,19 @@ final class OutboundConnection implements Handler<Buffer> {
 
   @Override
   public void handle(Buffer event) {
+    synchronized (this) {
+      if (handshaking) {
+        handshaking = false;
+        vertx.cancelTimer(pingReplyTimeoutID);
+        if (event.getByte(0) == WireDictionary.HANDSHAKE_ACK) {
+          dictionary = new WireDictionary();
+        } else if (log.isDebugEnabled()) {
+          log.debug("Server " + remoteNodeId + " does not support the compact wire format");
+        }
+        ready();
+        return;
+      }
+    }
     // Got a pong back
     vertx.cancelTimer(pingReplyTimeoutID);
     schedulePing();
@@ -111,6 +163,14 @@ final class OutboundConnection implements Handler<Buffer> {
           msg.writePromise.tryFail(cause);
         }
       }
+      if (batch != null) {
+        batch.unwrap().release();
+        batch = null;
+        for (Promise<Void> promise : batchPromises) {
+          promise.tryFail(cause);
+        }
+        batchPromises = null;
+      }
     }
   }
 
@@ -131,12 +191,44 @@ final class OutboundConnection implements Handler<Buffer> {
         new PingMessageCodec(),
         true,
         eventBus);
-      writeMessage(pingMessage);
+      if (batching) {
+        batchMessage(pingMessage, null);
+      } else {
+        writeToSocket(pingMessage, dictionary);
+      }
+    });
+  }
+
+  private void handshake() {
+    handshaking = true;
+    pingReplyTimeoutID = vertx.setTimer(eventBus.options().getClusterPingReplyInterval(), id -> {
+      log.warn("No handshake reply from server " + remoteNodeId + " - will consider it dead");
+      socket.close();
     });
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+      .add(WireDictionary.HANDSHAKE_HEADER, "" + ClusteredMessage.COMPACT_WIRE_PROTOCOL_VERSION);
+    ClusteredMessage<?, ?> handshakeMessage = new ClusteredMessage<>(
+      remoteNodeId,
+      PING_ADDRESS,
+      headers,
+      null,
+      new PingMessageCodec(),
+      true,
+      eventBus);
+    writeToSocket(handshakeMessage, null);
   }
 
   synchronized void connected(NetSocket socket) {
     this.socket = socket;
+    this.eventLoop = ((NetSocketInternal) socket).channelHandlerContext().executor();
+    if (compactWire) {
+      handshake();
+    } else {
+      ready();
+    }
+  }
+
+  private void ready() {
     this.connected = true;
     // Start a pinger
     schedulePing();
@@ -145,21 +237,87 @@ final class OutboundConnection implements Handler<Buffer> {
         log.debug("Draining the queue for server " + remoteNodeId);
       }
       for (MessageWrite ctx : pendingWrites) {
-        writeMessage(ctx.message)
-          .onComplete(ctx.writePromise);
+        if (batching) {
+          batchMessage(ctx.message, ctx.writePromise);
+        } else {
+          writeToSocket(ctx.message, dictionary)
+            .onComplete(ctx.writePromise);
+        }
       }
     }
     pendingWrites = null;
   }
 
-  private Future<Void> writeMessage(MessageImpl<?, ?> message) {
-    Buffer data = ((ClusteredMessage<?, ?>)message).encodeToWire();
+  private synchronized Future<Void> writeToSocket(MessageImpl<?, ?> message, WireDictionary dictionary) {
+    // Encode and write under the connection lock, the dictionary is not thread safe and a frame must be written
+    // before the frames referencing its dictionary entries
+    Buffer data = ((ClusteredMessage<?, ?>)message).encodeToWire(dictionary);
     if (metrics != null) {
       metrics.messageWritten(message.address(), data.length());
     }
     return socket.write(data);
   }
 
+  /**
+   * Encode the message in the current batch, the batch is flushed when it reaches the max batch size, otherwise
+   * a flush is scheduled on the connection event-loop.
+   */
+  private synchronized void batchMessage(MessageImpl<?, ?> message, Promise<Void> writePromise) {
+    if (closed) {
+      if (writePromise != null) {
+        writePromise.tryFail(NetSocketInternal.CLOSED_EXCEPTION);
+      }
+      return;
+    }
+    if (batch == null) {
+      batch = BufferInternal.buffer(VertxByteBufAllocator.POOLED_ALLOCATOR.directBuffer(Math.min(batchMaxSize, 1024)));
+      batchPromises = new ArrayList<>();
+    }
+    int length = ((ClusteredMessage<?, ?>)message).encodeToWire(batch, dictionary);
+    if (metrics != null) {
+      metrics.messageWritten(message.address(), length);
+    }
+    if (writePromise != null) {
+      batchPromises.add(writePromise);
+    }
+    if (batch.length() >= batchMaxSize) {
+      flushBatch();
+    } else if (!batchFlushScheduled) {
+      batchFlushScheduled = true;
+      if (batchMaxLinger > 0) {
+        vertx.setTimer(batchMaxLinger, id -> flushScheduledBatch());
+      } else {
+        eventLoop.execute(this::flushScheduledBatch);
+      }
+    }
+  }
+
+  private synchronized void flushScheduledBatch() {
+    batchFlushScheduled = false;
+    if (batch != null) {
+      flushBatch();
+    }
+  }
+
+  private void flushBatch() {
+    // Write under the connection lock to preserve the ordering of messages
+    BufferInternal data = batch;
+    List<Promise<Void>> promises = batchPromises;
+    batch = null;
+    batchPromises = null;
+    ((NetSocketInternal) socket)
+      .writeMessage(data.unwrap())
+      .onComplete(ar -> {
+        for (Promise<Void> promise : promises) {
+          if (ar.succeeded()) {
+            promise.tryComplete();
+          } else {
+            promise.tryFail(ar.cause());
+          }
+        }
+      });
+  }
+
   private static class MessageWrite {
     final MessageImpl<?, ?> message;
     final Promise<Void> writePromise;
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.eventbus.impl.clustered;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-connection string dictionary of the compact wire format.
+ * <p>
+ * The outbound side of a connection assigns an id to each interned string (addresses, codec names, node ids), the
+ * string is sent once along with its id and then referenced by id only. The inbound side records the definitions
+ * in the order they are received. A string is encoded as a varint tag:
+ * <ul>
+ *   <li>{@code 0}: {@code null}</li>
+ *   <li>{@code 1}: a literal, followed by the varint length and the UTF-8 bytes</li>
+ *   <li>{@code id << 1}: a reference to a string previously defined with this {@code id}</li>
+ *   <li>{@code id << 1 | 1}: the definition of {@code id}, followed by the varint length and the UTF-8 bytes</li>
+ * </ul>
+ * Each side of the dictionary is confined to the connection: the outbound side is used under the connection lock
+ * and the inbound side from the connection event-loop.
+ */
+final class WireDictionary {
+
+  /**
+   * Header of the handshake ping sent by the outbound connection to request the compact wire format.
+   */
+  static final String HANDSHAKE_HEADER = "__vertx.wire.dictionary";
+
+  /**
+   * Reply sent by the inbound connection when it accepts the compact wire format, older nodes reply with a pong.
+   */
+  static final byte HANDSHAKE_ACK = 2;
+
+  /**
+   * Maximum number of strings per connection, passed this size strings are sent as literals.
+   */
+  static final int MAX_SIZE = 4096;
+
+  private static final int NULL_TAG = 0;
+  private static final int LITERAL_TAG = 1;
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> strings = new ArrayList<>();
+
+  void writeString(Buffer buffer, String s, boolean intern) {
+    if (s == null) {
+      writeVarInt(buffer, NULL_TAG);
+      return;
+    }
+    if (intern) {
+      Integer id = ids.get(s);
+      if (id != null) {
+        writeVarInt(buffer, id << 1);
+        return;
+      }
+      if (ids.size() < MAX_SIZE) {
+        id = ids.size() + 1;
+        ids.put(s, id);
+        writeVarInt(buffer, id << 1 | 1);
+        writeLiteral(buffer, s);
+        return;
+      }
+    }
+    writeVarInt(buffer, LITERAL_TAG);
+    writeLiteral(buffer, s);
+  }
+
+  String readString(ByteBuf buf) {
+    int tag = readVarInt(buf);
+    if (tag == NULL_TAG) {
+      return null;
+    } else if (tag == LITERAL_TAG) {
+      return readLiteral(buf);
+    }
+    int id = tag >>> 1;
+    if ((tag & 1) == 1) {
+      if (id != strings.size() + 1) {
+        throw new IllegalStateException("Invalid wire dictionary definition " + id);
+      }
+      String s = readLiteral(buf);
+      strings.add(s);
+      return s;
+    }
+    if (id > strings.size()) {
+      throw new IllegalStateException("Unknown wire dictionary entry " + id);
+    }
+    return strings.get(id - 1);
+  }
+
+  static void writeLiteral(Buffer buffer, String s) {
+    byte[] bytes = s.getBytes(CharsetUtil.UTF_8);
+    writeVarInt(buffer, bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
+  static String readLiteral(ByteBuf buf) {
+    int length = readVarInt(buf);
+    String s = buf.toString(buf.readerIndex(), length, CharsetUtil.UTF_8);
+    buf.skipBytes(length);
+    return s;
+  }
+
+  static void writeVarInt(Buffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.appendByte((byte) value);
+  }
+
+  static int readVarInt(ByteBuf buf) {
+    int value = 0;
+    for (int shift = 0;shift < 32;shift += 7) {
+      byte b = buf.readByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed varint");
+  }
+}
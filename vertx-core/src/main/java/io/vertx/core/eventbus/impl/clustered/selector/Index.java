@@ -12,12 +12,11 @@
 package io.vertx.core.eventbus.impl.clustered.selector;
 
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.IntUnaryOperator;
 
 /**
  * @author Thomas Segismont
  */
-class Index implements IntUnaryOperator {
+class Index {
 
   private final int max;
   private final AtomicInteger idx = new AtomicInteger(0);
@@ -27,11 +26,7 @@ class Index implements IntUnaryOperator {
   }
 
   int nextVal() {
-    return idx.getAndUpdate(this);
-  }
-
-  @Override
-  public int applyAsInt(int i) {
-    return i == max - 1 ? 0 : i + 1;
+    // A single atomic increment, instead of a compare-and-set loop that spins under contention
+    return (idx.getAndIncrement() & Integer.MAX_VALUE) % max;
   }
 }
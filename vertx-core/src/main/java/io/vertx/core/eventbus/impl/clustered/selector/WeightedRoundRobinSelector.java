@@ -53,13 +53,18 @@ public class WeightedRoundRobinSelector implements RoundRobinSelector {
    *
    * In practice, the first mapping (0 => 0) is not stored as it is superfluous:
    * The tree map lookup will return null for index values between 0 to 59 and in this case the offset is inferred to 0.
+   *
+   * The tree map is flattened into two sorted arrays (limits and offsets) searched with a binary search, so a select
+   * operation does not allocate.
    */
 
   private final List<String> uniqueIds;
-  private final TreeMap<Integer, Integer> offsets = new TreeMap<>();
+  private final int[] limits;
+  private final int[] offsets;
   private final Index index;
 
   public WeightedRoundRobinSelector(Map<String, Weight> weights) {
+    TreeMap<Integer, Integer> offsets = new TreeMap<>();
     List<String> uniqueIds = new ArrayList<>(weights.size());
     List<Map.Entry<String, Weight>> sorted = new ArrayList<>(weights.entrySet());
     sorted.sort(Map.Entry.comparingByValue());
@@ -77,15 +82,25 @@ public class WeightedRoundRobinSelector implements RoundRobinSelector {
       }
     }
     this.uniqueIds = Collections.unmodifiableList(uniqueIds);
+    this.limits = new int[offsets.size()];
+    this.offsets = new int[offsets.size()];
+    int i = 0;
+    for (Map.Entry<Integer, Integer> entry : offsets.entrySet()) {
+      this.limits[i] = entry.getKey();
+      this.offsets[i++] = entry.getValue();
+    }
     index = new Index(totalWeight);
   }
 
   @Override
   public String selectForSend() {
     int idx = index.nextVal();
-    Map.Entry<Integer, Integer> entry = offsets.floorEntry(idx);
-    if (entry == null) return uniqueIds.get(idx % uniqueIds.size());
-    int offset = entry.getValue();
+    int pos = Arrays.binarySearch(limits, idx);
+    if (pos < 0) {
+      pos = -pos - 2;
+      if (pos < 0) return uniqueIds.get(idx % uniqueIds.size());
+    }
+    int offset = offsets[pos];
     if (offset == uniqueIds.size() - 1) return uniqueIds.get(offset);
     return uniqueIds.get(offset + idx % (uniqueIds.size() - offset));
   }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Unstable;
+import io.vertx.core.impl.Arguments;
+
+import java.time.Duration;
+
+/**
+ * HTTP server admission control config.
+ * <p>
+ * The server answers a request with a {@code 503} status instead of dispatching it to the request handler when
+ * <ul>
+ *   <li>the number of requests being handled by the server instance reaches the max concurrent requests</li>
+ *   <li>the request waited too long before being dispatched, in the style of CoDel: when the lowest queue delay of the
+ *   requests dispatched during an interval exceeds the target, the server is overloaded and sheds the requests that
+ *   waited longer than the target, otherwise it sheds the requests that waited longer than the interval</li>
+ * </ul>
+ * The queue delay of a request is the time between the reception of the request head and its dispatch to the request
+ * handler, e.g. the time spent behind pipelined requests or in the task queue of a worker context.
+ */
+@DataObject
+@Unstable
+public class AdmissionControlConfig {
+
+  /**
+   * The default max number of concurrent requests = 1024
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1024;
+
+  /**
+   * The default queue delay target = 5 ms
+   */
+  public static final Duration DEFAULT_QUEUE_DELAY_TARGET = Duration.ofMillis(5);
+
+  /**
+   * The default queue delay interval = 100 ms
+   */
+  public static final Duration DEFAULT_QUEUE_DELAY_INTERVAL = Duration.ofMillis(100);
+
+  /**
+   * The default {@code Retry-After} delay of a rejected request = 1 second
+   */
+  public static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+  private int maxConcurrentRequests;
+  private Duration queueDelayTarget;
+  private Duration queueDelayInterval;
+  private Duration retryAfter;
+
+  public AdmissionControlConfig() {
+    this.maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    this.queueDelayTarget = DEFAULT_QUEUE_DELAY_TARGET;
+    this.queueDelayInterval = DEFAULT_QUEUE_DELAY_INTERVAL;
+    this.retryAfter = DEFAULT_RETRY_AFTER;
+  }
+
+  public AdmissionControlConfig(AdmissionControlConfig other) {
+    this.maxConcurrentRequests = other.maxConcurrentRequests;
+    this.queueDelayTarget = other.queueDelayTarget;
+    this.queueDelayInterval = other.queueDelayInterval;
+    this.retryAfter = other.retryAfter;
+  }
+
+  /**
+   * @return the max number of requests handled concurrently by a server instance
+   */
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  /**
+   * Set the max number of requests handled concurrently by a server instance, a request is handled until its
+   * response is sent. {@code -1} means no limit.
+   *
+   * @param maxConcurrentRequests the max concurrent requests
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AdmissionControlConfig setMaxConcurrentRequests(int maxConcurrentRequests) {
+    Arguments.require(maxConcurrentRequests > 0 || maxConcurrentRequests == -1, "Max concurrent requests must be > 0 or -1");
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    return this;
+  }
+
+  /**
+   * @return the acceptable queue delay of a request
+   */
+  public Duration getQueueDelayTarget() {
+    return queueDelayTarget;
+  }
+
+  /**
+   * Set the acceptable queue delay of a request, zero or {@code null} disables the queue delay based shedding.
+   *
+   * @param queueDelayTarget the queue delay target
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AdmissionControlConfig setQueueDelayTarget(Duration queueDelayTarget) {
+    Arguments.require(queueDelayTarget == null || !queueDelayTarget.isNegative(), "Queue delay target must be >= 0");
+    this.queueDelayTarget = queueDelayTarget;
+    return this;
+  }
+
+  /**
+   * @return the interval during which the queue delay must stay above the target to detect an overload
+   */
+  public Duration getQueueDelayInterval() {
+    return queueDelayInterval;
+  }
+
+  /**
+   * Set the interval during which the queue delay must stay above the target to detect an overload, the interval
+   * should be larger than the target so a burst of requests is absorbed without shedding.
+   *
+   * @param queueDelayInterval the queue delay interval
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AdmissionControlConfig setQueueDelayInterval(Duration queueDelayInterval) {
+    Arguments.require(queueDelayInterval != null && !queueDelayInterval.isNegative() && !queueDelayInterval.isZero(), "Queue delay interval must be > 0");
+    this.queueDelayInterval = queueDelayInterval;
+    return this;
+  }
+
+  /**
+   * @return the delay sent with the {@code Retry-After} header of a rejected request
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  /**
+   * Set the delay sent with the {@code Retry-After} header of a rejected request, rounded up to the second,
+   * {@code null} does not send the header.
+   *
+   * @param retryAfter the retry after delay
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AdmissionControlConfig setRetryAfter(Duration retryAfter) {
+    Arguments.require(retryAfter == null || !retryAfter.isNegative(), "Retry after must be >= 0");
+    this.retryAfter = retryAfter;
+    return this;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Unstable;
+import io.vertx.core.impl.Arguments;
+
+/**
+ * HTTP client response cache config.
+ * <p>
+ * The cache is a private cache following the RFC 9111 semantics: the {@code GET} responses are stored according to
+ * their {@code Cache-Control}, {@code Expires} and {@code Vary} headers, stale responses are revalidated with their
+ * {@code ETag} or {@code Last-Modified} validators and the {@code stale-while-revalidate} directive is honoured.
+ */
+@DataObject
+@Unstable
+public class ClientCacheConfig {
+
+  /**
+   * The default max size of the bodies cached in memory = 10 MiB
+   */
+  public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+  /**
+   * The default max size of a cached body = 1 MiB
+   */
+  public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+  /**
+   * The default max size of the bodies cached on disk = 100 MiB
+   */
+  public static final long DEFAULT_MAX_DISK_SIZE = 100 * 1024 * 1024;
+
+  /**
+   * The default request coalescing = true
+   */
+  public static final boolean DEFAULT_COALESCING = true;
+
+  private long maxSize;
+  private int maxEntrySize;
+  private String diskDirectory;
+  private long maxDiskSize;
+  private boolean coalescing;
+
+  public ClientCacheConfig() {
+    this.maxSize = DEFAULT_MAX_SIZE;
+    this.maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+    this.diskDirectory = null;
+    this.maxDiskSize = DEFAULT_MAX_DISK_SIZE;
+    this.coalescing = DEFAULT_COALESCING;
+  }
+
+  public ClientCacheConfig(ClientCacheConfig other) {
+    this.maxSize = other.maxSize;
+    this.maxEntrySize = other.maxEntrySize;
+    this.diskDirectory = other.diskDirectory;
+    this.maxDiskSize = other.maxDiskSize;
+    this.coalescing = other.coalescing;
+  }
+
+  /**
+   * @return the max size in bytes of the bodies cached in memory
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the max size in bytes of the bodies cached in memory, the least recently used responses are evicted beyond
+   * this size.
+   *
+   * @param maxSize the max size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ClientCacheConfig setMaxSize(long maxSize) {
+    Arguments.require(maxSize > 0, "Max size must be > 0");
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * @return the max size in bytes of a cached body
+   */
+  public int getMaxEntrySize() {
+    return maxEntrySize;
+  }
+
+  /**
+   * Set the max size in bytes of a cached body, larger responses are not cached.
+   *
+   * @param maxEntrySize the max entry size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ClientCacheConfig setMaxEntrySize(int maxEntrySize) {
+    Arguments.require(maxEntrySize >= 0, "Max entry size must be >= 0");
+    this.maxEntrySize = maxEntrySize;
+    return this;
+  }
+
+  /**
+   * @return the directory of the disk tier or {@code null} when the cache is only in memory
+   */
+  public String getDiskDirectory() {
+    return diskDirectory;
+  }
+
+  /**
+   * Set the directory of the disk tier of the cache, the responses evicted from memory are moved to this directory
+   * and moved back to memory when they are used again. The disk tier does not survive the client, its files are
+   * deleted when the client is closed.
+   *
+   * @param diskDirectory the disk directory or {@code null} to cache only in memory
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ClientCacheConfig setDiskDirectory(String diskDirectory) {
+    this.diskDirectory = diskDirectory;
+    return this;
+  }
+
+  /**
+   * @return the max size in bytes of the bodies cached on disk
+   */
+  public long getMaxDiskSize() {
+    return maxDiskSize;
+  }
+
+  /**
+   * Set the max size in bytes of the bodies cached on disk.
+   *
+   * @param maxDiskSize the max disk size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ClientCacheConfig setMaxDiskSize(long maxDiskSize) {
+    Arguments.require(maxDiskSize >= 0, "Max disk size must be >= 0");
+    this.maxDiskSize = maxDiskSize;
+    return this;
+  }
+
+  /**
+   * @return whether concurrent requests of a resource are coalesced
+   */
+  public boolean isCoalescing() {
+    return coalescing;
+  }
+
+  /**
+   * Set whether concurrent requests of a resource that is not cached are coalesced: a single request is sent to the
+   * server and the other requests wait for its response to be cached.
+   *
+   * @param coalescing whether to coalesce requests
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ClientCacheConfig setCoalescing(boolean coalescing) {
+    this.coalescing = coalescing;
+    return this;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Unstable;
+import io.vertx.core.impl.Arguments;
+
+/**
+ * HTTP server compressed response cache config.
+ * <p>
+ * A response body sent in full with {@link HttpServerResponse#end(io.vertx.core.buffer.Buffer)} is compressed once per
+ * content encoding, further responses with the same body reuse the compressed bytes instead of compressing the body
+ * again. A body is cached the second time it is sent, so bodies sent once do not churn the cache.
+ */
+@DataObject
+@Unstable
+public class CompressionCacheConfig {
+
+  /**
+   * The default max size of the cache = 16 MiB
+   */
+  public static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * The default max size of a cached body = 256 KiB
+   */
+  public static final int DEFAULT_MAX_ENTRY_SIZE = 256 * 1024;
+
+  private long maxSize;
+  private int maxEntrySize;
+
+  public CompressionCacheConfig() {
+    this.maxSize = DEFAULT_MAX_SIZE;
+    this.maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+  }
+
+  public CompressionCacheConfig(CompressionCacheConfig other) {
+    this.maxSize = other.maxSize;
+    this.maxEntrySize = other.maxEntrySize;
+  }
+
+  /**
+   * @return the max size in bytes of the cache, including the uncompressed bodies
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the max size in bytes of the cache, the cache holds both the uncompressed and the compressed bodies and
+   * evicts the least recently used bodies beyond this size.
+   *
+   * @param maxSize the max size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CompressionCacheConfig setMaxSize(long maxSize) {
+    Arguments.require(maxSize > 0, "Max size must be > 0");
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * @return the max size in bytes of a cached body
+   */
+  public int getMaxEntrySize() {
+    return maxEntrySize;
+  }
+
+  /**
+   * Set the max size in bytes of a cached body, larger bodies are compressed each time they are sent.
+   *
+   * @param maxEntrySize the max entry size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CompressionCacheConfig setMaxEntrySize(int maxEntrySize) {
+    Arguments.require(maxEntrySize > 0, "Max entry size must be > 0");
+    this.maxEntrySize = maxEntrySize;
+    return this;
+  }
+}
@@ -35,12 +35,14 @@ public class CompressionConfig {
   private boolean decompressionEnabled;
   private int contentSizeThreshold;
   private List<CompressionOptions> compressors;
+  private CompressionCacheConfig cacheConfig;
 
   public CompressionConfig() {
     this.compressionEnabled = HttpServerOptions.DEFAULT_COMPRESSION_SUPPORTED;
     this.decompressionEnabled = HttpServerOptions.DEFAULT_DECOMPRESSION_SUPPORTED;
     this.contentSizeThreshold = HttpServerOptions.DEFAULT_COMPRESSION_CONTENT_SIZE_THRESHOLD;
     this.compressors = null;
+    this.cacheConfig = null;
   }
 
   public CompressionConfig(CompressionConfig other) {
@@ -48,6 +50,7 @@ public class CompressionConfig {
     this.decompressionEnabled = other.decompressionEnabled;
     this.contentSizeThreshold = other.contentSizeThreshold;
     this.compressors = other.compressors != null ? new ArrayList<>(other.compressors) : null;
+    this.cacheConfig = other.cacheConfig != null ? new CompressionCacheConfig(other.cacheConfig) : null;
   }
 
   /**
@@ -125,6 +128,24 @@ public class CompressionConfig {
     return this;
   }
 
+  /**
+   * @return the compressed response cache config, {@code null} when the cache is disabled
+   */
+  public CompressionCacheConfig getCacheConfig() {
+    return cacheConfig;
+  }
+
+  /**
+   * Set the compressed response cache config, the cache is disabled by default.
+   *
+   * @param cacheConfig the cache config
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CompressionConfig setCacheConfig(CompressionCacheConfig cacheConfig) {
+    this.cacheConfig = cacheConfig;
+    return this;
+  }
+
   /**
    * Add a compressor, if the compressor is already registered, the compressor is updated instead.
    *
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Unstable;
+import io.vertx.core.impl.Arguments;
+
+/**
+ * HTTP server static file cache config.
+ * <p>
+ * The files sent with {@link HttpServerResponse#sendFile(String, long, long)} are held in memory, a cached file is
+ * validated against the modification time and the length of the file on each send. When the server compression is
+ * enabled, the compressed variants of a file are built once and sent according to the request {@code Accept-Encoding}.
+ */
+@DataObject
+@Unstable
+public class FileCacheConfig {
+
+  /**
+   * The default max size of the cached files = 32 MiB
+   */
+  public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+  /**
+   * The default max size of a cached file = 1 MiB
+   */
+  public static final int DEFAULT_MAX_FILE_SIZE = 1024 * 1024;
+
+  /**
+   * The default precompression = true
+   */
+  public static final boolean DEFAULT_PRECOMPRESSION = true;
+
+  private long maxSize;
+  private int maxFileSize;
+  private boolean precompression;
+
+  public FileCacheConfig() {
+    this.maxSize = DEFAULT_MAX_SIZE;
+    this.maxFileSize = DEFAULT_MAX_FILE_SIZE;
+    this.precompression = DEFAULT_PRECOMPRESSION;
+  }
+
+  public FileCacheConfig(FileCacheConfig other) {
+    this.maxSize = other.maxSize;
+    this.maxFileSize = other.maxFileSize;
+    this.precompression = other.precompression;
+  }
+
+  /**
+   * @return the max size in bytes of the cached files, including their compressed variants
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the max size in bytes of the cached files including their compressed variants, the least recently sent
+   * files are evicted beyond this size.
+   *
+   * @param maxSize the max size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public FileCacheConfig setMaxSize(long maxSize) {
+    Arguments.require(maxSize > 0, "Max size must be > 0");
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * @return the max size in bytes of a cached file
+   */
+  public int getMaxFileSize() {
+    return maxFileSize;
+  }
+
+  /**
+   * Set the max size in bytes of a cached file, larger files are sent from the file system.
+   *
+   * @param maxFileSize the max file size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public FileCacheConfig setMaxFileSize(int maxFileSize) {
+    Arguments.require(maxFileSize > 0, "Max file size must be > 0");
+    this.maxFileSize = maxFileSize;
+    return this;
+  }
+
+  /**
+   * @return whether the compressed variants of the cached files are built
+   */
+  public boolean isPrecompression() {
+    return precompression;
+  }
+
+  /**
+   * Set whether the compressed variants of the cached files are built when the server compression is enabled, instead
+   * of compressing a file each time it is sent.
+   *
+   * @param precompression whether to build compressed variants
+   * @return a reference to this, so the API can be used fluently
+   */
+  public FileCacheConfig setPrecompression(boolean precompression) {
+    this.precompression = precompression;
+    return this;
+  }
+}
@@ -29,6 +29,7 @@ public class Http1ClientConfig {
   private Duration keepAliveTimeout;
   private int pipeliningLimit;
   private boolean pipelining;
+  private boolean adaptivePipelining;
   private int maxChunkSize;
   private int maxInitialLineLength;
   private int maxHeaderSize;
@@ -39,6 +40,7 @@ public class Http1ClientConfig {
     keepAliveTimeout = Duration.ofSeconds(HttpClientOptions.DEFAULT_KEEP_ALIVE_TIMEOUT);
     pipelining = HttpClientOptions.DEFAULT_PIPELINING;
     pipeliningLimit = HttpClientOptions.DEFAULT_PIPELINING_LIMIT;
+    adaptivePipelining = HttpClientOptions.DEFAULT_ADAPTIVE_PIPELINING;
     maxChunkSize = HttpClientOptions.DEFAULT_MAX_CHUNK_SIZE;
     maxInitialLineLength = HttpClientOptions.DEFAULT_MAX_INITIAL_LINE_LENGTH;
     maxHeaderSize = HttpClientOptions.DEFAULT_MAX_HEADER_SIZE;
@@ -50,6 +52,7 @@ public class Http1ClientConfig {
     this.keepAliveTimeout = other.getKeepAliveTimeout();
     this.pipelining = other.isPipelining();
     this.pipeliningLimit = other.getPipeliningLimit();
+    this.adaptivePipelining = other.isAdaptivePipelining();
     this.maxChunkSize = other.maxChunkSize;
     this.maxInitialLineLength = other.getMaxInitialLineLength();
     this.maxHeaderSize = other.getMaxHeaderSize();
@@ -140,6 +143,30 @@ public class Http1ClientConfig {
     return this;
   }
 
+  /**
+   * @return whether the pipe-lining depth of a connection adapts to the observed latency
+   */
+  public boolean isAdaptivePipelining() {
+    return adaptivePipelining;
+  }
+
+  /**
+   * Set whether the pipe-lining depth of a connection adapts to the observed latency, this only applies when
+   * pipe-lining is enabled.
+   *
+   * <p>An adaptive connection starts with a depth of one request and measures the time the server takes to serve each
+   * response, excluding the time the response waited behind the previous responses. A response much slower than
+   * the average while other requests are queued behind it halves the depth, a fast response while the connection
+   * is saturated increases the depth by one, up to the {@link #setPipeliningLimit(int) pipe-lining limit}.
+   *
+   * @param adaptivePipelining {@code true} if enabled
+   * @return a reference to this, so the API can be used fluently
+   */
+  public Http1ClientConfig setAdaptivePipelining(boolean adaptivePipelining) {
+    this.adaptivePipelining = adaptivePipelining;
+    return this;
+  }
+
   /**
    * Set the maximum HTTP chunk size
    * @param maxChunkSize the maximum chunk size
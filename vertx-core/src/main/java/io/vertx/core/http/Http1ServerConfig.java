@@ -26,16 +26,23 @@ import io.vertx.codegen.annotations.Unstable;
 @Unstable
 public class Http1ServerConfig {
 
+  /**
+   * The default max number of pipelined requests of a connection handled concurrently = 1
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_PIPELINED_REQUESTS = 1;
+
   private int maxChunkSize;
   private int maxInitialLineLength;
   private int maxHeaderSize;
   private int decoderInitialBufferSize;
+  private int maxConcurrentPipelinedRequests;
 
   public Http1ServerConfig() {
     maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
     maxInitialLineLength = DEFAULT_MAX_INITIAL_LINE_LENGTH;
     maxHeaderSize = DEFAULT_MAX_HEADER_SIZE;
     decoderInitialBufferSize = DEFAULT_DECODER_INITIAL_BUFFER_SIZE;
+    maxConcurrentPipelinedRequests = DEFAULT_MAX_CONCURRENT_PIPELINED_REQUESTS;
   }
 
   public Http1ServerConfig(Http1ServerConfig other) {
@@ -43,6 +50,7 @@ public class Http1ServerConfig {
     this.maxInitialLineLength = other.getMaxInitialLineLength();
     this.maxHeaderSize = other.getMaxHeaderSize();
     this.decoderInitialBufferSize = other.getDecoderInitialBufferSize();
+    this.maxConcurrentPipelinedRequests = other.getMaxConcurrentPipelinedRequests();
   }
 
   /**
@@ -115,4 +123,34 @@ public class Http1ServerConfig {
     this.decoderInitialBufferSize = decoderInitialBufferSize;
     return this;
   }
+
+  /**
+   * @return the max number of pipelined requests of a connection handled concurrently
+   */
+  public int getMaxConcurrentPipelinedRequests() {
+    return maxConcurrentPipelinedRequests;
+  }
+
+  /**
+   * Set the max number of pipelined requests of a connection handled concurrently when the request handler runs on a
+   * worker or a virtual thread, the default value handles the requests of a connection one after the other.
+   * <p>
+   * A pipelined request is dispatched to the request handler before the responses of the previous requests are sent,
+   * its response is buffered until the previous responses are sent so the responses are sent in the order of the
+   * requests. A request upgrading the connection is never handled concurrently. This setting has no effect on
+   * event-loop servers.
+   * <p>
+   * The requests are dispatched to the context of the server, which executes its tasks in order: a worker request
+   * handler that blocks still handles the requests one after the other. The requests are handled concurrently when
+   * the request handler does not block the context, e.g. when it responds asynchronously or when a virtual thread
+   * request handler awaits a future.
+   *
+   * @param maxConcurrentPipelinedRequests the max number of requests
+   * @return a reference to this, so the API can be used fluently
+   */
+  public Http1ServerConfig setMaxConcurrentPipelinedRequests(int maxConcurrentPipelinedRequests) {
+    Arguments.require(maxConcurrentPipelinedRequests > 0, "Max concurrent pipelined requests must be > 0");
+    this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
+    return this;
+  }
 }
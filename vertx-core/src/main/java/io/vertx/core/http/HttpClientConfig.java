@@ -13,6 +13,7 @@ package io.vertx.core.http;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.Unstable;
+import io.vertx.core.impl.Arguments;
 import io.vertx.core.net.*;
 
 import java.time.Duration;
@@ -34,6 +35,11 @@ public class HttpClientConfig {
    */
   public static final boolean DEFAULT_FOLLOW_ALTERNATIVE_SERVICES = false;
 
+  /**
+   * The default hedging budget = {@code 10} percent of the hedged requests
+   */
+  public static final int DEFAULT_HEDGING_BUDGET = 10;
+
   private static List<HttpVersion> toSupportedVersion(HttpVersion version) {
     switch (version) {
       case HTTP_1_0:
@@ -80,9 +86,11 @@ public class HttpClientConfig {
   private int defaultPort;
   private ClientRedirectConfig redirectConfig;
   private ObservabilityConfig observabilityConfig;
+  private ClientCacheConfig cacheConfig;
   private boolean shared;
   private String name;
   private boolean followAlternativeServices;
+  private int hedgingBudget;
 
   public HttpClientConfig() {
     this.tcpConfig = new TcpClientConfig();
@@ -98,9 +106,11 @@ public class HttpClientConfig {
     this.defaultPort = HttpClientOptions.DEFAULT_DEFAULT_PORT;
     this.redirectConfig = null;
     this.observabilityConfig = null;
+    this.cacheConfig = null;
     this.shared = HttpClientOptions.DEFAULT_SHARED;
     this.name = HttpClientOptions.DEFAULT_NAME;
     this.followAlternativeServices = DEFAULT_FOLLOW_ALTERNATIVE_SERVICES;
+    this.hedgingBudget = DEFAULT_HEDGING_BUDGET;
   }
 
   public HttpClientConfig(HttpClientConfig other) {
@@ -117,9 +127,11 @@ public class HttpClientConfig {
     this.defaultPort = other.defaultPort;
     this.redirectConfig = other.redirectConfig != null ? new ClientRedirectConfig(other.redirectConfig) : null;
     this.observabilityConfig = other.observabilityConfig != null ? new ObservabilityConfig(other.observabilityConfig) : null;
+    this.cacheConfig = other.cacheConfig != null ? new ClientCacheConfig(other.cacheConfig) : null;
     this.shared = other.shared;
     this.name = other.name;
     this.followAlternativeServices = other.followAlternativeServices;
+    this.hedgingBudget = other.hedgingBudget;
   }
 
   public HttpClientConfig(HttpClientOptions options) {
@@ -157,6 +169,7 @@ public class HttpClientConfig {
     this.shared = options.isShared();
     this.name = options.getName();
     this.followAlternativeServices = false;
+    this.hedgingBudget = DEFAULT_HEDGING_BUDGET;
   }
 
   /**
@@ -503,6 +516,45 @@ public class HttpClientConfig {
     return this;
   }
 
+  /**
+   * @return the client response cache config, {@code null} when responses are not cached
+   */
+  public ClientCacheConfig getCacheConfig() {
+    return cacheConfig;
+  }
+
+  /**
+   * Set the client response cache config, set to {@code null} to not cache responses.
+   *
+   * @param cacheConfig the cache config
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpClientConfig setCacheConfig(ClientCacheConfig cacheConfig) {
+    this.cacheConfig = cacheConfig;
+    return this;
+  }
+
+  /**
+   * @return the percentage of the hedged requests that can be duplicated
+   */
+  public int getHedgingBudget() {
+    return hedgingBudget;
+  }
+
+  /**
+   * Set the percentage of the {@link RequestOptions#setHedgingDelay(long) hedged requests} that can be duplicated, the
+   * budget is shared by all the requests of the client so hedging does not overload the servers when they are all
+   * slow.
+   *
+   * @param hedgingBudget the percentage, {@code 0} never duplicates a request
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpClientConfig setHedgingBudget(int hedgingBudget) {
+    Arguments.require(hedgingBudget >= 0 && hedgingBudget <= 100, "hedgingBudget must be in [0,100]");
+    this.hedgingBudget = hedgingBudget;
+    return this;
+  }
+
   /**
    * @return whether the pool is shared
    */
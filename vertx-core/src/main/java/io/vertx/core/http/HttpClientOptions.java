@@ -66,6 +66,11 @@ public class HttpClientOptions extends ClientOptionsBase {
    */
   public static final int DEFAULT_PIPELINING_LIMIT = 10;
 
+  /**
+   * Default value of whether the pipe-lining depth adapts to the observed latency = {@code false}
+   */
+  public static final boolean DEFAULT_ADAPTIVE_PIPELINING = false;
+
   /**
    * The default keep alive timeout for HTTP/1.1 connection can send = 60 seconds
    */
@@ -663,6 +668,25 @@ public class HttpClientOptions extends ClientOptionsBase {
     return this;
   }
 
+  /**
+   * @return whether the pipe-lining depth of a connection adapts to the observed latency
+   */
+  public boolean isAdaptivePipelining() {
+    return http1Config.isAdaptivePipelining();
+  }
+
+  /**
+   * Set whether the pipe-lining depth of a connection adapts to the observed latency, see
+   * {@link Http1ClientConfig#setAdaptivePipelining(boolean)}.
+   *
+   * @param adaptivePipelining {@code true} if enabled
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpClientOptions setAdaptivePipelining(boolean adaptivePipelining) {
+    http1Config.setAdaptivePipelining(adaptivePipelining);
+    return this;
+  }
+
   /**
    * Is hostname verification (for SSL/TLS) enabled?
    *
@@ -530,6 +530,21 @@ public interface HttpHeaders {
     }
   }
 
+  /**
+   * Create an immutable block of headers encoded once for {@code HTTP/1.x}, such as the {@code Server}, {@code Content-Type}
+   * or security headers shared by many responses.
+   * <p>
+   * The block is added to a response with {@code response.headers().addAll(block)} before any other header is set,
+   * the block is then written as is instead of encoding each of its headers for every response. Setting or removing
+   * a header of the block on a response falls back to the regular encoding.
+   *
+   * @param headers the headers of the block
+   * @return the immutable encoded block
+   */
+  static MultiMap encoded(MultiMap headers) {
+    return Http1xHeaders.encoded(headers);
+  }
+
   static MultiMap set(String name, String value) {
     return Http1xHeaders.httpHeaders().set(name, value);
   }
@@ -71,6 +71,8 @@ public class HttpServerConfig {
   private Http3ServerConfig http3Config;
   private WebSocketServerConfig webSocketConfig;
   private CompressionConfig compressionConfig;
+  private FileCacheConfig fileCacheConfig;
+  private AdmissionControlConfig admissionControlConfig;
   private final TcpServerConfig tcpConfig;
   private final QuicServerConfig quicConfig;
 
@@ -94,6 +96,8 @@ public class HttpServerConfig {
       compression.setCompressionEnabled(options.isCompressionSupported());
       compression.setDecompressionEnabled(options.isDecompressionSupported());
       compression.setContentSizeThreshold(options.getCompressionContentSizeThreshold());
+      CompressionCacheConfig cacheConfig = options.getCompression().getCacheConfig();
+      compression.setCacheConfig(cacheConfig != null ? new CompressionCacheConfig(cacheConfig) : null);
     } else {
       compression = null;
     }
@@ -141,6 +145,8 @@ public class HttpServerConfig {
     this.http2Config = new Http2ServerConfig(options.getHttp2Config());
     this.webSocketConfig = new WebSocketServerConfig(options.getWebSocketConfig());
     this.compressionConfig = compression;
+    this.fileCacheConfig = null;
+    this.admissionControlConfig = null;
     this.tcpConfig = new TcpServerConfig(options);
     this.quicConfig = defaultQuicConfig();
   }
@@ -160,6 +166,8 @@ public class HttpServerConfig {
     this.http3Config = null;
     this.webSocketConfig = null;
     this.compressionConfig = null;
+    this.fileCacheConfig = null;
+    this.admissionControlConfig = null;
     this.tcpConfig = defaultTcpServerConfig();
     this.quicConfig = defaultQuicConfig();
   }
@@ -181,6 +189,8 @@ public class HttpServerConfig {
     this.http3Config = other.http3Config != null ? new Http3ServerConfig(other.http3Config) : null;
     this.webSocketConfig = other.webSocketConfig != null ? new WebSocketServerConfig(other.webSocketConfig) : new WebSocketServerConfig();
     this.compressionConfig = other.compressionConfig != null ? new CompressionConfig(other.compressionConfig) : new CompressionConfig();
+    this.fileCacheConfig = other.fileCacheConfig != null ? new FileCacheConfig(other.fileCacheConfig) : null;
+    this.admissionControlConfig = other.admissionControlConfig != null ? new AdmissionControlConfig(other.admissionControlConfig) : null;
     this.tcpConfig = other.tcpConfig != null ? new TcpServerConfig(other.tcpConfig) : defaultTcpServerConfig();
     this.quicConfig = other.quicConfig != null ? new QuicServerConfig(other.quicConfig) : defaultQuicConfig();
   }
@@ -548,6 +558,43 @@ public class HttpServerConfig {
     return this;
   }
 
+  /**
+   * @return the static file cache config, {@code null} when files are not cached
+   */
+  public FileCacheConfig getFileCacheConfig() {
+    return fileCacheConfig;
+  }
+
+  /**
+   * Set the static file cache config, set to {@code null} to not cache the files sent by the server.
+   *
+   * @param fileCacheConfig the file cache config
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpServerConfig setFileCacheConfig(FileCacheConfig fileCacheConfig) {
+    this.fileCacheConfig = fileCacheConfig;
+    return this;
+  }
+
+  /**
+   * @return the admission control config, {@code null} when every request is dispatched to the request handler
+   */
+  public AdmissionControlConfig getAdmissionControlConfig() {
+    return admissionControlConfig;
+  }
+
+  /**
+   * Set the admission control config, each server instance then rejects the requests it cannot handle in time with a
+   * {@code 503} status instead of queuing them, set to {@code null} to dispatch every request.
+   *
+   * @param admissionControlConfig the admission control config
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpServerConfig setAdmissionControlConfig(AdmissionControlConfig admissionControlConfig) {
+    this.admissionControlConfig = admissionControlConfig;
+    return this;
+  }
+
   /**
    * @return the TCP transport config
    */
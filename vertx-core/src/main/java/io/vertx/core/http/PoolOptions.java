@@ -66,6 +66,31 @@ public class PoolOptions {
    */
   public static final int DEFAULT_POOL_EVENT_LOOP_SIZE = 0;
 
+  /**
+   * Default pool sharding = false
+   */
+  public static final boolean DEFAULT_SHARDED = false;
+
+  /**
+   * Default minimum number of idle connections = 0
+   */
+  public static final int DEFAULT_MIN_IDLE = 0;
+
+  /**
+   * Default pool warm-up = false
+   */
+  public static final boolean DEFAULT_WARMUP = false;
+
+  /**
+   * Default adaptive concurrency limit = false
+   */
+  public static final boolean DEFAULT_ADAPTIVE_CONCURRENCY_LIMIT = false;
+
+  /**
+   * Default max concurrency limit = 1000
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY_LIMIT = 1000;
+
   private int http1MaxSize;
   private int http2MaxSize;
   private int http3MaxSize;
@@ -74,6 +99,11 @@ public class PoolOptions {
   private int cleanerPeriod;
   private int eventLoopSize;
   private int maxWaitQueueSize;
+  private boolean sharded;
+  private int minIdle;
+  private boolean warmup;
+  private boolean adaptiveConcurrencyLimit;
+  private int maxConcurrencyLimit;
 
   /**
    * Default constructor
@@ -87,6 +117,11 @@ public class PoolOptions {
     cleanerPeriod = DEFAULT_POOL_CLEANER_PERIOD;
     eventLoopSize = DEFAULT_POOL_EVENT_LOOP_SIZE;
     maxWaitQueueSize = DEFAULT_MAX_WAIT_QUEUE_SIZE;
+    sharded = DEFAULT_SHARDED;
+    minIdle = DEFAULT_MIN_IDLE;
+    warmup = DEFAULT_WARMUP;
+    adaptiveConcurrencyLimit = DEFAULT_ADAPTIVE_CONCURRENCY_LIMIT;
+    maxConcurrencyLimit = DEFAULT_MAX_CONCURRENCY_LIMIT;
   }
 
   /**
@@ -103,6 +138,11 @@ public class PoolOptions {
     this.cleanerPeriod = other.cleanerPeriod;
     this.eventLoopSize = other.eventLoopSize;
     this.maxWaitQueueSize = other.maxWaitQueueSize;
+    this.sharded = other.sharded;
+    this.minIdle = other.minIdle;
+    this.warmup = other.warmup;
+    this.adaptiveConcurrencyLimit = other.adaptiveConcurrencyLimit;
+    this.maxConcurrencyLimit = other.maxConcurrencyLimit;
   }
 
   /**
@@ -287,6 +327,133 @@ public class PoolOptions {
     return maxWaitQueueSize;
   }
 
+  /**
+   * @return whether the pool is sharded per event-loop
+   */
+  public boolean isSharded() {
+    return sharded;
+  }
+
+  /**
+   * Set whether the pool of an endpoint is split in shards, one per event-loop.
+   *
+   * <p> A non sharded pool serializes the connection acquisitions and releases of all the event-loops, this can
+   * become a contention point when a client is shared by many event-loops. A sharded pool gives each event-loop its
+   * own shard with a share of the pool sizes, a shard steals connections from the other shards only when it is
+   * exhausted.
+   *
+   * <p> When all the shards are exhausted, requests wait in a single queue bounded by
+   * {@link #setMaxWaitQueueSize(int)} and are served by the first shard that can lend a connection.
+   *
+   * <p> The number of shards is bounded per protocol by the pool max size of the protocol: with the default
+   * {@link #setHttp2MaxSize(int) HTTP/2 max size} of {@code 1}, HTTP/1 connections are spread over the shards while
+   * the HTTP/2 connection is held by a single shard.
+   *
+   * The default value is {@code false}.
+   *
+   * @param sharded whether the pool is sharded
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PoolOptions setSharded(boolean sharded) {
+    this.sharded = sharded;
+    return this;
+  }
+
+  /**
+   * @return the minimum number of idle connections of an endpoint pool
+   */
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  /**
+   * Set the minimum number of idle connections the pool of an endpoint maintains, so requests do not pay the
+   * connection establishment latency.
+   *
+   * <p> Only the connections that are not lent to a request count as idle. The pool opens the missing connections
+   * when a connection is created or removed and on each pool cleaner period, the new connections are spread over the
+   * event-loops. The value is bounded by the pool max size.
+   *
+   * The default value is {@code 0}.
+   *
+   * @param minIdle the minimum number of idle connections
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PoolOptions setMinIdle(int minIdle) {
+    Arguments.require(minIdle >= 0, "minIdle must be >= 0");
+    this.minIdle = minIdle;
+    return this;
+  }
+
+  /**
+   * @return whether the pool of an endpoint is warmed-up when it is first used
+   */
+  public boolean isWarmup() {
+    return warmup;
+  }
+
+  /**
+   * Set whether the pool of an endpoint opens its {@link #setMinIdle(int) minimum idle connections} as soon as the
+   * pool is created, i.e. when the endpoint is first used, instead of waiting for the first connection.
+   *
+   * The default value is {@code false}.
+   *
+   * @param warmup whether to warm-up the pool
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PoolOptions setWarmup(boolean warmup) {
+    this.warmup = warmup;
+    return this;
+  }
+
+  /**
+   * @return whether the concurrent requests to an endpoint are limited by an adaptive limit
+   */
+  public boolean isAdaptiveConcurrencyLimit() {
+    return adaptiveConcurrencyLimit;
+  }
+
+  /**
+   * Set whether the concurrent requests sent to an endpoint are limited by an adaptive limit.
+   *
+   * <p> The limit is derived from the round-trip times of the requests, in the style of TCP Vegas: the limit grows
+   * while the round-trip times stay close to the lowest observed round-trip time and shrinks when they increase, i.e.
+   * when the server queues requests, or when requests fail to obtain a connection.
+   *
+   * <p> Requests beyond the limit wait for the completion of other requests, the number of waiting requests is bounded
+   * by {@link #setMaxWaitQueueSize(int)}, beyond this size requests fail fast with a {@link ConnectionPoolTooBusyException}.
+   *
+   * The default value is {@code false}.
+   *
+   * @param adaptiveConcurrencyLimit whether to limit the concurrent requests
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PoolOptions setAdaptiveConcurrencyLimit(boolean adaptiveConcurrencyLimit) {
+    this.adaptiveConcurrencyLimit = adaptiveConcurrencyLimit;
+    return this;
+  }
+
+  /**
+   * @return the max value of the adaptive concurrency limit
+   */
+  public int getMaxConcurrencyLimit() {
+    return maxConcurrencyLimit;
+  }
+
+  /**
+   * Set the max value of the {@link #setAdaptiveConcurrencyLimit(boolean) adaptive concurrency limit} of an endpoint.
+   *
+   * The default value is {@code 1000}.
+   *
+   * @param maxConcurrencyLimit the max concurrency limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PoolOptions setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+    Arguments.require(maxConcurrencyLimit > 0, "maxConcurrencyLimit must be > 0");
+    this.maxConcurrencyLimit = maxConcurrencyLimit;
+    return this;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     PoolOptionsConverter.toJson(this, json);
@@ -16,6 +16,7 @@ import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.core.MultiMap;
 import io.vertx.core.VertxException;
+import io.vertx.core.impl.Arguments;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.*;
 
@@ -86,6 +87,16 @@ public class RequestOptions extends HttpConnectOptions {
    */
   public static final long DEFAULT_IDLE_TIMEOUT = -1L;
 
+  /**
+   * The default hedging delay = {@code -1L} (disabled)
+   */
+  public static final long DEFAULT_HEDGING_DELAY = -1L;
+
+  /**
+   * The default hedging percentile = {@code 0} (disabled)
+   */
+  public static final double DEFAULT_HEDGING_PERCENTILE = 0D;
+
   private HttpMethod method;
   private String uri;
   private MultiMap headers;
@@ -94,6 +105,8 @@ public class RequestOptions extends HttpConnectOptions {
   private long idleTimeout;
   private String traceOperation;
   private String routingKey;
+  private long hedgingDelay;
+  private double hedgingPercentile;
 
   /**
    * Default constructor
@@ -119,6 +132,8 @@ public class RequestOptions extends HttpConnectOptions {
     }
     setTraceOperation(other.traceOperation);
     setRoutingKey(other.routingKey);
+    setHedgingDelay(other.hedgingDelay);
+    setHedgingPercentile(other.hedgingPercentile);
   }
 
   /**
@@ -159,6 +174,8 @@ public class RequestOptions extends HttpConnectOptions {
     timeout = DEFAULT_TIMEOUT;
     idleTimeout = DEFAULT_IDLE_TIMEOUT;
     traceOperation = null;
+    hedgingDelay = DEFAULT_HEDGING_DELAY;
+    hedgingPercentile = DEFAULT_HEDGING_PERCENTILE;
   }
 
   @Override
@@ -527,6 +544,50 @@ public class RequestOptions extends HttpConnectOptions {
     return this;
   }
 
+  /**
+   * @return the hedging delay in milliseconds, {@code -1} when hedging is disabled
+   */
+  public long getHedgingDelay() {
+    return hedgingDelay;
+  }
+
+  /**
+   * Set the delay in milliseconds after which a duplicate of the request is sent to another server of the endpoint
+   * when no response has been received yet, the first response is used and the other request is reset.
+   * <p>
+   * Only requests resolved by a load balancer with an idempotent method and without a body are hedged. The client
+   * limits the number of duplicate requests to a fraction of the hedged requests, so hedging does not overload the
+   * servers.
+   *
+   * @param hedgingDelay the delay in milliseconds, {@code -1} to disable hedging
+   * @return  a reference to this, so the API can be used fluently
+   */
+  public RequestOptions setHedgingDelay(long hedgingDelay) {
+    Arguments.require(hedgingDelay >= -1L, "hedgingDelay must be >= -1");
+    this.hedgingDelay = hedgingDelay;
+    return this;
+  }
+
+  /**
+   * @return the percentile of the server response times used as hedging delay
+   */
+  public double getHedgingPercentile() {
+    return hedgingPercentile;
+  }
+
+  /**
+   * Use a percentile of the response times of the selected server as hedging delay, e.g. {@code 95}, the
+   * {@link #setHedgingDelay(long) hedging delay} is used until enough response times have been observed.
+   *
+   * @param hedgingPercentile the percentile, {@code 0} to always use the hedging delay
+   * @return  a reference to this, so the API can be used fluently
+   */
+  public RequestOptions setHedgingPercentile(double hedgingPercentile) {
+    Arguments.require(hedgingPercentile >= 0D && hedgingPercentile < 100D, "hedgingPercentile must be in [0,100)");
+    this.hedgingPercentile = hedgingPercentile;
+    return this;
+  }
+
   public JsonObject toJson() {
     JsonObject json = super.toJson();
     RequestOptionsConverter.toJson(this, json);
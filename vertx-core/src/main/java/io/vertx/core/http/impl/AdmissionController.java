@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.http.AdmissionControlConfig;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.spi.metrics.HttpServerMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The admission control of a server instance, it decides whether a request is dispatched to the request handler or
+ * rejected with a {@code 503} status.
+ * <p>
+ * A request is rejected when the number of admitted requests reaches the max concurrent requests, or when its queue
+ * delay exceeds the current timeout. The timeout follows CoDel: the lowest queue delay observed during an interval
+ * above the target means a standing queue, the timeout is then the target until an interval sees a delay below the
+ * target again, otherwise the timeout is the interval so bursts are absorbed.
+ */
+public class AdmissionController {
+
+  private final HttpServerMetrics<?, ?> metrics;
+  private final int maxConcurrentRequests;
+  private final long target;
+  private final long interval;
+  private final String retryAfter;
+  private final LongAdder rejected = new LongAdder();
+  private int inflight;
+  private long intervalStart;
+  private long minDelay = Long.MAX_VALUE;
+  private boolean overloaded;
+
+  public AdmissionController(AdmissionControlConfig config, HttpServerMetrics<?, ?> metrics) {
+    Duration target = config.getQueueDelayTarget();
+    Duration retryAfter = config.getRetryAfter();
+    this.metrics = metrics;
+    this.maxConcurrentRequests = config.getMaxConcurrentRequests();
+    this.target = target != null ? target.toNanos() : 0L;
+    this.interval = config.getQueueDelayInterval().toNanos();
+    this.retryAfter = retryAfter != null ? Long.toString((retryAfter.toMillis() + 999) / 1000) : null;
+    this.intervalStart = System.nanoTime();
+  }
+
+  /**
+   * @return the number of admitted requests not yet released
+   */
+  public synchronized int inflight() {
+    return inflight;
+  }
+
+  /**
+   * @return the number of rejected requests
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * @return whether the last interval detected a standing queue
+   */
+  public synchronized boolean isOverloaded() {
+    return overloaded;
+  }
+
+  /**
+   * Try to admit a request about to be dispatched to the request handler, an admitted request must be released
+   * when its response is sent.
+   *
+   * @param receivedAt the {@link System#nanoTime()} at which the request head was received
+   * @return whether the request is admitted
+   */
+  public boolean tryAdmit(long receivedAt) {
+    long now = System.nanoTime();
+    long delay = now - receivedAt;
+    synchronized (this) {
+      if (target > 0L) {
+        if (delay < minDelay) {
+          minDelay = delay;
+        }
+        if (now - intervalStart >= interval) {
+          overloaded = minDelay > target;
+          minDelay = Long.MAX_VALUE;
+          intervalStart = now;
+        }
+        if (delay > (overloaded ? target : interval)) {
+          return false;
+        }
+      }
+      if (maxConcurrentRequests > 0 && inflight >= maxConcurrentRequests) {
+        return false;
+      }
+      inflight++;
+      return true;
+    }
+  }
+
+  /**
+   * Release an admitted request.
+   */
+  public synchronized void release() {
+    inflight--;
+  }
+
+  /**
+   * Answer a request that was not admitted.
+   *
+   * @param response the response of the request
+   */
+  public void reject(HttpServerResponse response) {
+    rejected.increment();
+    if (metrics != null) {
+      metrics.requestRejected();
+    }
+    response.setStatusCode(HttpResponseStatus.SERVICE_UNAVAILABLE.code());
+    if (retryAfter != null) {
+      response.putHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+    }
+    response.end();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+
+/**
+ * The {@code Cache-Control} directives of a request or a response used by the {@link HttpResponseCache}.
+ */
+final class CacheControl {
+
+  static final CacheControl EMPTY = new CacheControl(-1L, -1L, false, false, false);
+
+  /**
+   * The {@code max-age} directive in seconds or {@code -1}.
+   */
+  final long maxAge;
+
+  /**
+   * The {@code stale-while-revalidate} directive in seconds or {@code -1}.
+   */
+  final long staleWhileRevalidate;
+
+  final boolean noCache;
+  final boolean noStore;
+  final boolean mustRevalidate;
+
+  private CacheControl(long maxAge, long staleWhileRevalidate, boolean noCache, boolean noStore, boolean mustRevalidate) {
+    this.maxAge = maxAge;
+    this.staleWhileRevalidate = staleWhileRevalidate;
+    this.noCache = noCache;
+    this.noStore = noStore;
+    this.mustRevalidate = mustRevalidate;
+  }
+
+  static CacheControl parse(MultiMap headers) {
+    if (!headers.contains(HttpHeaders.CACHE_CONTROL)) {
+      return EMPTY;
+    }
+    long maxAge = -1L;
+    long staleWhileRevalidate = -1L;
+    boolean noCache = false;
+    boolean noStore = false;
+    boolean mustRevalidate = false;
+    for (String value : headers.getAll(HttpHeaders.CACHE_CONTROL)) {
+      for (String directive : value.split(",")) {
+        directive = directive.trim();
+        String name;
+        String arg;
+        int idx = directive.indexOf('=');
+        if (idx == -1) {
+          name = directive;
+          arg = null;
+        } else {
+          name = directive.substring(0, idx).trim();
+          arg = directive.substring(idx + 1).trim();
+          if (arg.length() > 1 && arg.charAt(0) == '"' && arg.charAt(arg.length() - 1) == '"') {
+            arg = arg.substring(1, arg.length() - 1);
+          }
+        }
+        switch (name.toLowerCase()) {
+          case "max-age":
+            maxAge = parseSeconds(arg);
+            break;
+          case "stale-while-revalidate":
+            staleWhileRevalidate = parseSeconds(arg);
+            break;
+          case "no-cache":
+            // no-cache with field names is handled as an unqualified no-cache
+            noCache = true;
+            break;
+          case "no-store":
+            noStore = true;
+            break;
+          case "must-revalidate":
+          case "proxy-revalidate":
+            mustRevalidate = true;
+            break;
+        }
+      }
+    }
+    return new CacheControl(maxAge, staleWhileRevalidate, noCache, noStore, mustRevalidate);
+  }
+
+  /**
+   * @return the delta-seconds value, {@code -1} when invalid and {@link Integer#MAX_VALUE} when it overflows
+   */
+  private static long parseSeconds(String s) {
+    if (s == null || s.isEmpty()) {
+      return -1L;
+    }
+    long val = 0L;
+    for (int i = 0;i < s.length();i++) {
+      char c = s.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1L;
+      }
+      val = val * 10 + (c - '0');
+      if (val > Integer.MAX_VALUE) {
+        return Integer.MAX_VALUE;
+      }
+    }
+    return val;
+  }
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpFrame;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.StreamPriority;
+import io.vertx.core.internal.ContextInternal;
+
+/**
+ * Decorates an {@link HttpClientStream} with a {@link HttpResponseCache}.
+ * <p>
+ * A {@code GET} request is looked up in the cache when its head is written:
+ * <ul>
+ *   <li>a fresh response is replayed to the request, nothing is written to the stream which is cancelled</li>
+ *   <li>a stale response within its {@code stale-while-revalidate} window is replayed and revalidated in background with
+ *   the stream</li>
+ *   <li>a stale response with validators is revalidated with a conditional request, a {@code 304} response replays
+ *   the cached response</li>
+ *   <li>otherwise the request is sent and its response is stored when it is cacheable</li>
+ * </ul>
+ * The responses of unsafe requests invalidate the cached responses of the request URI.
+ */
+class CachingHttpClientStream implements HttpClientStream {
+
+  private enum Mode {
+    // The request is not cached
+    FORWARD,
+    // The response is fetched from the server
+    FETCH,
+    // The cached response is revalidated with the server
+    REVALIDATE,
+    // The cached response is replayed, the stream is not used
+    REPLAY,
+    // The cached response is replayed, the stream revalidates it
+    BACKGROUND
+  }
+
+  private final HttpClientStream delegate;
+  private final HttpResponseCache cache;
+  private final ContextInternal context;
+  private Handler<HttpResponseHead> headHandler;
+  private Handler<Buffer> dataHandler;
+  private Handler<MultiMap> trailersHandler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Long> resetHandler;
+  private Handler<Void> closeHandler;
+  private Mode mode = Mode.FORWARD;
+  private String key;
+  private String invalidatedKey;
+  private HttpRequestHead request;
+  private long requestTime;
+  private boolean fetching;
+  private HttpResponseCache.Entry entry;
+  private HttpResponseHead response;
+  private Buffer body;
+  private boolean delegateClosed;
+  private boolean closed;
+  // Replay state
+  private HttpResponseCache.Entry replayed;
+  private int replayStep;
+  private boolean paused;
+
+  CachingHttpClientStream(HttpClientStream delegate, HttpResponseCache cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.context = delegate.context();
+    delegate.headHandler(this::handleHead);
+    delegate.dataHandler(this::handleData);
+    delegate.trailersHandler(this::handleTrailers);
+    delegate.exceptionHandler(this::handleException);
+    delegate.resetHandler(this::handleReset);
+    delegate.closeHandler(v -> handleClose());
+  }
+
+  private static boolean isCacheable(HttpRequestHead request) {
+    MultiMap headers = request.headers;
+    return request.method == HttpMethod.GET
+      && !headers.contains(HttpHeaders.AUTHORIZATION)
+      && !headers.contains(HttpHeaderNames.RANGE)
+      && !headers.contains(HttpHeaders.IF_NONE_MATCH)
+      && !headers.contains(HttpHeaders.IF_MODIFIED_SINCE)
+      && !headers.contains(HttpHeaderNames.IF_MATCH)
+      && !headers.contains(HttpHeaderNames.IF_UNMODIFIED_SINCE)
+      && !headers.contains(HttpHeaderNames.IF_RANGE)
+      && !CacheControl.parse(headers).noStore;
+  }
+
+  private static boolean isUnsafe(HttpMethod method) {
+    return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS
+      && method != HttpMethod.TRACE && method != HttpMethod.QUERY;
+  }
+
+  @Override
+  public Future<Void> writeHead(HttpRequestHead request, boolean chunked, Buffer buf, boolean end, StreamPriority priority, boolean connect) {
+    if (!end || (buf != null && buf.length() > 0) || connect || !isCacheable(request)) {
+      if (isUnsafe(request.method)) {
+        invalidatedKey = request.absoluteURI;
+      }
+      return delegate.writeHead(request, chunked, buf, end, priority, connect);
+    }
+    this.request = request;
+    this.key = request.absoluteURI;
+    Promise<Void> promise = context.promise();
+    lookup(priority, true, promise);
+    return promise.future();
+  }
+
+  private void lookup(StreamPriority priority, boolean coalesce, Promise<Void> promise) {
+    cache.get(context, key, request.headers).onComplete(ar -> {
+      HttpResponseCache.Entry cached = ar.result();
+      long now = System.currentTimeMillis();
+      CacheControl cacheControl = CacheControl.parse(request.headers);
+      if (cached != null && !cacheControl.noCache && (cacheControl.maxAge < 0L || cached.age(now) <= cacheControl.maxAge * 1000)) {
+        if (cached.isFresh(now)) {
+          cache.reportHit();
+          mode = Mode.REPLAY;
+          promise.complete();
+          context.runOnContext(v -> replay(cached));
+          return;
+        }
+        if (cached.hasValidators() && cached.isStaleWhileRevalidate(now)) {
+          cache.reportHit();
+          mode = Mode.BACKGROUND;
+          entry = cached;
+          send(conditional(cached), priority).onComplete(promise);
+          context.runOnContext(v -> replay(cached));
+          return;
+        }
+      }
+      if (cached != null && cached.hasValidators()) {
+        cache.reportMiss();
+        mode = Mode.REVALIDATE;
+        entry = cached;
+        send(conditional(cached), priority).onComplete(promise);
+        return;
+      }
+      if (coalesce) {
+        Future<Void> fetch = cache.join(context, key);
+        if (fetch != null) {
+          // Wait for the response of the current fetch of the resource
+          fetch.onComplete(v -> lookup(priority, false, promise));
+          return;
+        }
+        fetching = true;
+      }
+      cache.reportMiss();
+      mode = Mode.FETCH;
+      send(request, priority).onComplete(promise);
+    });
+  }
+
+  private HttpRequestHead conditional(HttpResponseCache.Entry cached) {
+    MultiMap headers = delegate.connection().newHttpRequestHeaders().setAll(request.headers);
+    String etag = cached.headers.get(HttpHeaders.ETAG);
+    if (etag != null) {
+      headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+    }
+    String lastModified = cached.headers.get(HttpHeaders.LAST_MODIFIED);
+    if (lastModified != null) {
+      headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+    }
+    return new HttpRequestHead(request.scheme, request.method, request.uri, headers, request.authority, request.absoluteURI, request.traceOperation);
+  }
+
+  private Future<Void> send(HttpRequestHead head, StreamPriority priority) {
+    requestTime = System.currentTimeMillis();
+    return delegate.writeHead(head, false, null, true, priority, false);
+  }
+
+  private void endFetch() {
+    if (fetching) {
+      fetching = false;
+      cache.leave(key);
+    }
+  }
+
+  private boolean isDetached() {
+    return mode == Mode.REPLAY || mode == Mode.BACKGROUND || (mode == Mode.REVALIDATE && replayed != null);
+  }
+
+  private void handleHead(HttpResponseHead head) {
+    switch (mode) {
+      case FORWARD:
+        if (invalidatedKey != null && head.statusCode < 400) {
+          cache.invalidate(invalidatedKey);
+        }
+        break;
+      case REVALIDATE:
+      case BACKGROUND:
+        if (head.statusCode == 304) {
+          HttpResponseCache.Entry revalidated = entry.revalidate(request.headers, requestTime, head, System.currentTimeMillis());
+          cache.put(key, revalidated);
+          if (mode == Mode.REVALIDATE) {
+            replay(revalidated);
+          }
+          return;
+        }
+        if (head.statusCode >= 500 && mode == Mode.BACKGROUND) {
+          return;
+        }
+        record(head);
+        break;
+      case FETCH:
+        record(head);
+        if (response == null) {
+          endFetch();
+        }
+        break;
+      default:
+        return;
+    }
+    if (!isDetached()) {
+      Handler<HttpResponseHead> handler = headHandler;
+      if (handler != null) {
+        handler.handle(head);
+      }
+    }
+  }
+
+  private void record(HttpResponseHead head) {
+    if (HttpResponseCache.isCacheable(head)) {
+      response = head;
+      body = Buffer.buffer();
+    } else if (mode != Mode.FETCH) {
+      cache.invalidate(key);
+    }
+  }
+
+  private void handleData(Buffer chunk) {
+    if (response != null) {
+      if (body.length() + chunk.length() <= cache.maxEntrySize()) {
+        body.appendBuffer(chunk);
+      } else {
+        response = null;
+        body = null;
+        endFetch();
+      }
+    }
+    if (!isDetached()) {
+      Handler<Buffer> handler = dataHandler;
+      if (handler != null) {
+        handler.handle(chunk);
+      }
+    }
+  }
+
+  private void handleTrailers(MultiMap trailers) {
+    if (response != null) {
+      cache.put(key, HttpResponseCache.Entry.create(request.headers, requestTime, response, body, trailers, System.currentTimeMillis()));
+      response = null;
+      body = null;
+    }
+    endFetch();
+    if (!isDetached()) {
+      Handler<MultiMap> handler = trailersHandler;
+      if (handler != null) {
+        handler.handle(trailers);
+      }
+    }
+  }
+
+  private void handleException(Throwable cause) {
+    response = null;
+    body = null;
+    endFetch();
+    if (!isDetached()) {
+      Handler<Throwable> handler = exceptionHandler;
+      if (handler != null) {
+        handler.handle(cause);
+      }
+    }
+  }
+
+  private void handleReset(long code) {
+    if (!isDetached()) {
+      Handler<Long> handler = resetHandler;
+      if (handler != null) {
+        handler.handle(code);
+      }
+    }
+  }
+
+  private void handleClose() {
+    delegateClosed = true;
+    endFetch();
+    if (replayed != null ? replayStep < 3 : (mode == Mode.REPLAY || mode == Mode.BACKGROUND)) {
+      // Closed when the replay ends
+      return;
+    }
+    close();
+  }
+
+  private void close() {
+    if (!closed) {
+      closed = true;
+      Handler<Void> handler = closeHandler;
+      if (handler != null) {
+        handler.handle(null);
+      }
+    }
+  }
+
+  /**
+   * Replay a cached response to the handlers of this stream.
+   */
+  private void replay(HttpResponseCache.Entry cached) {
+    replayed = cached;
+    replayStep = 0;
+    replay();
+  }
+
+  private void replay() {
+    while (!paused && replayStep < 3) {
+      switch (replayStep++) {
+        case 0:
+          Handler<HttpResponseHead> head = headHandler;
+          if (head != null) {
+            head.handle(replayed.head(System.currentTimeMillis()));
+          }
+          break;
+        case 1:
+          Handler<Buffer> data = dataHandler;
+          if (data != null && replayed.body.length() > 0) {
+            data.handle(replayed.body.copy());
+          }
+          break;
+        case 2:
+          Handler<MultiMap> trailers = trailersHandler;
+          if (trailers != null) {
+            trailers.handle(replayed.trailers);
+          }
+          if (mode == Mode.REPLAY) {
+            // Release the stream, nothing was written to it
+            delegate.cancel().onComplete(ar -> close());
+          } else if (delegateClosed) {
+            close();
+          }
+          break;
+      }
+    }
+  }
+
+  @Override
+  public long id() {
+    return delegate.id();
+  }
+
+  @Override
+  public Object metric() {
+    return delegate.metric();
+  }
+
+  @Override
+  public Object trace() {
+    return delegate.trace();
+  }
+
+  @Override
+  public HttpVersion version() {
+    return delegate.version();
+  }
+
+  @Override
+  public HttpClientConnection connection() {
+    return delegate.connection();
+  }
+
+  @Override
+  public ContextInternal context() {
+    return context;
+  }
+
+  @Override
+  public Future<Void> writeChunk(Buffer buf, boolean end) {
+    return delegate.writeChunk(buf, end);
+  }
+
+  @Override
+  public Future<Void> writeFrame(int type, int flags, Buffer payload) {
+    return delegate.writeFrame(type, flags, payload);
+  }
+
+  @Override
+  public HttpClientStream continueHandler(Handler<Void> handler) {
+    delegate.continueHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpClientStream earlyHintsHandler(Handler<MultiMap> handler) {
+    delegate.earlyHintsHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpClientStream pushHandler(Handler<HttpClientPush> handler) {
+    delegate.pushHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpClientStream customFrameHandler(Handler<HttpFrame> handler) {
+    delegate.customFrameHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpClientStream headHandler(Handler<HttpResponseHead> handler) {
+    headHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpClientStream dataHandler(Handler<Buffer> handler) {
+    dataHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpClientStream trailersHandler(Handler<MultiMap> handler) {
+    trailersHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpClientStream priorityChangeHandler(Handler<StreamPriority> handler) {
+    delegate.priorityChangeHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpClientStream closeHandler(Handler<Void> handler) {
+    closeHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpClientStream pause() {
+    if (replayed != null) {
+      paused = true;
+    } else {
+      delegate.pause();
+    }
+    return this;
+  }
+
+  @Override
+  public HttpClientStream fetch(long amount) {
+    if (replayed != null) {
+      if (paused && amount > 0L) {
+        paused = false;
+        context.runOnContext(v -> replay());
+      }
+    } else {
+      delegate.fetch(amount);
+    }
+    return this;
+  }
+
+  @Override
+  public Future<Boolean> cancel() {
+    return delegate.cancel();
+  }
+
+  @Override
+  public Future<Void> writeReset(long code) {
+    return delegate.writeReset(code);
+  }
+
+  @Override
+  public StreamPriority priority() {
+    return delegate.priority();
+  }
+
+  @Override
+  public HttpClientStream updatePriority(StreamPriority streamPriority) {
+    delegate.updatePriority(streamPriority);
+    return this;
+  }
+
+  @Override
+  public HttpClientStream resetHandler(Handler<Long> handler) {
+    resetHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpClientStream exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpClientStream setWriteQueueMaxSize(int maxSize) {
+    delegate.setWriteQueueMaxSize(maxSize);
+    return this;
+  }
+
+  @Override
+  public boolean isWritable() {
+    return delegate.isWritable();
+  }
+
+  @Override
+  public HttpClientStream drainHandler(Handler<Void> handler) {
+    delegate.drainHandler(handler);
+    return this;
+  }
+}
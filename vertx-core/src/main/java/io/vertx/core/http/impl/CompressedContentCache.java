@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.CompressionCacheConfig;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
+import io.vertx.core.spi.metrics.HttpServerMetrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A server cache of the compressed response bodies, keyed on the body content and the content encoding.
+ * <p>
+ * A cached body keeps a copy of the uncompressed content, so a hash collision is detected by comparing the bytes and
+ * never sends the compressed bytes of another body. A body that does not shrink when compressed is cached as well and
+ * then sent with the {@code identity} encoding, so it is not compressed again.
+ * <p>
+ * A body is cached the second time it is sent, the first time it is compressed by the connection as any response
+ * body, so unique dynamic bodies are neither copied nor evict the cached bodies. The keys of the bodies sent once
+ * are remembered in a bounded set.
+ */
+public class CompressedContentCache {
+
+  // Max number of keys of bodies sent once remembered, least recently sent keys are forgotten first
+  private static final int MAX_SIGHTINGS = 4096;
+
+  private final CompressionManager compressionManager;
+  private final HttpServerMetrics<?, ?> metrics;
+  private final long maxSize;
+  private final int maxEntrySize;
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final LinkedHashSet<Key> sightings = new LinkedHashSet<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private long size;
+  private boolean closed;
+
+  public CompressedContentCache(CompressionCacheConfig config, CompressionManager compressionManager, HttpServerMetrics<?, ?> metrics) {
+    this.compressionManager = compressionManager;
+    this.metrics = metrics;
+    this.maxSize = config.getMaxSize();
+    this.maxEntrySize = config.getMaxEntrySize();
+  }
+
+  /**
+   * @return the number of bodies sent with cached compressed bytes
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of bodies not found in the cache
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the size in bytes of the cached bodies
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * Compress a full response body and set the response {@code Content-Encoding} header accordingly.
+   *
+   * @param content the response body, the content is not released
+   * @param acceptEncoding the request {@code Accept-Encoding} header
+   * @param headers the response headers
+   * @return the retained compressed body to send instead of {@code content} or {@code null} when {@code content}
+   *         should be sent
+   */
+  public ByteBuf compress(ByteBuf content, String acceptEncoding, MultiMap headers) {
+    int length = content.readableBytes();
+    if (acceptEncoding == null || length == 0 || length > maxEntrySize || length < compressionManager.contentSizeThreshold() || headers.contains(HttpHeaders.CONTENT_ENCODING)) {
+      return null;
+    }
+    String encoding = compressionManager.determineEncoding(acceptEncoding);
+    if (encoding == null || HttpHeaders.IDENTITY.toString().equalsIgnoreCase(encoding)) {
+      return null;
+    }
+    Key key = new Key(ByteBufUtil.hashCode(content), length, encoding);
+    Entry entry;
+    boolean admitted = true;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry != null) {
+        entry.retain();
+      } else if (!sightings.remove(key)) {
+        admitted = false;
+        sightings.add(key);
+        if (sightings.size() > MAX_SIGHTINGS) {
+          Iterator<Key> it = sightings.iterator();
+          it.next();
+          it.remove();
+        }
+      }
+    }
+    if (entry != null) {
+      try {
+        if (ByteBufUtil.equals(entry.content, content)) {
+          hits.increment();
+          if (metrics != null) {
+            metrics.compressionCacheHit();
+          }
+          return select(entry.compressed, encoding, headers);
+        }
+      } finally {
+        entry.release();
+      }
+    }
+    misses.increment();
+    if (metrics != null) {
+      metrics.compressionCacheMiss();
+    }
+    if (!admitted) {
+      // First time the body is sent
+      return null;
+    }
+    ByteBuf compressed = compressionManager.compress(content, encoding);
+    if (compressed != null && compressed.readableBytes() >= length) {
+      compressed.release();
+      compressed = null;
+    }
+    ByteBuf copy = VertxByteBufAllocator.POOLED_ALLOCATOR.directBuffer(length, length);
+    copy.writeBytes(content, content.readerIndex(), length);
+    Entry loaded = new Entry(copy, compressed);
+    ByteBuf result = select(compressed, encoding, headers);
+    List<Entry> dropped = new ArrayList<>();
+    synchronized (this) {
+      if (closed || loaded.size > maxSize) {
+        dropped.add(loaded);
+      } else {
+        Entry prev = entries.put(key, loaded);
+        if (prev != null) {
+          size -= prev.size;
+          dropped.add(prev);
+        }
+        size += loaded.size;
+        Iterator<Entry> it = entries.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+          Entry eldest = it.next();
+          it.remove();
+          size -= eldest.size;
+          dropped.add(eldest);
+        }
+      }
+    }
+    for (Entry e : dropped) {
+      e.release();
+    }
+    return result;
+  }
+
+  private static ByteBuf select(ByteBuf compressed, String encoding, MultiMap headers) {
+    if (compressed == null) {
+      // Prevent the connection from compressing the body
+      headers.set(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+      return null;
+    }
+    headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+    return compressed.retainedDuplicate();
+  }
+
+  /**
+   * Release the cached bodies.
+   */
+  public void close() {
+    List<Entry> dropped;
+    synchronized (this) {
+      closed = true;
+      dropped = new ArrayList<>(entries.values());
+      entries.clear();
+      sightings.clear();
+      size = 0L;
+    }
+    for (Entry entry : dropped) {
+      entry.release();
+    }
+  }
+
+  private static final class Key {
+
+    private final int hash;
+    private final int length;
+    private final String encoding;
+
+    private Key(int hash, int length, String encoding) {
+      this.hash = hash;
+      this.length = length;
+      this.encoding = encoding;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof Key) {
+        Key that = (Key) obj;
+        return hash == that.hash && length == that.length && encoding.equalsIgnoreCase(that.encoding);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * hash + length;
+    }
+  }
+
+  /**
+   * A cached body, the cache holds a reference released on eviction and each lookup holds a reference while the
+   * content is compared.
+   */
+  private static final class Entry extends AbstractReferenceCounted {
+
+    private final ByteBuf content;
+    private final ByteBuf compressed;
+    private final long size;
+
+    private Entry(ByteBuf content, ByteBuf compressed) {
+      this.content = content;
+      this.compressed = compressed;
+      this.size = content.readableBytes() + (compressed != null ? compressed.readableBytes() : 0);
+    }
+
+    @Override
+    protected void deallocate() {
+      content.release();
+      if (compressed != null) {
+        compressed.release();
+      }
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+      return this;
+    }
+  }
+}
@@ -10,10 +10,21 @@
  */
 package io.vertx.core.http.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.Headers;
 import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
 
 import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
 import static io.vertx.core.http.HttpHeaders.IDENTITY;
@@ -24,9 +35,11 @@ import static io.vertx.core.http.HttpHeaders.IDENTITY;
 public class CompressionManager {
 
   private final EncodingDetector encodingDetector;
+  private final int contentSizeThreshold;
   private final CompressionOptions[] options;
 
   public CompressionManager(int contentSizeThreshold, CompressionOptions[] options) {
+    this.contentSizeThreshold = contentSizeThreshold;
     this.options = options;
     this.encodingDetector = new EncodingDetector(contentSizeThreshold, options);
   }
@@ -35,10 +48,64 @@ public class CompressionManager {
     return options;
   }
 
+  /**
+   * @return the size under which a content is not compressed
+   */
+  public int contentSizeThreshold() {
+    return contentSizeThreshold;
+  }
+
   public String determineEncoding(String acceptEncoding) {
     return encodingDetector.determineEncoding(acceptEncoding);
   }
 
+  /**
+   * Compress a content with the given {@code encoding}, the content is not released.
+   *
+   * @param content the content to compress
+   * @param encoding the content encoding, e.g. {@code gzip}
+   * @return the compressed content as a pooled direct buffer or {@code null} when the content cannot be compressed with
+   *         this encoding
+   */
+  public ByteBuf compress(ByteBuf content, String encoding) {
+    EmbeddedChannel channel = new EmbeddedChannel(new HttpContentCompressor(0, options));
+    ByteBuf compressed = null;
+    try {
+      DefaultFullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+      request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, encoding);
+      channel.writeInbound(request);
+      ReferenceCountUtil.release(channel.readInbound());
+      DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content.retainedDuplicate());
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+      channel.writeOutbound(response);
+      Object msg;
+      while ((msg = channel.readOutbound()) != null) {
+        try {
+          if (msg instanceof HttpResponse && !encoding.equalsIgnoreCase(((HttpResponse) msg).headers().get(CONTENT_ENCODING))) {
+            return null;
+          }
+          if (msg instanceof HttpContent) {
+            ByteBuf chunk = ((HttpContent) msg).content();
+            if (compressed == null) {
+              compressed = VertxByteBufAllocator.POOLED_ALLOCATOR.directBuffer(chunk.readableBytes());
+            }
+            compressed.writeBytes(chunk);
+          }
+        } finally {
+          ReferenceCountUtil.release(msg);
+        }
+      }
+      ByteBuf result = compressed;
+      compressed = null;
+      return result;
+    } finally {
+      if (compressed != null) {
+        compressed.release();
+      }
+      channel.finishAndReleaseAll();
+    }
+  }
+
   /**
    * Set the {@code responseHeaders} content-encoding header.
    *
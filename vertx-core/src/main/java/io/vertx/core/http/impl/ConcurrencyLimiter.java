@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import io.vertx.core.impl.NoStackTraceTimeoutException;
+import io.vertx.core.internal.ContextInternal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An adaptive limit of the concurrent requests sent to a server, in the style of TCP Vegas.
+ * <p>
+ * The limiter tracks the lowest round-trip time of the requests, the no-load RTT. The round-trip time of a request
+ * estimates the number of requests queued by the server: {@code limit * (1 - noLoadRtt / rtt)}. The limit grows when
+ * this estimate is lower than {@code alpha} and shrinks when it is greater than {@code beta}, both are logarithmic in the
+ * limit. A failed request shrinks the limit as well. The no-load RTT is probed again periodically since the baseline of
+ * the server changes over time.
+ * <p>
+ * The requests above the limit wait for a permit in a bounded queue, they fail with a {@link ConnectionPoolTooBusyException}
+ * when the queue is full.
+ */
+class ConcurrencyLimiter {
+
+  /**
+   * The initial limit.
+   */
+  static final int INITIAL_LIMIT = 20;
+
+  /**
+   * The no-load RTT is probed after {@code PROBE_MULTIPLIER * limit} samples.
+   */
+  private static final int PROBE_MULTIPLIER = 30;
+
+  private final int maxLimit;
+  private final int maxWaiters;
+  private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+  private double limit;
+  private int inflight;
+  private long noLoadRtt;
+  private long samples;
+
+  /**
+   * @param maxLimit the max limit
+   * @param maxWaiters the max number of requests waiting for a permit, a negative value means unbounded
+   */
+  ConcurrencyLimiter(int maxLimit, int maxWaiters) {
+    this.maxLimit = maxLimit;
+    this.maxWaiters = maxWaiters;
+    this.limit = Math.min(INITIAL_LIMIT, maxLimit);
+  }
+
+  /**
+   * @return the current limit
+   */
+  synchronized int limit() {
+    return (int) limit;
+  }
+
+  /**
+   * @return the number of permits in use
+   */
+  synchronized int inflight() {
+    return inflight;
+  }
+
+  /**
+   * Acquire a permit, the permit must be released when the request ends.
+   *
+   * @param context the context of the request
+   * @param timeout the time to wait for a permit in milliseconds, {@code 0} to wait forever
+   * @return the permit future
+   */
+  Future<Permit> acquire(ContextInternal context, long timeout) {
+    Waiter waiter;
+    synchronized (this) {
+      if (inflight < (int) limit) {
+        inflight++;
+        return context.succeededFuture(new Permit());
+      }
+      if (maxWaiters >= 0 && waiters.size() >= maxWaiters) {
+        waiter = null;
+      } else {
+        waiter = new Waiter(context);
+        waiters.add(waiter);
+      }
+    }
+    if (waiter == null) {
+      return context.failedFuture(new ConnectionPoolTooBusyException("Concurrency limit of " + limit() + " reached with " + maxWaiters + " waiting requests"));
+    }
+    if (timeout > 0L) {
+      long id = context.setTimer(timeout, id_ -> {
+        boolean removed;
+        synchronized (ConcurrencyLimiter.this) {
+          removed = waiters.remove(waiter);
+        }
+        if (removed) {
+          waiter.promise.fail(new NoStackTraceTimeoutException("The timeout of " + timeout + " ms has been exceeded when waiting for the concurrency limit"));
+        }
+      });
+      waiter.timerId = id;
+    }
+    return waiter.promise.future();
+  }
+
+  private void release(long rtt, boolean dropped) {
+    List<Waiter> granted = null;
+    synchronized (this) {
+      update(rtt, dropped);
+      inflight--;
+      while (inflight < (int) limit && !waiters.isEmpty()) {
+        if (granted == null) {
+          granted = new ArrayList<>();
+        }
+        granted.add(waiters.poll());
+        inflight++;
+      }
+    }
+    if (granted != null) {
+      for (Waiter waiter : granted) {
+        long id = waiter.timerId;
+        if (id != -1L) {
+          waiter.context.owner().cancelTimer(id);
+        }
+        waiter.promise.complete(new Permit());
+      }
+    }
+  }
+
+  // Guarded by this
+  private void update(long rtt, boolean dropped) {
+    double log = Math.max(1D, Math.log10(limit));
+    if (dropped) {
+      limit = Math.max(1D, limit - log);
+      return;
+    }
+    if (noLoadRtt == 0L || rtt < noLoadRtt) {
+      noLoadRtt = Math.max(1L, rtt);
+      return;
+    }
+    if (++samples >= PROBE_MULTIPLIER * (long) limit) {
+      // Probe the no-load RTT again
+      samples = 0L;
+      noLoadRtt = Math.max(1L, rtt);
+      return;
+    }
+    if (inflight * 2 < limit) {
+      // The limit is not used enough to tell whether it can grow
+      return;
+    }
+    double queued = Math.ceil(limit * (1D - (double) noLoadRtt / rtt));
+    if (queued <= 3 * log) {
+      limit = Math.min(maxLimit, limit + log);
+    } else if (queued >= 6 * log) {
+      limit = Math.max(1D, limit - log);
+    }
+  }
+
+  private static class Waiter {
+
+    final ContextInternal context;
+    final Promise<Permit> promise;
+    volatile long timerId = -1L;
+
+    Waiter(ContextInternal context) {
+      this.context = context;
+      this.promise = context.promise();
+    }
+  }
+
+  /**
+   * A permit to send a request.
+   */
+  class Permit {
+
+    private final long begin = System.nanoTime();
+    private boolean released;
+
+    /**
+     * Release the permit.
+     *
+     * @param dropped whether the request failed, shrinking the limit
+     */
+    void release(boolean dropped) {
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+      }
+      ConcurrencyLimiter.this.release(System.nanoTime() - begin, dropped);
+    }
+  }
+}
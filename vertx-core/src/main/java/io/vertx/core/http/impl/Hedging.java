@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.http.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.RequestOptions;
+
+import java.util.function.Function;
+
+/**
+ * The hedging of a request: after a delay without response, a duplicate of the request is sent to another server.
+ */
+class Hedging {
+
+  final long delay;
+  // Creates the hedge of a request described by its options, returns null when the request cannot be hedged
+  final Function<RequestOptions, Future<HttpClientRequest>> hedge;
+
+  Hedging(long delay, Function<RequestOptions, Future<HttpClientRequest>> hedge) {
+    this.delay = delay;
+    this.hedge = hedge;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.http.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the duplicate requests sent by hedging to a percentage of the hedged requests.
+ * <p>
+ * Each hedged request deposits a fraction of a token in the budget and each duplicate request withdraws a token, the
+ * balance is capped so a period without slow responses does not allow a burst of duplicates.
+ */
+class HedgingBudget {
+
+  private static final int TOKEN = 100;
+  private static final int MAX_BALANCE = 10 * TOKEN;
+
+  private final int deposit;
+  private final AtomicInteger balance;
+
+  HedgingBudget(int percent) {
+    this.deposit = percent * TOKEN / 100;
+    this.balance = new AtomicInteger(percent > 0 ? TOKEN : 0);
+  }
+
+  void deposit() {
+    while (true) {
+      int current = balance.get();
+      if (current >= MAX_BALANCE || balance.compareAndSet(current, Math.min(current + deposit, MAX_BALANCE))) {
+        return;
+      }
+    }
+  }
+
+  boolean withdraw() {
+    while (true) {
+      int current = balance.get();
+      if (current < TOKEN) {
+        return false;
+      }
+      if (balance.compareAndSet(current, current - TOKEN)) {
+        return true;
+      }
+    }
+  }
+}
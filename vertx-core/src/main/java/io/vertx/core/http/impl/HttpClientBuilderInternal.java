@@ -196,6 +196,8 @@ public final class HttpClientBuilderInternal implements HttpClientBuilder {
       redirectConfig.getMaxRedirects(),
       redirectConfig.getMaxBufferedSize(),
       versions,
+      config.getCacheConfig(),
+      config.getHedgingBudget(),
       sslOptions,
       connectHandler,
       tcpTransport,
@@ -224,13 +226,15 @@ public final class HttpClientBuilderInternal implements HttpClientBuilder {
       int maxRedirects,
       int maxRedirectBufferSize,
       List<HttpVersion> versions,
+      ClientCacheConfig cacheConfig,
+      int hedgingBudget,
       ClientSSLOptions sslOptions,
       Handler<HttpConnection> connectHandler,
       HttpClientTransport tcpTransport,
       HttpClientTransport quicTransport,
       HttpClientConfig config,
       HttpClientOptions options) {
-      super(vertx, resolver, redirectHandler, httpMetrics, poolOptions, defaultProxyOptions, nonProxyHosts, loadBalancer, followAlternativeServices, resolverIdeTimeout, verifyHost, defaultSsl, defaultHost, defaultPort, maxRedirects, maxRedirectBufferSize, versions, sslOptions, connectHandler, tcpTransport, quicTransport);
+      super(vertx, resolver, redirectHandler, httpMetrics, poolOptions, defaultProxyOptions, nonProxyHosts, loadBalancer, followAlternativeServices, resolverIdeTimeout, verifyHost, defaultSsl, defaultHost, defaultPort, maxRedirects, maxRedirectBufferSize, versions, cacheConfig, hedgingBudget, sslOptions, connectHandler, tcpTransport, quicTransport);
       this.config = config;
       this.options = options;
     }
@@ -11,6 +11,7 @@
 
 package io.vertx.core.http.impl;
 
+import io.netty.util.concurrent.EventExecutor;
 import io.vertx.core.*;
 import io.vertx.core.http.*;
 import io.vertx.core.http.impl.tcp.TcpHttpClientTransport;
@@ -43,6 +44,7 @@ import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -52,7 +54,11 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
   // Pattern to check we are not dealing with an absoluate URI
   static final Pattern ABS_URI_START_PATTERN = Pattern.compile("^\\p{Alpha}[\\p{Alpha}\\p{Digit}+.\\-]*:");
 
+  // The number of response times of a server required to compute the hedging delay from a percentile
+  private static final int HEDGING_MIN_SAMPLES = 20;
+
   private final PoolOptions poolOptions;
+  private final int poolShards;
   private final ResourceManager<EndpointKey, SharedHttpClientConnectionGroup> resourceManager;
   private final Function<HttpClientResponse, Future<RequestOptions>> redirectHandler;
   private long timerID;
@@ -74,6 +80,8 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
   private final Handler<HttpConnection> connectHandler;
   private volatile Handler<Throwable> exceptionHandler;
   private volatile ClientSSLOptions sslOptions;
+  private final HedgingBudget hedgingBudget;
+  private final HttpResponseCache responseCache;
 
   HttpClientImpl(VertxInternal vertx,
                  EndpointResolver resolver,
@@ -92,6 +100,8 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
                  int maxRedirects,
                  int maxRedirectBufferedSize,
                  List<HttpVersion> versions,
+                 ClientCacheConfig cacheConfig,
+                 int hedgingBudget,
                  ClientSSLOptions sslOptions,
                  Handler<HttpConnection> connectHandler,
                  HttpClientTransport tcpTransport,
@@ -123,6 +133,8 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
     this.versions = versions;
     this.sslOptions = sslOptions;
     this.connectHandler = connectHandler;
+    this.hedgingBudget = new HedgingBudget(hedgingBudget);
+    this.responseCache = cacheConfig != null ? new HttpResponseCache(vertx, httpMetrics, cacheConfig) : null;
     int eventLoopSize = poolOptions.getEventLoopSize();
     if (eventLoopSize > 0) {
       ContextInternal[] eventLoops = new ContextInternal[eventLoopSize];
@@ -138,6 +150,16 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
       this.contextProvider = ConnectionPool.EVENT_LOOP_CONTEXT_PROVIDER;
     }
 
+    if (poolOptions.isSharded()) {
+      int numEventLoops = 0;
+      for (EventExecutor eventLoop : vertx.nettyEventLoopGroup()) {
+        numEventLoops++;
+      }
+      this.poolShards = numEventLoops;
+    } else {
+      this.poolShards = 1;
+    }
+
     // Init time
     if (poolOptions.getCleanerPeriod() > 0) {
       PoolChecker checker = new PoolChecker(this);
@@ -213,10 +235,10 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
           int http1MaxSize = poolOptions.getHttp1MaxSize();
           int http2MaxSize = poolOptions.getHttp2MaxSize();
           int initialPoolKind = protocol == HttpVersion.HTTP_1_1 || protocol == HttpVersion.HTTP_1_0 ? 0 : 1;
-          return new SharedHttpClientConnectionGroup.Pool(group, transport, queueMaxSize, http1MaxSize, http2MaxSize, maxLifetime, initialPoolKind, params, contextProvider);
+          return new SharedHttpClientConnectionGroup.Pool(group, vertx, transport, queueMaxSize, poolShards, http1MaxSize, http2MaxSize, poolOptions.getMinIdle(), poolOptions.isWarmup(), maxLifetime, initialPoolKind, params, contextProvider);
         } else {
           int http3MaxSize = poolOptions.getHttp3MaxSize();
-          return new SharedHttpClientConnectionGroup.Pool(group, transport, queueMaxSize, http3MaxSize, maxLifetime, params, contextProvider);
+          return new SharedHttpClientConnectionGroup.Pool(group, vertx, transport, queueMaxSize, poolShards, http3MaxSize, poolOptions.getMinIdle(), poolOptions.isWarmup(), maxLifetime, params, contextProvider);
         }
       };
       return new SharedHttpClientConnectionGroup(
@@ -241,7 +263,8 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
         p,
         poolMetrics,
         key.authority,
-        key.server);
+        key.server,
+        poolOptions.isAdaptiveConcurrencyLimit() ? new ConcurrencyLimiter(poolOptions.getMaxConcurrencyLimit(), poolOptions.getMaxWaitQueueSize()) : null);
     };
   }
 
@@ -293,6 +316,9 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
   @Override
   protected void doClose(Completable<Void> p) {
     resourceManager.close();
+    if (responseCache != null) {
+      responseCache.close();
+    }
     List<Future<Void>> list = new ArrayList<>();
     if (tcpTransport != null) {
       list.add(tcpTransport.close());
@@ -502,7 +528,7 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
           throw new AssertionError();
       }
     }
-    return doRequest(transport, protocol, method, authority, server, useSSL, requestURI, headers, request.getTraceOperation(), request.getRoutingKey(), connectTimeout, idleTimeout, followRedirects, sslOptions);
+    return doRequest(transport, protocol, method, authority, server, useSSL, requestURI, headers, request.getTraceOperation(), request.getRoutingKey(), connectTimeout, idleTimeout, followRedirects, sslOptions, request.getHedgingDelay(), request.getHedgingPercentile());
   }
 
   private Future<HttpClientRequest> doRequestDirectly(
@@ -519,6 +545,9 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
     ContextInternal streamCtx = vertx.getOrCreateContext();
     EndpointKey key = new EndpointKey(useSSL, protocol, sslOptions, proxyOptions, server, authority);
     Future<ConnectionObtainedResult> fut2 = resourceManager.withResourceAsync(key, httpEndpointProvider(false, transport), (endpoint, created) -> {
+      if (created) {
+        endpoint.warmup();
+      }
       Future<Lease<HttpClientConnection>> fut = endpoint.requestConnection(streamCtx, connectTimeout);
       return fut.compose(lease -> {
         HttpClientConnection conn = lease.get();
@@ -547,7 +576,9 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
     long connectTimeout,
     long idleTimeout,
     Boolean followRedirects,
-    ClientSSLOptions sslOptions) {
+    ClientSSLOptions sslOptions,
+    long hedgingDelay,
+    double hedgingPercentile) {
     if (server instanceof SocketAddress && (resolver == null || !resolver.resolves(server))) {
       SocketAddress serverSocketAddress = (SocketAddress) server;
       return doRequest(
@@ -565,7 +596,9 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
         connectTimeout,
         idleTimeout,
         followRedirects,
-        sslOptions
+        sslOptions,
+        hedgingDelay,
+        hedgingPercentile
       );
     } else {
       return doRequest(
@@ -583,7 +616,9 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
         connectTimeout,
         idleTimeout,
         followRedirects,
-        sslOptions
+        sslOptions,
+        hedgingDelay,
+        hedgingPercentile
       );
     }
   }
@@ -603,7 +638,9 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
     long connectTimeout,
     long idleTimeout,
     Boolean followRedirects,
-    ClientSSLOptions sslOptions) {
+    ClientSSLOptions sslOptions,
+    long hedgingDelay,
+    double hedgingPercentile) {
     ContextInternal streamCtx = vertx.getOrCreateContext();
     Future<ConnectionObtainedResult> future;
     PromiseInternal<Endpoint> promise = vertx.promise();
@@ -612,6 +649,7 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
       .compose(endpoint -> {
         ServerEndpoint lookup;
         HttpProtocol protocol;
+        Hedging hedging = null;
         Origin originServer;
         // For HTTPS we must handle SNI to consider an alternative
         HostAndPort altUsed;
@@ -664,38 +702,31 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
           protocol = protocol_;
           lookup = endpoint.selectServer(routingKey);
           altUsed = null;
+          if (lookup != null && hedgingDelay >= 0L && isIdempotent(method)) {
+            ServerEndpoint primary = lookup;
+            hedgingBudget.deposit();
+            hedging = new Hedging(hedgingDelay(primary, hedgingDelay, hedgingPercentile), options -> {
+              ServerEndpoint other = selectOtherServer(endpoint, primary);
+              if (other == null || !hedgingBudget.withdraw()) {
+                return null;
+              }
+              Future<ConnectionObtainedResult> fut = connect(streamCtx, other, protocol_, followAlternativeServices && useSSL, useSSL, sslOptions, authority, null, connectTimeout);
+              return wrap(authority, options.getMethod(), options.getURI(), options.getHeaders(), options.getTraceOperation(), options.getIdleTimeout(), options.getFollowRedirects(), null, fut);
+            });
+          }
         }
-        ServerEndpoint lookup2 = lookup;
-        if (lookup2 == null) {
+        if (lookup == null) {
           throw new IllegalStateException("No results for " + server);
         }
-        SocketAddress address = lookup2.address();
-        return getPool(
-          followAlternativeServices && useSSL && altUsed == null,
-          useSSL,
-          protocol,
-          sslOptions,
-          address,
-          authority != null ? authority : HostAndPort.create(address.host(), address.port()),
-          new Function<SharedHttpClientConnectionGroup, Future<ConnectionObtainedResult>>() {
-            @Override
-            public Future<ConnectionObtainedResult> apply(SharedHttpClientConnectionGroup pool) {
-              Future<Lease<HttpClientConnection>> fut2 = pool.requestConnection(streamCtx, connectTimeout);
-              ServerInteraction endpointRequest = lookup2.newInteraction();
-              return fut2.andThen(ar -> {
-                if (ar.failed()) {
-                  endpointRequest.reportFailure(ar.cause());
-                }
-              }).compose(lease -> {
-                HttpClientConnection conn = lease.get();
-                return conn.createStream(streamCtx).map(stream -> {
-                  HttpClientStream wrapped = new StatisticsGatheringHttpClientStream(stream, endpointRequest);
-                  wrapped.closeHandler(v -> lease.recycle());
-                  return new ConnectionObtainedResult(wrapped, lease, altUsed);
-                });
-              });
-            }
+        Future<ConnectionObtainedResult> fut = connect(streamCtx, lookup, protocol, followAlternativeServices && useSSL && altUsed == null, useSSL, sslOptions, authority, altUsed, connectTimeout);
+        if (hedging != null) {
+          Hedging h = hedging;
+          fut = fut.map(res -> {
+            res.hedging = h;
+            return res;
           });
+        }
+        return fut;
       });
     if (future == null) {
       // I think this is not possible - so remove it
@@ -705,6 +736,80 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
     }
   }
 
+  private Future<ConnectionObtainedResult> connect(ContextInternal streamCtx,
+                                                   ServerEndpoint server,
+                                                   HttpProtocol protocol,
+                                                   boolean resolveOrigin,
+                                                   boolean useSSL,
+                                                   ClientSSLOptions sslOptions,
+                                                   HostAndPort authority,
+                                                   HostAndPort altUsed,
+                                                   long connectTimeout) {
+    SocketAddress address = server.address();
+    return getPool(
+      resolveOrigin,
+      useSSL,
+      protocol,
+      sslOptions,
+      address,
+      authority != null ? authority : HostAndPort.create(address.host(), address.port()),
+      new Function<SharedHttpClientConnectionGroup, Future<ConnectionObtainedResult>>() {
+        @Override
+        public Future<ConnectionObtainedResult> apply(SharedHttpClientConnectionGroup pool) {
+          Future<Lease<HttpClientConnection>> fut2 = pool.requestConnection(streamCtx, connectTimeout);
+          ServerInteraction endpointRequest = server.newInteraction();
+          return fut2.andThen(ar -> {
+            if (ar.failed()) {
+              endpointRequest.reportFailure(ar.cause());
+            }
+          }).compose(lease -> {
+            HttpClientConnection conn = lease.get();
+            return conn.createStream(streamCtx).andThen(ar -> {
+              if (ar.failed()) {
+                SharedHttpClientConnectionGroup.recycle(lease, true);
+              }
+            }).map(stream -> {
+              HttpClientStream wrapped = new StatisticsGatheringHttpClientStream(stream, endpointRequest);
+              wrapped.closeHandler(v -> lease.recycle());
+              return new ConnectionObtainedResult(wrapped, lease, altUsed);
+            });
+          });
+        }
+      });
+  }
+
+  private static boolean isIdempotent(HttpMethod method) {
+    return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+      || method == HttpMethod.TRACE || method == HttpMethod.PUT || method == HttpMethod.DELETE || method == HttpMethod.QUERY;
+  }
+
+  /**
+   * @return the hedging delay, a percentile of the server response times when it has enough of them
+   */
+  private static long hedgingDelay(ServerEndpoint server, long delay, double percentile) {
+    if (percentile > 0D && server.metrics() instanceof DefaultInteractionMetrics) {
+      LatencyHistogram responseTimes = ((DefaultInteractionMetrics) server.metrics()).responseTimes();
+      if (responseTimes.count() >= HEDGING_MIN_SAMPLES) {
+        return MILLISECONDS.convert(responseTimes.valueAtPercentile(percentile), NANOSECONDS);
+      }
+    }
+    return delay;
+  }
+
+  /**
+   * @return a server of the {@code endpoint} other than {@code server} or {@code null}
+   */
+  private static ServerEndpoint selectOtherServer(Endpoint endpoint, ServerEndpoint server) {
+    int attempts = endpoint.servers().size();
+    for (int i = 0;i < attempts;i++) {
+      ServerEndpoint other = endpoint.selectServer();
+      if (other != null && other != server) {
+        return other;
+      }
+    }
+    return null;
+  }
+
   Future<?> checkConnect(OriginServer primary, OriginAlternative alternative, OriginServer server, ClientSSLOptions sslOptions) {
     return getPool(false, true, alternative.protocol, sslOptions, server.address, primary.authority, new Function<SharedHttpClientConnectionGroup, Future<Boolean>>() {
       @Override
@@ -713,7 +818,7 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
           return Future.succeededFuture();
         } else {
           // Get something better
-          Future<Lease<HttpClientConnection>> f = group.requestConnection(vertx.getOrCreateContext(), 10_000);
+          Future<Lease<HttpClientConnection>> f = group.requestConnection(vertx.getOrCreateContext(), 10_000, false);
           return f.map(lease -> {
             lease.recycle();
             return null;
@@ -738,7 +843,12 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
       transport = tcpTransport;
     }
     Function<EndpointKey, SharedHttpClientConnectionGroup> provider = httpEndpointProvider(resolveOrigin, transport);
-    return resourceManager.withResourceAsync(key, provider, (group, created) -> function.apply(group));
+    return resourceManager.withResourceAsync(key, provider, (group, created) -> {
+      if (created) {
+        group.warmup();
+      }
+      return function.apply(group);
+    });
   }
 
   private Future<HttpClientRequest> wrap(HostAndPort authority,
@@ -760,7 +870,13 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
       options.setFollowRedirects(followRedirects);
       options.setTraceOperation(traceOperation);
       HttpClientStream stream = res.stream;
+      if (responseCache != null) {
+        stream = new CachingHttpClientStream(stream, responseCache);
+      }
       HttpClientRequestImpl request = createRequest(authority, stream.connection(), stream, options);
+      if (res.hedging != null) {
+        request.hedging(res.hedging);
+      }
       if (res.alternative != null) {
         String altUsedValue;
         int defaultPort = stream.connection().isSsl() ? 443 : 80;
@@ -772,7 +888,7 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
         request.putHeader(HttpHeaders.ALT_USED, altUsedValue);
       }
       stream.closeHandler(v -> {
-        res.lease.recycle();
+        SharedHttpClientConnectionGroup.recycle(res.lease, request.failed());
         request.handleClosed();
       });
       return request;
@@ -784,6 +900,7 @@ public class HttpClientImpl extends HttpClientBase implements HttpClientInternal
     private final HttpClientStream stream;
     private final Lease<HttpClientConnection> lease;
     private final HostAndPort alternative;
+    private Hedging hedging;
     public ConnectionObtainedResult(HttpClientStream stream, Lease<HttpClientConnection> lease, HostAndPort alternative) {
       this.stream = stream;
       this.lease = lease;
@@ -192,6 +192,32 @@ public abstract class HttpClientRequestBase implements HttpClientRequestInternal
 
   abstract void handleResponse(Promise<HttpClientResponse> promise, HttpClientResponse resp, long timeoutMs);
 
+  /**
+   * Complete the response of this request with the response of another request, e.g. a hedged request.
+   */
+  boolean completeResponse(HttpClientResponse resp) {
+    cancelTimeout();
+    return responsePromise.tryComplete(resp);
+  }
+
+  /**
+   * @return whether the request failed or timed out, a request cancelled by the application or replaced by a hedge
+   * does not fail
+   */
+  synchronized boolean failed() {
+    if (reset != null) {
+      return reset.getCause() instanceof NoStackTraceTimeoutException;
+    }
+    return responsePromise.future().failed();
+  }
+
+  /**
+   * @return the current idle timeout in milliseconds, {@code 0} when there is none
+   */
+  synchronized long idleTimeoutMs() {
+    return currentTimeoutMs;
+  }
+
   synchronized void scheduleTimeout(long timeoutMillis) {
     if (timeoutMillis < 0L) {
       throw new IllegalArgumentException();
@@ -63,6 +63,10 @@ public class HttpClientRequestImpl extends HttpClientRequestBase implements Http
   private String traceOperation;
   private int maxRedirectBufferSize = HttpClientOptions.DEFAULT_MAX_REDIRECT_BUFFERED_SIZE;
   private List<Buffer> bodyBuffer;
+  private Hedging hedging;
+  private long hedgingTimerId = -1L;
+  private HttpClientRequest hedge;
+  private boolean hedged;
 
   public HttpClientRequestImpl(HostAndPort authority, HttpConnection connection, HttpClientStream stream) {
     super(authority, connection, stream, stream.context().promise(), HttpMethod.GET, "/");
@@ -124,6 +128,13 @@ public class HttpClientRequestImpl extends HttpClientRequestBase implements Http
 
   @Override
   void handleException(Throwable t) {
+    synchronized (this) {
+      if (hedged) {
+        // The response of the hedge is used, this request was cancelled
+        return;
+      }
+    }
+    cancelHedging();
     t = mapException(t);
     super.handleException(t);
     if (endPromise.tryFail(t)) {
@@ -450,7 +461,114 @@ public class HttpClientRequestImpl extends HttpClientRequestBase implements Http
     }
   }
 
+  synchronized void hedging(Hedging hedging) {
+    this.hedging = hedging;
+  }
+
+  private void scheduleHedging(long delay) {
+    long id = context.setTimer(Math.max(1L, delay), id_ -> sendHedge());
+    synchronized (this) {
+      hedgingTimerId = id;
+    }
+  }
+
+  private void sendHedge() {
+    Hedging h;
+    synchronized (this) {
+      hedgingTimerId = -1L;
+      h = hedging;
+      if (h == null || reset != null) {
+        return;
+      }
+    }
+    Future<HttpClientRequest> fut = h.hedge.apply(hedgeOptions());
+    if (fut == null) {
+      return;
+    }
+    fut.onSuccess(req -> {
+      boolean send;
+      synchronized (HttpClientRequestImpl.this) {
+        send = hedging != null && reset == null;
+        if (send) {
+          hedge = req;
+        }
+      }
+      if (send) {
+        req.exceptionHandler(err -> {
+          // Ignore the failures of the hedge, the response of this request is awaited
+        });
+        req.response().onSuccess(resp -> handleHedgeResponse(req, resp));
+        req.end();
+      } else {
+        ((HttpClientRequestBase) req).cancel();
+      }
+    });
+  }
+
+  /**
+   * @return the options of a hedge of this request, from the request state when it is sent
+   */
+  private RequestOptions hedgeOptions() {
+    RequestOptions options = new RequestOptions()
+      .setMethod(getMethod())
+      .setURI(getURI())
+      .setHeaders(HttpHeaders.headers().setAll(headers()))
+      .setTraceOperation(traceOperation())
+      .setFollowRedirects(isFollowRedirects());
+    long idleTimeout = idleTimeoutMs();
+    if (idleTimeout > 0L) {
+      options.setIdleTimeout(idleTimeout);
+    }
+    return options;
+  }
+
+  private void handleHedgeResponse(HttpClientRequest req, HttpClientResponse resp) {
+    boolean won;
+    synchronized (this) {
+      won = hedging != null && reset == null;
+      if (won) {
+        hedged = true;
+        hedging = null;
+        hedge = null;
+      }
+    }
+    if (won) {
+      completeResponse(resp);
+      cancel();
+    } else {
+      ((HttpClientRequestBase) req).cancel();
+    }
+  }
+
+  private void cancelHedging() {
+    long id;
+    HttpClientRequest h;
+    synchronized (this) {
+      if (hedging == null) {
+        return;
+      }
+      id = hedgingTimerId;
+      h = hedge;
+      hedging = null;
+      hedgingTimerId = -1L;
+      hedge = null;
+    }
+    if (id != -1L) {
+      context.owner().cancelTimer(id);
+    }
+    if (h != null) {
+      ((HttpClientRequestBase) h).cancel();
+    }
+  }
+
   void handleResponse(Promise<HttpClientResponse> promise, HttpClientResponse resp, long timeoutMs) {
+    synchronized (this) {
+      if (hedged) {
+        // The response of the hedge is used, this request was cancelled
+        return;
+      }
+    }
+    cancelHedging();
     int statusCode = resp.statusCode();
     if (followRedirects && numberOfRedirections < maxRedirects && statusCode >= 300 && statusCode < 400) {
       Function<HttpClientResponse, Future<HttpClientRequest>> handler = redirectHandler;
@@ -531,6 +649,7 @@ public class HttpClientRequestImpl extends HttpClientRequestBase implements Http
     boolean writeHead;
     boolean writeEnd;
     boolean chunked;
+    Hedging hedging;
     synchronized (this) {
       if (reset != null) {
         return context.failedFuture(reset);
@@ -578,6 +697,11 @@ public class HttpClientRequestImpl extends HttpClientRequestBase implements Http
       chunked = this.chunked;
       writeEnd = !isConnect && end;
       trailersSent = end;
+      // Only requests without a body are hedged
+      hedging = this.hedging;
+      if (hedging != null && (!writeHead || !writeEnd || buff != null)) {
+        this.hedging = hedging = null;
+      }
     }
 
     Future<Void> future;
@@ -598,6 +722,9 @@ public class HttpClientRequestImpl extends HttpClientRequestBase implements Http
     if (end) {
       tryComplete();
     }
+    if (hedging != null) {
+      scheduleHedging(hedging.delay);
+    }
     return future;
   }
 
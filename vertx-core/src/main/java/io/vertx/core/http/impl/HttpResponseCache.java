@@ -0,0 +1,603 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.netty.handler.codec.DateFormatter;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.ClientCacheConfig;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.spi.metrics.HttpClientMetrics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The response cache of an HTTP client, following the RFC 9111 semantics of a private cache.
+ * <p>
+ * The responses are stored per URI, a URI holds the variants of the response selected by the {@code Vary} header. The
+ * least recently used URIs are evicted when the size of the cached bodies exceeds the max size. When a disk directory is
+ * configured, the evicted responses are moved to the disk tier: their body is written to a file and read back when the
+ * response is used again, the other parts of the response stay in memory.
+ * <p>
+ * The fetches of a URI can be coalesced: a request of a URI being fetched waits for the end of the fetch and then uses
+ * the cached response instead of contacting the server.
+ */
+public class HttpResponseCache {
+
+  /**
+   * The status codes of the responses that can be cached, i.e. the status codes defined as heuristically cacheable.
+   */
+  private static final int[] CACHEABLE_STATUS_CODES = { 200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501 };
+
+  private final FileSystem fileSystem;
+  private final HttpClientMetrics<?, ?> metrics;
+  private final long maxSize;
+  private final int maxEntrySize;
+  private final String diskDirectory;
+  private final long maxDiskSize;
+  private final boolean coalescing;
+  private final String filePrefix = UUID.randomUUID().toString();
+  private final AtomicLong fileSequence = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final Future<Void> diskReady;
+  // Guarded by this
+  private final LinkedHashMap<String, List<Entry>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, List<Promise<Void>>> fetches = new HashMap<>();
+  private long size;
+  private long diskSize;
+
+  public HttpResponseCache(VertxInternal vertx, HttpClientMetrics<?, ?> metrics, ClientCacheConfig config) {
+    this.fileSystem = vertx.fileSystem();
+    this.metrics = metrics;
+    this.maxSize = config.getMaxSize();
+    this.maxEntrySize = config.getMaxEntrySize();
+    this.diskDirectory = config.getDiskDirectory();
+    this.maxDiskSize = config.getMaxDiskSize();
+    this.coalescing = config.isCoalescing();
+    this.diskReady = diskDirectory != null ? fileSystem.mkdirs(diskDirectory) : null;
+  }
+
+  /**
+   * @return the number of requests served by the cache
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of cacheable requests fetched or revalidated with the server
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the size of the bodies cached in memory
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * @return the size of the bodies cached on disk
+   */
+  public synchronized long diskSize() {
+    return diskSize;
+  }
+
+  int maxEntrySize() {
+    return maxEntrySize;
+  }
+
+  void reportHit() {
+    hits.increment();
+    if (metrics != null) {
+      metrics.cacheHit();
+    }
+  }
+
+  void reportMiss() {
+    misses.increment();
+    if (metrics != null) {
+      metrics.cacheMiss();
+    }
+  }
+
+  /**
+   * Lookup the response of a request.
+   *
+   * @param context the context of the request
+   * @param key the request URI
+   * @param requestHeaders the request headers selecting the variant
+   * @return the future response, {@code null} when the response is not cached
+   */
+  Future<Entry> get(ContextInternal context, String key, MultiMap requestHeaders) {
+    Entry entry;
+    synchronized (this) {
+      List<Entry> variants = entries.get(key);
+      entry = variants != null ? select(variants, requestHeaders) : null;
+    }
+    if (entry == null || entry.body != null) {
+      return context.succeededFuture(entry);
+    }
+    return fileSystem
+      .readFile(entry.file)
+      .transform(ar -> {
+        if (ar.succeeded()) {
+          return context.succeededFuture(load(key, entry, ar.result()));
+        } else {
+          remove(key, entry);
+          return context.succeededFuture();
+        }
+      });
+  }
+
+  private static Entry select(List<Entry> variants, MultiMap requestHeaders) {
+    for (Entry variant : variants) {
+      if (variant.matches(requestHeaders)) {
+        return variant;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Move a response of the disk tier back in memory.
+   */
+  private Entry load(String key, Entry entry, Buffer body) {
+    Entry loaded = entry.withBody(body);
+    boolean moved;
+    synchronized (this) {
+      List<Entry> variants = entries.get(key);
+      int idx = variants != null ? variants.indexOf(entry) : -1;
+      moved = idx != -1;
+      if (moved) {
+        variants.set(idx, loaded);
+        diskSize -= entry.size;
+        size += loaded.size;
+        evict();
+      }
+    }
+    if (moved) {
+      fileSystem.delete(entry.file);
+    }
+    return loaded;
+  }
+
+  /**
+   * Store a response, replacing the cached variant with the same selecting headers.
+   */
+  void put(String key, Entry entry) {
+    List<Entry> dropped = new ArrayList<>();
+    synchronized (this) {
+      List<Entry> variants = entries.computeIfAbsent(key, k -> new ArrayList<>(1));
+      for (Iterator<Entry> it = variants.iterator();it.hasNext();) {
+        Entry variant = it.next();
+        if (Objects.equals(variant.vary, entry.vary)) {
+          it.remove();
+          release(variant, dropped);
+        }
+      }
+      variants.add(entry);
+      size += entry.size;
+      evict();
+    }
+    deleteFiles(dropped);
+  }
+
+  /**
+   * Remove the responses of a URI, e.g. after an unsafe request of this URI.
+   */
+  void invalidate(String key) {
+    List<Entry> dropped = new ArrayList<>();
+    synchronized (this) {
+      List<Entry> variants = entries.remove(key);
+      if (variants != null) {
+        for (Entry variant : variants) {
+          release(variant, dropped);
+        }
+      }
+    }
+    deleteFiles(dropped);
+  }
+
+  private void remove(String key, Entry entry) {
+    List<Entry> dropped = new ArrayList<>();
+    synchronized (this) {
+      List<Entry> variants = entries.get(key);
+      if (variants != null && variants.remove(entry)) {
+        release(entry, dropped);
+        if (variants.isEmpty()) {
+          entries.remove(key);
+        }
+      }
+    }
+    deleteFiles(dropped);
+  }
+
+  // Guarded by this
+  private void release(Entry entry, List<Entry> dropped) {
+    if (entry.body != null) {
+      size -= entry.size;
+    } else {
+      diskSize -= entry.size;
+      dropped.add(entry);
+    }
+  }
+
+  /**
+   * Evict the least recently used responses from memory, to the disk tier when there is one.
+   */
+  // Guarded by this
+  private void evict() {
+    if (size <= maxSize) {
+      return;
+    }
+    Map<Entry, Buffer> spilled = new HashMap<>();
+    List<Entry> dropped = new ArrayList<>();
+    for (Iterator<Map.Entry<String, List<Entry>>> it = entries.entrySet().iterator();it.hasNext() && size > maxSize;) {
+      List<Entry> variants = it.next().getValue();
+      for (int i = 0;i < variants.size();i++) {
+        Entry variant = variants.get(i);
+        if (variant.body != null) {
+          size -= variant.size;
+          if (diskDirectory != null && variant.size <= maxDiskSize) {
+            Entry moved = variant.withFile(diskDirectory + File.separator + filePrefix + "-" + fileSequence.getAndIncrement());
+            variants.set(i, moved);
+            diskSize += moved.size;
+            spilled.put(moved, variant.body);
+          } else {
+            variants.remove(i--);
+          }
+        }
+      }
+      if (variants.isEmpty()) {
+        it.remove();
+      }
+    }
+    if (diskSize > maxDiskSize) {
+      for (Iterator<Map.Entry<String, List<Entry>>> it = entries.entrySet().iterator();it.hasNext() && diskSize > maxDiskSize;) {
+        List<Entry> variants = it.next().getValue();
+        for (Iterator<Entry> it2 = variants.iterator();it2.hasNext();) {
+          Entry variant = it2.next();
+          if (variant.body == null) {
+            it2.remove();
+            diskSize -= variant.size;
+            dropped.add(variant);
+          }
+        }
+        if (variants.isEmpty()) {
+          it.remove();
+        }
+      }
+    }
+    spilled.keySet().removeAll(dropped);
+    spilled.forEach((moved, body) -> diskReady
+      .compose(v -> fileSystem.writeFile(moved.file, body))
+      .onComplete(ar -> {
+        // Delete the file when the response was removed during the write
+        if (ar.failed() || !contains(moved)) {
+          remove(moved);
+        }
+      }));
+    deleteFiles(dropped);
+  }
+
+  private synchronized boolean contains(Entry entry) {
+    for (List<Entry> variants : entries.values()) {
+      if (variants.contains(entry)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void remove(Entry entry) {
+    synchronized (this) {
+      for (Iterator<List<Entry>> it = entries.values().iterator();it.hasNext();) {
+        List<Entry> variants = it.next();
+        if (variants.remove(entry)) {
+          diskSize -= entry.size;
+          if (variants.isEmpty()) {
+            it.remove();
+          }
+          break;
+        }
+      }
+    }
+    fileSystem.delete(entry.file);
+  }
+
+  private void deleteFiles(List<Entry> dropped) {
+    for (Entry entry : dropped) {
+      fileSystem.delete(entry.file);
+    }
+  }
+
+  /**
+   * Join the fetch of a URI.
+   *
+   * @return {@code null} when the caller fetches the URI and must {@link #leave(String)} it at the end of the fetch,
+   *         otherwise a future completed when the current fetch ends
+   */
+  Future<Void> join(ContextInternal context, String key) {
+    if (!coalescing) {
+      return null;
+    }
+    synchronized (this) {
+      List<Promise<Void>> waiters = fetches.get(key);
+      if (waiters == null) {
+        fetches.put(key, new ArrayList<>());
+        return null;
+      }
+      Promise<Void> promise = context.promise();
+      waiters.add(promise);
+      return promise.future();
+    }
+  }
+
+  /**
+   * End the fetch of a URI, the requests waiting for the fetch can use the cached response.
+   */
+  void leave(String key) {
+    List<Promise<Void>> waiters;
+    synchronized (this) {
+      waiters = fetches.remove(key);
+    }
+    if (waiters != null) {
+      for (Promise<Void> waiter : waiters) {
+        waiter.complete();
+      }
+    }
+  }
+
+  /**
+   * Delete the files of the disk tier.
+   */
+  public void close() {
+    List<Entry> dropped = new ArrayList<>();
+    synchronized (this) {
+      for (List<Entry> variants : entries.values()) {
+        for (Entry variant : variants) {
+          release(variant, dropped);
+        }
+      }
+      entries.clear();
+    }
+    deleteFiles(dropped);
+  }
+
+  /**
+   * @return whether the response of a request can be stored
+   */
+  static boolean isCacheable(HttpResponseHead response) {
+    boolean cacheable = false;
+    for (int statusCode : CACHEABLE_STATUS_CODES) {
+      if (response.statusCode == statusCode) {
+        cacheable = true;
+        break;
+      }
+    }
+    if (!cacheable) {
+      return false;
+    }
+    MultiMap headers = response.headers;
+    for (String vary : headers.getAll(HttpHeaders.VARY)) {
+      if (vary.contains("*")) {
+        return false;
+      }
+    }
+    CacheControl cacheControl = CacheControl.parse(headers);
+    if (cacheControl.noStore) {
+      return false;
+    }
+    return cacheControl.maxAge > 0
+      || (!cacheControl.noCache && headers.contains(HttpHeaders.EXPIRES))
+      || headers.contains(HttpHeaders.ETAG)
+      || headers.contains(HttpHeaders.LAST_MODIFIED);
+  }
+
+  private static long parseDate(String s) {
+    if (s != null) {
+      Date date = DateFormatter.parseHttpDate(s);
+      if (date != null) {
+        return date.getTime();
+      }
+    }
+    return -1L;
+  }
+
+  /**
+   * A cached response.
+   */
+  static class Entry {
+
+    final int statusCode;
+    final String statusMessage;
+    final MultiMap headers;
+    final Buffer body;
+    final MultiMap trailers;
+    final String file;
+    final int size;
+    // The values of the request headers nominated by the Vary header, null when the response has no Vary header
+    final Map<String, List<String>> vary;
+    // Epoch time the response was received in ms
+    final long responseTime;
+    // The age of the response when received in ms
+    final long initialAge;
+    // The freshness lifetime in ms
+    final long lifetime;
+    // The stale-while-revalidate window in ms
+    final long staleWhileRevalidate;
+    final boolean mustRevalidate;
+
+    private Entry(int statusCode, String statusMessage, MultiMap headers, Buffer body, MultiMap trailers, String file,
+                  int size, Map<String, List<String>> vary, long responseTime, long initialAge, long lifetime,
+                  long staleWhileRevalidate, boolean mustRevalidate) {
+      this.statusCode = statusCode;
+      this.statusMessage = statusMessage;
+      this.headers = headers;
+      this.body = body;
+      this.trailers = trailers;
+      this.file = file;
+      this.size = size;
+      this.vary = vary;
+      this.responseTime = responseTime;
+      this.initialAge = initialAge;
+      this.lifetime = lifetime;
+      this.staleWhileRevalidate = staleWhileRevalidate;
+      this.mustRevalidate = mustRevalidate;
+    }
+
+    /**
+     * Create the cached response of a request.
+     *
+     * @param requestHeaders the request headers
+     * @param requestTime the epoch time the request was sent in ms
+     * @param response the response head
+     * @param body the response body
+     * @param trailers the response trailers
+     * @param responseTime the epoch time the response was received in ms
+     */
+    static Entry create(MultiMap requestHeaders, long requestTime, HttpResponseHead response, Buffer body, MultiMap trailers, long responseTime) {
+      MultiMap headers = HttpHeaders.headers().setAll(response.headers);
+      Map<String, List<String>> vary = null;
+      for (String value : headers.getAll(HttpHeaders.VARY)) {
+        for (String name : value.split(",")) {
+          name = name.trim().toLowerCase();
+          if (!name.isEmpty()) {
+            if (vary == null) {
+              vary = new HashMap<>();
+            }
+            vary.put(name, requestHeaders.getAll(name));
+          }
+        }
+      }
+      CacheControl cacheControl = CacheControl.parse(headers);
+      long date = parseDate(headers.get(HttpHeaders.DATE));
+      long apparentAge = date != -1L ? Math.max(0L, responseTime - date) : 0L;
+      long ageValue = parseAge(headers.get(HttpHeaders.AGE));
+      long initialAge = Math.max(apparentAge, ageValue * 1000 + (responseTime - requestTime));
+      long lifetime;
+      if (cacheControl.noCache) {
+        lifetime = 0L;
+      } else if (cacheControl.maxAge >= 0L) {
+        lifetime = cacheControl.maxAge * 1000;
+      } else if (headers.contains(HttpHeaders.EXPIRES)) {
+        long expires = parseDate(headers.get(HttpHeaders.EXPIRES));
+        lifetime = expires == -1L ? 0L : Math.max(0L, expires - (date != -1L ? date : responseTime));
+      } else {
+        // Heuristic freshness, 10% of the time since the last modification
+        long lastModified = parseDate(headers.get(HttpHeaders.LAST_MODIFIED));
+        lifetime = lastModified == -1L ? 0L : Math.max(0L, (date != -1L ? date : responseTime) - lastModified) / 10;
+      }
+      long staleWhileRevalidate = cacheControl.staleWhileRevalidate >= 0L ? cacheControl.staleWhileRevalidate * 1000 : 0L;
+      MultiMap trailersCopy = HttpHeaders.headers();
+      if (trailers != null) {
+        trailersCopy.setAll(trailers);
+      }
+      return new Entry(response.statusCode, response.statusMessage, headers, body, trailersCopy, null, body.length(),
+        vary, responseTime, initialAge, lifetime, staleWhileRevalidate, cacheControl.mustRevalidate);
+    }
+
+    private static long parseAge(String s) {
+      if (s != null) {
+        try {
+          return Math.max(0L, Long.parseLong(s.trim()));
+        } catch (NumberFormatException ignore) {
+        }
+      }
+      return 0L;
+    }
+
+    /**
+     * Update this response with the headers of a {@code 304} response.
+     */
+    Entry revalidate(MultiMap requestHeaders, long requestTime, HttpResponseHead notModified, long responseTime) {
+      MultiMap headers = HttpHeaders.headers().setAll(this.headers);
+      for (String name : notModified.headers.names()) {
+        if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH.toString()) && !name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING.toString())) {
+          headers.set(name, notModified.headers.getAll(name));
+        }
+      }
+      return create(requestHeaders, requestTime, new HttpResponseHead(statusCode, statusMessage, headers), body, trailers, responseTime);
+    }
+
+    Entry withBody(Buffer body) {
+      return new Entry(statusCode, statusMessage, headers, body, trailers, null, size, vary, responseTime, initialAge,
+        lifetime, staleWhileRevalidate, mustRevalidate);
+    }
+
+    Entry withFile(String file) {
+      return new Entry(statusCode, statusMessage, headers, null, trailers, file, size, vary, responseTime, initialAge,
+        lifetime, staleWhileRevalidate, mustRevalidate);
+    }
+
+    boolean matches(MultiMap requestHeaders) {
+      if (vary != null) {
+        for (Map.Entry<String, List<String>> nominated : vary.entrySet()) {
+          if (!nominated.getValue().equals(requestHeaders.getAll(nominated.getKey()))) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @return the age of the response in ms
+     */
+    long age(long now) {
+      return initialAge + Math.max(0L, now - responseTime);
+    }
+
+    boolean isFresh(long now) {
+      return age(now) < lifetime;
+    }
+
+    /**
+     * @return whether the stale response can be used while it is revalidated
+     */
+    boolean isStaleWhileRevalidate(long now) {
+      return !mustRevalidate && age(now) < lifetime + staleWhileRevalidate;
+    }
+
+    boolean hasValidators() {
+      return headers.contains(HttpHeaders.ETAG) || headers.contains(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * @return the response head presented to the client, with its current {@code Age}
+     */
+    HttpResponseHead head(long now) {
+      MultiMap h = HttpHeaders.headers().setAll(headers);
+      h.set(HttpHeaders.AGE, Long.toString(age(now) / 1000));
+      return new HttpResponseHead(statusCode, statusMessage, h);
+    }
+  }
+}
@@ -50,8 +50,10 @@ public class HttpServerRequestImpl extends HttpServerRequestBase {
   private final int maxFormFields;
   private final int maxFormBufferedBytes;
   private final Handler<HttpServerRequest> handler;
+  private final AdmissionController admissionController;
 
   // Accessed on context thread
+  private boolean admitted;
   private HttpMethod method;
   private String scheme;
   private String uri;
@@ -74,13 +76,17 @@ public class HttpServerRequestImpl extends HttpServerRequestBase {
                                int maxFormFields,
                                int maxFormBufferedBytes,
                                QueryParamDecoder queryParamDecoder,
-                               String serverOrigin) {
+                               String serverOrigin,
+                               StaticFileCache fileCache,
+                               CompressedContentCache compressionCache,
+                               AdmissionController admissionController) {
     super(queryParamDecoder);
     this.handler = handler;
+    this.admissionController = admissionController;
     this.context = context;
     this.stream = stream;
     this.connection = stream.connection();
-    this.response = new HttpServerResponseImpl(stream, context,false);
+    this.response = new HttpServerResponseImpl(stream, context, false, fileCache, compressionCache);
     this.serverOrigin = serverOrigin;
     this.handle100ContinueAutomatically = handle100ContinueAutomatically;
     this.maxFormAttributeSize = maxFormAttributeSize;
@@ -124,6 +130,14 @@ public class HttpServerRequestImpl extends HttpServerRequestBase {
 
     response.init(headers);
 
+    if (admissionController != null) {
+      if (!admissionController.tryAdmit(stream.receivedAt())) {
+        admissionController.reject(response);
+        return;
+      }
+      admitted = true;
+    }
+
     // Check expect header and implement 100 continue automatically
     CharSequence value = headersMap.get(HttpHeaderNames.EXPECT);
     if (handle100ContinueAutomatically &&
@@ -147,6 +161,10 @@ public class HttpServerRequestImpl extends HttpServerRequestBase {
   }
 
   private void handleClosed(Void v) {
+    if (admitted) {
+      admitted = false;
+      admissionController.release();
+    }
     response.handleClose(v);
   }
 
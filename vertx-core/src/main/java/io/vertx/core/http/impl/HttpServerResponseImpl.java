@@ -26,7 +26,9 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.*;
 import io.vertx.core.http.impl.headers.HttpResponseHeaders;
 import io.vertx.core.http.impl.headers.HttpHeaders;
+import io.vertx.core.http.impl.http2.multiplex.Http2MultiplexServerConnection;
 import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.net.HostAndPort;
 import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.impl.UncloseableChunkedNioFile;
@@ -50,6 +52,8 @@ public class HttpServerResponseImpl implements HttpServerResponse {
   private final HttpServerConnection conn;
   private final ContextInternal context;
   private final boolean push;
+  private final StaticFileCache fileCache;
+  private final CompressedContentCache compressionCache;
   private final HttpResponseHeaders headersMap;
   private MultiMap trailedMap;
   private boolean chunked;
@@ -69,14 +73,19 @@ public class HttpServerResponseImpl implements HttpServerResponse {
   private HttpMethod requestMethod;
   private HostAndPort requestAuthority;
   private CharSequence requestCookie;
+  private CharSequence requestAcceptEncoding;
 
   public HttpServerResponseImpl(HttpServerStream stream,
                                 ContextInternal context,
-                                boolean push) {
+                                boolean push,
+                                StaticFileCache fileCache,
+                                CompressedContentCache compressionCache) {
     this.stream = stream;
     this.context = context;
     this.conn = stream.connection();
     this.push = push;
+    this.fileCache = fileCache;
+    this.compressionCache = compressionCache;
     this.headersMap = new HttpResponseHeaders(conn.newHeaders());
   }
 
@@ -84,6 +93,7 @@ public class HttpServerResponseImpl implements HttpServerResponse {
     this.requestMethod = head.method();
     this.requestAuthority = head.authority;
     this.requestCookie = head.headers().get(io.vertx.core.http.HttpHeaders.COOKIE);
+    this.requestAcceptEncoding = head.headers().get(io.vertx.core.http.HttpHeaders.ACCEPT_ENCODING);
   }
 
   public boolean isPush() {
@@ -393,21 +403,40 @@ public class HttpServerResponseImpl implements HttpServerResponse {
 
   private Future<Void> write_(Buffer chunk, boolean end) {
     boolean sendHeaders;
+    ByteBuf compressed = null;
     synchronized (conn) {
       if (ended) {
         throw new IllegalStateException("Response has already been written");
       }
       ended = end;
+      // The multiplexed HTTP/2 encoder compresses any response with a content encoding
+      if (end && !headWritten && chunk != null && compressionCache != null && !(conn instanceof Http2MultiplexServerConnection) && hasBody()) {
+        compressed = compressionCache.compress(((BufferInternal) chunk).getByteBuf(), requestAcceptEncoding != null ? requestAcceptEncoding.toString() : null, headersMap);
+        if (compressed != null) {
+          chunk = BufferInternal.buffer(compressed);
+        }
+      }
       if (end && !headWritten && requiresContentLengthHeader()) {
         headers().set(HttpHeaderNames.CONTENT_LENGTH, chunk == null ? "0" : HttpUtils.positiveLongToString(chunk.length()));
       }
       sendHeaders = prepareHeaders();
     }
+    Future<Void> fut;
     if (sendHeaders) {
-      return stream.writeHead(new HttpResponseHead(status.code(), status.reasonPhrase(), headersMap), chunk, end);
+      fut = stream.writeHead(new HttpResponseHead(status.code(), status.reasonPhrase(), headersMap), chunk, end);
     } else {
-      return stream.writeChunk(chunk, end);
+      fut = stream.writeChunk(chunk, end);
+    }
+    if (compressed != null) {
+      ByteBuf content = compressed;
+      fut = fut.andThen(ar -> content.release());
     }
+    return fut;
+  }
+
+  private boolean hasBody() {
+    return requestMethod != HttpMethod.HEAD && status != HttpResponseStatus.NOT_MODIFIED && status != HttpResponseStatus.NO_CONTENT
+      && status != HttpResponseStatus.RESET_CONTENT && status.codeClass() != HttpStatusClass.INFORMATIONAL;
   }
 
   private boolean requiresContentLengthHeader() {
@@ -520,6 +549,18 @@ public class HttpServerResponseImpl implements HttpServerResponse {
     synchronized (conn) {
       checkValid();
     }
+    if (fileCache != null) {
+      File file = context.owner().fileResolver().resolve(filename);
+      StaticFileCache.Entry entry = fileCache.get(context, file);
+      if (entry != null) {
+        // The multiplexed HTTP/2 encoder compresses any response with a content encoding, variants cannot be sent as is
+        String acceptEncoding = requestAcceptEncoding != null && !(conn instanceof Http2MultiplexServerConnection) ? requestAcceptEncoding.toString() : null;
+        Future<Void> fut = fileCache.send(context, this, filename, entry, offset, length, acceptEncoding);
+        if (fut != null) {
+          return fut;
+        }
+      }
+    }
     if (conn.supportsSendFile()) {
       return sendFileInternal(filename, offset, length);
     } else {
@@ -729,7 +770,7 @@ public class HttpServerResponseImpl implements HttpServerResponse {
     HostAndPort h = authority;
     Future<HttpServerStream> fut = stream.sendPush(authority, method, headers, path, stream.priority());
     return fut.map(pushStream -> {
-      HttpServerResponseImpl response = new HttpServerResponseImpl(pushStream, context, true);
+      HttpServerResponseImpl response = new HttpServerResponseImpl(pushStream, context, true, fileCache, compressionCache);
       response.requestMethod = method;
       response.requestAuthority = h;
       PushStreamHandler push = new PushStreamHandler(pushStream, response, context);
@@ -28,6 +28,12 @@ import io.vertx.core.net.HostAndPort;
 public interface HttpServerStream extends HttpStream {
 
   void routed(String route);
+
+  /**
+   * @return the {@link System#nanoTime()} at which the request head was received
+   */
+  long receivedAt();
+
   long bytesWritten();
   long bytesRead();
 
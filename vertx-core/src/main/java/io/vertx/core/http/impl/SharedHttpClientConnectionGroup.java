@@ -15,6 +15,7 @@ import io.vertx.core.http.HttpConnection;
 import io.vertx.core.http.HttpVersion;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.impl.NoStackTraceTimeoutException;
+import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.internal.http.HttpClientTransport;
 import io.vertx.core.internal.pool.ConnectResult;
 import io.vertx.core.internal.pool.ConnectionPool;
@@ -31,6 +32,8 @@ import io.vertx.core.spi.metrics.PoolMetrics;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -70,6 +73,7 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
   private final Pool pool;
   private final HostAndPort authority;
   private final SocketAddress server;
+  private final ConcurrencyLimiter limiter;
 
   public SharedHttpClientConnectionGroup(ClientMetrics<?, ?, ?> clientMetrics,
                                          HttpClientMetrics<?, ?> httpMetrics,
@@ -78,7 +82,8 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
                                          Function<SharedHttpClientConnectionGroup, Pool> poolProvider,
                                          PoolMetrics poolMetrics,
                                          HostAndPort authority,
-                                         SocketAddress server) {
+                                         SocketAddress server,
+                                         ConcurrencyLimiter limiter) {
     this.poolMetrics = poolMetrics;
     this.clientMetrics = clientMetrics;
     this.httpMetrics = httpMetrics;
@@ -87,6 +92,7 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
     this.server = server;
     this.connectHandler = connectHandler;
     this.exceptionHandler = exceptionHandler;
+    this.limiter = limiter;
   }
 
   public int size() {
@@ -97,6 +103,14 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
     pool.checkExpired();
   }
 
+  /**
+   * Open the minimum idle connections of the pool when the pool is configured to warm-up, this is called when the group
+   * is created.
+   */
+  void warmup() {
+    pool.warmup();
+  }
+
   private class Request implements PoolWaiter.Listener<HttpClientConnection>, Completable<Lease<HttpClientConnection>> {
 
     private final ContextInternal context;
@@ -143,6 +157,57 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
   }
 
   public Future<Lease<HttpClientConnection>> requestConnection(ContextInternal ctx, long timeout) {
+    return requestConnection(ctx, timeout, true);
+  }
+
+  /**
+   * Request a connection, when {@code limited} is {@code true} the lease is subject to the concurrency limit of the
+   * group and must be recycled when the request ends, see {@link #recycle(Lease, boolean)}.
+   * <p>
+   * The {@code timeout} covers both the wait for a concurrency permit and the wait for a connection.
+   */
+  public Future<Lease<HttpClientConnection>> requestConnection(ContextInternal ctx, long timeout, boolean limited) {
+    if (limiter == null || !limited) {
+      return acquireConnection(ctx, timeout);
+    }
+    long begin = System.nanoTime();
+    return limiter
+      .acquire(ctx, timeout)
+      .compose(permit -> {
+        long remaining = timeout;
+        if (timeout > 0L) {
+          remaining -= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+          if (remaining <= 0L) {
+            permit.release(true);
+            return ctx.failedFuture(new NoStackTraceTimeoutException("The timeout of " + timeout + " ms has been exceeded when getting a connection to " + server));
+          }
+        }
+        return acquireConnection(ctx, remaining).transform(ar -> {
+          if (ar.succeeded()) {
+            return ctx.succeededFuture(new LimitedLease(ar.result(), permit));
+          } else {
+            permit.release(true);
+            return ctx.failedFuture(ar.cause());
+          }
+        });
+      });
+  }
+
+  /**
+   * Recycle a lease obtained from {@link #requestConnection(ContextInternal, long, boolean)} when the request ends.
+   *
+   * @param lease the lease
+   * @param failed whether the request failed or timed out, shrinking the concurrency limit
+   */
+  static void recycle(Lease<HttpClientConnection> lease, boolean failed) {
+    if (lease instanceof LimitedLease) {
+      ((LimitedLease) lease).recycle(failed);
+    } else {
+      lease.recycle();
+    }
+  }
+
+  private Future<Lease<HttpClientConnection>> acquireConnection(ContextInternal ctx, long timeout) {
     Promise<Lease<HttpClientConnection>> promise = ctx.promise();
     Future<Lease<HttpClientConnection>> fut = promise.future();
     // ctx.workerPool() -> not sure we want that in a pool
@@ -158,6 +223,35 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
     return fut;
   }
 
+  /**
+   * A lease releasing its concurrency limiter permit when recycled, the lease lifetime is the request round-trip time.
+   */
+  private static class LimitedLease implements Lease<HttpClientConnection> {
+
+    private final Lease<HttpClientConnection> lease;
+    private final ConcurrencyLimiter.Permit permit;
+
+    LimitedLease(Lease<HttpClientConnection> lease, ConcurrencyLimiter.Permit permit) {
+      this.lease = lease;
+      this.permit = permit;
+    }
+
+    @Override
+    public HttpClientConnection get() {
+      return lease.get();
+    }
+
+    @Override
+    public void recycle() {
+      recycle(false);
+    }
+
+    void recycle(boolean dropped) {
+      lease.recycle();
+      permit.release(dropped);
+    }
+  }
+
   @Override
   protected void handleClose() {
     pool.close();
@@ -193,43 +287,62 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
     private final HttpConnectParams connectParams;
     private final ConnectionPool<HttpClientConnection> pool;
     private final int poolKind;
+    private final VertxInternal vertx;
+    private final int minIdle;
+    private final boolean warmup;
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+    private final AtomicBoolean replenishing = new AtomicBoolean();
 
     Pool(SharedHttpClientConnectionGroup owner,
+                VertxInternal vertx,
                 HttpClientTransport connector,
                 int queueMaxSize,
+                int shards,
                 int http1MaxSize,
                 int http2MaxSize,
+                int minIdle,
+                boolean warmup,
                 long maxLifetimeMillis,
                 int initialPoolKind,
                 HttpConnectParams connectParams,
                 Function<ContextInternal,
                 ContextInternal> contextProvider) {
       this.owner = owner;
+      this.vertx = vertx;
       this.connector = Objects.requireNonNull(connector);
       this.maxLifetimeMillis = maxLifetimeMillis;
       this.connectParams = connectParams;
       this.poolKind = initialPoolKind;
+      this.minIdle = Math.min(minIdle, initialPoolKind == 0 ? http1MaxSize : http2MaxSize);
+      this.warmup = warmup;
       this.pool = ConnectionPool
-        .pool(this, new int[]{http1MaxSize, http2MaxSize}, queueMaxSize)
+        .pool(this, new int[]{http1MaxSize, http2MaxSize}, queueMaxSize, shards)
         .connectionSelector(LIFO_SELECTOR)
         .contextProvider(contextProvider);
     }
 
     Pool(SharedHttpClientConnectionGroup owner,
+         VertxInternal vertx,
          HttpClientTransport connector,
          int queueMaxSize,
+         int shards,
          int http3MaxSize,
+         int minIdle,
+         boolean warmup,
          long maxLifetimeMillis,
          HttpConnectParams connectParams,
          Function<ContextInternal,
            ContextInternal> contextProvider) {
       this.owner = owner;
+      this.vertx = vertx;
       this.connector = Objects.requireNonNull(connector);
       this.maxLifetimeMillis = maxLifetimeMillis;
       this.connectParams = connectParams;
       this.poolKind = 0;
+      this.minIdle = Math.min(minIdle, http3MaxSize);
+      this.warmup = warmup;
       this.pool = ConnectionPool
-        .pool(this, new int[]{http3MaxSize}, queueMaxSize)
+        .pool(this, new int[]{http3MaxSize}, queueMaxSize, shards)
         .connectionSelector(LIFO_SELECTOR)
         .contextProvider(contextProvider);
     }
@@ -242,6 +355,7 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
           connection.evictionHandler(v -> {
             owner.dispose(connection);
             listener.onRemove();
+            replenish();
           });
           connection.concurrencyChangeHandler(listener::onConcurrencyChange);
           owner.init(connection);
@@ -249,6 +363,14 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
           int idx = connection.protocolVersion() != HttpVersion.HTTP_2 ? 0 : 1;
           return new ConnectResult<>(connection, capacity, idx);
         });
+      if (minIdle > 0) {
+        // A connection created for a request might use the last idle slot of the pool
+        fut = fut.andThen(ar -> {
+          if (ar.succeeded()) {
+            replenish();
+          }
+        });
+      }
       if (owner.exceptionHandler != null) {
         fut = fut.andThen(ar -> {
           if (ar.failed()) {
@@ -269,10 +391,54 @@ class SharedHttpClientConnectionGroup extends ManagedResource {
         .evict(c -> !isValid(c), (lst, err) -> {
           if (err == null) {
             lst.forEach(HttpConnection::close);
+            replenish();
           }
         });
     }
 
+    /**
+     * Open the {@code minIdle} connections when the group is created.
+     */
+    void warmup() {
+      if (warmup && warmedUp.compareAndSet(false, true)) {
+        replenish();
+      }
+    }
+
+    /**
+     * Top up the pool to {@code minIdle} idle connections, only the connections that are not lent count. The missing
+     * connections are opened one after the other by the pool without lending them, each from a context on a distinct
+     * event-loop so the new connections are spread over the event-loops.
+     * <p>
+     * This is called when the group is created, on each pool check, when a connection is created and when a
+     * connection is removed from the pool.
+     */
+    void replenish() {
+      if (minIdle == 0 || !replenishing.compareAndSet(false, true)) {
+        return;
+      }
+      open();
+    }
+
+    private void open() {
+      // Prevent the disposal of the group while the connection is opened
+      if (!owner.incRefCount()) {
+        owner.decRefCount();
+        replenishing.set(false);
+        return;
+      }
+      ContextInternal context = vertx.createEventLoopContext();
+      pool.open(context, poolKind, minIdle, (fut, err) -> {
+        if (err != null || fut == null) {
+          replenishing.set(false);
+          owner.decRefCount();
+        } else {
+          fut.onComplete(ar -> owner.decRefCount());
+          open();
+        }
+      });
+    }
+
     void acquire(ContextInternal context, PoolWaiter.Listener<HttpClientConnection> listener, Promise<Lease<HttpClientConnection>> promise) {
       pool.acquire(context, listener, poolKind, promise);
     }
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.http.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DateFormatter;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.FileCacheConfig;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.MimeMapping;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.buffer.BufferInternal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A server cache of the files sent by {@link io.vertx.core.http.HttpServerResponse#sendFile(String, long, long)}.
+ * <p>
+ * A cached file is held in a pooled direct buffer and validated against the modification time and the length of the
+ * file each time it is sent. A file missing from the cache is read by a worker thread while the response is sent from
+ * the file system, so the event loop never reads files. The compressed variants of a file are built the first time an
+ * encoding is negotiated with the {@link CompressionManager} of the server.
+ * <p>
+ * The buffers are reference counted: the cache owns a reference released on eviction and each send retains the
+ * buffer it writes until the write completes.
+ */
+public class StaticFileCache {
+
+  // Marks an encoding that does not reduce the size of a file
+  private static final ByteBuf NOT_COMPRESSIBLE = Unpooled.buffer(0, 0);
+
+  private final long maxSize;
+  private final int maxFileSize;
+  private final CompressionManager compressionManager;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Set<String> loading = new HashSet<>();
+  private long size;
+  private boolean closed;
+
+  /**
+   * @param config the cache config
+   * @param compressionManager the server compression manager, {@code null} when the compression is disabled
+   */
+  public StaticFileCache(FileCacheConfig config, CompressionManager compressionManager) {
+    this.maxSize = config.getMaxSize();
+    this.maxFileSize = config.getMaxFileSize();
+    this.compressionManager = config.isPrecompression() ? compressionManager : null;
+  }
+
+  /**
+   * @return the size in bytes of the cached files and their variants
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * Lookup a file, the file is loaded in the cache by a worker thread of {@code context} when it is not cached or has
+   * changed.
+   *
+   * @param context the context of the response
+   * @param file the file
+   * @return the cached file or {@code null} when the file is not cached
+   */
+  public Entry get(ContextInternal context, File file) {
+    String key = file.getPath();
+    long lastModified = file.lastModified();
+    long length = file.length();
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+    }
+    if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+      return entry;
+    }
+    if (lastModified == 0L || length > maxFileSize || length > maxSize) {
+      // The file does not exist or is too large
+      if (entry != null) {
+        remove(key, entry);
+      }
+      return null;
+    }
+    load(context, key, file, lastModified, length);
+    return null;
+  }
+
+  private void load(ContextInternal context, String key, File file, long lastModified, long length) {
+    synchronized (this) {
+      if (closed || !loading.add(key)) {
+        // Already being loaded
+        return;
+      }
+    }
+    context.executeBlocking(() -> {
+      try {
+        ByteBuf content = read(file, (int) length);
+        if (content != null) {
+          put(new Entry(key, lastModified, length, content));
+        }
+      } catch (IOException ignore) {
+        // The file is sent from the file system
+      } finally {
+        synchronized (this) {
+          loading.remove(key);
+        }
+      }
+      return null;
+    }, false);
+  }
+
+  private void put(Entry loaded) {
+    String key = loaded.key;
+    List<Entry> dropped = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        dropped.add(loaded);
+      } else {
+        Entry prev = entries.put(key, loaded);
+        if (prev != null) {
+          size -= prev.size;
+          dropped.add(prev);
+        }
+        size += loaded.size;
+        evict(dropped);
+      }
+    }
+    for (Entry e : dropped) {
+      e.release();
+    }
+  }
+
+  private static ByteBuf read(File file, int length) throws IOException {
+    ByteBuf content = VertxByteBufAllocator.POOLED_ALLOCATOR.directBuffer(length, length);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      FileChannel channel = raf.getChannel();
+      while (content.isWritable()) {
+        if (content.writeBytes(channel, content.writerIndex(), content.writableBytes()) < 0) {
+          content.release();
+          return null;
+        }
+      }
+      if (channel.size() != length) {
+        content.release();
+        return null;
+      }
+      return content;
+    } catch (IOException e) {
+      content.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Send a range of a cached file as the body of a response, the response head must not be written yet.
+   *
+   * @param context the context of the response
+   * @param response the response
+   * @param filename the file name used to determine the content type
+   * @param entry the cached file
+   * @param offset the range offset
+   * @param length the range length
+   * @param acceptEncoding the request {@code Accept-Encoding} header, {@code null} to send the file uncompressed
+   * @return the future of the response end or {@code null} when the file was evicted and must be sent from the file
+   *         system
+   */
+  public Future<Void> send(ContextInternal context, HttpServerResponse response, String filename, Entry entry, long offset, long length, String acceptEncoding) {
+    long actualLength = Math.min(length, entry.length - offset);
+    long actualOffset = Math.min(offset, entry.length);
+    if (actualLength < 0) {
+      return context.failedFuture("offset : " + offset + " is larger than the requested file length : " + entry.length);
+    }
+    if (response.headWritten()) {
+      throw new IllegalStateException("Head already written");
+    }
+    MultiMap headers = response.headers();
+    ByteBuf content = content(entry, actualOffset, actualLength, acceptEncoding, headers);
+    if (content == null) {
+      return null;
+    }
+    if (!headers.contains(HttpHeaders.CONTENT_TYPE)) {
+      CharSequence mimeType = MimeMapping.mimeTypeForFilename(filename);
+      headers.set(HttpHeaders.CONTENT_TYPE, mimeType != null ? mimeType : HttpHeaders.APPLICATION_OCTET_STREAM);
+    }
+    Future<Void> fut;
+    try {
+      fut = response.end(BufferInternal.buffer(content));
+    } catch (RuntimeException e) {
+      content.release();
+      throw e;
+    }
+    return fut.andThen(ar -> content.release());
+  }
+
+  /**
+   * Select the content to send for a range of a cached file and set the corresponding response headers: the validators
+   * of the file and the content encoding when a compressed variant is sent.
+   *
+   * @param entry the cached file
+   * @param offset the range offset
+   * @param length the range length
+   * @param acceptEncoding the request {@code Accept-Encoding} header
+   * @param headers the response headers
+   * @return the retained content to release after use or {@code null} when the file was evicted
+   */
+  private ByteBuf content(Entry entry, long offset, long length, String acceptEncoding, MultiMap headers) {
+    ByteBuf content = null;
+    if (compressionManager != null && offset == 0L && length == entry.length && !headers.contains(HttpHeaders.CONTENT_ENCODING)) {
+      String encoding = acceptEncoding != null ? compressionManager.determineEncoding(acceptEncoding) : null;
+      if (encoding != null && !HttpHeaders.IDENTITY.toString().equalsIgnoreCase(encoding)) {
+        content = variant(entry, encoding);
+        if (content != null) {
+          headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+      }
+      if (!headers.contains(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING, true)) {
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      }
+    }
+    if (content == null) {
+      content = entry.content(offset, length);
+      if (content == null) {
+        return null;
+      }
+    }
+    if (!headers.contains(HttpHeaders.ETAG)) {
+      headers.set(HttpHeaders.ETAG, entry.etag);
+    }
+    if (!headers.contains(HttpHeaders.LAST_MODIFIED)) {
+      headers.set(HttpHeaders.LAST_MODIFIED, entry.lastModifiedHeader);
+    }
+    return content;
+  }
+
+  /**
+   * @return the retained compressed variant of a file to release after use or {@code null} when the file cannot be
+   *         compressed with this encoding
+   */
+  private ByteBuf variant(Entry entry, String encoding) {
+    ByteBuf variant = entry.variants.get(encoding);
+    if (variant == null) {
+      ByteBuf compressed = compressionManager.compress(entry.content, encoding);
+      if (compressed != null && compressed.readableBytes() >= entry.length) {
+        compressed.release();
+        compressed = null;
+      }
+      variant = compressed != null ? compressed : NOT_COMPRESSIBLE;
+      boolean added;
+      synchronized (entry) {
+        added = !entry.released && entry.variants.putIfAbsent(encoding, variant) == null;
+      }
+      if (added && compressed != null) {
+        List<Entry> dropped = new ArrayList<>();
+        synchronized (this) {
+          entry.size += compressed.readableBytes();
+          if (entries.get(entry.key) == entry) {
+            size += compressed.readableBytes();
+            evict(dropped);
+          }
+        }
+        for (Entry e : dropped) {
+          e.release();
+        }
+      }
+      if (!added) {
+        if (compressed != null) {
+          compressed.release();
+        }
+        variant = entry.variants.get(encoding);
+        if (variant == null) {
+          return null;
+        }
+      }
+    }
+    if (variant == NOT_COMPRESSIBLE) {
+      return null;
+    }
+    try {
+      return variant.retainedDuplicate();
+    } catch (IllegalStateException e) {
+      // Evicted concurrently
+      return null;
+    }
+  }
+
+  private void remove(String key, Entry entry) {
+    synchronized (this) {
+      if (!entries.remove(key, entry)) {
+        return;
+      }
+      size -= entry.size;
+    }
+    entry.release();
+  }
+
+  // Guarded by this
+  private void evict(List<Entry> dropped) {
+    Iterator<Entry> it = entries.values().iterator();
+    while (size > maxSize && it.hasNext()) {
+      Entry eldest = it.next();
+      it.remove();
+      size -= eldest.size;
+      dropped.add(eldest);
+    }
+  }
+
+  /**
+   * Release the cached files.
+   */
+  public void close() {
+    List<Entry> dropped;
+    synchronized (this) {
+      closed = true;
+      loading.clear();
+      dropped = new ArrayList<>(entries.values());
+      entries.clear();
+      size = 0L;
+    }
+    for (Entry entry : dropped) {
+      entry.release();
+    }
+  }
+
+  /**
+   * A cached file.
+   */
+  public static class Entry {
+
+    private final String key;
+    private final long lastModified;
+    private final long length;
+    private final ByteBuf content;
+    private final Map<String, ByteBuf> variants = new ConcurrentHashMap<>();
+    private final String etag;
+    private final String lastModifiedHeader;
+    // Guarded by the cache
+    private long size;
+    // Guarded by this
+    private boolean released;
+
+    private Entry(String key, long lastModified, long length, ByteBuf content) {
+      this.key = key;
+      this.lastModified = lastModified;
+      this.length = length;
+      this.content = content;
+      this.etag = "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+      this.lastModifiedHeader = DateFormatter.format(new Date(lastModified));
+      this.size = length;
+    }
+
+    /**
+     * @return the file length
+     */
+    public long length() {
+      return length;
+    }
+
+    private ByteBuf content(long offset, long length) {
+      try {
+        return content.retainedSlice((int) offset, (int) length);
+      } catch (IllegalStateException e) {
+        // Evicted concurrently
+        return null;
+      }
+    }
+
+    private void release() {
+      List<ByteBuf> buffers;
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+        buffers = new ArrayList<>(variants.values());
+      }
+      content.release();
+      for (ByteBuf variant : buffers) {
+        if (variant != NOT_COMPRESSIBLE) {
+          variant.release();
+        }
+      }
+    }
+  }
+}
@@ -13,6 +13,7 @@ package io.vertx.core.http.impl.headers;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.util.AsciiString;
 import io.netty.util.CharsetUtil;
@@ -68,6 +69,21 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
     return new Http1xHeaders(false, (BiConsumer<CharSequence, CharSequence>) null);
   }
 
+  /**
+   * Create an immutable header block encoded once, when the block is added to an empty headers map, the block bytes
+   * are written in bulk as long as the block entries are not modified or removed.
+   *
+   * @param headers the headers of the block
+   * @return the encoded block
+   */
+  public static Http1xHeaders encoded(MultiMap headers) {
+    Http1xHeaders block = new Http1xHeaders(true, httpHeaders().addAll(headers));
+    ByteBuf buf = Unpooled.buffer();
+    block.encode0(block.head, buf);
+    block.encoded = ByteBufUtil.getBytes(buf);
+    return block;
+  }
+
   private final BiConsumer<CharSequence, CharSequence> validator;
   private final boolean readOnly;
   private Http1xHeaders ref;
@@ -76,6 +92,10 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
   private Http1xHeaders.MapEntry tail;
   private int modCount = 0;
   private Reference<byte[]> renderedBytesRef;
+  private byte[] encoded;
+  // The encoded block copied at the head of this map and its last entry
+  private Http1xHeaders prefix;
+  private MapEntry prefixTail;
 
   private Http1xHeaders(boolean readOnly, BiConsumer<CharSequence, CharSequence> validator) {
     this.head = null;
@@ -109,6 +129,7 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
     if (multimap instanceof Http1xHeaders) {
       Http1xHeaders headers = (Http1xHeaders) multimap;
       if (headers.readOnly) {
+        prefix = null;
         ref = headers;
         head = headers.head;
         tail = headers.tail;
@@ -179,6 +200,10 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
 
   @Override
   public Http1xHeaders addAll(MultiMap headers) {
+    if (head == null && headers instanceof Http1xHeaders && ((Http1xHeaders) headers).encoded != null) {
+      // Share the encoded block
+      return setAll(headers);
+    }
     return addAll(headers.entries());
   }
 
@@ -460,6 +485,7 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
       throw new IllegalStateException("Read only");
     } else {
       head = tail = null;
+      prefix = null;
       if (ref != null) {
         entries = null;
       } else if (entries != null) {
@@ -581,12 +607,14 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
   }
 
   public void encode(ByteBuf buf, boolean cache) {
-    if (cache && readOnly) {
+    if (encoded != null) {
+      buf.writeBytes(encoded);
+    } else if (cache && readOnly) {
       Reference<byte[]> r = renderedBytesRef;
       byte[] bytes;
       if (r == null || (bytes = r.get()) == null) {
         int from = buf.writerIndex();
-        encode0(buf);
+        encode0(head, buf);
         int to = buf.writerIndex();
         bytes = new byte[to - from];
         buf.getBytes(from, bytes);
@@ -598,14 +626,17 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
       Http1xHeaders r = ref;
       if (r != null) {
         r.encode(buf, cache);
+      } else if (prefix != null) {
+        buf.writeBytes(prefix.encoded);
+        encode0(prefixTail.after, buf);
       } else {
-        encode0(buf);
+        encode0(head, buf);
       }
     }
   }
 
-  private void encode0(ByteBuf buf) {
-    for (MapEntry c = head;c != null;c = c.after) {
+  private void encode0(MapEntry from, ByteBuf buf) {
+    for (MapEntry c = from;c != null;c = c.after) {
       encodeHeader(c.key, c.value, buf);
     }
   }
@@ -617,6 +648,7 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
     private CharSequence value;
     private Http1xHeaders.MapEntry next;
     private Http1xHeaders.MapEntry before, after;
+    private boolean prefixed;
 
     MapEntry(int hash, CharSequence key, CharSequence value) {
       this.hash = hash;
@@ -641,6 +673,9 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
       if (validator != null) {
         validator.accept("", value);
       }
+      if (prefixed) {
+        prefix = null;
+      }
       CharSequence oldValue = this.value;
       this.value = value;
       return oldValue;
@@ -694,6 +729,13 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
     entries = new MapEntry[16];
     ref = null;
     addAll(state);
+    if (state.encoded != null && tail != null) {
+      for (MapEntry c = head;c != null;c = c.after) {
+        c.prefixed = true;
+      }
+      prefix = state;
+      prefixTail = tail;
+    }
   }
 
   private boolean contains(CharSequence name, CharSequence value, boolean equals, boolean ignoreCase) {
@@ -767,6 +809,9 @@ public final class Http1xHeaders extends HttpHeaders implements MultiMap {
         } else {
           prev.next = next;
         }
+        if (e.prefixed) {
+          prefix = null;
+        }
         if (e.before == null) {
           head = e.after;
         } else {
@@ -109,6 +109,13 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
   private long creationTimestamp;
   private long lastResponseReceivedTimestamp;
 
+  // Adaptive pipe-lining state
+  private final boolean adaptivePipelining;
+  private Handler<Long> concurrencyChangeHandler;
+  private int pipeliningDepth;
+  private long avgServiceTime;
+  private long lastResponseEndNanos;
+
   public Http1ClientConnection(HttpVersion version,
                                WebSocketMetrics<?> httpMetrics,
                                TransportMetrics<?> transportMetrics,
@@ -137,6 +144,8 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
     this.pending = new ArrayDeque<>();
     this.inflight = new ArrayDeque<>();
     this.creationTimestamp = System.currentTimeMillis();
+    this.adaptivePipelining = config.isPipelining() && config.isAdaptivePipelining();
+    this.pipeliningDepth = 1;
   }
 
   @Override
@@ -169,15 +178,45 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
 
   @Override
   public io.vertx.core.http.impl.HttpClientConnection concurrencyChangeHandler(Handler<Long> handler) {
-    // Never changes
+    // Only changes with adaptive pipe-lining
+    concurrencyChangeHandler = handler;
     return this;
   }
 
   @Override
   public long concurrency() {
+    return adaptivePipelining ? pipeliningDepth : maxConcurrency();
+  }
+
+  private long maxConcurrency() {
     return config.isPipelining() ? config.getPipeliningLimit() : 1;
   }
 
+  /**
+   * Adapt the pipe-lining depth to the time the server took to serve a response.
+   *
+   * @param serviceTime the time spent serving the response, excluding the time it was blocked behind the previous responses
+   * @param blocking whether other requests were queued behind the response
+   * @param saturated whether the connection was serving as many requests as its depth
+   * @return the new depth
+   */
+  private int adaptPipeliningDepth(long serviceTime, boolean blocking, boolean saturated) {
+    int depth = pipeliningDepth;
+    long avg = avgServiceTime;
+    if (avg == 0L) {
+      avg = serviceTime;
+    }
+    if (blocking && serviceTime > 2 * avg) {
+      // Head-of-line blocking
+      depth = Math.max(1, depth / 2);
+    } else if (saturated && serviceTime <= avg) {
+      depth = (int) Math.min(config.getPipeliningLimit(), depth + 1L);
+    }
+    avgServiceTime = avg + (serviceTime - avg) / 8;
+    pipeliningDepth = depth;
+    return depth;
+  }
+
   @Override
   public synchronized long activeStreams() {
     return (pending.isEmpty() && current == null && inflight.isEmpty()) ? 0 : 1;
@@ -277,6 +316,7 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
       assert stream == removed;
       current = removed;
       inflight.addLast(stream);
+      stream.sentNanos = System.nanoTime();
       this.isConnect = connect;
       if (clientMetrics != null) {
         ObservableRequest observable = new ObservableRequest(request);
@@ -424,6 +464,7 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
     private boolean responseEnded;
     private long bytesRead;
     private long bytesWritten;
+    private long sentNanos;
     private boolean reset;
     private boolean closed;
 
@@ -964,6 +1005,7 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
     boolean check;
     io.vertx.core.http.impl.HttpResponseHead response;
     HttpVersion version;
+    int depth = -1;
     synchronized (this) {
       response = stream.response;
       version = stream.version;
@@ -972,6 +1014,16 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
         return;
       }
       inflight.removeFirst();
+      if (adaptivePipelining) {
+        long now = System.nanoTime();
+        int prev = pipeliningDepth;
+        boolean saturated = inflight.size() + 1 >= prev;
+        int next = adaptPipeliningDepth(now - Math.max(stream.sentNanos, lastResponseEndNanos), !inflight.isEmpty(), saturated);
+        lastResponseEndNanos = now;
+        if (next != prev) {
+          depth = next;
+        }
+      }
       HttpRequestHead request = stream.request;
       if ((request.method != HttpMethod.CONNECT && response.statusCode != 101)) {
         // See https://tools.ietf.org/html/rfc7230#section-6.3
@@ -1008,6 +1060,10 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
     flushBytesRead();
     checkLifecycle();
     lastResponseReceivedTimestamp = System.currentTimeMillis();
+    Handler<Long> handler = concurrencyChangeHandler;
+    if (depth != -1 && handler != null) {
+      handler.handle((long) depth);
+    }
     if (!stream.reset) {
       stream.onEnd(trailer);
     }
@@ -1329,14 +1385,14 @@ public class Http1ClientConnection extends Http1Connection implements io.vertx.c
       Object result;
       synchronized (this) {
         if (!closed) {
-          if (pending.size() < concurrency()) {
+          if (pending.size() < maxConcurrency()) {
             Object metric;
             if (clientMetrics != null) {
               metric = clientMetrics.init();
             } else {
               metric = null;
             }
-            if (pending.size() >= concurrency()) {
+            if (pending.size() >= maxConcurrency()) {
               return;
             }
             Stream stream = new StreamImpl(context, this, seq++, metric);
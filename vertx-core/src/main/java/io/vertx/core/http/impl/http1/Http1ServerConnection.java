@@ -11,6 +11,7 @@
 
 package io.vertx.core.http.impl.http1;
 
+import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -48,6 +49,7 @@ import io.vertx.core.spi.tracing.VertxTracer;
 import io.vertx.core.tracing.TracingPolicy;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.function.Supplier;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.*;
@@ -68,6 +70,10 @@ import static io.vertx.core.spi.metrics.Metrics.*;
  * <p/>
  * When a request is received, it is also the current response if there is no response in progress, otherwise it is
  * queued and will become the response in progress when the current response in progress ends.
+ * <p/>
+ * When the server handles several pipelined requests concurrently, the queued requests are kept in {@link #pipelined}
+ * and a queued request can be dispatched before it becomes the response in progress, the messages written by its
+ * response are then buffered and written when the request becomes the response in progress.
  *
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -85,12 +91,17 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
   private final boolean registerWebSocketWriteHandlers;
   private final WebSocketServerConfig webSocketConfig;
   private final ServerSSLOptions sslOptions;
+  private final int maxConcurrentPipelinedRequests;
+  private final ArrayDeque<Http1ServerRequest> pipelined;
 
   private Http1ServerRequest requestInProgress;
   private Http1ServerRequest responseInProgress;
   private boolean wantClose;
   private Handler<HttpServerRequest> requestHandler;
   private Handler<HttpServerRequest> invalidRequestHandler;
+  StaticFileCache fileCache;
+  CompressedContentCache compressionCache;
+  AdmissionController admissionController;
 
   public final HttpServerMetrics httpMetrics;
   private final TransportMetrics<?> transportMetrics;
@@ -136,6 +147,8 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
     this.strictThreadMode = strictThreadMode && threadingModel == ThreadingModel.EVENT_LOOP;
     this.eagerCreateRequestQueue = threadingModel != ThreadingModel.EVENT_LOOP;
     this.sslOptions = sslOptions;
+    this.maxConcurrentPipelinedRequests = serverConfig.getMaxConcurrentPipelinedRequests();
+    this.pipelined = threadingModel != ThreadingModel.EVENT_LOOP && maxConcurrentPipelinedRequests > 1 ? new ArrayDeque<>() : null;
   }
 
   int maxFormAttributeSize() {
@@ -192,6 +205,21 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
     return this;
   }
 
+  public HttpServerConnection fileCache(StaticFileCache fileCache) {
+    this.fileCache = fileCache;
+    return this;
+  }
+
+  public HttpServerConnection compressionCache(CompressedContentCache compressionCache) {
+    this.compressionCache = compressionCache;
+    return this;
+  }
+
+  public HttpServerConnection admissionController(AdmissionController admissionController) {
+    this.admissionController = admissionController;
+    return this;
+  }
+
   @Override
   public TransportMetrics<?> metrics() {
     return transportMetrics;
@@ -211,11 +239,21 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
       DefaultHttpRequest request = (DefaultHttpRequest) msg;
       ContextInternal requestCtx = streamContextSupplier.get();
       Http1ServerRequest req = new Http1ServerRequest(this, request, requestCtx);
+      if (admissionController != null) {
+        req.receivedAt = System.nanoTime();
+      }
       if (eagerCreateRequestQueue) {
         req.resume();
       }
       requestInProgress = req;
       if (responseInProgress != null) {
+        if (pipelined != null) {
+          pipelined.add(req);
+          if (canDispatchAhead(req)) {
+            dispatchAhead(req);
+            return;
+          }
+        }
         doPause();
         return;
       }
@@ -223,13 +261,79 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
       responseInProgress = requestInProgress;
       wantClose = !keepAlive;
       req.handleBegin(keepAlive);
-      Handler<HttpServerRequest> handler = request.decoderResult().isSuccess() ? requestHandler : invalidRequestHandler;
+      Handler<HttpServerRequest> handler = request.decoderResult().isSuccess() ? requestHandler() : invalidRequestHandler;
       req.context.emit(req, handler);
     } else {
       handleOther(msg);
     }
   }
 
+  private Handler<HttpServerRequest> requestHandler() {
+    return admissionController != null ? this::admit : requestHandler;
+  }
+
+  /**
+   * Dispatch a request to the request handler when the admission control admits it, otherwise reject it.
+   */
+  private void admit(HttpServerRequest request) {
+    Http1ServerRequest req = (Http1ServerRequest) request;
+    AdmissionController controller = admissionController;
+    if (!controller.tryAdmit(req.receivedAt)) {
+      controller.reject(req.response());
+      return;
+    }
+    boolean completed;
+    synchronized (this) {
+      completed = req.completed;
+      req.admitted = !completed;
+    }
+    if (completed) {
+      // The connection closed before the dispatch
+      controller.release();
+    }
+    requestHandler.handle(req);
+  }
+
+  private void releaseAdmission(Http1ServerRequest req) {
+    AdmissionController controller = admissionController;
+    if (controller != null) {
+      boolean admitted;
+      synchronized (this) {
+        admitted = req.admitted;
+        req.admitted = false;
+        req.completed = true;
+      }
+      if (admitted) {
+        controller.release();
+      }
+    }
+  }
+
+  /**
+   * @return whether a pipelined request can be dispatched before its response is in progress
+   */
+  private boolean canDispatchAhead(Http1ServerRequest req) {
+    HttpRequest request = req.nettyRequest();
+    HttpRequest head = responseInProgress.nettyRequest();
+    return pipelined.size() < maxConcurrentPipelinedRequests
+      && request.decoderResult().isSuccess()
+      && !HttpUtils.isConnectOrUpgrade(req.method(), req.headers())
+      && !HttpUtils.isConnectOrUpgrade(responseInProgress.method(), responseInProgress.headers())
+      && head.decoderResult().isSuccess();
+  }
+
+  /**
+   * Dispatch a pipelined request to the request handler, its response is buffered until it becomes the response in
+   * progress. The request handler runs after the handlers of the previous requests released the context.
+   */
+  private void dispatchAhead(Http1ServerRequest req) {
+    boolean keepAlive = HttpUtils.isKeepAlive(req.nettyRequest());
+    wantClose |= !keepAlive;
+    req.pendingWrites = new ArrayDeque<>();
+    req.handleBegin(keepAlive);
+    req.context.emit(req, requestHandler());
+  }
+
   private void handleOther(Object msg) {
     // concrete type check first
     if (msg instanceof DefaultHttpContent || msg instanceof HttpContent) {
@@ -263,20 +367,94 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
     }
   }
 
-  void write(VertxHttpObject msg, Promise<Void> promise) {
+  void write(Http1ServerRequest request, VertxHttpObject msg, Promise<Void> promise) {
+    // The messages of a response dispatched ahead are buffered until its turn, count them for the back-pressure
+    int size = pipelined != null && msg instanceof ByteBufHolder ? ((ByteBufHolder) msg).content().readableBytes() : 0;
+    if (size > 0) {
+      synchronized (this) {
+        request.pendingBytes += size;
+      }
+    }
     writeToChannel(new MessageWrite() {
       @Override
       public void write() {
+        ArrayDeque<MessageWrite> pendingWrites = request.pendingWrites;
+        if (pendingWrites != null) {
+          // Not yet the turn of this response
+          pendingWrites.add(this);
+          return;
+        }
+        release();
         Http1ServerConnection.this.unsafeWrite(msg, false, promise);
         if (msg.isEnded()) {
           responseComplete();
         }
       }
       @Override
+      public void cancel(Throwable cause) {
+        release();
+        ReferenceCountUtil.release(msg);
+        if (promise != null) {
+          promise.fail(cause);
+        }
+      }
+      private void release() {
+        if (size > 0) {
+          synchronized (Http1ServerConnection.this) {
+            request.pendingBytes -= size;
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * @return whether the response of the {@code request} should stop writing, a response dispatched ahead is full when
+   *         the messages buffered until its turn exceed the write queue high-water mark
+   */
+  boolean writeQueueFull(Http1ServerRequest request) {
+    if (pipelined != null) {
+      synchronized (this) {
+        if (request.pendingBytes > chctx.channel().config().getWriteBufferHighWaterMark()) {
+          request.pendingWritesFull = true;
+          return true;
+        }
+      }
+    }
+    return writeQueueFull();
+  }
+
+  /**
+   * @return whether a response might have to wait for the previous responses before writing to the channel
+   */
+  boolean isConcurrentPipelining() {
+    return pipelined != null;
+  }
+
+  /**
+   * Wait until the response of the {@code request} is the response in progress, the responses of the pipelined
+   * requests handled concurrently are otherwise buffered.
+   *
+   * @return a future completed when the response can write directly to the channel
+   */
+  Future<Void> awaitTurn(Http1ServerRequest request) {
+    PromiseInternal<Void> promise = request.context.promise();
+    writeToChannel(new MessageWrite() {
+      @Override
+      public void write() {
+        ArrayDeque<MessageWrite> pendingWrites = request.pendingWrites;
+        if (pendingWrites != null) {
+          pendingWrites.add(this);
+        } else {
+          promise.complete();
+        }
+      }
+      @Override
       public void cancel(Throwable cause) {
         promise.fail(cause);
       }
     });
+    return promise.future();
   }
 
   void responseComplete() {
@@ -287,15 +465,20 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
       }
       Http1ServerRequest request = responseInProgress;
       responseInProgress = null;
+      releaseAdmission(request);
       DecoderResult result = request.decoderResult();
       if (result.isSuccess()) {
         if (requestInProgress == request) {
           // Deferred
         } else {
-          Http1ServerRequest next = requestInProgress;
+          Http1ServerRequest next = pipelined != null ? pipelined.poll() : requestInProgress;
           if (next != null) {
             // Handle pipelined request
-            handleNext(next);
+            if (next.pendingWrites != null) {
+              handlePipelined(next);
+            } else {
+              handleNext(next);
+            }
           } else if (wantClose || shutdownInitiated != null) {
             closeInternal();
           }
@@ -316,12 +499,45 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
     wantClose |= !keepAlive;
     next.handleBegin(keepAlive);
     next.context.emit(next, next_ -> {
-      Handler<HttpServerRequest> handler = next_.nettyRequest().decoderResult().isSuccess() ? requestHandler : invalidRequestHandler;
+      Handler<HttpServerRequest> handler = next_.nettyRequest().decoderResult().isSuccess() ? requestHandler() : invalidRequestHandler;
       handler.handle(next_);
     });
     doResume();
   }
 
+  /**
+   * Handle a pipelined request dispatched before its turn, write its buffered messages and dispatch the next
+   * pipelined request when it was waiting for a slot.
+   */
+  private void handlePipelined(Http1ServerRequest next) {
+    ArrayDeque<MessageWrite> pendingWrites = next.pendingWrites;
+    responseInProgress = next;
+    next.pendingWrites = null;
+    MessageWrite write;
+    while ((write = pendingWrites.poll()) != null) {
+      // Might complete the response and handle the next pipelined request
+      write.write();
+    }
+    boolean drained;
+    synchronized (this) {
+      drained = next.pendingWritesFull;
+      next.pendingWritesFull = false;
+    }
+    if (drained && responseInProgress == next && !writeQueueFull()) {
+      // Otherwise the drain handler is called when the channel is writable
+      Handler<Void> handler = next.response()::handleWriteQueueDrained;
+      next.context.execute(handler);
+    }
+    Http1ServerRequest last = pipelined.peekLast();
+    if (last != null && last.pendingWrites == null) {
+      if (responseInProgress == null || !canDispatchAhead(last)) {
+        return;
+      }
+      dispatchAhead(last);
+    }
+    doResume();
+  }
+
   private void reportResponseComplete() {
     Http1ServerRequest request = responseInProgress;
     if (httpMetrics != null) {
@@ -428,6 +644,12 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
   void netSocket(Promise<NetSocket> promise) {
     context.execute(() -> {
 
+      // The upgraded connection is not a request anymore
+      Http1ServerRequest request = responseInProgress;
+      if (request != null) {
+        releaseAdmission(request);
+      }
+
       // Flush out all pending data
       flush();
 
@@ -487,8 +709,8 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
     }
   }
 
-  void write100Continue(Promise<Void> promise) {
-    write(new VertxFullHttpResponse(
+  void write100Continue(Http1ServerRequest request, Promise<Void> promise) {
+    write(request, new VertxFullHttpResponse(
       false,
       HTTP_1_1,
       CONTINUE,
@@ -498,8 +720,8 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
       false), promise);
   }
 
-  void write103EarlyHints(HttpHeaders headers, Promise<Void> promise) {
-    write(new VertxFullHttpResponse(false,
+  void write103EarlyHints(Http1ServerRequest request, HttpHeaders headers, Promise<Void> promise) {
+    write(request, new VertxFullHttpResponse(false,
       HTTP_1_1,
       HttpResponseStatus.EARLY_HINTS,
       Unpooled.buffer(0),
@@ -511,8 +733,24 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
   protected void handleClosed() {
     Http1ServerRequest responseInProgress = this.responseInProgress;
     if (responseInProgress != null) {
+      releaseAdmission(responseInProgress);
       responseInProgress.handleException(HttpUtils.CONNECTION_CLOSED_EXCEPTION);
     }
+    if (pipelined != null) {
+      Http1ServerRequest request;
+      while ((request = pipelined.poll()) != null) {
+        ArrayDeque<MessageWrite> pendingWrites = request.pendingWrites;
+        if (pendingWrites != null) {
+          request.pendingWrites = null;
+          MessageWrite write;
+          while ((write = pendingWrites.poll()) != null) {
+            write.cancel(HttpUtils.CONNECTION_CLOSED_EXCEPTION);
+          }
+          releaseAdmission(request);
+          request.handleException(HttpUtils.CONNECTION_CLOSED_EXCEPTION);
+        }
+      }
+    }
     super.handleClosed();
   }
 
@@ -529,6 +767,14 @@ public class Http1ServerConnection extends Http1Connection implements HttpServer
       responseInProgress.reportMetricsFailed = true;
       responseInProgress.handleException(t);
     }
+    if (pipelined != null) {
+      for (Http1ServerRequest request : pipelined) {
+        if (request.pendingWrites != null && request != requestInProgress) {
+          request.reportMetricsFailed = true;
+          request.handleException(t);
+        }
+      }
+    }
     return ret;
   }
 
@@ -34,12 +34,14 @@ import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.internal.concurrent.InboundMessageQueue;
 import io.vertx.core.net.impl.HostAndPortImpl;
+import io.vertx.core.net.impl.MessageWrite;
 import io.vertx.core.spi.metrics.HttpServerMetrics;
 import io.vertx.core.spi.tracing.SpanKind;
 import io.vertx.core.spi.tracing.TagExtractor;
 import io.vertx.core.spi.tracing.VertxTracer;
 import io.vertx.core.streams.impl.InboundBuffer;
 
+import java.util.ArrayDeque;
 import java.util.Set;
 
 import static io.vertx.core.spi.metrics.Metrics.METRICS_ENABLED;
@@ -67,6 +69,18 @@ public class Http1ServerRequest extends HttpServerRequestBase implements io.vert
   Object trace;
   boolean reportMetricsFailed;
 
+  // Admission control, guarded by conn
+  long receivedAt;
+  boolean admitted;
+  boolean completed;
+
+  // Messages written before the turn of the response of a pipelined request, accessed on event loop
+  ArrayDeque<MessageWrite> pendingWrites;
+  // The size of the messages written and not yet sent to the channel, guarded by conn
+  long pendingBytes;
+  // Whether writeQueueFull() reported the pending messages full, guarded by conn
+  boolean pendingWritesFull;
+
   private Http1ServerResponse response;
 
   // Cache this for performance
@@ -141,7 +155,7 @@ public class Http1ServerRequest extends HttpServerRequestBase implements io.vert
     if (METRICS_ENABLED) {
       reportRequestBegin();
     }
-    response = new Http1ServerResponse(context.owner(), context, conn, request, metric, keepAlive);
+    response = new Http1ServerResponse(context.owner(), context, conn, this, request, metric, keepAlive);
     if (conn.handle100ContinueAutomatically) {
       check100();
     }
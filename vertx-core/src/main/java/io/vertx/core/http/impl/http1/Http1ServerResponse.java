@@ -28,9 +28,11 @@ import io.vertx.core.http.*;
 import io.vertx.core.http.Cookie;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.impl.CompressedContentCache;
 import io.vertx.core.http.impl.CookieJar;
 import io.vertx.core.http.impl.HttpUtils;
 import io.vertx.core.http.impl.ServerCookie;
+import io.vertx.core.http.impl.StaticFileCache;
 import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.http.impl.headers.Http1xHeaders;
 import io.vertx.core.internal.ContextInternal;
@@ -60,6 +62,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
   private final VertxInternal vertx;
   private final HttpRequest request;
   private final Http1ServerConnection conn;
+  private final Http1ServerRequest serverRequest;
   private final ContextInternal context;
   private HttpResponseStatus status;
   private final HttpVersion version;
@@ -87,11 +90,13 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
   Http1ServerResponse(VertxInternal vertx,
                       ContextInternal context,
                       Http1ServerConnection conn,
+                      Http1ServerRequest serverRequest,
                       HttpRequest request,
                       Object requestMetric,
                       boolean keepAlive) {
     this.vertx = vertx;
     this.conn = conn;
+    this.serverRequest = serverRequest;
     this.context = context;
     this.version = request.protocolVersion();
     this.headers = Http1xHeaders.httpHeaders();
@@ -261,7 +266,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
   public boolean writeQueueFull() {
     synchronized (conn) {
       checkValid();
-      return conn.writeQueueFull();
+      return conn.writeQueueFull(serverRequest);
     }
   }
 
@@ -323,7 +328,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
       VertxHttpObject msg;
       prepareHeaders(-1);
       msg = new VertxHttpResponse(head, version, status, headers);
-      conn.write(msg, promise);
+      conn.write(serverRequest, msg, promise);
     }
     return promise.future();
   }
@@ -353,7 +358,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
   public Future<Void> writeContinue() {
     checkThread();
     Promise<Void> promise = context.promise();
-    conn.write100Continue(promise);
+    conn.write100Continue(serverRequest, promise);
     return promise.future();
   }
 
@@ -371,7 +376,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
     synchronized (conn) {
       checkHeadWritten();
     }
-    conn.write103EarlyHints(headersMultiMap, promise);
+    conn.write103EarlyHints(serverRequest, headersMultiMap, promise);
     return promise.future();
   }
 
@@ -403,14 +408,21 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
       bytesWritten += data.readableBytes();
       VertxHttpObject msg;
       if (!headWritten) {
+        CompressedContentCache compressionCache = conn.compressionCache;
+        if (compressionCache != null && hasBody()) {
+          ByteBuf compressed = compressionCache.compress(data, request.headers().get(HttpHeaderNames.ACCEPT_ENCODING), headers);
+          if (compressed != null) {
+            data = compressed;
+          }
+        }
         // if the head was not written yet we can write out everything in one go
         // which is cheaper.
-        prepareHeaders(bytesWritten);
+        prepareHeaders(data.readableBytes());
         msg = new VertxFullHttpResponse(head, version, status, data, headers, trailingHeaders);
       } else {
         msg = new VertxLastHttpContent(data, trailingHeaders);
       }
-      conn.write(msg, listener);
+      conn.write(serverRequest, msg, listener);
       if (bodyEndHandler != null) {
         bodyEndHandler.handle(null);
       }
@@ -443,6 +455,16 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
   @Override
   public Future<Void> sendFile(String filename, long offset, long length) {
     File file = vertx.fileResolver().resolve(filename);
+    StaticFileCache fileCache = conn.fileCache;
+    if (fileCache != null && offset >= 0 && length >= 0) {
+      StaticFileCache.Entry entry = fileCache.get(context, file);
+      if (entry != null) {
+        Future<Void> fut = fileCache.send(context, this, filename, entry, offset, length, request.headers().get(HttpHeaderNames.ACCEPT_ENCODING));
+        if (fut != null) {
+          return fut;
+        }
+      }
+    }
     RandomAccessFile raf;
     long size;
     try {
@@ -490,6 +512,22 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
   }
 
   private Future<Void> sendFileInternal(long offset, long length, long size, RandomAccessFile file, FileChannel fileChannel, boolean close) {
+    if (conn.isConcurrentPipelining()) {
+      // The file is written directly to the channel, wait until the previous pipelined responses are sent
+      return conn.awaitTurn(serverRequest).transform(ar -> {
+        if (ar.succeeded()) {
+          return sendFileNow(offset, length, size, file, fileChannel, close);
+        }
+        if (close) {
+          closeFile(file, fileChannel);
+        }
+        return context.failedFuture(ar.cause());
+      });
+    }
+    return sendFileNow(offset, length, size, file, fileChannel, close);
+  }
+
+  private Future<Void> sendFileNow(long offset, long length, long size, RandomAccessFile file, FileChannel fileChannel, boolean close) {
     Future<Void> ret = null;
     try {
       ContextInternal ctx = vertx.getOrCreateContext();
@@ -514,7 +552,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
         prepareHeaders(actualLength);
         bytesWritten = actualLength;
         written = true;
-        conn.write(new VertxAssembledHttpResponse(head, version, status, headers), null);
+        conn.write(serverRequest, new VertxAssembledHttpResponse(head, version, status, headers), null);
         FileChannel toSend = fileChannel == null ? file.getChannel() : fileChannel;
         ChannelFuture channelFuture = conn.sendFile(toSend, actualOffset, actualLength);
         PromiseInternal<Void> promise = context.promise();
@@ -541,39 +579,36 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
             }
 
             // write an empty last content to let the http encoder know the response is complete
-            conn.write(new VertxLastHttpContent(Unpooled.buffer(0), DefaultHttpHeadersFactory.trailersFactory().newHeaders()), promise);
+            conn.write(serverRequest, new VertxLastHttpContent(Unpooled.buffer(0), DefaultHttpHeadersFactory.trailersFactory().newHeaders()), promise);
           } else {
             promise.fail(future.cause());
           }
 
           //
           if (close) {
-            try {
-              if (file != null) {
-                file.close();
-              } else {
-                fileChannel.close();
-              }
-            } catch (IOException ignore) {
-            }
+            closeFile(file, fileChannel);
           }
         });
       }
       return ret;
     } finally {
       if (ret == null && close) {
-        try {
-          if (file != null) {
-            file.close();
-          } else {
-            fileChannel.close();
-          }
-        } catch (IOException ignore) {
-        }
+        closeFile(file, fileChannel);
       }
     }
   }
 
+  private static void closeFile(RandomAccessFile file, FileChannel fileChannel) {
+    try {
+      if (file != null) {
+        file.close();
+      } else {
+        fileChannel.close();
+      }
+    } catch (IOException ignore) {
+    }
+  }
+
   @Override
   public boolean ended() {
     synchronized (conn) {
@@ -674,6 +709,11 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
     }
   }
 
+  private boolean hasBody() {
+    return !head && status != HttpResponseStatus.NOT_MODIFIED && status != HttpResponseStatus.NO_CONTENT
+      && status != HttpResponseStatus.RESET_CONTENT && status.codeClass() != HttpStatusClass.INFORMATIONAL;
+  }
+
   private void prepareHeaders(long contentLength) {
     if (version == HttpVersion.HTTP_1_0 && keepAlive) {
       headers.set(HttpHeaders.CONNECTION, HttpHeaders.KEEP_ALIVE);
@@ -736,7 +776,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
       } else {
         msg = new VertxHttpContent(chunk);
       }
-      conn.write(msg, promise);
+      conn.write(serverRequest, msg, promise);
       return this;
     }
   }
@@ -759,7 +799,7 @@ public class Http1ServerResponse implements HttpServerResponse, HttpResponse {
         status = requestMethod == HttpMethod.CONNECT ? HttpResponseStatus.OK : HttpResponseStatus.SWITCHING_PROTOCOLS;
         prepareHeaders(-1);
         PromiseInternal<Void> upgradePromise = context.promise();
-        conn.write(new VertxAssembledHttpResponse(head, version, status, headers), upgradePromise);
+        conn.write(serverRequest, new VertxAssembledHttpResponse(head, version, status, headers), upgradePromise);
         written = true;
         Promise<NetSocket> promise = context.promise();
         netSocket = promise.future();
@@ -46,6 +46,7 @@ class DefaultHttp2ServerStream extends DefaultHttp2Stream<DefaultHttp2ServerStre
   private String scheme;
   private HttpMethod method;
   private String uri;
+  private long receivedAt;
 
   // Client handlers
   private Handler<HttpRequestHead> headersHandler;
@@ -130,6 +131,7 @@ class DefaultHttp2ServerStream extends DefaultHttp2Stream<DefaultHttp2ServerStre
 
     HttpRequestHeaders requestHeaders = (HttpRequestHeaders)headers;
 
+    this.receivedAt = System.nanoTime();
     this.method = requestHeaders.method();
     this.uri = requestHeaders.path();
     this.scheme = requestHeaders.scheme();
@@ -176,6 +178,12 @@ class DefaultHttp2ServerStream extends DefaultHttp2Stream<DefaultHttp2ServerStre
     return promise.future();
   }
 
+  @Override
+  public long receivedAt() {
+    return receivedAt;
+  }
+
+  @Override
   public void routed(String route) {
     if (METRICS_ENABLED) {
       EventLoop eventLoop = vertx.getOrCreateContext().nettyEventLoop();
@@ -38,6 +38,7 @@ import io.vertx.core.net.HostAndPort;
 public class Http3ServerStream extends Http3Stream<Http3ServerStream, Http3ServerConnection> implements HttpServerStream {
 
   private final ServerStreamObserver observer;
+  private final long receivedAt;
   private Handler<HttpRequestHead> headHandler;
   private boolean endReceived;
 
@@ -46,6 +47,7 @@ public class Http3ServerStream extends Http3Stream<Http3ServerStream, Http3Serve
     super(connection, stream, context, observer);
 
     this.observer = observer;
+    this.receivedAt = System.nanoTime();
   }
 
   @Override
@@ -88,6 +90,11 @@ public class Http3ServerStream extends Http3Stream<Http3ServerStream, Http3Serve
     }
   }
 
+  @Override
+  public long receivedAt() {
+    return receivedAt;
+  }
+
   @Override
   public void routed(String route) {
     if (observer != null) {
@@ -16,6 +16,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.http.*;
 import io.vertx.core.http.Http3Settings;
+import io.vertx.core.http.impl.AdmissionController;
 import io.vertx.core.http.impl.HttpServerRequestImpl;
 import io.vertx.core.http.impl.http3.Http3FrameLogger;
 import io.vertx.core.http.impl.http3.Http3ServerConnection;
@@ -150,6 +151,7 @@ public class QuicHttpServer implements HttpServerInternal {
     private final QueryParamDecoder queryParamDecoder;
     private final Http3Settings localSettings;
     private final boolean logEnabled;
+    private final AdmissionController admissionController;
 
     public ConnectionHandler(QuicServer transport,
                              HttpServerMetrics<?, ?> httpMetrics,
@@ -161,7 +163,8 @@ public class QuicHttpServer implements HttpServerInternal {
                              int maxFormBufferedSize,
                              QueryParamDecoder queryParamDecoder,
                              Http3Settings localSettings,
-                             boolean logEnabled) {
+                             boolean logEnabled,
+                             AdmissionController admissionController) {
       this.transport = transport;
       this.httpMetrics = httpMetrics;
       this.requestHandler = requestHandler;
@@ -173,6 +176,7 @@ public class QuicHttpServer implements HttpServerInternal {
       this.queryParamDecoder = queryParamDecoder;
       this.localSettings = localSettings;
       this.logEnabled = logEnabled;
+      this.admissionController = admissionController;
     }
 
     @Override
@@ -192,7 +196,7 @@ public class QuicHttpServer implements HttpServerInternal {
       http3Connection.streamHandler(stream -> {
         HttpServerRequestImpl request = new HttpServerRequestImpl(requestHandler, stream, stream.context(),
           handle100ContinueAutomatically, maxFormAttributeSize,
-          maxFormFields, maxFormBufferedSize, queryParamDecoder, serverOrigin);
+          maxFormFields, maxFormBufferedSize, queryParamDecoder, serverOrigin, null, null, admissionController);
         request.init();
       });
 
@@ -249,10 +253,13 @@ public class QuicHttpServer implements HttpServerInternal {
 
     FormDecoderConfig formDecoderConfig = config.getFormDecoderConfig() != null ? config.getFormDecoderConfig() : new FormDecoderConfig();
 
+    AdmissionControlConfig admissionControlConfig = config.getAdmissionControlConfig();
+    AdmissionController admissionController = admissionControlConfig != null ? new AdmissionController(admissionControlConfig, httpMetrics) : null;
+
     quicServer.connectHandler(new ConnectionHandler(quicServer, httpMetrics, requestHandler, connectionHandler,
       config.isHandle100ContinueAutomatically(), formDecoderConfig.getMaxAttributeSize(), formDecoderConfig.getMaxFields(), formDecoderConfig.getMaxBufferedBytes(),
       queryParamDecoder, http3Config.getInitialSettings() != null ? http3Config.getInitialSettings().copy() : new Http3Settings(),
-      logEnabled));
+      logEnabled, admissionController));
     quicServer.exceptionHandler(exceptionHandler);
     return quicServer
       .bind(current, address)
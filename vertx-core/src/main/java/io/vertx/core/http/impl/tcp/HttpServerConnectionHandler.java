@@ -98,6 +98,9 @@ public class HttpServerConnectionHandler implements Handler<HttpServerConnection
       Http1ServerConnection http1Conn = (Http1ServerConnection) conn;
       http1Conn.handler(requestHandler);
       http1Conn.invalidRequestHandler(invalidRequestHandler);
+      http1Conn.fileCache(server.fileCache);
+      http1Conn.compressionCache(server.compressionCache);
+      http1Conn.admissionController(server.admissionController);
     } else {
       Http2ServerConnection http2Conn = (Http2ServerConnection) conn;
       http2Conn.streamHandler(stream -> {
@@ -108,7 +111,8 @@ public class HttpServerConnectionHandler implements Handler<HttpServerConnection
         int maxFormBufferedBytes = formDecoderConfig != null ? formDecoderConfig.getMaxBufferedBytes() : HttpServerOptions.DEFAULT_MAX_FORM_BUFFERED_SIZE;
         HttpServerRequestImpl request = new HttpServerRequestImpl(requestHandler, stream, stream.context(),
           config.isHandle100ContinueAutomatically(), maxFormAttributeSize, maxFormFields,
-          maxFormBufferedBytes, queryParamDecoder, serverOrigin);
+          maxFormBufferedBytes, queryParamDecoder, serverOrigin, server.fileCache, server.compressionCache,
+          server.admissionController);
         request.init();
       });
     }
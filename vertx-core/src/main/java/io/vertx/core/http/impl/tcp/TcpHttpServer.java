@@ -14,7 +14,11 @@ package io.vertx.core.http.impl.tcp;
 import io.netty.handler.codec.compression.CompressionOptions;
 import io.vertx.core.*;
 import io.vertx.core.http.*;
+import io.vertx.core.http.impl.AdmissionController;
+import io.vertx.core.http.impl.CompressedContentCache;
+import io.vertx.core.http.impl.CompressionManager;
 import io.vertx.core.http.impl.HttpUtils;
+import io.vertx.core.http.impl.StaticFileCache;
 import io.vertx.core.internal.CloseSequence;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.impl.SysProps;
@@ -62,6 +66,9 @@ public class TcpHttpServer implements HttpServerInternal {
   private Duration closeTimeout = Duration.ZERO;
   private CloseSequence closeSequence;
   private HttpServerMetrics<?, ?> httpMetrics;
+  volatile StaticFileCache fileCache;
+  volatile CompressedContentCache compressionCache;
+  volatile AdmissionController admissionController;
 
   public TcpHttpServer(VertxInternal vertx, HttpServerConfig config, ServerSSLOptions sslOptions,
                        SSLEngineOptions engineOptions, HttpServerMetrics<?, ?> httpMetrics, boolean registerWebSocketWriteHandlers) {
@@ -279,6 +286,25 @@ public class TcpHttpServer implements HttpServerInternal {
     if (manageMetrics) {
       httpMetrics = vertx.metrics() != null ? vertx.metrics().createHttpServerMetrics(config, address, null) : null;
     }
+    List<CompressionOptions> compressors = compression != null ? compression.getCompressors() : null;
+    CompressionManager compressionManager;
+    if (compressors != null && !compressors.isEmpty() && compression.isCompressionEnabled()) {
+      compressionManager = new CompressionManager(compression.getContentSizeThreshold(), compressors.toArray(new CompressionOptions[0]));
+    } else {
+      compressionManager = null;
+    }
+    FileCacheConfig fileCacheConfig = config.getFileCacheConfig();
+    if (fileCacheConfig != null) {
+      fileCache = new StaticFileCache(fileCacheConfig, compressionManager);
+    }
+    CompressionCacheConfig compressionCacheConfig = compression != null ? compression.getCacheConfig() : null;
+    if (compressionManager != null && compressionCacheConfig != null) {
+      compressionCache = new CompressedContentCache(compressionCacheConfig, compressionManager, httpMetrics);
+    }
+    AdmissionControlConfig admissionControlConfig = config.getAdmissionControlConfig();
+    if (admissionControlConfig != null) {
+      admissionController = new AdmissionController(admissionControlConfig, httpMetrics);
+    }
     closeSequence = new CloseSequence(p -> doClose(server, p), p -> doShutdown(server, p ));
     Promise<HttpServer> result = context.promise();
     tcpServer.listen(listenContext, address).onComplete(ar -> {
@@ -318,6 +344,14 @@ public class TcpHttpServer implements HttpServerInternal {
   }
 
   private void doClose(NetServer netServer, Completable<Void> p) {
+    StaticFileCache cache = fileCache;
+    if (cache != null) {
+      cache.close();
+    }
+    CompressedContentCache compressedCache = compressionCache;
+    if (compressedCache != null) {
+      compressedCache.close();
+    }
     if (requestHandler instanceof Closeable) {
       Closeable closeable = (Closeable) requestHandler;
       closeable.close((res, err) -> {
@@ -45,6 +45,17 @@ public interface ConnectionPool<C> {
     return new SimpleConnectionPool<>(connector, maxSizes, maxWaiters);
   }
 
+  /**
+   * Create a pool split in {@code shards}, see {@link ShardedConnectionPool}. The number of shards is bounded by
+   * the largest of the {@code maxSizes}, each connection kind is served by at most as many shards as its max size.
+   */
+  static <C> ConnectionPool<C> pool(PoolConnector<C> connector, int[] maxSizes, int maxWaiters, int shards) {
+    if (shards > 1) {
+      return new ShardedConnectionPool<>(connector, maxSizes, maxWaiters, shards);
+    }
+    return new SimpleConnectionPool<>(connector, maxSizes, maxWaiters);
+  }
+
   /**
    * Set a {@code selector} function that decides the best connection to use.
    *
@@ -87,6 +98,19 @@ public interface ConnectionPool<C> {
    */
   void acquire(ContextInternal context, PoolWaiter.Listener<C> listener, int kind, Completable<Lease<C>> handler);
 
+  /**
+   * Open a connection that is not lent, when the pool has fewer than {@code minIdle} idle connections and the
+   * capacity to create one. The connections being opened this way count as idle connections.
+   *
+   * <p> The completion {@code handler} receives the future of the connection being opened, or {@code null} when
+   * the pool has enough idle connections or no capacity left.
+   *
+   * @param context the context used to create the connection
+   * @param kind the connection kind wanted which is an index in the max size array provided when constructing the pool
+   * @param minIdle the minimum number of idle connections
+   */
+  void open(ContextInternal context, int kind, int minIdle, Completable<Future<C>> handler);
+
   /**
    * Cancel a waiter.
    *
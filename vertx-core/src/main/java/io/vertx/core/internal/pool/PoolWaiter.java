@@ -21,6 +21,11 @@ public class PoolWaiter<C> {
   static final Listener NULL_LISTENER = new Listener() {
   };
 
+  @SuppressWarnings("unchecked")
+  static <C> Listener<C> nullListener() {
+    return NULL_LISTENER;
+  }
+
   /**
    * An interface notifying the connection borrower of the waiter lifecycle.
    */
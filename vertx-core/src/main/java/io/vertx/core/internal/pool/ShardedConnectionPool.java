@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.internal.pool;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.vertx.core.Completable;
+import io.vertx.core.Future;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import io.vertx.core.internal.ContextInternal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p> A pool split in shards, each shard is a {@link SimpleConnectionPool} owning a share of the pool sizes.
+ *
+ * <p> Each event-loop is assigned a shard, a waiter acquires a connection from the shard of its event-loop, so the
+ * shards executors are not contended by event-loops acquiring and recycling connections concurrently.
+ *
+ * <p> When the shard of a waiter has no connection to lend nor capacity to create one, the waiter tries to steal
+ * a connection from the other shards. When all the shards are exhausted, the waiter is enqueued in a wait queue
+ * shared by the shards and bounded by {@code maxWaiters}: a shard that can lend or create a connection while it has
+ * no waiter of its own serves the head of this queue.
+ *
+ * <p> The number of shards is bounded by the largest pool size, a connection kind with a smaller max size is served
+ * by as many shards as its max size only. A connection negotiating another kind than the one acquired remains in the
+ * shard that created it.
+ */
+public class ShardedConnectionPool<C> implements ConnectionPool<C> {
+
+  private final SimpleConnectionPool<C>[] shards;
+  // The number of shards serving each connection kind, the first shards serve all the kinds
+  private final int[] kindShards;
+  private final ConcurrentMap<EventExecutor, Integer> assignments = new ConcurrentHashMap<>();
+  private final AtomicInteger nextAssignment = new AtomicInteger();
+  private final int maxWaiters;
+
+  // The wait queue, guarded by the queue monitor
+  private final Deque<Waiter<C>> queue = new ArrayDeque<>();
+  private boolean closed;
+  private long signals;
+
+  // The number of waiters enqueued or being served by a shard, read without lock by the shards signals
+  private volatile int waiting;
+
+  @SuppressWarnings("unchecked")
+  ShardedConnectionPool(PoolConnector<C> connector, int[] maxSizes, int maxWaiters, int numShards) {
+    int largest = 0;
+    for (int maxSize : maxSizes) {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException();
+      }
+      largest = Math.max(largest, maxSize);
+    }
+    // Never exceed the pool sizes
+    numShards = Math.min(numShards, largest);
+    if (numShards < 1) {
+      throw new IllegalArgumentException();
+    }
+    int[] kindShards = new int[maxSizes.length];
+    for (int j = 0;j < maxSizes.length;j++) {
+      kindShards[j] = Math.min(numShards, maxSizes[j]);
+    }
+    SimpleConnectionPool<C>[] shards = (SimpleConnectionPool<C>[]) new SimpleConnectionPool<?>[numShards];
+    for (int i = 0;i < numShards;i++) {
+      int[] shardMaxSizes = new int[maxSizes.length];
+      for (int j = 0;j < maxSizes.length;j++) {
+        // A shard not serving a kind is never asked a connection of this kind
+        shardMaxSizes[j] = i < kindShards[j] ? share(maxSizes[j], i, kindShards[j]) : 1;
+      }
+      // The shards never enqueue waiters, the wait queue is shared
+      int index = i;
+      shards[i] = new SimpleConnectionPool<>(connector, shardMaxSizes, -1);
+      shards[i].availabilityHandler(() -> signal(index));
+    }
+    this.shards = shards;
+    this.kindShards = kindShards;
+    this.maxWaiters = maxWaiters;
+  }
+
+  private static int share(int value, int shard, int numShards) {
+    return value / numShards + (shard < value % numShards ? 1 : 0);
+  }
+
+  /**
+   * @return the index of the shard of the {@code context} event-loop among the shards serving the connection {@code kind}
+   */
+  private int shardIndex(ContextInternal context, int kind) {
+    return shardIndex(context) % kindShards[kind];
+  }
+
+  private int shardIndex(ContextInternal context) {
+    EventExecutor eventLoop = context.nettyEventLoop();
+    Integer index = assignments.get(eventLoop);
+    if (index == null) {
+      index = assignments.computeIfAbsent(eventLoop, el -> (nextAssignment.getAndIncrement() & Integer.MAX_VALUE) % shards.length);
+    }
+    return index;
+  }
+
+  /**
+   * @return the number of shards of this pool
+   */
+  public int shards() {
+    return shards.length;
+  }
+
+  @Override
+  public ConnectionPool<C> connectionSelector(BiFunction<PoolWaiter<C>, List<PoolConnection<C>>, PoolConnection<C>> selector) {
+    for (SimpleConnectionPool<C> shard : shards) {
+      shard.connectionSelector(selector);
+    }
+    return this;
+  }
+
+  @Override
+  public ConnectionPool<C> contextProvider(Function<ContextInternal, ContextInternal> contextProvider) {
+    for (SimpleConnectionPool<C> shard : shards) {
+      shard.contextProvider(contextProvider);
+    }
+    return this;
+  }
+
+  @Override
+  public void acquire(ContextInternal context, int kind, Completable<Lease<C>> handler) {
+    acquire(context, PoolWaiter.nullListener(), kind, handler);
+  }
+
+  @Override
+  public void acquire(ContextInternal context, PoolWaiter.Listener<C> listener, int kind, Completable<Lease<C>> handler) {
+    int index = shardIndex(context, kind);
+    acquire(context, listener, kind, index, index, handler);
+  }
+
+  private void acquire(ContextInternal context, PoolWaiter.Listener<C> listener, int kind, int home, int index, Completable<Lease<C>> handler) {
+    shards[index].acquire(context, listener, kind, false, (lease, err) -> {
+      if (err == SimpleConnectionPool.POOL_EXHAUSTED_EXCEPTION) {
+        int next = (index + 1) % kindShards[kind];
+        if (next != home) {
+          acquire(context, listener, kind, home, next, handler);
+        } else {
+          enqueue(new Waiter<>(this, listener, context, kind, handler));
+        }
+      } else {
+        handler.complete(lease, err);
+      }
+    });
+  }
+
+  /**
+   * All the shards are exhausted, enqueue the waiter in the shared wait queue.
+   */
+  private void enqueue(Waiter<C> waiter) {
+    Throwable failure;
+    synchronized (queue) {
+      if (closed) {
+        failure = SimpleConnectionPool.POOL_CLOSED_EXCEPTION;
+      } else if (maxWaiters == -1 || queue.size() < maxWaiters) {
+        queue.addLast(waiter);
+        waiting++;
+        failure = null;
+      } else {
+        failure = new ConnectionPoolTooBusyException("Connection pool reached max wait queue size of " + maxWaiters);
+      }
+    }
+    if (failure != null) {
+      fail(waiter, failure);
+      return;
+    }
+    if (waiter.listener != null) {
+      waiter.listener.onEnqueue(waiter);
+    }
+    // A shard recycling a connection before the waiter was counted could not see it
+    drainAll();
+  }
+
+  private static <C> void fail(Waiter<C> waiter, Throwable cause) {
+    Future<Lease<C>> fut = waiter.context.failedFuture(cause);
+    fut.onComplete(waiter.handler);
+  }
+
+  /**
+   * Signaled by the shard at {@code index} when it can lend or create a connection and has no waiter.
+   */
+  private void signal(int index) {
+    if (waiting == 0) {
+      return;
+    }
+    synchronized (queue) {
+      signals++;
+    }
+    drain(index);
+  }
+
+  private void drainAll() {
+    for (int i = 0;i < shards.length;i++) {
+      drain(i);
+    }
+  }
+
+  /**
+   * Try to serve the first waiter of the wait queue served by the shard at {@code index}.
+   */
+  private void drain(int index) {
+    Waiter<C> waiter = null;
+    long snapshot;
+    synchronized (queue) {
+      for (Iterator<Waiter<C>> it = queue.iterator();it.hasNext();) {
+        Waiter<C> w = it.next();
+        if (index < kindShards[w.kind]) {
+          it.remove();
+          waiter = w;
+          break;
+        }
+      }
+      if (waiter == null) {
+        return;
+      }
+      waiter.state = Waiter.SERVING;
+      snapshot = signals;
+    }
+    shards[index].acquire(waiter.context, waiter, waiter.kind, false, (lease, err) -> {
+      if (err == SimpleConnectionPool.POOL_EXHAUSTED_EXCEPTION) {
+        boolean retry = false;
+        boolean fail = false;
+        synchronized (queue) {
+          if (waiter.state == Waiter.CANCELLED) {
+            waiting--;
+            waiter.state = Waiter.DONE;
+          } else if (closed) {
+            waiting--;
+            waiter.state = Waiter.DONE;
+            fail = true;
+          } else {
+            waiter.state = Waiter.QUEUED;
+            queue.addFirst(waiter);
+            // Another shard signaled while the waiter was not in the queue
+            retry = signals != snapshot;
+          }
+        }
+        if (fail) {
+          fail(waiter, SimpleConnectionPool.POOL_CLOSED_EXCEPTION);
+        } else if (retry) {
+          drainAll();
+        }
+      } else {
+        boolean cancelled;
+        synchronized (queue) {
+          cancelled = waiter.state == Waiter.CANCELLED;
+          if (waiter.state != Waiter.CONNECTING) {
+            waiting--;
+          }
+          waiter.state = Waiter.DONE;
+        }
+        if (cancelled) {
+          if (lease != null) {
+            lease.recycle();
+          }
+        } else {
+          waiter.handler.complete(lease, err);
+        }
+        if (err == null) {
+          // The shard might serve more waiters
+          drain(index);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void open(ContextInternal context, int kind, int minIdle, Completable<Future<C>> handler) {
+    int index = shardIndex(context, kind);
+    open(context, kind, minIdle, index, index, handler);
+  }
+
+  /**
+   * Each shard keeps its share of the {@code minIdle} connections, the first shard below its share opens one.
+   */
+  private void open(ContextInternal context, int kind, int minIdle, int home, int index, Completable<Future<C>> handler) {
+    shards[index].open(context, kind, share(minIdle, index, kindShards[kind]), (fut, err) -> {
+      int next = (index + 1) % kindShards[kind];
+      if (err == null && fut == null && next != home) {
+        open(context, kind, minIdle, home, next, handler);
+      } else {
+        handler.complete(fut, err);
+      }
+    });
+  }
+
+  @Override
+  public void cancel(PoolWaiter<C> waiter, Completable<Boolean> handler) {
+    if (waiter instanceof Waiter) {
+      Waiter<C> w = (Waiter<C>) waiter;
+      PoolWaiter<C> delegate = null;
+      boolean cancelled;
+      synchronized (queue) {
+        switch (w.state) {
+          case Waiter.QUEUED:
+            queue.remove(w);
+            waiting--;
+            w.state = Waiter.DONE;
+            cancelled = true;
+            break;
+          case Waiter.SERVING:
+            w.state = Waiter.CANCELLED;
+            cancelled = true;
+            break;
+          case Waiter.CONNECTING:
+            delegate = w.delegate;
+            cancelled = false;
+            break;
+          default:
+            cancelled = false;
+            break;
+        }
+      }
+      if (delegate != null) {
+        SimpleConnectionPool.owner(delegate).cancel(delegate, handler);
+      } else {
+        handler.succeed(cancelled);
+      }
+    } else {
+      SimpleConnectionPool.owner(waiter).cancel(waiter, handler);
+    }
+  }
+
+  /**
+   * A waiter of the shared wait queue, it is the listener of the acquisitions made on its behalf to the shards.
+   */
+  private static class Waiter<C> extends PoolWaiter<C> implements PoolWaiter.Listener<C> {
+
+    static final int QUEUED = 0, SERVING = 1, CONNECTING = 2, CANCELLED = 3, DONE = 4;
+
+    private final ShardedConnectionPool<C> pool;
+    private final int kind;
+    private int state;
+    private PoolWaiter<C> delegate;
+
+    Waiter(ShardedConnectionPool<C> pool, PoolWaiter.Listener<C> listener, ContextInternal context, int kind, Completable<Lease<C>> handler) {
+      super(listener, context, 0, handler);
+      this.pool = pool;
+      this.kind = kind;
+    }
+
+    @Override
+    public void onConnect(PoolWaiter<C> waiter) {
+      // A shard creates a connection for the waiter, cancellation is now handled by the shard
+      boolean cancelled;
+      synchronized (pool.queue) {
+        cancelled = state == CANCELLED;
+        pool.waiting--;
+        state = cancelled ? DONE : CONNECTING;
+        delegate = waiter;
+      }
+      if (cancelled) {
+        SimpleConnectionPool.owner(waiter).cancel(waiter, (res, err) -> {});
+      } else if (listener != null) {
+        listener.onConnect(this);
+      }
+    }
+  }
+
+  @Override
+  public void evict(Predicate<C> predicate, Completable<List<C>> handler) {
+    Aggregator<C> aggregator = new Aggregator<>(shards.length, handler);
+    for (SimpleConnectionPool<C> shard : shards) {
+      shard.evict(predicate, aggregator);
+    }
+  }
+
+  @Override
+  public void close(Completable<List<Future<C>>> handler) {
+    List<Waiter<C>> waiters;
+    synchronized (queue) {
+      closed = true;
+      waiters = new ArrayList<>(queue);
+      queue.clear();
+      waiting -= waiters.size();
+    }
+    for (Waiter<C> waiter : waiters) {
+      fail(waiter, SimpleConnectionPool.POOL_CLOSED_EXCEPTION);
+    }
+    Aggregator<Future<C>> aggregator = new Aggregator<>(shards.length, handler);
+    for (SimpleConnectionPool<C> shard : shards) {
+      shard.close(aggregator);
+    }
+  }
+
+  /**
+   * Aggregate the lists returned by the shards, the first failure fails the aggregation.
+   */
+  private static class Aggregator<T> implements Completable<List<T>> {
+
+    private final Completable<List<T>> handler;
+    private final List<T> result = new ArrayList<>();
+    private int pending;
+    private Throwable failure;
+
+    Aggregator(int pending, Completable<List<T>> handler) {
+      this.pending = pending;
+      this.handler = handler;
+    }
+
+    @Override
+    public void complete(List<T> list, Throwable err) {
+      boolean done;
+      synchronized (this) {
+        if (err != null) {
+          if (failure == null) {
+            failure = err;
+          }
+        } else {
+          result.addAll(list);
+        }
+        done = --pending == 0;
+      }
+      if (done) {
+        handler.complete(failure == null ? result : null, failure);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (SimpleConnectionPool<C> shard : shards) {
+      size += shard.size();
+    }
+    return size;
+  }
+
+  @Override
+  public int waiters() {
+    int waiters;
+    synchronized (queue) {
+      waiters = queue.size();
+    }
+    for (SimpleConnectionPool<C> shard : shards) {
+      waiters += shard.waiters();
+    }
+    return waiters;
+  }
+
+  @Override
+  public int capacity() {
+    int capacity = 0;
+    for (SimpleConnectionPool<C> shard : shards) {
+      capacity += shard.capacity();
+    }
+    return capacity;
+  }
+
+  @Override
+  public int requests() {
+    int requests = 0;
+    for (SimpleConnectionPool<C> shard : shards) {
+      requests += shard.requests();
+    }
+    return requests;
+  }
+}
@@ -76,7 +76,8 @@ import java.util.function.Predicate;
 public class SimpleConnectionPool<C> implements ConnectionPool<C> {
 
   private static final Future POOL_CLOSED = Future.failedFuture("Pool closed");
-  private static final VertxException POOL_CLOSED_EXCEPTION = new VertxException("Pool closed", true);
+  static final VertxException POOL_CLOSED_EXCEPTION = new VertxException("Pool closed", true);
+  static final VertxException POOL_EXHAUSTED_EXCEPTION = new VertxException("Pool exhausted", true);
 
   /**
    * Select the first available available connection with the same event loop.
@@ -190,6 +191,10 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
   // The waiters
   private final Waiters<C> waiters;
   private int requests;
+  private int opening;              // The number of connections opened without a waiter
+
+  // Signaled when a connection can be lent or created while no waiter is enqueued
+  private Runnable availabilityHandler;
 
   SimpleConnectionPool(PoolConnector<C> connector, int[] maxSizes) {
     this(connector, maxSizes, -1);
@@ -242,6 +247,35 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
     sync.submit(action);
   }
 
+  /**
+   * Set a {@code handler} signaled when the pool can lend a connection or create one while no waiter is enqueued,
+   * a sharded pool uses it to serve the waiters enqueued in other shards.
+   */
+  void availabilityHandler(Runnable handler) {
+    this.availabilityHandler = handler;
+  }
+
+  /**
+   * @return a task running {@code task} then signaling the availability handler, when the pool has no waiter
+   */
+  private Task signalAvailability(Task task) {
+    Runnable handler = availabilityHandler;
+    if (handler == null || waiters.size() > 0) {
+      return task;
+    }
+    Task signal = new Task() {
+      @Override
+      public void run() {
+        handler.run();
+      }
+    };
+    if (task == null) {
+      return signal;
+    }
+    task.last().next(signal);
+    return task;
+  }
+
   public int size() {
       return size;
   }
@@ -258,6 +292,28 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
     });
   }
 
+  private void connected(PoolWaiter<C> initiator) {
+    if (initiator instanceof Open) {
+      opening--;
+    } else {
+      requests--;
+    }
+  }
+
+  /**
+   * @return the number of connections that are not lent, including the connections being opened without a waiter
+   */
+  private int idle() {
+    int idle = opening;
+    for (int i = 0;i < size;i++) {
+      Slot<C> slot = slots[i];
+      if (slot.connection != null && slot.usage == 0) {
+        idle++;
+      }
+    }
+    return idle;
+  }
+
   private static class ConnectSuccess<C> implements Executor.Action<SimpleConnectionPool<C>> {
 
     private final Slot<C> slot;
@@ -280,7 +336,7 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
       slot.concurrency = result.concurrency();
       slot.capacity = capacity;
       slot.usage = 0;
-      pool.requests--;
+      pool.connected(waiter);
       pool.capacity += (capacity - initialCapacity);
       if (pool.closed) {
         if (waiter.disposed) {
@@ -331,7 +387,7 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
           leases = null;
         }
         slot.usage = c;
-        return new Task() {
+        Task task = new Task() {
           @Override
           public void run() {
             if (lease != null) {
@@ -345,6 +401,7 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
             slot.result.complete(slot.connection);
           }
         };
+        return slot.usage < slot.concurrency ? pool.signalAvailability(task) : task;
       }
     }
   }
@@ -362,7 +419,7 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
     }
 
     public Task execute(SimpleConnectionPool<C> pool) {
-      pool.requests--;
+      pool.connected(waiter);
       if (waiter.disposed) {
         waiter = null;
       } else {
@@ -436,12 +493,12 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
         pool.slots[pool.size - 1] = null;
         pool.size--;
         pool.capacity -= w;
-        return null;
+        return pool.signalAvailability(null);
       } else {
         pool.slots[0] = null;
         pool.size--;
         pool.capacity -= w;
-        return null;
+        return pool.signalAvailability(null);
       }
     }
   }
@@ -472,7 +529,7 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
               extra[i] = new LeaseImpl<>(slot, w.handler);
             }
             slot.usage += m;
-            return new Task() {
+            Task task = new Task() {
               @Override
               public void run() {
                 for (LeaseImpl<C> lease : extra) {
@@ -480,8 +537,9 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
                 }
               }
             };
+            return slot.usage < slot.concurrency ? pool.signalAvailability(task) : task;
           } else {
-            return null;
+            return slot.usage < slot.concurrency ? pool.signalAvailability(null) : null;
           }
         } else {
           return null;
@@ -554,8 +612,13 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
 
   private static class Acquire<C> extends PoolWaiter<C> implements Executor.Action<SimpleConnectionPool<C>> {
 
-    public Acquire(ContextInternal context, PoolWaiter.Listener<C> listener, int capacity, Completable<Lease<C>> handler) {
+    private final SimpleConnectionPool<C> owner;
+    private final boolean wait;
+
+    public Acquire(SimpleConnectionPool<C> owner, ContextInternal context, PoolWaiter.Listener<C> listener, int capacity, boolean wait, Completable<Lease<C>> handler) {
       super(listener, context, capacity, handler);
+      this.owner = owner;
+      this.wait = wait;
     }
 
     @Override
@@ -615,6 +678,14 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
       }
 
       // 4. Fall in waiters list
+      if (!wait) {
+        return new Task() {
+          @Override
+          public void run() {
+            handler.fail(POOL_EXHAUSTED_EXCEPTION);
+          }
+        };
+      }
       if (pool.maxWaiters == -1 || (pool.waiters.size() + pool.requests) < pool.maxWaiters) {
         pool.waiters.addLast(this);
         if (listener != null) {
@@ -641,12 +712,28 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
 
   @Override
   public void acquire(ContextInternal context, int kind, Completable<Lease<C>> handler) {
-    execute(new Acquire<>(context, PoolWaiter.NULL_LISTENER, capacityFactors[kind], handler));
+    execute(new Acquire<>(this, context, PoolWaiter.NULL_LISTENER, capacityFactors[kind], true, handler));
   }
 
   @Override
   public void acquire(ContextInternal context, PoolWaiter.Listener<C> listener, int kind, Completable<Lease<C>> handler) {
-    execute(new Acquire<>(context, listener, capacityFactors[kind], handler));
+    execute(new Acquire<>(this, context, listener, capacityFactors[kind], true, handler));
+  }
+
+  /**
+   * Acquire a connection from the pool, when {@code wait} is {@code false} and the pool has no connection to lend
+   * nor capacity to create one, the {@code handler} is failed with {@link #POOL_EXHAUSTED_EXCEPTION} instead
+   * of enqueuing the waiter.
+   */
+  void acquire(ContextInternal context, PoolWaiter.Listener<C> listener, int kind, boolean wait, Completable<Lease<C>> handler) {
+    execute(new Acquire<>(this, context, listener, capacityFactors[kind], wait, handler));
+  }
+
+  /**
+   * @return the pool that created the {@code waiter}
+   */
+  static <C> SimpleConnectionPool<C> owner(PoolWaiter<C> waiter) {
+    return ((Acquire<C>) waiter).owner;
   }
 
   @Override
@@ -654,6 +741,52 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
     execute(new Cancel<>(waiter, handler));
   }
 
+  /**
+   * The initiator of a connection opened without a waiter, it is disposed from the start so the connection is not lent
+   * to it.
+   */
+  private static class Open<C> extends PoolWaiter<C> implements Executor.Action<SimpleConnectionPool<C>> {
+
+    private final int minIdle;
+    private final Completable<Future<C>> completion;
+
+    Open(ContextInternal context, int capacity, int minIdle, Completable<Future<C>> completion) {
+      super(null, context, capacity, (lease, err) -> {});
+      this.minIdle = minIdle;
+      this.completion = completion;
+      this.disposed = true;
+    }
+
+    @Override
+    public Task execute(SimpleConnectionPool<C> pool) {
+      if (pool.closed || pool.capacity >= pool.maxCapacity || pool.idle() >= minIdle) {
+        return new Task() {
+          @Override
+          public void run() {
+            completion.succeed(null);
+          }
+        };
+      }
+      pool.capacity += capacity;
+      ContextInternal connectionContext = pool.contextProvider.apply(context);
+      Slot<C> slot = new Slot<>(pool, connectionContext, pool.size, capacity);
+      pool.slots[pool.size++] = slot;
+      pool.opening++;
+      return new Task() {
+        @Override
+        public void run() {
+          pool.connect(slot, Open.this);
+          completion.succeed(slot.result.future());
+        }
+      };
+    }
+  }
+
+  @Override
+  public void open(ContextInternal context, int kind, int minIdle, Completable<Future<C>> handler) {
+    execute(new Open<>(context, capacityFactors[kind], minIdle, handler));
+  }
+
   private static class Cancel<C> extends Task implements Executor.Action<SimpleConnectionPool<C>> {
 
     private final PoolWaiter<C> waiter;
@@ -745,6 +878,9 @@ public class SimpleConnectionPool<C> implements ConnectionPool<C> {
           };
         } else {
           slot.usage--;
+          if (slot.usage < slot.concurrency) {
+            return pool.signalAvailability(null);
+          }
         }
       }
       return null;
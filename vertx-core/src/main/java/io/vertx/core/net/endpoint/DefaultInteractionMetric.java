@@ -11,12 +11,9 @@
 package io.vertx.core.net.endpoint;
 
 /**
- * Carries request/response latencies.
+ * Carries the request begin nanosecond timestamp.
  */
 public class DefaultInteractionMetric {
   long requestBegin;
-  long requestEnd;
-  long responseBegin;
-  long responseEnd;
   Throwable failure;
 }
@@ -10,24 +10,33 @@
  */
 package io.vertx.core.net.endpoint;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default interaction metrics.
+ * <p>
+ * Response times are measured in nanoseconds and recorded in a {@link LatencyHistogram} with the
+ * {@link LatencyHistogram#DEFAULT_WINDOW default window}, the response time statistics reflect the recent responses.
  */
 public class DefaultInteractionMetrics implements InteractionMetrics<DefaultInteractionMetric> {
 
   private final LongAdder numberOfInflightRequests = new LongAdder();
   private final LongAdder numberOfRequests = new LongAdder();
   private final LongAdder numberOfFailures = new LongAdder();
-  private final AtomicLong minResponseTime = new AtomicLong(Long.MAX_VALUE);
-  private final AtomicLong maxResponseTime = new AtomicLong(0);
+  private final LatencyHistogram responseTimes = new LatencyHistogram();
 
   @Override
   public DefaultInteractionMetric initiateRequest() {
     numberOfInflightRequests.increment();
     numberOfRequests.increment();
+    return newMetric();
+  }
+
+  /**
+   * @return a new request metric, a subclass can carry more state by returning a subclass of {@link DefaultInteractionMetric}
+   */
+  protected DefaultInteractionMetric newMetric() {
     return new DefaultInteractionMetric();
   }
 
@@ -42,44 +51,17 @@ public class DefaultInteractionMetrics implements InteractionMetrics<DefaultInte
 
   @Override
   public void reportRequestBegin(DefaultInteractionMetric metric) {
-    metric.requestBegin = System.currentTimeMillis();
-  }
-
-  @Override
-  public void reportRequestEnd(DefaultInteractionMetric metric) {
-    metric.requestEnd = System.currentTimeMillis();
-  }
-
-  @Override
-  public void reportResponseBegin(DefaultInteractionMetric metric) {
-    metric.responseBegin = System.currentTimeMillis();
+    metric.requestBegin = System.nanoTime();
   }
 
   @Override
   public void reportResponseEnd(DefaultInteractionMetric metric) {
-    metric.responseEnd = System.currentTimeMillis();
     if (metric.failure == null) {
-      reportRequestMetric(metric);
+      responseTimes.record(System.nanoTime() - metric.requestBegin);
       numberOfInflightRequests.decrement();
     }
   }
 
-  private void reportRequestMetric(DefaultInteractionMetric metric) {
-    long responseTime = metric.responseEnd - metric.requestBegin;
-    while (true) {
-      long val = minResponseTime.get();
-      if (responseTime >= val || minResponseTime.compareAndSet(val, responseTime)) {
-        break;
-      }
-    }
-    while (true) {
-      long val = maxResponseTime.get();
-      if (responseTime <= val || maxResponseTime.compareAndSet(val, responseTime)) {
-        break;
-      }
-    }
-  }
-
   /**
    * @return the number of inflight requests
    */
@@ -102,17 +84,26 @@ public class DefaultInteractionMetrics implements InteractionMetrics<DefaultInte
   }
 
   /**
-   * @return the min response time
+   * @return the min response time in milliseconds, or {@code -1} when no response time has been recorded yet
    */
   public int minResponseTime() {
-    return minResponseTime.intValue();
+    if (responseTimes.count() == 0) {
+      return -1;
+    }
+    return (int) TimeUnit.NANOSECONDS.toMillis(responseTimes.min());
   }
 
   /**
-   * @return the max response time
+   * @return the max response time in milliseconds
    */
   public int maxResponseTime() {
-    return maxResponseTime.intValue();
+    return (int) TimeUnit.NANOSECONDS.toMillis(responseTimes.max());
   }
 
+  /**
+   * @return the histogram of the response times in nanoseconds
+   */
+  public LatencyHistogram responseTimes() {
+    return responseTimes;
+  }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.net.endpoint;
+
+import io.vertx.codegen.annotations.Unstable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds over a sliding time window.
+ * <p>
+ * Each power of two range of values is split in 16 linear buckets, so a value is reported with a relative error
+ * lower than 6.25%. Values greater than {@link #MAX_VALUE} are recorded as {@link #MAX_VALUE}. Recording a value
+ * increments a single bucket and does not lock nor allocate, besides the rotation of the interval once per window.
+ * The count, the lowest and the highest values are maintained as values are recorded.
+ * <p>
+ * The values are recorded in an interval of buckets that is rotated every {@code window} nanoseconds, the histogram
+ * reports the values of the current and of the previous interval, i.e. the values recorded during the last one to two
+ * windows, so it follows the changes of the latencies instead of accumulating them forever.
+ * <p>
+ * Reading the histogram does not block the recording, the values returned while values are recorded concurrently
+ * are approximations.
+ */
+@Unstable
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+
+  /**
+   * The max value recorded by a histogram, about 18 minutes.
+   */
+  public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+  /**
+   * The default window = 60 seconds
+   */
+  public static final long DEFAULT_WINDOW = TimeUnit.SECONDS.toNanos(60);
+
+  private static final int NUM_BUCKETS = indexOf(MAX_VALUE) + 1;
+
+  /**
+   * The recordings of a window.
+   */
+  private static class Interval {
+
+    private final long start;
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final AtomicInteger lowest = new AtomicInteger(NUM_BUCKETS);
+    private final AtomicInteger highest = new AtomicInteger(-1);
+
+    private Interval(long start) {
+      this.start = start;
+    }
+
+    private void record(int index) {
+      buckets.incrementAndGet(index);
+      count.increment();
+      int val;
+      while (index < (val = lowest.get()) && !lowest.compareAndSet(val, index)) {
+        // Retry
+      }
+      while (index > (val = highest.get()) && !highest.compareAndSet(val, index)) {
+        // Retry
+      }
+    }
+  }
+
+  private final long window;
+  private volatile Interval current;
+  private volatile Interval previous;
+
+  /**
+   * Create a histogram with the {@link #DEFAULT_WINDOW}.
+   */
+  public LatencyHistogram() {
+    this(DEFAULT_WINDOW);
+  }
+
+  /**
+   * Create a histogram.
+   *
+   * @param window the duration in nanoseconds of the interval the values are recorded in
+   */
+  public LatencyHistogram(long window) {
+    if (window <= 0) {
+      throw new IllegalArgumentException("Invalid window " + window);
+    }
+    this.window = window;
+    this.current = new Interval(System.nanoTime());
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long lowestValueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+  }
+
+  static long highestValueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    return ((long) (SUB_BUCKETS + index % SUB_BUCKETS + 1) << shift) - 1;
+  }
+
+  /**
+   * Rotate the intervals when the current one is over.
+   *
+   * @return the current interval
+   */
+  private Interval rotate() {
+    long now = System.nanoTime();
+    Interval interval = current;
+    if (now - interval.start >= window) {
+      synchronized (this) {
+        interval = current;
+        if (now - interval.start >= window) {
+          // The previous interval is discarded when nothing was recorded during a whole window
+          previous = now - interval.start < 2 * window ? interval : null;
+          interval = new Interval(now);
+          current = interval;
+        }
+      }
+    }
+    return interval;
+  }
+
+  /**
+   * Record a latency.
+   *
+   * @param value the latency in nanoseconds, negative values are recorded as {@code 0}
+   */
+  public void record(long value) {
+    rotate().record(indexOf(Math.min(Math.max(value, 0), MAX_VALUE)));
+  }
+
+  /**
+   * @return the number of recorded values
+   */
+  public long count() {
+    Interval cur = rotate();
+    Interval prev = previous;
+    return cur.count.sum() + (prev != null ? prev.count.sum() : 0L);
+  }
+
+  private int lowestIndex(Interval cur, Interval prev) {
+    return Math.min(cur.lowest.get(), prev != null ? prev.lowest.get() : NUM_BUCKETS);
+  }
+
+  private int highestIndex(Interval cur, Interval prev) {
+    return Math.max(cur.highest.get(), prev != null ? prev.highest.get() : -1);
+  }
+
+  /**
+   * @return the lowest recorded value, or {@code 0} when no value was recorded
+   */
+  public long min() {
+    Interval cur = rotate();
+    int index = lowestIndex(cur, previous);
+    return index < NUM_BUCKETS ? lowestValueOf(index) : 0;
+  }
+
+  /**
+   * @return the highest recorded value, or {@code 0} when no value was recorded
+   */
+  public long max() {
+    Interval cur = rotate();
+    int index = highestIndex(cur, previous);
+    return index >= 0 ? highestValueOf(index) : 0;
+  }
+
+  /**
+   * Compute the value at a given {@code percentile}, e.g. {@code 99} for the 99th percentile.
+   *
+   * @param percentile the percentile between {@code 0} and {@code 100}
+   * @return the highest value of the bucket the percentile falls in, or {@code 0} when no value was recorded
+   */
+  public long valueAtPercentile(double percentile) {
+    if (percentile < 0D || percentile > 100D) {
+      throw new IllegalArgumentException("Invalid percentile " + percentile);
+    }
+    Interval cur = rotate();
+    Interval prev = previous;
+    long count = cur.count.sum() + (prev != null ? prev.count.sum() : 0L);
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100D * count));
+    long cumulated = 0;
+    int from = lowestIndex(cur, prev);
+    int to = highestIndex(cur, prev);
+    int last = from;
+    // Only scan the buckets between the lowest and the highest recorded values
+    for (int i = from;i <= to;i++) {
+      long val = cur.buckets.get(i) + (prev != null ? prev.buckets.get(i) : 0L);
+      if (val > 0) {
+        cumulated += val;
+        last = i;
+        if (cumulated >= rank) {
+          break;
+        }
+      }
+    }
+    return highestValueOf(last);
+  }
+}
@@ -13,10 +13,13 @@ package io.vertx.core.net.endpoint;
 import io.vertx.codegen.annotations.Unstable;
 import io.vertx.core.net.endpoint.impl.ConsistentHashingSelector;
 import io.vertx.core.net.endpoint.impl.NoMetricsLoadBalancer;
+import io.vertx.core.net.endpoint.impl.OutlierDetectionLoadBalancer;
+import io.vertx.core.net.endpoint.impl.PeakEwmaLoadBalancer;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A load balancer.
@@ -101,6 +104,43 @@ public interface LoadBalancer {
     return i2;
   };
 
+  /**
+   * Peak EWMA load balancer with a 10 seconds decay time.
+   */
+  LoadBalancer PEAK_EWMA = peakEwma(TimeUnit.SECONDS.toNanos(10));
+
+  /**
+   * Latency aware load balancer selecting the server with the lowest peak exponentially weighted moving average
+   * of its response times weighted by its number of inflight requests, see {@link PeakEwmaInteractionMetrics}.
+   *
+   * @param decayTime the time in nanoseconds it takes for a response time to lose 63% of its weight in the average
+   * @return the load balancer
+   */
+  static LoadBalancer peakEwma(long decayTime) {
+    return peakEwma(decayTime, PeakEwmaInteractionMetrics.DEFAULT_FAILURE_PENALTY, PeakEwmaInteractionMetrics.DEFAULT_MAX_FAILURE_PENALTY);
+  }
+
+  /**
+   * Like {@link #peakEwma(long)} with the response time charged for a failed request.
+   *
+   * @param decayTime the time in nanoseconds it takes for a response time to lose 63% of its weight in the average
+   * @param failurePenalty the response time charged for a failure relative to the current average, e.g. {@code 2}
+   * @param maxFailurePenalty the max response time in nanoseconds charged for a failure
+   * @return the load balancer
+   */
+  static LoadBalancer peakEwma(long decayTime, double failurePenalty, long maxFailurePenalty) {
+    if (decayTime <= 0) {
+      throw new IllegalArgumentException("Invalid decay time " + decayTime);
+    }
+    if (failurePenalty < 1D) {
+      throw new IllegalArgumentException("Invalid failure penalty " + failurePenalty);
+    }
+    if (maxFailurePenalty <= 0) {
+      throw new IllegalArgumentException("Invalid max failure penalty " + maxFailurePenalty);
+    }
+    return new PeakEwmaLoadBalancer(decayTime, failurePenalty, maxFailurePenalty);
+  }
+
   /**
    * Consistent hashing load balancer with 4 virtual servers, falling back to a random load balancer.
    */
@@ -121,6 +161,44 @@ public interface LoadBalancer {
     };
   }
 
+  /**
+   * Sticky load balancer that uses consistent hashing with bounded loads based on a client provided routing key,
+   * defaulting to the {@code fallback} load balancer when no routing key is provided.
+   * <p>
+   * A server is selected only when its number of inflight requests stays within {@code loadFactor} times the average
+   * number of inflight requests of the servers, otherwise the next server of the ring is tried. Most keys keep their
+   * server while a hot key spills over the next servers of the ring.
+   *
+   * @param numberOfVirtualServers the number of virtual servers
+   * @param loadFactor the max load of a server relative to the average load, e.g. {@code 1.25}, must be greater than {@code 1}
+   * @param fallback the fallback load balancer for non-sticky requests
+   * @return the load balancer
+   */
+  static LoadBalancer consistentHashing(int numberOfVirtualServers, double loadFactor, LoadBalancer fallback) {
+    if (loadFactor <= 1D) {
+      throw new IllegalArgumentException("Invalid load factor " + loadFactor);
+    }
+    return servers -> {
+      ServerSelector fallbackSelector = fallback.selector(servers);
+      return new ConsistentHashingSelector(servers, numberOfVirtualServers, loadFactor, fallbackSelector);
+    };
+  }
+
+  /**
+   * Load balancer ejecting the failing servers from the servers selected by the {@code delegate} load balancer.
+   * <p>
+   * A server is ejected when it fails too many consecutive interactions or when its failure rate over an interval is
+   * too high, an ejected server is not selected until its ejection time elapses. The ejection time grows each time
+   * the server is ejected again and the number of servers ejected at once is capped.
+   *
+   * @param delegate the load balancer selecting among the servers that are not ejected
+   * @param options the outlier detection options
+   * @return the load balancer
+   */
+  static LoadBalancer outlierDetection(LoadBalancer delegate, OutlierDetectionOptions options) {
+    return new OutlierDetectionLoadBalancer(delegate, options);
+  }
+
   /**
    * Load balancing policy that returns the first server.
    */
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.net.endpoint;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Unstable;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.impl.Arguments;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the passive outlier detection of a load balancer, see
+ * {@link LoadBalancer#outlierDetection(LoadBalancer, OutlierDetectionOptions)}.
+ * <p>
+ * A server is ejected from the load balancing when it fails a number of consecutive interactions or when its failure
+ * rate over an interval exceeds a threshold. An ejected server is not selected until its ejection time elapses, the
+ * ejection time grows with the number of times the server was ejected.
+ */
+@Unstable
+@DataObject
+@JsonGen(publicConverter = false)
+public class OutlierDetectionOptions {
+
+  /**
+   * The default number of consecutive failures ejecting a server = 5
+   */
+  public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+
+  /**
+   * The default failure rate percentage ejecting a server = 50
+   */
+  public static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+
+  /**
+   * The default minimum number of interactions in an interval to evaluate the failure rate = 20
+   */
+  public static final int DEFAULT_FAILURE_RATE_MINIMUM_REQUESTS = 20;
+
+  /**
+   * The default interval in milliseconds over which the failure rate is evaluated = 10000
+   */
+  public static final long DEFAULT_INTERVAL = 10_000;
+
+  /**
+   * The default base ejection time in milliseconds = 30000
+   */
+  public static final long DEFAULT_BASE_EJECTION_TIME = 30_000;
+
+  /**
+   * The default max ejection time in milliseconds = 300000
+   */
+  public static final long DEFAULT_MAX_EJECTION_TIME = 300_000;
+
+  /**
+   * The default max percentage of servers ejected at once = 10
+   */
+  public static final int DEFAULT_MAX_EJECTION_PERCENT = 10;
+
+  private int consecutiveFailures;
+  private int failureRateThreshold;
+  private int failureRateMinimumRequests;
+  private long interval;
+  private long baseEjectionTime;
+  private long maxEjectionTime;
+  private int maxEjectionPercent;
+
+  /**
+   * Default constructor.
+   */
+  public OutlierDetectionOptions() {
+    consecutiveFailures = DEFAULT_CONSECUTIVE_FAILURES;
+    failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    failureRateMinimumRequests = DEFAULT_FAILURE_RATE_MINIMUM_REQUESTS;
+    interval = DEFAULT_INTERVAL;
+    baseEjectionTime = DEFAULT_BASE_EJECTION_TIME;
+    maxEjectionTime = DEFAULT_MAX_EJECTION_TIME;
+    maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public OutlierDetectionOptions(OutlierDetectionOptions other) {
+    consecutiveFailures = other.consecutiveFailures;
+    failureRateThreshold = other.failureRateThreshold;
+    failureRateMinimumRequests = other.failureRateMinimumRequests;
+    interval = other.interval;
+    baseEjectionTime = other.baseEjectionTime;
+    maxEjectionTime = other.maxEjectionTime;
+    maxEjectionPercent = other.maxEjectionPercent;
+  }
+
+  /**
+   * Constructor to create options from JSON.
+   *
+   * @param json the JSON
+   */
+  public OutlierDetectionOptions(JsonObject json) {
+    this();
+    OutlierDetectionOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * @return the number of consecutive failures ejecting a server
+   */
+  public int getConsecutiveFailures() {
+    return consecutiveFailures;
+  }
+
+  /**
+   * Set the number of consecutive failures ejecting a server, {@code 0} disables the detection of consecutive failures.
+   *
+   * @param consecutiveFailures the number of consecutive failures
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setConsecutiveFailures(int consecutiveFailures) {
+    Arguments.require(consecutiveFailures >= 0, "consecutiveFailures must be >= 0");
+    this.consecutiveFailures = consecutiveFailures;
+    return this;
+  }
+
+  /**
+   * @return the failure rate percentage ejecting a server
+   */
+  public int getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  /**
+   * Set the percentage of failed interactions over an interval ejecting a server, {@code 0} disables the detection
+   * of failure rates.
+   *
+   * @param failureRateThreshold the failure rate percentage
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setFailureRateThreshold(int failureRateThreshold) {
+    Arguments.requireInRange(failureRateThreshold, 0, 100, "failureRateThreshold must be in [0,100]");
+    this.failureRateThreshold = failureRateThreshold;
+    return this;
+  }
+
+  /**
+   * @return the minimum number of interactions in an interval to evaluate the failure rate
+   */
+  public int getFailureRateMinimumRequests() {
+    return failureRateMinimumRequests;
+  }
+
+  /**
+   * Set the minimum number of interactions in an interval to evaluate the failure rate of a server.
+   *
+   * @param failureRateMinimumRequests the minimum number of interactions
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setFailureRateMinimumRequests(int failureRateMinimumRequests) {
+    Arguments.require(failureRateMinimumRequests >= 1, "failureRateMinimumRequests must be >= 1");
+    this.failureRateMinimumRequests = failureRateMinimumRequests;
+    return this;
+  }
+
+  /**
+   * @return the interval in milliseconds over which the failure rate is evaluated
+   */
+  public long getInterval() {
+    return interval;
+  }
+
+  /**
+   * Set the interval in milliseconds over which the failure rate is evaluated.
+   *
+   * @param interval the interval
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setInterval(long interval) {
+    Arguments.require(interval > 0, "interval must be > 0");
+    this.interval = interval;
+    return this;
+  }
+
+  /**
+   * @return the base ejection time in milliseconds
+   */
+  public long getBaseEjectionTime() {
+    return baseEjectionTime;
+  }
+
+  /**
+   * Set the time in milliseconds a server is ejected the first time, the ejection time doubles each time the server
+   * is ejected again and is reduced when the server is not ejected during an interval.
+   *
+   * @param baseEjectionTime the base ejection time
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setBaseEjectionTime(long baseEjectionTime) {
+    Arguments.require(baseEjectionTime > 0, "baseEjectionTime must be > 0");
+    this.baseEjectionTime = baseEjectionTime;
+    return this;
+  }
+
+  /**
+   * @return the max ejection time in milliseconds
+   */
+  public long getMaxEjectionTime() {
+    return maxEjectionTime;
+  }
+
+  /**
+   * Set the max time in milliseconds a server is ejected.
+   *
+   * @param maxEjectionTime the max ejection time
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setMaxEjectionTime(long maxEjectionTime) {
+    Arguments.require(maxEjectionTime > 0, "maxEjectionTime must be > 0");
+    this.maxEjectionTime = maxEjectionTime;
+    return this;
+  }
+
+  /**
+   * @return the max percentage of servers ejected at once
+   */
+  public int getMaxEjectionPercent() {
+    return maxEjectionPercent;
+  }
+
+  /**
+   * Set the max percentage of the servers of an endpoint ejected at once, {@code 0} disables the ejection. At least
+   * one server can be ejected, however the last server of an endpoint is never ejected.
+   *
+   * @param maxEjectionPercent the max percentage
+   * @return a reference to this, so the API can be used fluently
+   */
+  public OutlierDetectionOptions setMaxEjectionPercent(int maxEjectionPercent) {
+    Arguments.requireInRange(maxEjectionPercent, 0, 100, "maxEjectionPercent must be in [0,100]");
+    this.maxEjectionPercent = maxEjectionPercent;
+    return this;
+  }
+
+  /**
+   * @return a JSON representation of these options
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    OutlierDetectionOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.net.endpoint;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interaction metrics maintaining a peak exponentially weighted moving average of the response times, in nanoseconds.
+ * <p>
+ * A response time greater than the average replaces it, so a server becoming slow is penalized immediately, otherwise
+ * the average moves toward the response time with a weight depending on the time elapsed since the last update. The
+ * average also decays toward zero while the server is not used, so a server that was slow is eventually tried again.
+ * <p>
+ * A failed request is charged a penalty response time of {@code failurePenalty} times the current average, bounded by
+ * {@code maxFailurePenalty}, so a server failing fast is not mistaken for a fast server while a single failure only
+ * delays the next requests to the server. A server without an average is charged {@code maxFailurePenalty}.
+ */
+public class PeakEwmaInteractionMetrics implements InteractionMetrics<PeakEwmaInteractionMetric> {
+
+  // Cost of a server with inflight requests and no observed response time, so it is probed with a single request
+  private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+  /**
+   * The default failure penalty = {@code 2}
+   */
+  public static final double DEFAULT_FAILURE_PENALTY = 2D;
+
+  /**
+   * The default max failure penalty = {@code 1} second
+   */
+  public static final long DEFAULT_MAX_FAILURE_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+  private final LongAdder numberOfInflightRequests = new LongAdder();
+  private final double decayTime;
+  private final double failurePenalty;
+  private final long maxFailurePenalty;
+  private double average;
+  private long timestamp;
+
+  /**
+   * @param decayTime the time in nanoseconds it takes for an observation to lose 63% of its weight
+   */
+  public PeakEwmaInteractionMetrics(long decayTime) {
+    this(decayTime, DEFAULT_FAILURE_PENALTY, DEFAULT_MAX_FAILURE_PENALTY);
+  }
+
+  /**
+   * @param decayTime the time in nanoseconds it takes for an observation to lose 63% of its weight
+   * @param failurePenalty the response time charged for a failure relative to the current average, must be at least {@code 1}
+   * @param maxFailurePenalty the max response time in nanoseconds charged for a failure
+   */
+  public PeakEwmaInteractionMetrics(long decayTime, double failurePenalty, long maxFailurePenalty) {
+    if (decayTime <= 0) {
+      throw new IllegalArgumentException("Invalid decay time " + decayTime);
+    }
+    if (failurePenalty < 1D) {
+      throw new IllegalArgumentException("Invalid failure penalty " + failurePenalty);
+    }
+    if (maxFailurePenalty <= 0) {
+      throw new IllegalArgumentException("Invalid max failure penalty " + maxFailurePenalty);
+    }
+    this.decayTime = decayTime;
+    this.failurePenalty = failurePenalty;
+    this.maxFailurePenalty = maxFailurePenalty;
+    this.timestamp = System.nanoTime();
+  }
+
+  @Override
+  public PeakEwmaInteractionMetric initiateRequest() {
+    numberOfInflightRequests.increment();
+    return new PeakEwmaInteractionMetric();
+  }
+
+  @Override
+  public void reportFailure(PeakEwmaInteractionMetric metric, Throwable failure) {
+    if (metric.failure == null) {
+      metric.failure = failure;
+      long elapsed = metric.requestBegin == 0L ? 0L : System.nanoTime() - metric.requestBegin;
+      observeFailure(elapsed);
+      numberOfInflightRequests.decrement();
+    }
+  }
+
+  @Override
+  public void reportRequestBegin(PeakEwmaInteractionMetric metric) {
+    metric.requestBegin = System.nanoTime();
+  }
+
+  @Override
+  public void reportResponseEnd(PeakEwmaInteractionMetric metric) {
+    if (metric.failure == null) {
+      observe(System.nanoTime() - metric.requestBegin);
+      numberOfInflightRequests.decrement();
+    }
+  }
+
+  private synchronized void observeFailure(long elapsed) {
+    double avg = averageResponseTime();
+    long penalty = avg == 0D ? maxFailurePenalty : (long) Math.min(avg * failurePenalty, maxFailurePenalty);
+    observe(Math.max(elapsed, penalty));
+  }
+
+  private synchronized void observe(long responseTime) {
+    long now = System.nanoTime();
+    if (responseTime > average) {
+      average = responseTime;
+    } else {
+      double weight = Math.exp(-Math.max(now - timestamp, 0) / decayTime);
+      average = average * weight + responseTime * (1D - weight);
+    }
+    timestamp = now;
+  }
+
+  /**
+   * @return the average response time in nanoseconds, decayed by the time elapsed since the last response
+   */
+  public synchronized double averageResponseTime() {
+    long elapsed = Math.max(System.nanoTime() - timestamp, 0);
+    return average * Math.exp(-elapsed / decayTime);
+  }
+
+  /**
+   * @return the number of inflight requests
+   */
+  public int numberOfInflightRequests() {
+    return numberOfInflightRequests.intValue();
+  }
+
+  /**
+   * The cost of sending a request to the server, the average response time weighted by the inflight requests.
+   *
+   * @return the cost
+   */
+  public double cost() {
+    double avg = averageResponseTime();
+    int inflight = numberOfInflightRequests();
+    if (avg == 0D && inflight > 0) {
+      return PENALTY + inflight;
+    }
+    return avg * (inflight + 1);
+  }
+}
@@ -10,6 +10,8 @@
  */
 package io.vertx.core.net.endpoint.impl;
 
+import io.vertx.core.net.endpoint.DefaultInteractionMetrics;
+import io.vertx.core.net.endpoint.InteractionMetrics;
 import io.vertx.core.net.endpoint.ServerEndpoint;
 import io.vertx.core.net.endpoint.ServerSelector;
 
@@ -22,34 +24,62 @@ import java.util.TreeMap;
 
 /**
  * Consistent hashing selector.
+ * <p>
+ * When a load factor is set, the selector implements consistent hashing with bounded loads: the ring is walked past
+ * the servers whose number of inflight requests would exceed the load factor times the average number of inflight
+ * requests, so a hot key overflows on the next servers of the ring instead of overloading its server. The servers
+ * must then have {@link DefaultInteractionMetrics}, which maintain the number of inflight requests of a server.
  *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public class ConsistentHashingSelector implements ServerSelector {
 
-  private final List<? extends ServerEndpoint> endpoints;
-  private final SortedMap<Long, ServerEndpoint> nodes;
+  private final SortedMap<Long, Integer> nodes;
   private final ServerSelector fallbackSelector;
+  private final double loadFactor;
+  private final DefaultInteractionMetrics[] metrics;
 
   public ConsistentHashingSelector(List<? extends ServerEndpoint> endpoints, int numberOfVirtualNodes, ServerSelector fallbackSelector) {
+    this(endpoints, numberOfVirtualNodes, 0D, fallbackSelector);
+  }
+
+  /**
+   * @param loadFactor the max number of inflight requests of a server relative to the average, {@code 0} to ignore the load
+   */
+  public ConsistentHashingSelector(List<? extends ServerEndpoint> endpoints, int numberOfVirtualNodes, double loadFactor, ServerSelector fallbackSelector) {
     MessageDigest instance;
     try {
       instance = MessageDigest.getInstance("MD5");
     } catch (NoSuchAlgorithmException e) {
       throw new UnsupportedOperationException(e);
     }
-    SortedMap<Long, ServerEndpoint> ring = new TreeMap<>();
-    for (ServerEndpoint node : endpoints) {
+    SortedMap<Long, Integer> ring = new TreeMap<>();
+    for (int i = 0;i < endpoints.size();i++) {
+      ServerEndpoint node = endpoints.get(i);
       for (int idx = 0;idx < numberOfVirtualNodes;idx++) {
         String nodeId = node.key() + "-" + idx;
         long hash = hash(instance, nodeId.getBytes(StandardCharsets.UTF_8));
-        ring.put(hash, node);
+        ring.put(hash, i);
+      }
+    }
+
+    if (loadFactor > 0D) {
+      DefaultInteractionMetrics[] metrics = new DefaultInteractionMetrics[endpoints.size()];
+      for (int i = 0;i < metrics.length;i++) {
+        InteractionMetrics<?> m = endpoints.get(i).metrics();
+        if (!(m instanceof DefaultInteractionMetrics)) {
+          throw new IllegalArgumentException("Consistent hashing with bounded loads requires " + DefaultInteractionMetrics.class.getSimpleName() + " server metrics");
+        }
+        metrics[i] = (DefaultInteractionMetrics) m;
       }
+      this.metrics = metrics;
+    } else {
+      this.metrics = null;
     }
 
     this.nodes = ring;
-    this.endpoints = endpoints;
     this.fallbackSelector = fallbackSelector;
+    this.loadFactor = loadFactor;
   }
 
   // MD5 : 16 bytes
@@ -69,6 +99,20 @@ public class ConsistentHashingSelector implements ServerSelector {
       | ((long)b4 << 24) | ((long)b5 << 16) | ((long)b6 << 8) | (long)b7;
   }
 
+  /**
+   * @return the total number of inflight requests of the servers, or {@code -1} when the load is not bounded
+   */
+  public long load() {
+    if (metrics == null) {
+      return -1L;
+    }
+    long total = 0;
+    for (DefaultInteractionMetrics m : metrics) {
+      total += m.numberOfInflightRequests();
+    }
+    return total;
+  }
+
   @Override
   public int select() {
     return fallbackSelector.select();
@@ -86,14 +130,48 @@ public class ConsistentHashingSelector implements ServerSelector {
       throw new UnsupportedOperationException(e);
     }
     long hash = hash(md, key.getBytes(StandardCharsets.UTF_8));
-    SortedMap<Long, ServerEndpoint> map = nodes.tailMap(hash);
+    if (nodes.isEmpty()) {
+      return -1;
+    }
+    SortedMap<Long, Integer> map = nodes.tailMap(hash);
+    if (loadFactor > 0D) {
+      return selectBounded(map);
+    }
     Long val;
     if (map.isEmpty()) {
       val = nodes.firstKey();
     } else {
       val = map.firstKey();
     }
-    ServerEndpoint endpoint = nodes.get(val);
-    return endpoints.indexOf(endpoint); // TODO IMPROVE THAT
+    return nodes.get(val);
+  }
+
+  private int selectBounded(SortedMap<Long, Integer> tail) {
+    int[] loads = new int[metrics.length];
+    long total = 0;
+    for (int i = 0;i < loads.length;i++) {
+      loads[i] = metrics[i].numberOfInflightRequests();
+      total += loads[i];
+    }
+    // Account for the request being routed
+    double capacity = Math.ceil(loadFactor * (total + 1) / loads.length);
+    int first = -1;
+    for (Integer idx : tail.values()) {
+      if (first == -1) {
+        first = idx;
+      }
+      if (loads[idx] + 1 <= capacity) {
+        return idx;
+      }
+    }
+    for (Integer idx : nodes.values()) {
+      if (first == -1) {
+        first = idx;
+      }
+      if (loads[idx] + 1 <= capacity) {
+        return idx;
+      }
+    }
+    return first;
   }
 }
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.net.endpoint.impl;
+
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.net.endpoint.InteractionMetrics;
+import io.vertx.core.net.endpoint.LoadBalancer;
+import io.vertx.core.net.endpoint.OutlierDetectionOptions;
+import io.vertx.core.net.endpoint.ServerEndpoint;
+import io.vertx.core.net.endpoint.ServerInteraction;
+import io.vertx.core.net.endpoint.ServerSelector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A load balancer ejecting the failing servers from the servers selected by another load balancer.
+ * <p>
+ * The interaction metrics of a server track its consecutive failures and its failure rate over an interval, the server
+ * is ejected when either exceeds its threshold. The selector hides the ejected servers from the selector of the
+ * other load balancer, this selector is recreated when the set of ejected servers changes.
+ */
+public class OutlierDetectionLoadBalancer implements LoadBalancer {
+
+  private final LoadBalancer delegate;
+  private final OutlierDetectionOptions options;
+
+  public OutlierDetectionLoadBalancer(LoadBalancer delegate, OutlierDetectionOptions options) {
+    this.delegate = delegate;
+    this.options = new OutlierDetectionOptions(options);
+  }
+
+  @Override
+  public InteractionMetrics<?> newMetrics() {
+    return new OutlierDetectionMetrics(delegate.newMetrics(), options);
+  }
+
+  @Override
+  public ServerSelector selector(List<? extends ServerEndpoint> servers) {
+    int maxEjections;
+    if (options.getMaxEjectionPercent() == 0 || servers.size() < 2) {
+      maxEjections = 0;
+    } else {
+      maxEjections = Math.min(Math.max(1, servers.size() * options.getMaxEjectionPercent() / 100), servers.size() - 1);
+    }
+    return new Selector(servers, maxEjections);
+  }
+
+  private static class Interaction {
+    final Object metric;
+    boolean failed;
+    Interaction(Object metric) {
+      this.metric = metric;
+    }
+  }
+
+  /**
+   * Interaction metrics tracking the failures of a server and delegating to the metrics of the other load balancer.
+   */
+  public static class OutlierDetectionMetrics implements InteractionMetrics<Object> {
+
+    private final InteractionMetrics<Object> delegate;
+    private final int consecutiveFailuresThreshold;
+    private final int failureRateThreshold;
+    private final int failureRateMinimumRequests;
+    private final long interval;
+    private final long baseEjectionTime;
+    private final long maxEjectionTime;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long windowStart;
+    private volatile boolean ejected;
+    private volatile long ejectionEnd;
+    // Guarded by this
+    private int ejections;
+    private boolean ejectedInWindow;
+
+    @SuppressWarnings("unchecked")
+    OutlierDetectionMetrics(InteractionMetrics<?> delegate, OutlierDetectionOptions options) {
+      this.delegate = (InteractionMetrics<Object>) delegate;
+      this.consecutiveFailuresThreshold = options.getConsecutiveFailures();
+      this.failureRateThreshold = options.getFailureRateThreshold();
+      this.failureRateMinimumRequests = options.getFailureRateMinimumRequests();
+      this.interval = TimeUnit.MILLISECONDS.toNanos(options.getInterval());
+      this.baseEjectionTime = TimeUnit.MILLISECONDS.toNanos(options.getBaseEjectionTime());
+      this.maxEjectionTime = TimeUnit.MILLISECONDS.toNanos(options.getMaxEjectionTime());
+      this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * @return the metrics of the other load balancer
+     */
+    public InteractionMetrics<?> delegate() {
+      return delegate;
+    }
+
+    /**
+     * @return whether the server is currently ejected
+     */
+    public boolean isEjected() {
+      return isEjected(System.nanoTime());
+    }
+
+    boolean isEjected(long now) {
+      return ejected && now - ejectionEnd < 0;
+    }
+
+    /**
+     * @return the number of times the server was ejected, decremented after each interval without ejection
+     */
+    public synchronized int ejections() {
+      return ejections;
+    }
+
+    @Override
+    public Object initiateRequest() {
+      return new Interaction(delegate.initiateRequest());
+    }
+
+    @Override
+    public void reportFailure(Object metric, Throwable failure) {
+      Interaction interaction = (Interaction) metric;
+      if (!interaction.failed) {
+        interaction.failed = true;
+        onFailure();
+      }
+      delegate.reportFailure(interaction.metric, failure);
+    }
+
+    @Override
+    public void reportRequestBegin(Object metric) {
+      delegate.reportRequestBegin(((Interaction) metric).metric);
+    }
+
+    @Override
+    public void reportRequestEnd(Object metric) {
+      delegate.reportRequestEnd(((Interaction) metric).metric);
+    }
+
+    @Override
+    public void reportResponseBegin(Object metric) {
+      delegate.reportResponseBegin(((Interaction) metric).metric);
+    }
+
+    @Override
+    public void reportResponseEnd(Object metric) {
+      Interaction interaction = (Interaction) metric;
+      if (!interaction.failed) {
+        onSuccess();
+      }
+      delegate.reportResponseEnd(interaction.metric);
+    }
+
+    private void onSuccess() {
+      record(System.nanoTime());
+      if (consecutiveFailures.get() != 0) {
+        consecutiveFailures.set(0);
+      }
+    }
+
+    private void onFailure() {
+      long now = System.nanoTime();
+      record(now);
+      failures.increment();
+      boolean eject = false;
+      if (consecutiveFailuresThreshold > 0 && consecutiveFailures.incrementAndGet() >= consecutiveFailuresThreshold) {
+        eject = true;
+      } else if (failureRateThreshold > 0) {
+        long total = requests.sum();
+        eject = total >= failureRateMinimumRequests && failures.sum() * 100 >= failureRateThreshold * total;
+      }
+      if (eject) {
+        eject(now);
+      }
+    }
+
+    private void record(long now) {
+      if (now - windowStart >= interval) {
+        roll(now);
+      }
+      requests.increment();
+    }
+
+    private synchronized void roll(long now) {
+      if (now - windowStart >= interval) {
+        if (!ejectedInWindow && ejections > 0) {
+          ejections--;
+        }
+        ejectedInWindow = false;
+        requests.reset();
+        failures.reset();
+        windowStart = now;
+      }
+    }
+
+    private synchronized void eject(long now) {
+      if (isEjected(now)) {
+        return;
+      }
+      long time = baseEjectionTime << Math.min(ejections, 16);
+      if (time <= 0 || time > maxEjectionTime) {
+        time = maxEjectionTime;
+      }
+      ejections++;
+      ejectedInWindow = true;
+      consecutiveFailures.set(0);
+      requests.reset();
+      failures.reset();
+      ejectionEnd = now + time;
+      ejected = true;
+    }
+  }
+
+  /**
+   * A server presenting the metrics of the other load balancer to its selector.
+   */
+  private static class DelegateServer implements ServerEndpoint {
+
+    final ServerEndpoint server;
+    final InteractionMetrics<?> metrics;
+
+    DelegateServer(ServerEndpoint server) {
+      this.server = server;
+      this.metrics = ((OutlierDetectionMetrics) server.metrics()).delegate();
+    }
+
+    @Override
+    public String key() {
+      return server.key();
+    }
+
+    @Override
+    public SocketAddress address() {
+      return server.address();
+    }
+
+    @Override
+    public String protocolId() {
+      return server.protocolId();
+    }
+
+    @Override
+    public ServerInteraction newInteraction() {
+      return server.newInteraction();
+    }
+
+    @Override
+    public InteractionMetrics<?> metrics() {
+      return metrics;
+    }
+
+    @Override
+    public Object unwrap() {
+      return server.unwrap();
+    }
+  }
+
+  private static class View {
+
+    final boolean[] ejected;
+    final int[] indices;
+    final ServerSelector selector;
+
+    View(boolean[] ejected, int[] indices, ServerSelector selector) {
+      this.ejected = ejected;
+      this.indices = indices;
+      this.selector = selector;
+    }
+
+    int map(int idx) {
+      return idx >= 0 && idx < indices.length ? indices[idx] : -1;
+    }
+  }
+
+  private class Selector implements ServerSelector {
+
+    private final List<DelegateServer> servers;
+    private final OutlierDetectionMetrics[] metrics;
+    private final int maxEjections;
+    private volatile View view;
+
+    Selector(List<? extends ServerEndpoint> list, int maxEjections) {
+      List<DelegateServer> servers = new ArrayList<>(list.size());
+      OutlierDetectionMetrics[] metrics = new OutlierDetectionMetrics[list.size()];
+      for (int i = 0;i < list.size();i++) {
+        ServerEndpoint server = list.get(i);
+        servers.add(new DelegateServer(server));
+        metrics[i] = (OutlierDetectionMetrics) server.metrics();
+      }
+      this.servers = servers;
+      this.metrics = metrics;
+      this.maxEjections = maxEjections;
+      this.view = createView(new boolean[list.size()]);
+    }
+
+    private View createView(boolean[] ejected) {
+      List<ServerEndpoint> available = new ArrayList<>(servers.size());
+      int[] indices = new int[servers.size()];
+      for (int i = 0;i < ejected.length;i++) {
+        if (!ejected[i]) {
+          indices[available.size()] = i;
+          available.add(servers.get(i));
+        }
+      }
+      return new View(ejected, indices, delegate.selector(available));
+    }
+
+    private View view() {
+      View current = view;
+      if (maxEjections == 0) {
+        return current;
+      }
+      long now = System.nanoTime();
+      boolean[] ejected = null;
+      int count = 0;
+      for (int i = 0;i < metrics.length;i++) {
+        boolean e = count < maxEjections && metrics[i].isEjected(now);
+        if (e) {
+          count++;
+        }
+        if (ejected == null && e != current.ejected[i]) {
+          ejected = new boolean[metrics.length];
+          System.arraycopy(current.ejected, 0, ejected, 0, i);
+        }
+        if (ejected != null) {
+          ejected[i] = e;
+        }
+      }
+      if (ejected != null) {
+        current = createView(ejected);
+        view = current;
+      }
+      return current;
+    }
+
+    @Override
+    public int select() {
+      View v = view();
+      return v.map(v.selector.select());
+    }
+
+    @Override
+    public int select(String key) {
+      View v = view();
+      return v.map(v.selector.select(key));
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.net.endpoint.impl;
+
+import io.vertx.core.net.endpoint.InteractionMetrics;
+import io.vertx.core.net.endpoint.LoadBalancer;
+import io.vertx.core.net.endpoint.PeakEwmaInteractionMetrics;
+import io.vertx.core.net.endpoint.ServerEndpoint;
+import io.vertx.core.net.endpoint.ServerSelector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load balancer selecting the server with the lowest {@link PeakEwmaInteractionMetrics#cost()}, ties are broken
+ * randomly so servers with the same cost, e.g. unused servers, share the load.
+ */
+public class PeakEwmaLoadBalancer implements LoadBalancer {
+
+  private final long decayTime;
+  private final double failurePenalty;
+  private final long maxFailurePenalty;
+
+  public PeakEwmaLoadBalancer(long decayTime, double failurePenalty, long maxFailurePenalty) {
+    this.decayTime = decayTime;
+    this.failurePenalty = failurePenalty;
+    this.maxFailurePenalty = maxFailurePenalty;
+  }
+
+  @Override
+  public InteractionMetrics<?> newMetrics() {
+    return new PeakEwmaInteractionMetrics(decayTime, failurePenalty, maxFailurePenalty);
+  }
+
+  @Override
+  public ServerSelector selector(List<? extends ServerEndpoint> servers) {
+    return () -> {
+      double lowest = Double.MAX_VALUE;
+      int selected = -1;
+      int ties = 0;
+      int idx = 0;
+      for (ServerEndpoint server : servers) {
+        double cost = ((PeakEwmaInteractionMetrics) server.metrics()).cost();
+        if (cost < lowest) {
+          lowest = cost;
+          selected = idx;
+          ties = 1;
+        } else if (cost == lowest && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+          // Reservoir sampling of the servers with the lowest cost
+          selected = idx;
+        }
+        idx++;
+      }
+      return selected;
+    };
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the creation of a local {@link AsyncMap}.
+ * <p>
+ * A map with a maximum number of entries or a maximum weight evicts its least recently used entries when it
+ * exceeds its capacity.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class LocalAsyncMapOptions {
+
+  /**
+   * The default maximum number of entries = -1 (unbounded)
+   */
+  public static final long DEFAULT_MAX_ENTRIES = -1;
+
+  /**
+   * The default maximum weight = -1 (unbounded)
+   */
+  public static final long DEFAULT_MAX_WEIGHT = -1;
+
+  private long maxEntries = DEFAULT_MAX_ENTRIES;
+  private long maxWeight = DEFAULT_MAX_WEIGHT;
+
+  /**
+   * Default constructor.
+   */
+  public LocalAsyncMapOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public LocalAsyncMapOptions(LocalAsyncMapOptions other) {
+    this.maxEntries = other.maxEntries;
+    this.maxWeight = other.maxWeight;
+  }
+
+  /**
+   * Constructor to create options from JSON.
+   *
+   * @param json the JSON
+   */
+  public LocalAsyncMapOptions(JsonObject json) {
+    this();
+    LocalAsyncMapOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * @return the maximum number of entries of the map, or {@code -1} when unbounded
+   */
+  public long getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Set the maximum number of entries of the map, {@code -1} means unbounded. Defaults to {@code -1}.
+   *
+   * @param maxEntries the maximum number of entries
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalAsyncMapOptions setMaxEntries(long maxEntries) {
+    if (maxEntries < 1 && maxEntries != -1) {
+      throw new IllegalArgumentException("maxEntries must be greater than 0 or -1 (unbounded)");
+    }
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  /**
+   * @return the maximum weight in bytes of the map, or {@code -1} when unbounded
+   */
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Set the maximum weight in bytes of the map, {@code -1} means unbounded. Defaults to {@code -1}.
+   * <p>
+   * The weight of an entry is the size of its key and of its value: it is exact for buffers, byte arrays and
+   * cluster serializable objects, estimated as two bytes per character for strings and as 16 bytes for other
+   * objects.
+   *
+   * @param maxWeight the maximum weight
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalAsyncMapOptions setMaxWeight(long maxWeight) {
+    if (maxWeight < 1 && maxWeight != -1) {
+      throw new IllegalArgumentException("maxWeight must be greater than 0 or -1 (unbounded)");
+    }
+    this.maxWeight = maxWeight;
+    return this;
+  }
+
+  /**
+   * @return a JSON representation of these options
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    LocalAsyncMapOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * A counter local to a Vert.x instance, with synchronous operations that do not allocate a future.
+ * <p>
+ * {@link #add(long)}, {@link #increment()} and {@link #decrement()} do not return the new value of the counter,
+ * this lets a striped counter spread concurrent updates over several cells instead of contending on a single one.
+ * <p>
+ * A local counter is not a {@link Counter}: the read-modify-write operations of {@link Counter} cannot be honoured by
+ * a striped counter. A non striped local counter shares its value with the {@link Counter} of the same name returned
+ * by {@link SharedData#getLocalCounter(String)}.
+ *
+ * @see LocalCounterOptions#setStriped(boolean)
+ */
+@VertxGen
+public interface LocalCounter {
+
+  /**
+   * Add the value to the counter.
+   *
+   * @param value  the value to add
+   */
+  void add(long value);
+
+  /**
+   * Increment the counter.
+   */
+  default void increment() {
+    add(1L);
+  }
+
+  /**
+   * Decrement the counter.
+   */
+  default void decrement() {
+    add(-1L);
+  }
+
+  /**
+   * Get the current value of the counter synchronously.
+   * <p>
+   * For a striped counter, the value is the sum of the cells, updates happening concurrently may or may not be
+   * included.
+   *
+   * @return the value
+   */
+  long sum();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the creation of a {@link LocalCounter}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class LocalCounterOptions {
+
+  /**
+   * Whether the counter is striped by default = false
+   */
+  public static final boolean DEFAULT_STRIPED = false;
+
+  private boolean striped = DEFAULT_STRIPED;
+
+  /**
+   * Default constructor.
+   */
+  public LocalCounterOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public LocalCounterOptions(LocalCounterOptions other) {
+    this.striped = other.striped;
+  }
+
+  /**
+   * Constructor to create options from JSON.
+   *
+   * @param json the JSON
+   */
+  public LocalCounterOptions(JsonObject json) {
+    this();
+    LocalCounterOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * @return whether the counter is striped
+   */
+  public boolean isStriped() {
+    return striped;
+  }
+
+  /**
+   * Set whether the counter is striped.
+   * <p>
+   * A striped counter spreads the updates over several padded cells when they contend, like a
+   * {@link java.util.concurrent.atomic.LongAdder} does, so updating it from many event loops scales. The price is
+   * that its {@link LocalCounter#sum()} is not an atomic snapshot. Striped counters are kept apart from the
+   * {@link Counter} instances returned by {@link SharedData#getLocalCounter(String)}, which must stay atomic.
+   * Defaults to {@code false}.
+   *
+   * @param striped true to stripe the counter
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalCounterOptions setStriped(boolean striped) {
+    this.striped = striped;
+    return this;
+  }
+
+  /**
+   * @return a JSON representation of these options
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    LocalCounterOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
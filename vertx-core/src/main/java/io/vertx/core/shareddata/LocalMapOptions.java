@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the creation of a {@link LocalMap}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class LocalMapOptions {
+
+  /**
+   * Whether the values are stored off-heap by default = false
+   */
+  public static final boolean DEFAULT_OFF_HEAP = false;
+
+  /**
+   * The default size of an off-heap segment = 1 MiB
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+  private boolean offHeap = DEFAULT_OFF_HEAP;
+  private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+  /**
+   * Default constructor.
+   */
+  public LocalMapOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public LocalMapOptions(LocalMapOptions other) {
+    this.offHeap = other.offHeap;
+    this.segmentSize = other.segmentSize;
+  }
+
+  /**
+   * Constructor to create options from JSON.
+   *
+   * @param json the JSON
+   */
+  public LocalMapOptions(JsonObject json) {
+    this();
+    LocalMapOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * @return whether the values of the map are stored off-heap
+   */
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  /**
+   * Set whether the values of the map are stored off-heap.
+   * <p>
+   * An off-heap map only accepts {@link io.vertx.core.buffer.Buffer} values. The values are copied once in direct
+   * memory segments when they are put in the map, and the map returns read-only views of this memory instead of
+   * copies. Defaults to {@code false}.
+   *
+   * @param offHeap true to store the values off-heap
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalMapOptions setOffHeap(boolean offHeap) {
+    this.offHeap = offHeap;
+    return this;
+  }
+
+  /**
+   * @return the size of an off-heap segment
+   */
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  /**
+   * Set the size in bytes of the direct memory segments holding the values of an off-heap map.
+   * <p>
+   * Values are appended to the current segment, values larger than a quarter of the segment size get a segment of
+   * their own. The memory of a segment is reclaimed when none of its values is in the map or referenced by a view.
+   * <p>
+   * Removed and overwritten values leave unused space in their segment, when this space exceeds half of the segments
+   * memory the map copies the values of the segments that are less than half used to new segments, so an update
+   * heavy map uses at most about twice the memory of its values, plus the memory still referenced by views.
+   * Defaults to {@code 1 MiB}.
+   *
+   * @param segmentSize the segment size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalMapOptions setSegmentSize(int segmentSize) {
+    if (segmentSize < 1) {
+      throw new IllegalArgumentException("segmentSize must be greater than 0");
+    }
+    this.segmentSize = segmentSize;
+    return this;
+  }
+
+  /**
+   * @return a JSON representation of these options
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    LocalMapOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -74,6 +74,18 @@ public interface SharedData {
    */
   <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name);
 
+  /**
+   * Get the {@link AsyncMap} with the specified name, created with the given {@code options} when it does not exist
+   * yet. When the map already exists, it is returned as is and the {@code options} are ignored.
+   * <p>
+   * The map is never shared cluster-wide, it is like {@link #getLocalAsyncMap(String)} with a capacity.
+   *
+   * @param name the name of the map
+   * @param options the options used to create the map
+   * @return a future notified with the map
+   */
+  <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name, LocalAsyncMapOptions options);
+
   /**
    * Get an asynchronous lock with the specified name. The returned future will be completed with the lock when it is available.
    * <p>
@@ -228,6 +240,20 @@ public interface SharedData {
    */
   Future<Counter> getLocalCounter(String name);
 
+  /**
+   * Return a {@link LocalCounter} with the specific {@code name}, created with the given {@code options} when it
+   * does not exist yet.
+   * <p>
+   * Striped and non striped counters live in separate namespaces: a striped counter is never returned by
+   * {@link #getLocalCounter(String)} or {@link #getCounter(String)}, whereas a non striped counter shares its value
+   * with the {@link Counter} of the same name returned by {@link #getLocalCounter(String)}.
+   *
+   * @param name  the name of the counter
+   * @param options  the options used to create the counter
+   * @return the counter
+   */
+  LocalCounter getLocalCounter(String name, LocalCounterOptions options);
+
   /**
    * Return a {@code LocalMap} with the specific {@code name}.
    *
@@ -236,4 +262,16 @@ public interface SharedData {
    */
   <K, V> LocalMap<K, V> getLocalMap(String name);
 
+  /**
+   * Return a {@code LocalMap} with the specific {@code name}, created with the given {@code options} when it
+   * does not exist yet.
+   * <p>
+   * When the map already exists, it is returned as is and the {@code options} are ignored.
+   *
+   * @param name  the name of the map
+   * @param options  the options used to create the map
+   * @return the map
+   */
+  <K, V> LocalMap<K, V> getLocalMap(String name, LocalMapOptions options);
+
 }
@@ -16,13 +16,14 @@ import io.vertx.core.Promise;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.shareddata.Counter;
+import io.vertx.core.shareddata.LocalCounter;
 
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
-public class AsynchronousCounter implements Counter {
+public class AsynchronousCounter implements Counter, LocalCounter {
 
   private final VertxInternal vertx;
   private final AtomicLong counter;
@@ -37,6 +38,16 @@ public class AsynchronousCounter implements Counter {
     this.counter = counter;
   }
 
+  @Override
+  public void add(long value) {
+    counter.addAndGet(value);
+  }
+
+  @Override
+  public long sum() {
+    return counter.get();
+  }
+
   @Override
   public Future<Long> get() {
     ContextInternal context = vertx.getOrCreateContext();
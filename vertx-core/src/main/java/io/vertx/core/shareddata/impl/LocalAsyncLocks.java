@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -11,121 +11,203 @@
 
 package io.vertx.core.shareddata.impl;
 
+import io.netty.util.internal.PlatformDependent;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.shareddata.Lock;
+import io.vertx.core.spi.metrics.PoolMetrics;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Local locks.
+ * <p>
+ * Each lock name has a lock-free FIFO queue of waiters and a counter of the slots taken by the owner and the queued
+ * waiters. The thread taking the first slot, or releasing the lock while other slots are taken, hands the lock off to
+ * the next waiter of the queue. A waiter that times out is only marked as cancelled, it is skipped when it reaches the
+ * head of the queue, so cancellation does not need to search the queue.
+ * <p>
+ * The lock state of a name is removed when it becomes idle, the state is retired first so a concurrent acquisition
+ * retries with a new state.
+ *
  * @author Thomas Segismont
  */
 public class LocalAsyncLocks {
 
-  private class LockWaiter {
+  private static final int WAITING = 0, GRANTED = 1, CANCELLED = 2;
+
+  private final ConcurrentMap<String, LockState> states = new ConcurrentHashMap<>();
+  private final PoolMetrics<Object, Object> metrics;
+
+  public LocalAsyncLocks() {
+    this(null);
+  }
+
+  /**
+   * @param metrics the metrics reporting the time spent waiting for locks and the number of waiters, or {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public LocalAsyncLocks(PoolMetrics<?, ?> metrics) {
+    this.metrics = (PoolMetrics<Object, Object>) metrics;
+  }
+
+  private class LockWaiter extends AtomicInteger {
 
     final ContextInternal context;
-    final String lockName;
+    final LockState state;
     final Promise<Lock> promise;
-    final Long timerId;
+    final Object queueMetric;
+    volatile long timerId = -1;
 
-    LockWaiter(ContextInternal context, String lockName, long timeout, Promise<Lock> promise) {
-      this.lockName = lockName;
-      this.promise = promise;
+    LockWaiter(ContextInternal context, LockState state, Promise<Lock> promise, Object queueMetric) {
+      super(WAITING);
       this.context = context;
-      timerId = timeout != Long.MAX_VALUE ? context.setTimer(timeout, tid -> timeout()) : null;
+      this.state = state;
+      this.promise = promise;
+      this.queueMetric = queueMetric;
     }
 
-    void timeout() {
-      // Cleanup
-      waitersMap.compute(lockName, (s, list) -> {
-        int idx;
-        if (list == null || (idx = list.indexOf(LockWaiter.this)) == -1) {
-          // Already removed by release()
-          return list;
-        } else if (list.size() == 1) {
-          return null;
-        } else {
-          int size = list.size();
-          List<LockWaiter> n = new ArrayList<>(size - 1);
-          if (idx > 0) {
-            n.addAll(list.subList(0, idx));
-          }
-          if (idx + 1 < size) {
-            n.addAll(list.subList(idx + 1, size));
-          }
-          return n;
-        }
-      });
-      promise.fail("Timed out waiting to get lock");
+    boolean grant() {
+      if (!compareAndSet(WAITING, GRANTED)) {
+        return false;
+      }
+      state.waiting.decrementAndGet();
+      long id = timerId;
+      if (id != -1) {
+        context.owner().cancelTimer(id);
+      }
+      Object usageMetric = null;
+      if (metrics != null) {
+        metrics.dequeue(queueMetric);
+        usageMetric = metrics.begin();
+      }
+      promise.complete(new AsyncLock(state, usageMetric));
+      return true;
     }
 
-    void acquireLock() {
-      if (timerId == null || context.owner().cancelTimer(timerId)) {
-        promise.complete(new AsyncLock(lockName));
-      } else {
-        nextWaiter(lockName);
+    void timeout() {
+      if (compareAndSet(WAITING, CANCELLED)) {
+        state.waiting.decrementAndGet();
+        if (metrics != null) {
+          metrics.dequeue(queueMetric);
+        }
+        promise.fail("Timed out waiting to get lock");
       }
     }
   }
 
   private class AsyncLock implements LockInternal {
 
-    final String lockName;
+    final LockState state;
+    final Object usageMetric;
     final AtomicBoolean invoked = new AtomicBoolean();
 
-    AsyncLock(String lockName) {
-      this.lockName = lockName;
+    AsyncLock(LockState state, Object usageMetric) {
+      this.state = state;
+      this.usageMetric = usageMetric;
     }
 
     @Override
     public void release() {
       if (invoked.compareAndSet(false, true)) {
-        nextWaiter(lockName);
+        if (metrics != null) {
+          metrics.end(usageMetric);
+        }
+        state.release();
       }
     }
 
     @Override
     public int waiters() {
-      List<LockWaiter> waiters = waitersMap.get(lockName);
-      return waiters == null ? 0 : waiters.size() - 1;
+      return state.waiting.get();
     }
   }
 
-  // Value should never be modified
-  private final ConcurrentMap<String, List<LockWaiter>> waitersMap = new ConcurrentHashMap<>();
+  private class LockState {
 
-  public Future<Lock> acquire(ContextInternal context, String name, long timeout) {
-    Promise<Lock> promise = context.promise();
-    LockWaiter lockWaiter = new LockWaiter(context, name, timeout, promise);
-    List<LockWaiter> waiters = waitersMap.compute(name, (s, list) -> {
-      List<LockWaiter> result;
-      if (list != null) {
-        result = new ArrayList<>(list.size() + 1);
-        result.addAll(list);
+    final String name;
+    final Queue<LockWaiter> queue = PlatformDependent.newMpscQueue();
+    // Slots taken by the owner and the queued waiters, -1 when the state is retired
+    final AtomicInteger slots = new AtomicInteger();
+    // Waiters not granted nor cancelled
+    final AtomicInteger waiting = new AtomicInteger();
+
+    LockState(String name) {
+      this.name = name;
+    }
+
+    /**
+     * @return {@code false} when the state was retired, the waiter must be enqueued in a new state
+     */
+    boolean enqueue(LockWaiter waiter) {
+      waiting.incrementAndGet();
+      // The waiter is queued before the slot is taken, so the queue is never empty when a slot is handed off
+      queue.add(waiter);
+      while (true) {
+        int current = slots.get();
+        if (current < 0) {
+          waiting.decrementAndGet();
+          return false;
+        }
+        if (slots.compareAndSet(current, current + 1)) {
+          if (current == 0) {
+            handoff();
+          }
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (slots.decrementAndGet() > 0) {
+        handoff();
       } else {
-        result = new ArrayList<>(1);
+        retire();
+      }
+    }
+
+    private void handoff() {
+      while (true) {
+        LockWaiter next = queue.poll();
+        if (next.grant()) {
+          return;
+        }
+        // Skip the cancelled waiter
+        if (slots.decrementAndGet() == 0) {
+          retire();
+          return;
+        }
+      }
+    }
+
+    private void retire() {
+      if (slots.compareAndSet(0, -1)) {
+        states.remove(name, this);
       }
-      result.add(lockWaiter);
-      return result;
-    });
-    if (waiters.size() == 1) {
-      waiters.get(0).acquireLock();
     }
-    return promise.future();
   }
 
-  private void nextWaiter(String lockName) {
-    List<LockWaiter> waiters = waitersMap.compute(lockName, (s, list) -> {
-      return list == null || list.size() == 1 ? null : new ArrayList<>(list.subList(1, list.size()));
-    });
-    if (waiters != null) {
-      waiters.get(0).acquireLock();
+  public Future<Lock> acquire(ContextInternal context, String name, long timeout) {
+    Promise<Lock> promise = context.promise();
+    Object queueMetric = metrics != null ? metrics.enqueue() : null;
+    LockWaiter waiter;
+    while (true) {
+      LockState state = states.computeIfAbsent(name, LockState::new);
+      waiter = new LockWaiter(context, state, promise, queueMetric);
+      if (state.enqueue(waiter)) {
+        break;
+      }
+      states.remove(name, state);
     }
+    if (timeout != Long.MAX_VALUE && waiter.get() == WAITING) {
+      LockWaiter w = waiter;
+      w.timerId = context.setTimer(timeout, tid -> w.timeout());
+    }
+    return promise.future();
   }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,34 +12,79 @@
 package io.vertx.core.shareddata.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.ClusterSerializable;
+import io.vertx.core.spi.metrics.CacheMetrics;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 import static java.util.concurrent.TimeUnit.*;
 import static java.util.stream.Collectors.*;
 
 /**
+ * Local async map implementation.
+ * <p>
+ * Entries with a TTL are tracked by an expiration index made of buckets of {@link #TICK_NANOS}: the keys expiring
+ * during the same tick share a bucket, a single timer is armed for the earliest bucket and expires all the keys of the
+ * due buckets in a batch. Lookups check the expiration of an entry, so an expired entry is never visible even when
+ * its bucket has not been processed yet.
+ * <p>
+ * A map can be bounded by a number of entries and/or a weight, the least recently used entries are evicted when the
+ * map exceeds its capacity. The recency order is maintained under a lock, so bounded maps trade some read
+ * scalability for a predictable size.
+ *
  * @author Thomas Segismont
  */
 public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
 
+  private static final long TICK_NANOS = MILLISECONDS.toNanos(10);
+
   private final VertxInternal vertx;
   private final ConcurrentMap<K, Holder<V>> map;
+  private final ConcurrentSkipListMap<Long, Bucket<K>> buckets = new ConcurrentSkipListMap<>();
+  // The tick of the armed timer, Long.MAX_VALUE when no timer is armed
+  private final AtomicLong scheduled = new AtomicLong(Long.MAX_VALUE);
+  private final long maxEntries;
+  private final long maxWeight;
+  private final CacheMetrics metrics;
+  // Recency order of the entries of a bounded map, guarded by itself
+  private final LinkedHashMap<K, Holder<V>> lru;
+  private long weight;
 
   public LocalAsyncMapImpl(VertxInternal vertx) {
+    this(vertx, -1, -1, null);
+  }
+
+  /**
+   * @param maxEntries the maximum number of entries, or {@code -1} when unbounded
+   * @param maxWeight the maximum weight in bytes, or {@code -1} when unbounded
+   * @param metrics the metrics, or {@code null}
+   */
+  public LocalAsyncMapImpl(VertxInternal vertx, long maxEntries, long maxWeight, CacheMetrics metrics) {
     this.vertx = vertx;
-    map = new ConcurrentHashMap<>();
+    this.map = new ConcurrentHashMap<>();
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.metrics = metrics;
+    this.lru = maxEntries > 0 || maxWeight > 0 ? new LinkedHashMap<>(16, 0.75f, true) : null;
   }
 
   @Override
@@ -47,8 +92,19 @@ public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
     ContextInternal ctx = vertx.getOrCreateContext();
     Holder<V> h = map.get(k);
     if (h != null && h.hasNotExpired()) {
+      if (lru != null) {
+        synchronized (lru) {
+          lru.get(k);
+        }
+      }
+      if (metrics != null) {
+        metrics.hit();
+      }
       return ctx.succeededFuture(h.value);
     } else {
+      if (metrics != null) {
+        metrics.miss();
+      }
       return ctx.succeededFuture();
     }
   }
@@ -56,153 +112,168 @@ public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
   @Override
   public Future<Void> put(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> previous = map.put(k, new Holder<>(v));
-    if (previous != null && previous.expires()) {
-      vertx.cancelTimer(previous.timerId);
-    }
+    put(k, holder(k, v));
     return ctx.succeededFuture();
   }
 
+  private void put(K k, Holder<V> h) {
+    map.compute(k, (key, holder) -> {
+      changed(key, holder, h);
+      return h;
+    });
+    track(k, h);
+    evict();
+  }
+
   @Override
   public Future<V> putIfAbsent(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> h = map.putIfAbsent(k, new Holder<>(v));
-    return ctx.succeededFuture(h == null ? null : h.value);
+    return ctx.succeededFuture(putIfAbsent(k, holder(k, v)));
+  }
+
+  private V putIfAbsent(K k, Holder<V> h) {
+    Holder<V> existing = map.get(k);
+    if (existing == null || !existing.hasNotExpired()) {
+      existing = map.compute(k, (key, holder) -> {
+        if (holder != null && holder.hasNotExpired()) {
+          return holder;
+        }
+        changed(key, holder, h);
+        return h;
+      });
+    }
+    if (existing == h) {
+      track(k, h);
+      evict();
+      return null;
+    }
+    return existing.value;
   }
 
   @Override
   public Future<Void> put(K k, V v, long ttl) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> previous = map.put(k, new Holder<>(v, timerId, ttl, timestamp));
-    if (previous != null && previous.expires()) {
-      vertx.cancelTimer(previous.timerId);
-    }
+    put(k, holder(k, v, ttl));
     return ctx.succeededFuture();
   }
 
-  private void removeIfExpired(K k) {
-    map.computeIfPresent(k, (key, holder) -> holder.hasNotExpired() ? holder : null);
-  }
-
   @Override
   public Future<V> putIfAbsent(K k, V v, long ttl) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> existing = map.putIfAbsent(k, new Holder<>(v, timerId, ttl, timestamp));
-    if (existing != null) {
-      vertx.cancelTimer(timerId);
-      return ctx.succeededFuture(existing.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+    return ctx.succeededFuture(putIfAbsent(k, holder(k, v, ttl)));
   }
 
   @Override
   public Future<Boolean> removeIfPresent(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    AtomicBoolean result = new AtomicBoolean();
-    map.computeIfPresent(k, (key, holder) -> {
-      if (holder.value.equals(v)) {
-        result.compareAndSet(false, true);
-        if (holder.expires()) {
-          vertx.cancelTimer(holder.timerId);
-        }
-        return null;
-      }
-      return holder;
-    });
-    return ctx.succeededFuture(result.get());
+    Holder<V> previous = compute(k, holder -> holder.value.equals(v) ? null : holder);
+    return ctx.succeededFuture(previous != null && previous.value.equals(v));
   }
 
   @Override
   public Future<V> replace(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> previous = map.replace(k, new Holder<>(v));
-    if (previous != null) {
-      if (previous.expires()) {
-        vertx.cancelTimer(previous.timerId);
-      }
-      return ctx.succeededFuture(previous.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+    return ctx.succeededFuture(replace(k, holder(k, v)));
   }
 
   @Override
   public Future<V> replace(K k, V v, long ttl) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> previous = map.replace(k, new Holder<>(v, timerId, ttl, timestamp));
+    return ctx.succeededFuture(replace(k, holder(k, v, ttl)));
+  }
+
+  private V replace(K k, Holder<V> h) {
+    Holder<V> previous = compute(k, holder -> h);
     if (previous != null) {
-      if (previous.expires()) {
-        vertx.cancelTimer(previous.timerId);
-      }
-      return ctx.succeededFuture(previous.value);
-    } else {
-      return ctx.succeededFuture();
+      track(k, h);
+      evict();
+      return previous.value;
     }
+    return null;
   }
 
   @Override
   public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> h = new Holder<>(newValue);
-    Holder<V> result = map.computeIfPresent(k, (key, holder) -> {
-      if (holder.value.equals(oldValue)) {
-        if (holder.expires()) {
-          vertx.cancelTimer(holder.timerId);
-        }
-        return h;
-      }
-      return holder;
-    });
-    return ctx.succeededFuture(h == result);
+    return ctx.succeededFuture(replaceIfPresent(k, oldValue, holder(k, newValue)));
   }
 
   @Override
   public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue, long ttl) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> h = new Holder<>(newValue, timerId, ttl, timestamp);
-    Holder<V> result = map.computeIfPresent(k, (key, holder) -> {
-      if (holder.value.equals(oldValue)) {
-        if (holder.expires()) {
-          vertx.cancelTimer(holder.timerId);
-        }
-        return h;
+    return ctx.succeededFuture(replaceIfPresent(k, oldValue, holder(k, newValue, ttl)));
+  }
+
+  private boolean replaceIfPresent(K k, V oldValue, Holder<V> h) {
+    Holder<V> previous = compute(k, holder -> holder.value.equals(oldValue) ? h : holder);
+    if (previous != null && previous.value.equals(oldValue)) {
+      track(k, h);
+      evict();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Remap the unexpired entry of {@code k} with {@code function}, an expired entry is removed.
+   *
+   * @return the unexpired entry before the remapping, or {@code null}
+   */
+  private Holder<V> compute(K k, UnaryOperator<Holder<V>> function) {
+    AtomicReference<Holder<V>> previous = new AtomicReference<>();
+    map.computeIfPresent(k, (key, holder) -> {
+      Holder<V> result;
+      if (holder.hasNotExpired()) {
+        previous.set(holder);
+        result = function.apply(holder);
+      } else {
+        result = null;
       }
-      return holder;
+      changed(key, holder, result);
+      return result;
     });
-    if(h == result) {
-      return ctx.succeededFuture(true);
-    } else {
-      vertx.cancelTimer(timerId);
-      return ctx.succeededFuture(false);
-    }
+    return previous.get();
   }
 
   @Override
   public Future<Void> clear() {
     ContextInternal ctx = vertx.getOrCreateContext();
-    map.clear();
+    // Remove the entries one by one, so the recency order is updated with the entry locked like other updates
+    for (K k : map.keySet()) {
+      map.computeIfPresent(k, (key, holder) -> {
+        changed(key, holder, null);
+        return null;
+      });
+    }
     return ctx.succeededFuture();
   }
 
   @Override
   public Future<Integer> size() {
     ContextInternal ctx = vertx.getOrCreateContext();
-    return ctx.succeededFuture(map.size());
+    if (buckets.isEmpty()) {
+      // No entry can expire
+      return ctx.succeededFuture(map.size());
+    }
+    int size = 0;
+    for (Holder<V> holder : map.values()) {
+      if (holder.hasNotExpired()) {
+        size++;
+      }
+    }
+    return ctx.succeededFuture(size);
   }
 
   @Override
   public Future<Set<K>> keys() {
     ContextInternal ctx = vertx.getOrCreateContext();
-    return ctx.succeededFuture(new HashSet<>(map.keySet()));
+    Set<K> result = new HashSet<>(map.size());
+    map.forEach((key, holder) -> {
+      if (holder.hasNotExpired()) {
+        result.add(key);
+      }
+    });
+    return ctx.succeededFuture(result);
   }
 
   @Override
@@ -230,38 +301,183 @@ public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
   @Override
   public Future<V> remove(K k) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> previous = map.remove(k);
+    Holder<V> previous = compute(k, holder -> null);
     if (previous != null) {
-      if (previous.expires()) {
-        vertx.cancelTimer(previous.timerId);
-      }
       return ctx.succeededFuture(previous.value);
     } else {
       return ctx.succeededFuture();
     }
   }
 
+  private Holder<V> holder(K k, V v) {
+    return new Holder<>(v, maxWeight > 0 ? weigh(k) + weigh(v) : 0);
+  }
+
+  private Holder<V> holder(K k, V v, long ttl) {
+    return new Holder<>(v, ttl, maxWeight > 0 ? weigh(k) + weigh(v) : 0);
+  }
+
+  /**
+   * Estimate the weight in bytes of a key or a value, the exact size is computed for buffers, byte arrays,
+   * strings and cluster serializable objects.
+   */
+  private static long weigh(Object o) {
+    if (o instanceof Buffer) {
+      return ((Buffer) o).length();
+    } else if (o instanceof byte[]) {
+      return ((byte[]) o).length;
+    } else if (o instanceof CharSequence) {
+      return 2L * ((CharSequence) o).length();
+    } else if (o instanceof ClusterSerializable) {
+      Buffer buffer = Buffer.buffer();
+      ((ClusterSerializable) o).writeToBuffer(buffer);
+      return buffer.length();
+    } else {
+      return 16;
+    }
+  }
+
+  /**
+   * Update the recency order when the entry of {@code k} changes from {@code previous} to {@code current}, this is
+   * called with the map entry locked, so the changes of an entry are applied in order.
+   */
+  private void changed(K k, Holder<V> previous, Holder<V> current) {
+    if (lru == null || previous == current) {
+      return;
+    }
+    synchronized (lru) {
+      Holder<V> removed = current != null ? lru.put(k, current) : lru.remove(k);
+      if (removed != null) {
+        weight -= removed.weight;
+      }
+      if (current != null) {
+        weight += current.weight;
+      }
+    }
+  }
+
+  /**
+   * Evict the least recently used entries until the map fits in its capacity. Entries are removed from the map
+   * outside the lock and only when they were not updated in the meantime.
+   */
+  private void evict() {
+    if (lru == null) {
+      return;
+    }
+    while (true) {
+      Map.Entry<K, Holder<V>> eldest;
+      synchronized (lru) {
+        if ((maxEntries < 0 || lru.size() <= maxEntries) && (maxWeight < 0 || weight <= maxWeight)) {
+          return;
+        }
+        Iterator<Map.Entry<K, Holder<V>>> it = lru.entrySet().iterator();
+        eldest = it.next();
+        it.remove();
+        weight -= eldest.getValue().weight;
+      }
+      if (map.remove(eldest.getKey(), eldest.getValue()) && metrics != null) {
+        metrics.eviction();
+      }
+    }
+  }
+
+  /**
+   * Add the key of an expiring entry to the bucket of its deadline and arm the timer when this bucket is due
+   * before the armed timer.
+   */
+  private void track(K k, Holder<V> h) {
+    if (!h.expires()) {
+      return;
+    }
+    long tick = Math.floorDiv(h.deadline, TICK_NANOS) + 1;
+    Bucket<K> bucket = buckets.computeIfAbsent(tick, t -> new Bucket<>());
+    if (!bucket.add(k)) {
+      // The bucket was processed concurrently, the entry has expired
+      removeIfExpired(k);
+      return;
+    }
+    schedule(tick);
+  }
+
+  private void schedule(long tick) {
+    long current;
+    while (tick < (current = scheduled.get())) {
+      if (scheduled.compareAndSet(current, tick)) {
+        long delay = Math.max(1, NANOSECONDS.toMillis(tick * TICK_NANOS - System.nanoTime()));
+        vertx.setTimer(delay, id -> expire(tick));
+        return;
+      }
+    }
+  }
+
+  private void expire(long tick) {
+    // Only the armed timer re-arms the next one, other timers were superseded by an earlier one
+    boolean armed = scheduled.compareAndSet(tick, Long.MAX_VALUE);
+    long now = Math.floorDiv(System.nanoTime(), TICK_NANOS);
+    Map.Entry<Long, Bucket<K>> entry;
+    while ((entry = buckets.firstEntry()) != null && entry.getKey() <= now) {
+      if (buckets.remove(entry.getKey(), entry.getValue())) {
+        for (K k : entry.getValue().close()) {
+          removeIfExpired(k);
+        }
+      }
+    }
+    if (armed && (entry = buckets.firstEntry()) != null) {
+      schedule(entry.getKey());
+    }
+  }
+
+  private void removeIfExpired(K k) {
+    map.computeIfPresent(k, (key, holder) -> {
+      if (holder.hasNotExpired()) {
+        return holder;
+      }
+      changed(key, holder, null);
+      return null;
+    });
+  }
+
+  private static class Bucket<K> {
+
+    private List<K> keys = new ArrayList<>();
+
+    synchronized boolean add(K k) {
+      if (keys == null) {
+        return false;
+      }
+      keys.add(k);
+      return true;
+    }
+
+    synchronized List<K> close() {
+      List<K> list = keys;
+      keys = null;
+      return list != null ? list : Collections.emptyList();
+    }
+  }
+
   private static class Holder<V> {
     final V value;
-    final long timerId;
     final long ttl;
-    final long timestamp;
+    final long deadline;
+    final long weight;
 
-    Holder(V value) {
+    Holder(V value, long weight) {
       Objects.requireNonNull(value);
       this.value = value;
-      timestamp = ttl = timerId = 0;
+      this.weight = weight;
+      deadline = ttl = 0;
     }
 
-    Holder(V value, long timerId, long ttl, long timestamp) {
+    Holder(V value, long ttl, long weight) {
       Objects.requireNonNull(value);
       if (ttl < 1) {
         throw new IllegalArgumentException("ttl must be positive: " + ttl);
       }
       this.value = value;
-      this.timerId = timerId;
       this.ttl = ttl;
-      this.timestamp = timestamp;
+      this.weight = weight;
+      this.deadline = System.nanoTime() + MILLISECONDS.toNanos(ttl);
     }
 
     boolean expires() {
@@ -269,12 +485,12 @@ public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
     }
 
     boolean hasNotExpired() {
-      return !expires() || MILLISECONDS.convert(System.nanoTime() - timestamp, NANOSECONDS) < ttl;
+      return !expires() || System.nanoTime() - deadline < 0;
     }
 
     @Override
     public String toString() {
-      return "Holder{" + "value=" + value + ", timerId=" + timerId + ", ttl=" + ttl + ", timestamp=" + timestamp + '}';
+      return "Holder{" + "value=" + value + ", ttl=" + ttl + ", deadline=" + deadline + '}';
     }
   }
 }
@@ -0,0 +1,509 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.shareddata.LocalMap;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.vertx.core.shareddata.impl.Checker.checkType;
+import static io.vertx.core.shareddata.impl.Checker.copyIfRequired;
+
+/**
+ * A local map storing its {@link Buffer} values off-heap.
+ * <p>
+ * Values are copied once in direct memory segments allocated by the JDK, the map holds read-only slices of these
+ * segments and returns read-only buffer views of the slices, so reading a value does not copy it. A segment is
+ * reclaimed by the garbage collector when no slice refers to it anymore.
+ * <p>
+ * The map counts the bytes freed in each segment when a value is removed or overwritten. When the freed bytes exceed
+ * half of the segment memory, the map is compacted: the values of the segments that are less than half live are
+ * copied to the current segment, so the sparse segments are no longer referenced by the map. The compaction is
+ * incremental, each mutation of the map examines at most {@link #COMPACTION_STEP} entries, so a large map does not
+ * stall the thread mutating it.
+ * <p>
+ * Keys are kept on the heap and are handled like {@link LocalMapImpl} does.
+ */
+class OffHeapLocalMap<K, V> implements LocalMap<K, V> {
+
+  /**
+   * The max number of entries examined by a compaction step.
+   */
+  static final int COMPACTION_STEP = 64;
+
+  private final ConcurrentMap<String, LocalMap<?, ?>> maps;
+  private final String name;
+  private final int segmentSize;
+  private final ConcurrentMap<K, Value> map = new ConcurrentHashMap<>();
+  private final AtomicBoolean compacting = new AtomicBoolean();
+  private Segment segment;
+  // Bytes allocated and freed in the segments still referenced by the map, guarded by this
+  private long allocatedBytes;
+  private long freedBytes;
+  private volatile boolean compactionNeeded;
+  // The entries remaining to examine by the current compaction, guarded by compacting
+  private volatile Iterator<Map.Entry<K, Value>> compaction;
+
+  OffHeapLocalMap(String name, ConcurrentMap<String, LocalMap<?, ?>> maps, int segmentSize) {
+    this.name = name;
+    this.maps = maps;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Copy {@code content} to direct memory, values larger than a quarter of a segment get their own memory to bound
+   * the waste at the end of the segments.
+   */
+  private Value allocate(ByteBuf content) {
+    int length = content.readableBytes();
+    Segment dst;
+    ByteBuffer memory;
+    if (length > segmentSize / 4) {
+      dst = null;
+      memory = ByteBuffer.allocateDirect(length);
+    } else {
+      synchronized (this) {
+        if (segment == null || segment.memory.remaining() < length) {
+          Segment full = segment;
+          segment = new Segment(ByteBuffer.allocateDirect(segmentSize));
+          if (full != null && full.isEmpty()) {
+            drop(full);
+          }
+        }
+        dst = segment;
+        memory = dst.memory.slice();
+        memory.limit(length);
+        dst.memory.position(dst.memory.position() + length);
+        allocatedBytes += length;
+      }
+    }
+    content.getBytes(content.readerIndex(), memory.duplicate());
+    return new Value(dst, Unpooled.wrappedBuffer(memory).asReadOnly());
+  }
+
+  /**
+   * Account for a value no longer referenced by the map.
+   */
+  private void free(Value value) {
+    Segment src = value.segment;
+    if (src == null) {
+      return;
+    }
+    int length = value.content.readableBytes();
+    synchronized (this) {
+      src.freed += length;
+      freedBytes += length;
+      if (src != segment && src.isEmpty()) {
+        drop(src);
+      }
+      if (freedBytes > allocatedBytes / 2 && allocatedBytes > 2L * segmentSize) {
+        compactionNeeded = true;
+      }
+    }
+  }
+
+  private void drop(Segment empty) {
+    allocatedBytes -= empty.memory.position();
+    freedBytes -= empty.freed;
+  }
+
+  private synchronized boolean isSparse(Segment s) {
+    return s != segment && s.memory.position() - s.freed < segmentSize / 2;
+  }
+
+  /**
+   * Perform a compaction step when a compaction is in progress or enough memory has been freed, this must not be
+   * called from a map function.
+   */
+  private void checkCompaction() {
+    if ((compaction != null || compactionNeeded) && compacting.compareAndSet(false, true)) {
+      try {
+        Iterator<Map.Entry<K, Value>> it = compaction;
+        if (it == null) {
+          compactionNeeded = false;
+          it = map.entrySet().iterator();
+        }
+        for (int i = 0;i < COMPACTION_STEP && it.hasNext();i++) {
+          Map.Entry<K, Value> entry = it.next();
+          Value value = entry.getValue();
+          if (value.segment != null && isSparse(value.segment)) {
+            Value moved = allocate(value.content);
+            if (map.replace(entry.getKey(), value, moved)) {
+              free(value);
+            } else {
+              free(moved);
+            }
+          }
+        }
+        compaction = it.hasNext() ? it : null;
+      } finally {
+        compacting.set(false);
+      }
+    }
+  }
+
+  private Value store(Object value) {
+    checkType(value);
+    if (!(value instanceof Buffer)) {
+      throw new IllegalArgumentException("Invalid type for off-heap local map value: " + value.getClass().getName());
+    }
+    return allocate(((BufferInternal) value).unwrap());
+  }
+
+  /**
+   * @return the value replacing {@code prev} in the map, {@code prev} is freed
+   */
+  private Value update(Value prev, V output) {
+    Value next = output != null ? store(output) : null;
+    if (prev != null) {
+      free(prev);
+    }
+    return next;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V view(Value stored) {
+    return stored == null ? null : (V) BufferInternal.buffer(stored.content.duplicate());
+  }
+
+  /**
+   * @return the content of {@code value} to compare with stored values, or {@code null} when it cannot be stored
+   */
+  private static ByteBuf content(Object value) {
+    return value instanceof Buffer ? ((BufferInternal) value).unwrap() : null;
+  }
+
+  @Override
+  public V get(Object key) {
+    return view(map.get(key));
+  }
+
+  @Override
+  public V put(K key, V value) {
+    checkType(key);
+    Value prev = map.put(key, store(value));
+    if (prev != null) {
+      free(prev);
+      checkCompaction();
+    }
+    return view(prev);
+  }
+
+  @Override
+  public V remove(Object key) {
+    Value prev = map.remove(key);
+    if (prev != null) {
+      free(prev);
+      checkCompaction();
+    }
+    return view(prev);
+  }
+
+  @Override
+  public void clear() {
+    for (K key : map.keySet()) {
+      Value prev = map.remove(key);
+      if (prev != null) {
+        free(prev);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    checkType(key);
+    Value stored = map.get(key);
+    if (stored != null) {
+      // Avoid allocating memory when the key is present
+      return view(stored);
+    }
+    Value added = store(value);
+    Value prev = map.putIfAbsent(key, added);
+    if (prev != null) {
+      free(added);
+    }
+    return view(prev);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    ByteBuf content = content(value);
+    if (content == null) {
+      return false;
+    }
+    while (true) {
+      Value prev = map.get(key);
+      if (prev == null || !content.equals(prev.content)) {
+        return false;
+      }
+      if (map.remove(key, prev)) {
+        free(prev);
+        checkCompaction();
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public boolean replace(K key, V oldValue, V newValue) {
+    ByteBuf content = content(oldValue);
+    if (content == null) {
+      return false;
+    }
+    while (true) {
+      Value prev = map.get(key);
+      if (prev == null || !content.equals(prev.content)) {
+        return false;
+      }
+      Value next = store(newValue);
+      if (map.replace(key, prev, next)) {
+        free(prev);
+        checkCompaction();
+        return true;
+      }
+      free(next);
+    }
+  }
+
+  @Override
+  public boolean removeIfPresent(K key, V value) {
+    return remove(key, value);
+  }
+
+  @Override
+  public boolean replaceIfPresent(K key, V oldValue, V newValue) {
+    checkType(key);
+    checkType(oldValue);
+    return replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public V replace(K key, V value) {
+    checkType(key);
+    if (!map.containsKey(key)) {
+      return null;
+    }
+    Value next = store(value);
+    Value prev = map.replace(key, next);
+    if (prev != null) {
+      free(prev);
+      checkCompaction();
+    } else {
+      free(next);
+    }
+    return view(prev);
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+    for (K key : map.keySet()) {
+      map.computeIfPresent(key, (k, v) -> {
+        checkType(k);
+        Value next = store(function.apply(k, view(v)));
+        free(v);
+        return next;
+      });
+    }
+    checkCompaction();
+  }
+
+  @Override
+  public void close() {
+    maps.remove(name);
+  }
+
+  @Override
+  public Set<K> keySet() {
+    Set<K> keys = new HashSet<>(map.size());
+    for (K k : map.keySet()) {
+      keys.add(copyIfRequired(k));
+    }
+    return keys;
+  }
+
+  @Override
+  public Collection<V> values() {
+    List<V> values = new ArrayList<>(map.size());
+    for (Value v : map.values()) {
+      values.add(view(v));
+    }
+    return values;
+  }
+
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    V ret = view(map.compute(key, (k, v) -> {
+      checkType(k);
+      return update(v, remappingFunction.apply(k, view(v)));
+    }));
+    checkCompaction();
+    return ret;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    return view(map.computeIfAbsent(key, k -> {
+      checkType(k);
+      V output = mappingFunction.apply(k);
+      return output != null ? store(output) : null;
+    }));
+  }
+
+  @Override
+  public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    V ret = view(map.computeIfPresent(key, (k, v) -> {
+      checkType(k);
+      return update(v, remappingFunction.apply(k, view(v)));
+    }));
+    checkCompaction();
+    return ret;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    ByteBuf content = content(value);
+    if (content != null) {
+      for (Value v : map.values()) {
+        if (content.equals(v.content)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    Set<Entry<K, V>> entries = new HashSet<>(map.size());
+    for (Map.Entry<K, Value> entry : map.entrySet()) {
+      entries.add(new Map.Entry<K, V>() {
+
+        @Override
+        public K getKey() {
+          return copyIfRequired(entry.getKey());
+        }
+
+        @Override
+        public V getValue() {
+          return view(entry.getValue());
+        }
+
+        @Override
+        public V setValue(V value) {
+          throw new UnsupportedOperationException();
+        }
+      });
+    }
+    return entries;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    for (Map.Entry<K, Value> entry : map.entrySet()) {
+      action.accept(copyIfRequired(entry.getKey()), view(entry.getValue()));
+    }
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    Value stored = map.get(key);
+    return stored != null ? view(stored) : defaultValue;
+  }
+
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    checkType(key);
+    checkType(value);
+    V ret = view(map.compute(key, (k, v) -> {
+      if (v == null) {
+        return store(value);
+      }
+      return update(v, remappingFunction.apply(view(v), value));
+    }));
+    checkCompaction();
+    return ret;
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> m) {
+    for (Entry<? extends K, ? extends V> entry : m.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return map.toString();
+  }
+
+  /**
+   * A direct memory segment, values are appended to the segment and the freed bytes are counted.
+   */
+  private static final class Segment {
+
+    private final ByteBuffer memory;
+    private int freed;
+
+    private Segment(ByteBuffer memory) {
+      this.memory = memory;
+    }
+
+    private boolean isEmpty() {
+      return freed == memory.position();
+    }
+  }
+
+  /**
+   * A value stored by the map, values are compared by identity by the map operations.
+   */
+  private static final class Value {
+
+    private final Segment segment;
+    private final ByteBuf content;
+
+    private Value(Segment segment, ByteBuf content) {
+      this.segment = segment;
+      this.content = content;
+    }
+
+    @Override
+    public String toString() {
+      return content.toString();
+    }
+  }
+}
@@ -18,6 +18,8 @@ import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.shareddata.*;
 import io.vertx.core.spi.cluster.ClusterManager;
+import io.vertx.core.spi.metrics.CacheMetrics;
+import io.vertx.core.spi.metrics.VertxMetrics;
 
 import java.io.Serializable;
 import java.util.List;
@@ -38,13 +40,15 @@ public class SharedDataImpl implements SharedData {
   private final ClusterManager clusterManager;
   private final LocalAsyncLocks localAsyncLocks;
   private final ConcurrentMap<String, LocalAsyncMapImpl<?, ?>> localAsyncMaps = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, Counter> localCounters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AsynchronousCounter> localCounters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, StripedCounter> stripedCounters = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, LocalMap<?, ?>> localMaps = new ConcurrentHashMap<>();
 
   public SharedDataImpl(VertxInternal vertx, ClusterManager clusterManager) {
     this.vertx = vertx;
     this.clusterManager = clusterManager;
-    localAsyncLocks = new LocalAsyncLocks();
+    VertxMetrics metrics = vertx.metrics();
+    localAsyncLocks = new LocalAsyncLocks(metrics != null ? metrics.createPoolMetrics("lock", "vert.x-local-locks", -1) : null);
   }
 
   @Override
@@ -122,6 +126,19 @@ public class SharedDataImpl implements SharedData {
     return (LocalMap<K, V>) localMaps.computeIfAbsent(name, n -> new LocalMapImpl<>(n, localMaps));
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public <K, V> LocalMap<K, V> getLocalMap(String name, LocalMapOptions options) {
+    Objects.requireNonNull(options, "null options");
+    return (LocalMap<K, V>) localMaps.computeIfAbsent(name, n -> {
+      if (options.isOffHeap()) {
+        return new OffHeapLocalMap<>(n, localMaps, options.getSegmentSize());
+      } else {
+        return new LocalMapImpl<>(n, localMaps);
+      }
+    });
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name) {
@@ -130,6 +147,19 @@ public class SharedDataImpl implements SharedData {
     return context.succeededFuture(new WrappedAsyncMap<>(asyncMap));
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name, LocalAsyncMapOptions options) {
+    Objects.requireNonNull(options, "null options");
+    LocalAsyncMapImpl<K, V> asyncMap = (LocalAsyncMapImpl<K, V>) localAsyncMaps.computeIfAbsent(name, n -> {
+      VertxMetrics metrics = vertx.metrics();
+      CacheMetrics cacheMetrics = metrics != null ? metrics.createCacheMetrics("local-async-map", n) : null;
+      return new LocalAsyncMapImpl<>(vertx, options.getMaxEntries(), options.getMaxWeight(), cacheMetrics);
+    });
+    ContextInternal context = vertx.getOrCreateContext();
+    return context.succeededFuture(new WrappedAsyncMap<>(asyncMap));
+  }
+
   @Override
   public Future<Counter> getLocalCounter(String name) {
     Counter counter = localCounters.computeIfAbsent(name, n -> new AsynchronousCounter(vertx));
@@ -137,6 +167,16 @@ public class SharedDataImpl implements SharedData {
     return context.succeededFuture(counter);
   }
 
+  @Override
+  public LocalCounter getLocalCounter(String name, LocalCounterOptions options) {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(options, "null options");
+    if (options.isStriped()) {
+      return stripedCounters.computeIfAbsent(name, n -> new StripedCounter());
+    }
+    return localCounters.computeIfAbsent(name, n -> new AsynchronousCounter(vertx));
+  }
+
   private static void checkType(Object obj) {
     if (obj == null) {
       throw new IllegalArgumentException("Cannot put null in key or value of async map");
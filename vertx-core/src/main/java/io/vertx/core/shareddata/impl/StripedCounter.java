@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+import io.vertx.core.shareddata.LocalCounter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local counter backed by a {@link LongAdder}: contended updates are spread over padded cells instead of a single
+ * memory location, so event loops updating the counter concurrently do not share a cache line.
+ * <p>
+ * It does not implement {@link io.vertx.core.shareddata.Counter}, a {@link LongAdder} cannot honour its atomic
+ * read-modify-write operations.
+ */
+public class StripedCounter implements LocalCounter {
+
+  private final LongAdder adder = new LongAdder();
+
+  @Override
+  public void add(long value) {
+    adder.add(value);
+  }
+
+  @Override
+  public void increment() {
+    adder.increment();
+  }
+
+  @Override
+  public void decrement() {
+    adder.decrement();
+  }
+
+  @Override
+  public long sum() {
+    return adder.sum();
+  }
+}
@@ -46,4 +46,17 @@ public interface HttpClientMetrics<R, W> extends WebSocketMetrics<W> {
   default ClientMetrics<R, HttpRequest, HttpResponse> createEndpointMetrics(SocketAddress remoteAddress, int maxPoolSize) {
     return null;
   }
+
+  /**
+   * Called when a request is served by the client response cache without waiting for the server.
+   */
+  default void cacheHit() {
+  }
+
+  /**
+   * Called when a cacheable request is not served by the client response cache, i.e. the response is fetched
+   * or revalidated with the server.
+   */
+  default void cacheMiss() {
+  }
 }
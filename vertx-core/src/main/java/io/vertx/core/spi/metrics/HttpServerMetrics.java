@@ -129,4 +129,23 @@ public interface HttpServerMetrics<R, W> extends WebSocketMetrics<W> {
    */
   default void requestRouted(R requestMetric, String route) {
   }
+
+  /**
+   * Called when a response body is sent with compressed bytes found in the compressed response cache.
+   */
+  default void compressionCacheHit() {
+  }
+
+  /**
+   * Called when a response body eligible to the compressed response cache is compressed and cached.
+   */
+  default void compressionCacheMiss() {
+  }
+
+  /**
+   * Called when a request is rejected by the server admission control, the request is answered with a {@code 503}
+   * status and is not dispatched to the request handler.
+   */
+  default void requestRejected() {
+  }
 }
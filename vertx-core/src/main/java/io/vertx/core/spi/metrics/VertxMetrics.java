@@ -158,6 +158,19 @@ public interface VertxMetrics extends Metrics, Measured {
     return null;
   }
 
+  /**
+   * Provides the cache metrics SPI.
+   * <p>
+   * No specific thread and context can be expected when this method is called.
+   *
+   * @param type the type of the cache e.g. local-async-map
+   * @param name the name of the cache
+   * @return the cache metrics SPI or {@code null} when metrics are disabled
+   */
+  default CacheMetrics createCacheMetrics(String type, String name) {
+    return null;
+  }
+
   /**
    * Callback to signal when the Vertx instance is fully initialized. Other methods can be called before this method
    * when the instance is being constructed.
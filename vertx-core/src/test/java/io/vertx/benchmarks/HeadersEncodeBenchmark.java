@@ -25,6 +25,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import static io.vertx.benchmarks.HeadersUtils.CONTENT_LENGTH_HEADER;
 import static io.vertx.benchmarks.HeadersUtils.setBaseHeaders;
 
 /**
@@ -57,6 +58,7 @@ public class HeadersEncodeBenchmark extends BenchmarkBase {
   private HttpHeaders emptyHeaders;
   private HttpHeaders nettySmallHeaders;
   private HttpHeaders vertxSmallHeaders;
+  private Http1xHeaders vertxEncodedSmallHeaders;
 
   @Setup
   public void setup() {
@@ -67,6 +69,14 @@ public class HeadersEncodeBenchmark extends BenchmarkBase {
     vertxSmallHeaders = Http1xHeaders.httpHeaders();
     setBaseHeaders(nettySmallHeaders, asciiNames, asciiValues);
     setBaseHeaders(vertxSmallHeaders, asciiNames, asciiValues);
+    // The headers shared by all responses are encoded once, only the content length is encoded per response
+    Http1xHeaders shared = Http1xHeaders.httpHeaders();
+    setBaseHeaders(shared, asciiNames, asciiValues);
+    shared.remove(io.vertx.core.http.HttpHeaders.CONTENT_LENGTH);
+    Http1xHeaders encodedSmallHeaders = Http1xHeaders.httpHeaders();
+    encodedSmallHeaders.addAll(Http1xHeaders.encoded(shared));
+    encodedSmallHeaders.add(io.vertx.core.http.HttpHeaders.CONTENT_LENGTH, CONTENT_LENGTH_HEADER);
+    vertxEncodedSmallHeaders = encodedSmallHeaders;
   }
 
   @Benchmark
@@ -89,4 +99,19 @@ public class HeadersEncodeBenchmark extends BenchmarkBase {
     encoder.encodeHeaders(vertxSmallHeaders, byteBuf);
     consume(byteBuf);
   }
+
+  @Benchmark
+  public void vertxSmallEncode() throws Exception {
+    // What VertxHttpResponseEncoder does
+    byteBuf.resetWriterIndex();
+    ((Http1xHeaders) vertxSmallHeaders).encode(byteBuf, false);
+    consume(byteBuf);
+  }
+
+  @Benchmark
+  public void vertxEncodedSmall() throws Exception {
+    byteBuf.resetWriterIndex();
+    vertxEncodedSmallHeaders.encode(byteBuf, false);
+    consume(byteBuf);
+  }
 }
@@ -87,6 +87,11 @@ public class FakeVertxMetrics extends FakeMetricsBase implements VertxMetrics {
     return new FakePoolMetrics(name, maxSize);
   }
 
+  @Override
+  public CacheMetrics createCacheMetrics(String type, String name) {
+    return new FakeCacheMetrics(name);
+  }
+
   @Override
   public void vertxCreated(Vertx vertx) {
     this.vertx = vertx;
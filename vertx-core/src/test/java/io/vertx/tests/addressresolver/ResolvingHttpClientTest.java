@@ -751,4 +751,116 @@ public class ResolvingHttpClientTest extends VertxTestBase {
     }));
     await();
   }
+
+  @Test
+  public void testHedging() throws Exception {
+    int numServers = 2;
+    startServers(numServers);
+    AtomicBoolean first = new AtomicBoolean();
+    requestHandler = (idx, req) -> {
+      if (first.compareAndSet(false, true)) {
+        // Never respond to the first request
+        return;
+      }
+      req.response().end("server-" + idx);
+    };
+    FakeAddressResolver resolver = new FakeAddressResolver();
+    resolver.registerAddress("example.com", Arrays.asList(SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT, "localhost"), SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT + 1, "localhost")));
+    HttpClientInternal client = (HttpClientInternal) vertx.httpClientBuilder()
+      .withAddressResolver(resolver)
+      .build();
+    Buffer body = awaitFuture(client.request(new RequestOptions().setServer(new FakeAddress("example.com")).setHedgingDelay(50)).compose(req -> req
+      .send()
+      .expecting(HttpResponseExpectation.SC_OK)
+      .compose(HttpClientResponse::body)
+    ));
+    assertTrue(body.toString().startsWith("server-"));
+  }
+
+  @Test
+  public void testHedgeCopiesRequestState() throws Exception {
+    int numServers = 2;
+    startServers(numServers);
+    AtomicBoolean first = new AtomicBoolean();
+    requestHandler = (idx, req) -> {
+      if (first.compareAndSet(false, true)) {
+        return;
+      }
+      req.response().end(req.getHeader("x-hedged"));
+    };
+    FakeAddressResolver resolver = new FakeAddressResolver();
+    resolver.registerAddress("example.com", Arrays.asList(SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT, "localhost"), SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT + 1, "localhost")));
+    HttpClientInternal client = (HttpClientInternal) vertx.httpClientBuilder()
+      .withAddressResolver(resolver)
+      .build();
+    Buffer body = awaitFuture(client.request(new RequestOptions().setServer(new FakeAddress("example.com")).setHedgingDelay(50)).compose(req -> req
+      .putHeader("x-hedged", "true")
+      .send()
+      .expecting(HttpResponseExpectation.SC_OK)
+      .compose(HttpClientResponse::body)
+    ));
+    assertEquals("true", body.toString());
+  }
+
+  @Test
+  public void testHedgingBudget() throws Exception {
+    int numServers = 2;
+    startServers(numServers);
+    AtomicInteger requests = new AtomicInteger();
+    requestHandler = (idx, req) -> {
+      // Never respond
+      requests.incrementAndGet();
+    };
+    FakeAddressResolver resolver = new FakeAddressResolver();
+    resolver.registerAddress("example.com", Arrays.asList(SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT, "localhost"), SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT + 1, "localhost")));
+    HttpClientInternal client = (HttpClientInternal) vertx.httpClientBuilder()
+      .with(new HttpClientConfig().setHedgingBudget(0))
+      .withAddressResolver(resolver)
+      .build();
+    client.request(new RequestOptions().setServer(new FakeAddress("example.com")).setHedgingDelay(50).setIdleTimeout(500)).compose(req -> req
+      .send()
+      .compose(HttpClientResponse::body)
+    ).onComplete(onFailure(err -> {
+      assertEquals(1, requests.get());
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testHedgingPercentile() throws Exception {
+    int numServers = 2;
+    startServers(numServers);
+    AtomicBoolean hang = new AtomicBoolean();
+    requestHandler = (idx, req) -> {
+      if (idx == 0 && hang.get()) {
+        return;
+      }
+      req.response().end("server-" + idx);
+    };
+    FakeAddressResolver resolver = new FakeAddressResolver();
+    resolver.registerAddress("example.com", Arrays.asList(SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT, "localhost"), SocketAddress.inetSocketAddress(HttpTestBase.DEFAULT_HTTP_PORT + 1, "localhost")));
+    HttpClientInternal client = (HttpClientInternal) vertx.httpClientBuilder()
+      .withLoadBalancer(LoadBalancer.LEAST_REQUESTS)
+      .withAddressResolver(resolver)
+      .build();
+    // Without inflight requests the load balancer always selects the first server
+    for (int i = 0;i < 20;i++) {
+      Buffer body = awaitFuture(client.request(new RequestOptions().setServer(new FakeAddress("example.com"))).compose(req -> req
+        .send()
+        .expecting(HttpResponseExpectation.SC_OK)
+        .compose(HttpClientResponse::body)
+      ));
+      assertEquals("server-0", body.toString());
+    }
+    hang.set(true);
+    long now = System.currentTimeMillis();
+    Buffer body = awaitFuture(client.request(new RequestOptions().setServer(new FakeAddress("example.com")).setHedgingDelay(10_000).setHedgingPercentile(50)).compose(req -> req
+      .send()
+      .expecting(HttpResponseExpectation.SC_OK)
+      .compose(HttpClientResponse::body)
+    ));
+    assertEquals("server-1", body.toString());
+    assertTrue(System.currentTimeMillis() - now < 5_000);
+  }
 }
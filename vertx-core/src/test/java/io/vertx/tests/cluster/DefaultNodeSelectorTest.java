@@ -284,4 +284,28 @@ public class DefaultNodeSelectorTest {
     ClusterView.GetRegistrationsOp get = view.assertGetRegistration();
     get.succeed("node1");
   }
+
+  @Test
+  public void testRegistrationUpdateWithSameWeightsKeepsSnapshot() {
+    DefaultNodeSelector ns = new DefaultNodeSelector();
+    ClusterView view = new ClusterView();
+    ns.init(view);
+    List<String> selected = new ArrayList<>();
+    ns.selectForSend("the-address", (result, failure) -> selected.add(result));
+    view.assertGetRegistration().succeed("node1", "node2");
+    // Same weights, the round-robin position must be preserved
+    ns.registrationsUpdated(new RegistrationUpdateEvent("the-address", registrations("node2", "node1")));
+    ns.selectForSend("the-address", (result, failure) -> selected.add(result));
+    assertEquals(2, selected.size());
+    assertEquals(new HashSet<>(Arrays.asList("node1", "node2")), new HashSet<>(selected));
+    // Different weights
+    ns.registrationsUpdated(new RegistrationUpdateEvent("the-address", registrations("node1", "node1", "node2", "node2", "node2")));
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0;i < 30;i++) {
+      ns.selectForSend("the-address", (result, failure) -> counts.merge(result, 1, Integer::sum));
+    }
+    assertEquals(10, (int) counts.get("node1"));
+    assertEquals(20, (int) counts.get("node2"));
+    view.assertEmpty();
+  }
 }
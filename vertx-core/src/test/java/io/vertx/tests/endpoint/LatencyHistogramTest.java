@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.endpoint;
+
+import io.vertx.core.net.endpoint.DefaultInteractionMetric;
+import io.vertx.core.net.endpoint.DefaultInteractionMetrics;
+import io.vertx.core.net.endpoint.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.count());
+    assertEquals(0, histogram.min());
+    assertEquals(0, histogram.max());
+    assertEquals(0, histogram.valueAtPercentile(99));
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0;i < 16;i++) {
+      histogram.record(i);
+    }
+    assertEquals(16, histogram.count());
+    assertEquals(0, histogram.min());
+    assertEquals(15, histogram.max());
+    assertEquals(7, histogram.valueAtPercentile(50));
+  }
+
+  @Test
+  public void testRelativeError() {
+    for (long value = 16;value < LatencyHistogram.MAX_VALUE;value = value * 3 / 2 + 7) {
+      LatencyHistogram single = new LatencyHistogram();
+      single.record(value);
+      long max = single.max();
+      long min = single.min();
+      assertTrue(min <= value && value <= max);
+      assertTrue((max - min) <= value / 16);
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1;i <= 1000;i++) {
+      histogram.record(i * 1000L);
+    }
+    assertEquals(1000, histogram.count());
+    assertWithin(500_000, histogram.valueAtPercentile(50));
+    assertWithin(990_000, histogram.valueAtPercentile(99));
+    assertWithin(1_000_000, histogram.valueAtPercentile(100));
+    assertWithin(1000, histogram.valueAtPercentile(0));
+  }
+
+  @Test
+  public void testWindow() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram(TimeUnit.MILLISECONDS.toNanos(200));
+    histogram.record(1000);
+    assertEquals(1, histogram.count());
+    Thread.sleep(220);
+    // The value belongs to the previous interval
+    histogram.record(2000);
+    assertEquals(2, histogram.count());
+    assertWithin(1000, histogram.min());
+    Thread.sleep(220);
+    // The first value is discarded
+    assertEquals(1, histogram.count());
+    assertWithin(2000, histogram.min());
+    assertWithin(2000, histogram.valueAtPercentile(50));
+    Thread.sleep(440);
+    assertEquals(0, histogram.count());
+    assertEquals(0, histogram.max());
+  }
+
+  @Test
+  public void testOutOfRange() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(0, histogram.min());
+    assertEquals(LatencyHistogram.MAX_VALUE, histogram.max());
+    try {
+      histogram.valueAtPercentile(101);
+      fail();
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  @Test
+  public void testInteractionMetrics() throws Exception {
+    DefaultInteractionMetrics metrics = new DefaultInteractionMetrics();
+    assertEquals(-1, metrics.minResponseTime());
+    assertEquals(0, metrics.maxResponseTime());
+    DefaultInteractionMetric metric = metrics.initiateRequest();
+    metrics.reportRequestBegin(metric);
+    metrics.reportRequestEnd(metric);
+    Thread.sleep(20);
+    metrics.reportResponseBegin(metric);
+    metrics.reportResponseEnd(metric);
+    metric = metrics.initiateRequest();
+    metrics.reportRequestBegin(metric);
+    metrics.reportFailure(metric, new Exception());
+    assertEquals(1, metrics.responseTimes().count());
+    assertTrue(metrics.responseTimes().valueAtPercentile(50) >= 20_000_000);
+    assertTrue(metrics.minResponseTime() >= 18);
+    assertTrue(metrics.maxResponseTime() >= 20);
+    assertEquals(0, metrics.numberOfInflightRequests());
+    assertEquals(1, metrics.numberOfFailures());
+  }
+
+  private static void assertWithin(long expected, long actual) {
+    assertTrue("Expected " + actual + " to be within 6.25% of " + expected, Math.abs(actual - expected) <= expected / 16);
+  }
+}
@@ -12,20 +12,28 @@ package io.vertx.tests.endpoint;
 
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.endpoint.*;
+import io.vertx.core.net.endpoint.impl.ConsistentHashingSelector;
 import io.vertx.test.core.TestUtils;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.vertx.core.net.endpoint.LoadBalancer.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 public class LoadBalancingTest {
 
   ServerEndpoint endpointOf(LoadBalancer loadBalancer) {
+    return endpointOf(loadBalancer, "");
+  }
+
+  ServerEndpoint endpointOf(LoadBalancer loadBalancer, String key) {
     InteractionMetrics<?> metrics = loadBalancer.newMetrics();
     return new ServerEndpoint() {
       @Override
@@ -34,7 +42,7 @@ public class LoadBalancingTest {
       }
       @Override
       public String key() {
-        return "";
+        return key;
       }
       @Override
       public String protocolId() {
@@ -150,4 +158,246 @@ public class LoadBalancingTest {
       bitset |= 1 << res;
     }
   }
+
+  @Test
+  public void testConsistentHashingWithBoundedLoads() {
+    LoadBalancer loadBalancer = LoadBalancer.consistentHashing(4, 1.25, RANDOM);
+    List<ServerEndpoint> servers = new ArrayList<>();
+    for (int i = 0;i < 4;i++) {
+      servers.add(endpointOf(loadBalancer, "server-" + i));
+    }
+    ServerSelector selector = loadBalancer.selector(servers);
+    String key = TestUtils.randomAlphaString(40);
+    int idx = selector.select(key);
+    // Affinity is kept while the load is balanced
+    for (int i = 0;i < 16;i++) {
+      assertEquals(idx, selector.select(key));
+    }
+    // The hot key spills over other servers
+    int[] loads = new int[servers.size()];
+    for (int i = 0;i < 100;i++) {
+      int selected = selector.select(key);
+      servers.get(selected).metrics().initiateRequest();
+      loads[selected]++;
+    }
+    for (int load : loads) {
+      // ceil(1.25 * 100 / 4)
+      assertTrue(load <= 32);
+    }
+    assertTrue(loads[idx] >= 25);
+  }
+
+  @Test
+  public void testConsistentHashingWithBoundedLoadsReleasesLoad() throws Exception {
+    LoadBalancer loadBalancer = LoadBalancer.consistentHashing(4, 1.25, RANDOM);
+    List<ServerEndpoint> servers = new ArrayList<>();
+    for (int i = 0;i < 4;i++) {
+      servers.add(endpointOf(loadBalancer, "server-" + i));
+    }
+    ServerSelector selector = loadBalancer.selector(servers);
+    String key = TestUtils.randomAlphaString(40);
+    int idx = selector.select(key);
+    // Completed interactions do not count as load
+    for (int i = 0;i < 100;i++) {
+      int selected = selector.select(key);
+      assertEquals(idx, selected);
+      interact(servers.get(selected), 0);
+      fail(servers.get(selected));
+    }
+  }
+
+  @Test
+  public void testConsistentHashingWithBoundedLoadsRebuildSelector() throws Exception {
+    LoadBalancer loadBalancer = LoadBalancer.consistentHashing(4, 1.25, RANDOM);
+    List<ServerEndpoint> servers = new ArrayList<>();
+    for (int i = 0;i < 4;i++) {
+      servers.add(endpointOf(loadBalancer, "server-" + i));
+    }
+    InteractionMetrics<Object> metrics = (InteractionMetrics<Object>) servers.get(0).metrics();
+    Object inflight = metrics.initiateRequest();
+    // Rebuild the selector on each change of the list of servers, the inflight requests are counted by each selector
+    ConsistentHashingSelector selector = null;
+    for (int i = 0;i < 100;i++) {
+      selector = (ConsistentHashingSelector) loadBalancer.selector(servers);
+      interact(servers.get(i % 4), 0);
+      assertEquals(1, selector.load());
+    }
+    metrics.initiateRequest();
+    assertEquals(2, selector.load());
+    metrics.reportFailure(inflight, new Exception());
+    assertEquals(1, selector.load());
+  }
+
+  @Test
+  public void testConsistentHashingWithBoundedLoadsRequiresLoadMetrics() {
+    LoadBalancer loadBalancer = LoadBalancer.consistentHashing(4, 1.25, RANDOM);
+    List<ServerEndpoint> servers = new ArrayList<>();
+    for (int i = 0;i < 4;i++) {
+      servers.add(endpointOf(RANDOM, "server-" + i));
+    }
+    assertThrows(IllegalArgumentException.class, () -> loadBalancer.selector(servers));
+  }
+
+  @Test
+  public void testPeakEwma() throws Exception {
+    ServerEndpoint e1 = endpointOf(PEAK_EWMA);
+    ServerEndpoint e2 = endpointOf(PEAK_EWMA);
+    ServerEndpoint e3 = endpointOf(PEAK_EWMA);
+    ServerSelector selector = LoadBalancer.PEAK_EWMA.selector(Arrays.asList(e1, e2, e3));
+    interact(e1, 20);
+    interact(e2, 0);
+    // e3 has not been used yet
+    assertEquals(2, selector.select());
+    // e3 is probed with a single request until it responds
+    ((InteractionMetrics<Object>) e3.metrics()).initiateRequest();
+    assertEquals(1, selector.select());
+    // e2 remains faster than e1 with a few inflight requests
+    InteractionMetrics<Object> m2 = (InteractionMetrics<Object>) e2.metrics();
+    for (int i = 0;i < 3;i++) {
+      m2.initiateRequest();
+    }
+    assertEquals(1, selector.select());
+    // e2 becomes slower than e1
+    interact(e2, 100);
+    assertEquals(0, selector.select());
+    PeakEwmaInteractionMetrics metrics = (PeakEwmaInteractionMetrics) e2.metrics();
+    assertTrue(metrics.averageResponseTime() >= 100_000_000D);
+  }
+
+  @Test
+  public void testPeakEwmaFailurePenalty() throws Exception {
+    ServerEndpoint e1 = endpointOf(PEAK_EWMA);
+    ServerEndpoint e2 = endpointOf(PEAK_EWMA);
+    ServerSelector selector = LoadBalancer.PEAK_EWMA.selector(Arrays.asList(e1, e2));
+    interact(e1, 20);
+    // e2 fails fast, it must not look faster than e1
+    fail(e2);
+    assertEquals(0, selector.select());
+  }
+
+  @Test
+  public void testPeakEwmaRecoversAfterFailure() throws Exception {
+    LoadBalancer loadBalancer = LoadBalancer.peakEwma(TimeUnit.SECONDS.toNanos(1), 2, TimeUnit.SECONDS.toNanos(1));
+    ServerEndpoint e1 = endpointOf(loadBalancer);
+    ServerEndpoint e2 = endpointOf(loadBalancer);
+    ServerSelector selector = loadBalancer.selector(Arrays.asList(e1, e2));
+    interact(e1, 20);
+    interact(e2, 20);
+    fail(e2);
+    // The failure is charged a multiple of the average, not the decay time
+    PeakEwmaInteractionMetrics metrics = (PeakEwmaInteractionMetrics) e2.metrics();
+    assertTrue(metrics.averageResponseTime() < TimeUnit.MILLISECONDS.toNanos(200));
+    assertEquals(0, selector.select());
+    // e2 is selected again once the penalty decays
+    long now = System.currentTimeMillis();
+    while (selector.select() != 1) {
+      assertTrue(System.currentTimeMillis() - now < 5_000);
+      interact(e1, 20);
+    }
+  }
+
+  @Test
+  public void testPeakEwmaRandomTieBreak() {
+    ServerEndpoint e1 = endpointOf(PEAK_EWMA);
+    ServerEndpoint e2 = endpointOf(PEAK_EWMA);
+    ServerEndpoint e3 = endpointOf(PEAK_EWMA);
+    ServerSelector selector = LoadBalancer.PEAK_EWMA.selector(Arrays.asList(e1, e2, e3));
+    int bitset = 0;
+    for (int i = 0;i < 100;i++) {
+      bitset |= 1 << selector.select();
+    }
+    assertEquals(0b111, bitset);
+  }
+
+  @Test
+  public void testOutlierDetectionConsecutiveFailures() throws Exception {
+    LoadBalancer loadBalancer = LoadBalancer.outlierDetection(ROUND_ROBIN, new OutlierDetectionOptions()
+      .setConsecutiveFailures(3)
+      .setBaseEjectionTime(100)
+      .setMaxEjectionPercent(50));
+    ServerEndpoint e1 = endpointOf(loadBalancer);
+    ServerEndpoint e2 = endpointOf(loadBalancer);
+    ServerEndpoint e3 = endpointOf(loadBalancer);
+    ServerSelector selector = loadBalancer.selector(Arrays.asList(e1, e2, e3));
+    fail(e2);
+    fail(e2);
+    interact(e2, 0);
+    fail(e2);
+    fail(e2);
+    assertEquals(0, selector.select());
+    assertEquals(1, selector.select());
+    fail(e2);
+    for (int i = 0;i < 6;i++) {
+      assertTrue(selector.select() != 1);
+    }
+    // The ejection time elapses
+    Thread.sleep(150);
+    int bitset = 0;
+    for (int i = 0;i < 3;i++) {
+      bitset |= 1 << selector.select();
+    }
+    assertEquals(0b111, bitset);
+  }
+
+  @Test
+  public void testOutlierDetectionFailureRate() throws Exception {
+    LoadBalancer loadBalancer = LoadBalancer.outlierDetection(LEAST_REQUESTS, new OutlierDetectionOptions()
+      .setConsecutiveFailures(0)
+      .setFailureRateThreshold(50)
+      .setFailureRateMinimumRequests(4)
+      .setMaxEjectionPercent(50));
+    ServerEndpoint e1 = endpointOf(loadBalancer);
+    ServerEndpoint e2 = endpointOf(loadBalancer);
+    ServerSelector selector = loadBalancer.selector(Arrays.asList(e1, e2));
+    ((InteractionMetrics<Object>) e2.metrics()).initiateRequest();
+    assertEquals(0, selector.select());
+    for (int i = 0;i < 2;i++) {
+      interact(e1, 0);
+      fail(e1);
+    }
+    assertEquals(1, selector.select());
+  }
+
+  @Test
+  public void testOutlierDetectionMaxEjections() throws Exception {
+    LoadBalancer loadBalancer = LoadBalancer.outlierDetection(ROUND_ROBIN, new OutlierDetectionOptions()
+      .setConsecutiveFailures(1)
+      .setMaxEjectionPercent(10));
+    List<ServerEndpoint> servers = new ArrayList<>();
+    for (int i = 0;i < 4;i++) {
+      servers.add(endpointOf(loadBalancer));
+    }
+    ServerSelector selector = loadBalancer.selector(servers);
+    for (ServerEndpoint server : servers) {
+      fail(server);
+    }
+    // A single server is ejected
+    int bitset = 0;
+    for (int i = 0;i < 12;i++) {
+      bitset |= 1 << selector.select();
+    }
+    assertEquals(0b1110, bitset);
+    // The last server of an endpoint is never ejected
+    ServerEndpoint server = endpointOf(loadBalancer);
+    selector = loadBalancer.selector(Collections.singletonList(server));
+    fail(server);
+    assertEquals(0, selector.select());
+  }
+
+  private static void fail(ServerEndpoint endpoint) {
+    InteractionMetrics<Object> metrics = (InteractionMetrics<Object>) endpoint.metrics();
+    Object metric = metrics.initiateRequest();
+    metrics.reportRequestBegin(metric);
+    metrics.reportFailure(metric, new Exception());
+  }
+
+  private static void interact(ServerEndpoint endpoint, long responseTime) throws Exception {
+    InteractionMetrics<Object> metrics = (InteractionMetrics<Object>) endpoint.metrics();
+    Object metric = metrics.initiateRequest();
+    metrics.reportRequestBegin(metric);
+    metrics.reportRequestEnd(metric);
+    Thread.sleep(responseTime);
+    metrics.reportResponseBegin(metric);
+    metrics.reportResponseEnd(metric);
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.tests.eventbus;
+
+import io.vertx.core.Context;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.eventbus.EventBusOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.core.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the clustered event bus with batched writes.
+ */
+public class ClusteredEventBusWithBatchingTest extends ClusteredEventBusTestBase {
+
+  private final EventBusOptions options;
+
+  public ClusteredEventBusWithBatchingTest() {
+    options = new EventBusOptions()
+      .setClusterWriteBatching(true)
+      .setClusterWriteBatchMaxSize(4096);
+  }
+
+  @Override
+  protected void startNodes(int numNodes) {
+    super.startNodes(numNodes, new VertxOptions().setEventBusOptions(options));
+  }
+
+  @Test
+  public void testBatchPreservesOrdering() {
+    int num = 1024;
+    startNodes(2);
+    AtomicInteger received = new AtomicInteger();
+    vertices[1].eventBus().<JsonObject>consumer(ADDRESS1, msg -> {
+      int val = received.getAndIncrement();
+      Assert.assertEquals(val, (int) msg.body().getInteger("seq"));
+      if (val == num - 1) {
+        testComplete();
+      }
+    }).completion().await();
+    Context ctx = vertices[0].getOrCreateContext();
+    ctx.runOnContext(v -> {
+      for (int i = 0;i < num;i++) {
+        // Some messages exceed the max batch size on their own
+        String padding = TestUtils.randomAlphaString(i % 64 == 0 ? 8192 : 16);
+        vertices[0].eventBus().send(ADDRESS1, new JsonObject().put("seq", i).put("padding", padding));
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testBatchWithLinger() {
+    options.setClusterWriteBatchMaxLinger(5);
+    startNodes(2);
+    waitFor(3);
+    vertices[1].eventBus().consumer(ADDRESS1, msg -> complete()).completion().await();
+    vertices[0].eventBus().send(ADDRESS1, "foo");
+    vertices[0].eventBus().send(ADDRESS1, "bar");
+    vertices[0].eventBus().send(ADDRESS1, "juu");
+    await();
+  }
+
+  @Test
+  public void testOptionsJson() {
+    EventBusOptions copy = new EventBusOptions(new EventBusOptions()
+      .setClusterWriteBatching(true)
+      .setClusterWriteBatchMaxSize(1234)
+      .setClusterWriteBatchMaxLinger(10)
+      .toJson());
+    Assert.assertTrue(copy.isClusterWriteBatching());
+    Assert.assertEquals(1234, copy.getClusterWriteBatchMaxSize());
+    Assert.assertEquals(10, copy.getClusterWriteBatchMaxLinger());
+  }
+}
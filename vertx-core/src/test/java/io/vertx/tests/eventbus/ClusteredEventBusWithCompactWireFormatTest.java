@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.tests.eventbus;
+
+import io.vertx.core.Context;
+import io.vertx.core.MultiMap;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBusOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.eventbus.impl.CodecManager;
+import io.vertx.core.eventbus.impl.clustered.ClusteredEventBus;
+import io.vertx.core.eventbus.impl.clustered.ClusteredMessage;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.spi.cluster.NodeInfo;
+import io.vertx.test.core.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the clustered event bus with the compact wire format.
+ */
+public class ClusteredEventBusWithCompactWireFormatTest extends ClusteredEventBusTestBase {
+
+  private final EventBusOptions options;
+
+  public ClusteredEventBusWithCompactWireFormatTest() {
+    options = new EventBusOptions()
+      .setClusterCompactWireFormat(true);
+  }
+
+  @Override
+  protected void startNodes(int numNodes) {
+    super.startNodes(numNodes, new VertxOptions().setEventBusOptions(options));
+  }
+
+  @Test
+  public void testManyAddresses() {
+    int numAddresses = 16;
+    int num = 512;
+    startNodes(2);
+    AtomicInteger received = new AtomicInteger();
+    for (int i = 0;i < numAddresses;i++) {
+      String address = ADDRESS1 + "-" + i;
+      vertices[1].eventBus().<String>consumer(address, msg -> {
+        Assert.assertEquals(address, msg.address());
+        Assert.assertEquals(address, msg.body());
+        Assert.assertEquals(address, msg.headers().get("address"));
+        if (received.incrementAndGet() == num) {
+          testComplete();
+        }
+      }).completion().await();
+    }
+    Context ctx = vertices[0].getOrCreateContext();
+    ctx.runOnContext(v -> {
+      for (int i = 0;i < num;i++) {
+        String address = ADDRESS1 + "-" + (i % numAddresses);
+        vertices[0].eventBus().send(address, address, new DeliveryOptions().addHeader("address", address));
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testManyRequests() {
+    int num = 256;
+    startNodes(2);
+    vertices[1].eventBus().<Integer>consumer(ADDRESS1, msg -> msg.reply(msg.body() + 1)).completion().await();
+    AtomicInteger replies = new AtomicInteger();
+    for (int i = 0;i < num;i++) {
+      int val = i;
+      vertices[0].eventBus().<Integer>request(ADDRESS1, val).onComplete(onSuccess((Message<Integer> reply) -> {
+        Assert.assertEquals(val + 1, (int) reply.body());
+        if (replies.incrementAndGet() == num) {
+          testComplete();
+        }
+      }));
+    }
+    await();
+  }
+
+  @Test
+  public void testUserCodec() {
+    startNodes(2);
+    MessageCodec<MyPOJO, String> codec = new MyPOJOEncoder1();
+    vertices[0].eventBus().registerCodec(codec);
+    vertices[1].eventBus().registerCodec(codec);
+    String str = TestUtils.randomAlphaString(100);
+    waitFor(2);
+    vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> {
+      Assert.assertEquals(str, msg.body());
+      complete();
+    }).completion().await();
+    vertices[0].eventBus().send(ADDRESS1, new MyPOJO(str), new DeliveryOptions().setCodecName(codec.name()));
+    vertices[0].eventBus().send(ADDRESS1, new MyPOJO(str), new DeliveryOptions().setCodecName(codec.name()));
+    await();
+  }
+
+  @Test
+  public void testWithBatchingAndZeroCopy() {
+    options
+      .setClusterWriteBatching(true)
+      .setClusterZeroCopyDecoding(true);
+    testManyAddresses();
+  }
+
+  @Test
+  public void testMalformedFrameClosesConnection() {
+    startNodes(1);
+    NodeInfo nodeInfo = ((VertxInternal) vertices[0]).clusterManager().getNodeInfo();
+    NetSocket so = vertices[0].createNetClient().connect(nodeInfo.port(), nodeInfo.host()).await();
+    so.handler(buff -> {
+      // Handshake acknowledged, send a frame referencing an unknown dictionary entry
+      Buffer frame = Buffer.buffer()
+        .appendInt(3)
+        .appendByte((byte) 3)
+        .appendByte((byte) -1)
+        .appendByte((byte) 4);
+      so.write(frame);
+    });
+    so.closeHandler(v -> testComplete());
+    ClusteredMessage<String, String> handshake = new ClusteredMessage<>(
+      "test",
+      "__vertx_ping",
+      MultiMap.caseInsensitiveMultiMap().add("__vertx.wire.dictionary", "3"),
+      null,
+      CodecManager.PING_MESSAGE_CODEC,
+      true,
+      (ClusteredEventBus) vertices[0].eventBus());
+    so.write(handshake.encodeToWire());
+    await();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.tests.eventbus;
+
+import io.vertx.core.Context;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.eventbus.EventBusOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the clustered event bus with several connections per remote node.
+ */
+public class ClusteredEventBusWithConnectionsPerNodeTest extends ClusteredEventBusTestBase {
+
+  private final EventBusOptions options;
+
+  public ClusteredEventBusWithConnectionsPerNodeTest() {
+    options = new EventBusOptions()
+      .setClusterConnectionsPerNode(4);
+  }
+
+  @Override
+  protected void startNodes(int numNodes) {
+    super.startNodes(numNodes, new VertxOptions().setEventBusOptions(options));
+  }
+
+  @Test
+  public void testOrderingPerAddress() {
+    int numAddresses = 8;
+    int num = 256;
+    startNodes(2);
+    waitFor(numAddresses);
+    for (int i = 0;i < numAddresses;i++) {
+      AtomicInteger received = new AtomicInteger();
+      vertices[1].eventBus().<JsonObject>consumer(ADDRESS1 + "-" + i, msg -> {
+        int val = received.getAndIncrement();
+        Assert.assertEquals(val, (int) msg.body().getInteger("seq"));
+        if (val == num - 1) {
+          complete();
+        }
+      }).completion().await();
+    }
+    Context ctx = vertices[0].getOrCreateContext();
+    ctx.runOnContext(v -> {
+      for (int i = 0;i < num;i++) {
+        for (int j = 0;j < numAddresses;j++) {
+          vertices[0].eventBus().send(ADDRESS1 + "-" + j, new JsonObject().put("seq", i));
+        }
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testRequestReply() {
+    int num = 64;
+    startNodes(2);
+    vertices[1].eventBus().<Integer>consumer(ADDRESS1, msg -> msg.reply(msg.body() + 1)).completion().await();
+    AtomicInteger replies = new AtomicInteger();
+    for (int i = 0;i < num;i++) {
+      int val = i;
+      vertices[0].eventBus().<Integer>request(ADDRESS1, val).onComplete(onSuccess((Message<Integer> reply) -> {
+        Assert.assertEquals(val + 1, (int) reply.body());
+        if (replies.incrementAndGet() == num) {
+          testComplete();
+        }
+      }));
+    }
+    await();
+  }
+
+  @Test
+  public void testOptionsJson() {
+    EventBusOptions copy = new EventBusOptions(new EventBusOptions()
+      .setClusterConnectionsPerNode(3)
+      .toJson());
+    Assert.assertEquals(3, copy.getClusterConnectionsPerNode());
+    Assert.assertThrows(IllegalArgumentException.class, () -> new EventBusOptions().setClusterConnectionsPerNode(0));
+  }
+}
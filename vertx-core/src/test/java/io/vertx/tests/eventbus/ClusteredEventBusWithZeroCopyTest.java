@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.tests.eventbus;
+
+import io.vertx.core.Context;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBusOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.MessageConsumerOptions;
+import io.vertx.test.core.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the clustered event bus with zero-copy decoding of inbound messages.
+ */
+public class ClusteredEventBusWithZeroCopyTest extends ClusteredEventBusTestBase {
+
+  private final EventBusOptions options;
+
+  public ClusteredEventBusWithZeroCopyTest() {
+    options = new EventBusOptions()
+      .setClusterZeroCopyDecoding(true);
+  }
+
+  @Override
+  protected void startNodes(int numNodes) {
+    super.startNodes(numNodes, new VertxOptions().setEventBusOptions(options));
+  }
+
+  @Test
+  public void testLargeMessagesSpanningReads() {
+    int num = 64;
+    startNodes(2);
+    Buffer expected = TestUtils.randomBuffer(256 * 1024);
+    AtomicInteger received = new AtomicInteger();
+    vertices[1].eventBus().<Buffer>consumer(ADDRESS1, msg -> {
+      Assert.assertEquals(expected, msg.body());
+      Assert.assertEquals("" + received.get(), msg.headers().get("seq"));
+      if (received.incrementAndGet() == num) {
+        testComplete();
+      }
+    }).completion().await();
+    Context ctx = vertices[0].getOrCreateContext();
+    ctx.runOnContext(v -> {
+      for (int i = 0;i < num;i++) {
+        vertices[0].eventBus().send(ADDRESS1, expected, new DeliveryOptions().addHeader("seq", "" + i));
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testBodyDecodedAfterHandlerReturns() {
+    startNodes(2);
+    String str = TestUtils.randomUnicodeString(1000);
+    vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> {
+      // Decode the message after the handler returned
+      vertices[1].setTimer(10, id -> {
+        Assert.assertEquals(str, msg.body());
+        Assert.assertEquals("bar", msg.headers().get("foo"));
+        testComplete();
+      });
+    }).completion().await();
+    vertices[0].eventBus().send(ADDRESS1, str, new DeliveryOptions().addHeader("foo", "bar"));
+    await();
+  }
+
+  @Test
+  public void testBodyDecodedByDeferredInterceptor() {
+    startNodes(2);
+    String str = TestUtils.randomUnicodeString(1000);
+    // The message is dispatched after the registration released it
+    vertices[1].eventBus().addInboundInterceptor(ctx -> vertices[1].setTimer(10, id -> ctx.next()));
+    vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> {
+      Assert.assertEquals(str, msg.body());
+      Assert.assertEquals("bar", msg.headers().get("foo"));
+      testComplete();
+    }).completion().await();
+    vertices[0].eventBus().send(ADDRESS1, str, new DeliveryOptions().addHeader("foo", "bar"));
+    await();
+  }
+
+  @Test
+  public void testPausedConsumerBacklog() {
+    int num = 2000;
+    startNodes(2);
+    AtomicInteger received = new AtomicInteger();
+    MessageConsumerOptions options = new MessageConsumerOptions().setAddress(ADDRESS1).setMaxBufferedMessages(num);
+    MessageConsumer<String> consumer = vertices[1].eventBus().<String>consumer(options, msg -> {
+      Assert.assertEquals("msg-" + received.get(), msg.body());
+      if (received.incrementAndGet() == num) {
+        testComplete();
+      }
+    });
+    consumer.pause();
+    consumer.completion().await();
+    Context ctx = vertices[0].getOrCreateContext();
+    ctx.runOnContext(v -> {
+      for (int i = 0;i < num;i++) {
+        vertices[0].eventBus().send(ADDRESS1, "msg-" + i);
+      }
+    });
+    // The messages beyond the retained slices limit are copied while the consumer is paused
+    vertices[1].setTimer(500, id -> consumer.resume());
+    await();
+  }
+
+  @Test
+  public void testPublishToSeveralHandlers() {
+    startNodes(2);
+    waitFor(3);
+    String str = TestUtils.randomAlphaString(100);
+    for (int i = 0;i < 3;i++) {
+      vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> {
+        Assert.assertEquals(str, msg.body());
+        complete();
+      }).completion().await();
+    }
+    vertices[0].eventBus().publish(ADDRESS1, str);
+    await();
+  }
+
+  @Test
+  public void testRequestReply() {
+    startNodes(2);
+    vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> msg.reply(msg.body() + "-pong")).completion().await();
+    vertices[0].eventBus().<String>request(ADDRESS1, "ping").onComplete(onSuccess((Message<String> reply) -> {
+      Assert.assertEquals("ping-pong", reply.body());
+      testComplete();
+    }));
+    await();
+  }
+}
@@ -47,6 +47,7 @@ import io.vertx.test.http.HttpConfigurator;
 import io.vertx.test.tls.Cert;
 import org.junit.*;
 
+import java.io.File;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
@@ -199,6 +200,10 @@ public class Http1xTest extends HttpTest {
     assertIllegalArgumentException(() -> options.setPipeliningLimit(0));
     assertIllegalArgumentException(() -> options.setPipeliningLimit(-1));
 
+    assertFalse(options.isAdaptivePipelining());
+    assertEquals(options, options.setAdaptivePipelining(true));
+    assertTrue(options.isAdaptivePipelining());
+
     assertEquals(HttpClientOptions.DEFAULT_HTTP2_MULTIPLEXING_LIMIT, options.getHttp2MultiplexingLimit());
     rand = TestUtils.randomPositiveInt();
     assertEquals(options, options.setHttp2MultiplexingLimit(rand));
@@ -1106,6 +1111,148 @@ public class Http1xTest extends HttpTest {
     });
   }
 
+  @Test
+  public void testConcurrentPipelining() throws Exception {
+    int requests = 40;
+    int maxConcurrentRequests = 4;
+    File file = setupFile("somefile.txt", "This is file content");
+    AtomicInteger inflight = new AtomicInteger();
+    AtomicInteger maxInflight = new AtomicInteger();
+    vertx.deployVerticle(new VerticleBase() {
+        @Override
+        public Future<?> start() {
+          HttpServerConfig serverConfig = config.forServer().config();
+          serverConfig.getHttp1Config().setMaxConcurrentPipelinedRequests(maxConcurrentRequests);
+          HttpServer server = vertx.httpServerBuilder()
+            .with(serverConfig)
+            .with(config.forServer().sslOptions())
+            .build();
+          server.requestHandler(req -> {
+            maxInflight.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+            int count = Integer.parseInt(req.getHeader("count"));
+            // Reply after a random time so the responses of the pipelined requests are not ended in order
+            vertx.setTimer(1 + (long) (10 * Math.random()), id -> {
+              inflight.decrementAndGet();
+              req.response().putHeader("count", String.valueOf(count));
+              if (count % 5 == 0) {
+                req.response().sendFile(file.getAbsolutePath());
+              } else {
+                req.response().end("This is content " + count);
+              }
+            });
+          });
+          return server.listen(testAddress);
+        }
+      }, new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER))
+      .await(20, TimeUnit.SECONDS);
+    client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true).setPipelining(true), new PoolOptions().setHttp1MaxSize(1));
+    List<Future<String>> responses = new ArrayList<>();
+    for (int count = 0; count < requests; count++) {
+      responses.add(client
+        .request(new RequestOptions(requestOptions).putHeader("count", String.valueOf(count)))
+        .compose(req -> req
+          .send()
+          .compose(resp -> resp.body().map(body -> resp.getHeader("count") + ":" + body))));
+    }
+    for (int count = 0; count < requests; count++) {
+      String expected = count % 5 == 0 ? "This is file content" : "This is content " + count;
+      assertEquals(count + ":" + expected, responses.get(count).await());
+    }
+    assertTrue(maxInflight.get() > 1);
+    assertTrue(maxInflight.get() <= maxConcurrentRequests);
+  }
+
+  @Test
+  public void testConcurrentPipeliningVirtualThread() throws Exception {
+    Assume.assumeTrue(vertx.isVirtualThreadAvailable());
+    int requests = 20;
+    int maxConcurrentRequests = 4;
+    AtomicInteger inflight = new AtomicInteger();
+    AtomicInteger maxInflight = new AtomicInteger();
+    vertx.deployVerticle(new VerticleBase() {
+        @Override
+        public Future<?> start() {
+          HttpServerConfig serverConfig = config.forServer().config();
+          serverConfig.getHttp1Config().setMaxConcurrentPipelinedRequests(maxConcurrentRequests);
+          HttpServer server = vertx.httpServerBuilder()
+            .with(serverConfig)
+            .with(config.forServer().sslOptions())
+            .build();
+          server.requestHandler(req -> {
+            maxInflight.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+            int count = Integer.parseInt(req.getHeader("count"));
+            // Awaiting releases the context to the handlers of the next pipelined requests
+            vertx.timer(1 + (long) (10 * Math.random())).await();
+            inflight.decrementAndGet();
+            req.response().end("This is content " + count);
+          });
+          return server.listen(testAddress);
+        }
+      }, new DeploymentOptions().setThreadingModel(ThreadingModel.VIRTUAL_THREAD))
+      .await(20, TimeUnit.SECONDS);
+    client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true).setPipelining(true), new PoolOptions().setHttp1MaxSize(1));
+    List<Future<String>> responses = new ArrayList<>();
+    for (int count = 0; count < requests; count++) {
+      responses.add(client
+        .request(new RequestOptions(requestOptions).putHeader("count", String.valueOf(count)))
+        .compose(req -> req
+          .send()
+          .compose(HttpClientResponse::body))
+        .map(Buffer::toString));
+    }
+    for (int count = 0; count < requests; count++) {
+      assertEquals("This is content " + count, responses.get(count).await());
+    }
+    assertTrue(maxInflight.get() > 1);
+    assertTrue(maxInflight.get() <= maxConcurrentRequests);
+  }
+
+  @Test
+  public void testConcurrentPipeliningWriteQueueFull() throws Exception {
+    String chunk = TestUtils.randomAlphaString(512);
+    AtomicInteger chunks = new AtomicInteger();
+    vertx.deployVerticle(new VerticleBase() {
+        @Override
+        public Future<?> start() {
+          HttpServerConfig serverConfig = config.forServer().config();
+          serverConfig.getHttp1Config().setMaxConcurrentPipelinedRequests(2);
+          HttpServer server = vertx.httpServerBuilder()
+            .with(serverConfig)
+            .with(config.forServer().sslOptions())
+            .build();
+          server.requestHandler(req -> {
+            HttpServerResponse resp = req.response();
+            if (req.path().equals("/first")) {
+              // Delay the first response so the second one is buffered until its turn
+              vertx.setTimer(500, id -> resp.end("first"));
+              return;
+            }
+            resp.setWriteQueueMaxSize(1024).setChunked(true);
+            while (!resp.writeQueueFull() && chunks.get() < 100) {
+              chunks.incrementAndGet();
+              resp.write(chunk);
+            }
+            resp.drainHandler(v -> resp.end());
+          });
+          return server.listen(testAddress);
+        }
+      }, new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER))
+      .await(20, TimeUnit.SECONDS);
+    client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true).setPipelining(true), new PoolOptions().setHttp1MaxSize(1));
+    Future<String> first = client
+      .request(new RequestOptions(requestOptions).setURI("/first"))
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .map(Buffer::toString);
+    Future<String> second = client
+      .request(new RequestOptions(requestOptions).setURI("/second"))
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .map(Buffer::toString);
+    assertEquals("first", first.await(20, TimeUnit.SECONDS));
+    String body = second.await(20, TimeUnit.SECONDS);
+    assertTrue(chunks.get() < 100);
+    assertEquals(chunks.get() * chunk.length(), body.length());
+  }
+
   @Test
   public void testPipeliningLimit(Checkpoint checkpoint) throws Exception {
     int limit = 25;
@@ -1184,6 +1331,59 @@ public class Http1xTest extends HttpTest {
     }
   }
 
+  @Test
+  public void testAdaptivePipelining(Checkpoint checkpoint) throws Exception {
+    int limit = 8;
+    int requests = 100;
+    client = vertx.createHttpClient(new HttpClientOptions().
+        setKeepAlive(true).
+        setPipelining(true).
+        setPipeliningLimit(limit).
+        setAdaptivePipelining(true), new PoolOptions().setHttp1MaxSize(1));
+    String data = "GET /somepath HTTP/1.1\r\n" +
+        "host: " + config.host() + ":" + config.port() + "\r\n" +
+        "\r\n";
+    AtomicInteger maxDepth = new AtomicInteger();
+    NetServer server = vertx.createNetServer(new NetServerOptions().setPort(config.port()).setHost(config.host()));
+    server.connectHandler(so -> {
+      StringBuilder total = new StringBuilder();
+      AtomicInteger outstanding = new AtomicInteger();
+      so.handler(buff -> {
+        total.append(buff);
+        while (total.indexOf(data) == 0) {
+          total.delete(0, data.length());
+          if (outstanding.incrementAndGet() == 1) {
+            // Serve the requests received meanwhile in a batch
+            vertx.setTimer(5, id -> {
+              int n = outstanding.getAndSet(0);
+              maxDepth.accumulateAndGet(n, Math::max);
+              for (int i = 0;i < n;i++) {
+                so.write("HTTP/1.1 200 OK\r\nContent-Length : 0\r\n\r\n");
+              }
+            });
+          }
+        }
+      });
+    });
+    server
+      .listen(testAddress)
+      .await(20, TimeUnit.SECONDS);
+    AtomicInteger responses = new AtomicInteger();
+    for (int i = 0;i < requests;i++) {
+      client.request(new RequestOptions(requestOptions).setURI("/somepath"))
+        .compose(HttpClientRequest::send)
+        .expecting(HttpResponseExpectation.SC_OK)
+        .onComplete(TestUtils.onSuccess(resp -> {
+          if (responses.incrementAndGet() == requests) {
+            // The depth grew from one request
+            assertTrue(maxDepth.get() > 1);
+            assertTrue(maxDepth.get() <= limit);
+            checkpoint.succeed();
+          }
+        }));
+    }
+  }
+
   @Test
   public void testPipeliningFailure(Checkpoint checkpoint) throws Exception {
     int n = 5;
@@ -5134,6 +5334,310 @@ public class Http1xTest extends HttpTest {
     }));
   }
 
+  @Test
+  public void testShardedPool(Checkpoint checkpoint) throws Exception {
+    int maxPoolSize = 4;
+    int numRequests = 64;
+    Set<HttpConnection> connections = ConcurrentHashMap.newKeySet();
+    server.requestHandler(req -> {
+      connections.add(req.connection());
+      req.response().end();
+    });
+    startServer(testAddress);
+    client = vertx.createHttpClient(new HttpClientOptions(), new PoolOptions()
+      .setHttp1MaxSize(maxPoolSize)
+      .setHttp2MaxSize(maxPoolSize)
+      .setSharded(true));
+    List<Future<Buffer>> futures = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch latch = new CountDownLatch(numRequests);
+    for (int i = 0;i < numRequests;i++) {
+      vertx.getOrCreateContext().runOnContext(v -> {
+        futures.add(client
+          .request(requestOptions)
+          .compose(request -> request
+            .send()
+            .compose(HttpClientResponse::body)));
+        latch.countDown();
+      });
+    }
+    awaitLatch(latch);
+    Future.all(futures).onComplete(TestUtils.onSuccess(v -> {
+      assertTrue(connections.size() <= maxPoolSize);
+      checkpoint.succeed();
+    }));
+  }
+
+  @Test
+  public void testPoolWarmup() throws Exception {
+    Set<HttpConnection> connections = ConcurrentHashMap.newKeySet();
+    server.requestHandler(req -> req.response().end());
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new PoolOptions()
+        .setHttp1MaxSize(5)
+        .setMinIdle(3)
+        .setWarmup(true)
+        .setCleanerPeriod(0))
+      .withConnectHandler(connections::add)
+      .build();
+    client.request(requestOptions)
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await();
+    assertWaitUntil(() -> connections.size() >= 3);
+    int size = connections.size();
+    // The warm connections are reused
+    List<Future<Buffer>> futures = new ArrayList<>();
+    for (int i = 0;i < 3;i++) {
+      futures.add(client.request(requestOptions)
+        .compose(req -> req.send().compose(HttpClientResponse::body)));
+    }
+    Future.all(futures).await();
+    assertEquals(size, connections.size());
+  }
+
+  @Test
+  public void testPoolMinIdleReplenishesExpiredConnections() throws Exception {
+    AtomicInteger connections = new AtomicInteger();
+    server.requestHandler(req -> req.response().end());
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new PoolOptions()
+        .setHttp1MaxSize(5)
+        .setMinIdle(2)
+        .setMaxLifetime(200)
+        .setMaxLifetimeUnit(TimeUnit.MILLISECONDS)
+        .setCleanerPeriod(50))
+      .withConnectHandler(conn -> connections.incrementAndGet())
+      .build();
+    client.request(requestOptions)
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await();
+    // Expired connections are replaced without any request
+    assertWaitUntil(() -> connections.get() >= 5);
+  }
+
+  @Test
+  public void testPoolMinIdleCountsIdleConnections() throws Exception {
+    AtomicInteger connections = new AtomicInteger();
+    List<HttpServerRequest> pending = Collections.synchronizedList(new ArrayList<>());
+    server.requestHandler(pending::add);
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new PoolOptions()
+        .setHttp1MaxSize(5)
+        .setMinIdle(2)
+        .setWarmup(true)
+        .setCleanerPeriod(0))
+      .withConnectHandler(conn -> connections.incrementAndGet())
+      .build();
+    Future<Buffer> response = client.request(requestOptions)
+      .compose(req -> req.send().compose(HttpClientResponse::body));
+    assertWaitUntil(() -> pending.size() == 1);
+    // The lent connection does not count, the pool opens another one without any pool check
+    assertWaitUntil(() -> connections.get() == 3);
+    pending.get(0).response().end();
+    response.await();
+    assertEquals(3, connections.get());
+  }
+
+  @Test
+  public void testAdaptiveConcurrencyLimit() throws Exception {
+    List<HttpServerRequest> pending = Collections.synchronizedList(new ArrayList<>());
+    server.requestHandler(pending::add);
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new PoolOptions()
+        .setHttp1MaxSize(5)
+        .setAdaptiveConcurrencyLimit(true)
+        .setMaxConcurrencyLimit(2)
+        .setMaxWaitQueueSize(1))
+      .build();
+    List<Future<Buffer>> responses = new ArrayList<>();
+    for (int i = 0;i < 3;i++) {
+      responses.add(client.request(requestOptions)
+        .compose(req -> req.send().compose(HttpClientResponse::body)));
+    }
+    assertWaitUntil(() -> pending.size() == 2);
+    // The limit is reached and the wait queue is full
+    try {
+      client.request(requestOptions).await();
+      fail();
+    } catch (ConnectionPoolTooBusyException expected) {
+    }
+    pending.forEach(req -> req.response().end());
+    assertWaitUntil(() -> pending.size() == 3);
+    pending.get(2).response().end();
+    Future.all(responses).await();
+  }
+
+  @Test
+  public void testEncodedResponseHeaders() throws Exception {
+    MultiMap block = HttpHeaders.encoded(HttpHeaders.headers()
+      .set(HttpHeaders.SERVER, "vert.x")
+      .set(HttpHeaders.CONTENT_TYPE, "application/json"));
+    server.requestHandler(req -> {
+      HttpServerResponse resp = req.response();
+      resp.headers().addAll(block);
+      if (req.getParam("override") != null) {
+        resp.putHeader(HttpHeaders.SERVER, "other");
+      }
+      resp.end("{}");
+    });
+    startServer(testAddress);
+    for (String uri : Arrays.asList("/", "/?override=true", "/")) {
+      MultiMap headers = client.request(new RequestOptions(requestOptions).setURI(uri))
+        .compose(req -> req.send().compose(resp -> resp.body().map(body -> {
+          assertEquals("{}", body.toString());
+          return resp.headers();
+        })))
+        .await();
+      assertEquals(uri.equals("/") ? "vert.x" : "other", headers.get(HttpHeaders.SERVER));
+      assertEquals("application/json", headers.get(HttpHeaders.CONTENT_TYPE));
+      assertEquals("2", headers.get(HttpHeaders.CONTENT_LENGTH));
+    }
+  }
+
+  @Test
+  public void testResponseCacheFreshResponse() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> req.response()
+      .putHeader(HttpHeaders.CACHE_CONTROL, "max-age=60")
+      .end("response-" + count.incrementAndGet()));
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new HttpClientConfig().setCacheConfig(new ClientCacheConfig()))
+      .build();
+    for (int i = 0;i < 3;i++) {
+      String age = client.request(requestOptions)
+        .compose(req -> req.send().compose(resp -> resp.body().map(body -> {
+          assertEquals("response-1", body.toString());
+          return resp.getHeader(HttpHeaders.AGE);
+        })))
+        .await();
+      assertEquals(i == 0, age == null);
+    }
+    assertEquals(1, count.get());
+    // Unsafe requests invalidate the cached response
+    client.request(new RequestOptions(requestOptions).setMethod(HttpMethod.POST))
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await();
+    assertEquals("response-3", client.request(requestOptions)
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await()
+      .toString());
+    assertEquals(3, count.get());
+  }
+
+  @Test
+  public void testResponseCacheRevalidation() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> {
+      count.incrementAndGet();
+      if ("\"v1\"".equals(req.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+        req.response().setStatusCode(304).putHeader(HttpHeaders.ETAG, "\"v1\"").end();
+      } else {
+        req.response()
+          .putHeader(HttpHeaders.CACHE_CONTROL, "no-cache")
+          .putHeader(HttpHeaders.ETAG, "\"v1\"")
+          .end("the-body");
+      }
+    });
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new HttpClientConfig().setCacheConfig(new ClientCacheConfig()))
+      .build();
+    for (int i = 0;i < 3;i++) {
+      Buffer body = client.request(requestOptions)
+        .compose(req -> req.send().expecting(HttpResponseExpectation.SC_OK).compose(HttpClientResponse::body))
+        .await();
+      assertEquals("the-body", body.toString());
+    }
+    assertEquals(3, count.get());
+  }
+
+  @Test
+  public void testResponseCacheCoalescing() throws Exception {
+    List<HttpServerRequest> pending = Collections.synchronizedList(new ArrayList<>());
+    server.requestHandler(pending::add);
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new HttpClientConfig().setCacheConfig(new ClientCacheConfig()))
+      .with(new PoolOptions().setHttp1MaxSize(5))
+      .build();
+    List<Future<Buffer>> responses = new ArrayList<>();
+    for (int i = 0;i < 5;i++) {
+      responses.add(client.request(requestOptions)
+        .compose(req -> req.send().compose(HttpClientResponse::body)));
+    }
+    assertWaitUntil(() -> pending.size() == 1);
+    pending.get(0).response().putHeader(HttpHeaders.CACHE_CONTROL, "max-age=60").end("the-body");
+    for (Future<Buffer> response : responses) {
+      assertEquals("the-body", response.await().toString());
+    }
+    assertEquals(1, pending.size());
+  }
+
+  @Test
+  public void testResponseCacheHitLeasesConnection() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> req.response()
+      .putHeader(HttpHeaders.CACHE_CONTROL, "max-age=60")
+      .end("response-" + count.incrementAndGet()));
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new HttpClientConfig().setCacheConfig(new ClientCacheConfig()))
+      .with(new PoolOptions().setHttp1MaxSize(1))
+      .build();
+    for (int i = 0;i < 3;i++) {
+      Buffer body = client.request(requestOptions)
+        .compose(req -> {
+          // The request holds its connection even when the response is served by the cache
+          assertNotNull(req.connection());
+          return req.send().compose(HttpClientResponse::body);
+        })
+        .await();
+      assertEquals("response-1", body.toString());
+    }
+    assertEquals(1, count.get());
+  }
+
+  @Test
+  public void testAdaptiveConcurrencyLimitShrinksOnTimeout() throws Exception {
+    List<HttpServerRequest> pending = Collections.synchronizedList(new ArrayList<>());
+    AtomicBoolean first = new AtomicBoolean();
+    server.requestHandler(req -> {
+      if (first.compareAndSet(false, true)) {
+        // Never respond to the first request
+        return;
+      }
+      pending.add(req);
+    });
+    startServer(testAddress);
+    client = vertx.httpClientBuilder()
+      .with(new PoolOptions()
+        .setHttp1MaxSize(5)
+        .setAdaptiveConcurrencyLimit(true)
+        .setMaxConcurrencyLimit(2))
+      .build();
+    Future<Buffer> timedOut = client.request(new RequestOptions(requestOptions).setIdleTimeout(100))
+      .compose(req -> req.send().compose(HttpClientResponse::body));
+    assertWaitUntil(timedOut::failed);
+    assertTrue(timedOut.cause() instanceof TimeoutException);
+    // The timed out request shrinks the limit to a single request
+    List<Future<Buffer>> responses = new ArrayList<>();
+    for (int i = 0;i < 2;i++) {
+      responses.add(client.request(requestOptions)
+        .compose(req -> req.send().compose(HttpClientResponse::body)));
+    }
+    assertWaitUntil(() -> pending.size() == 1);
+    Thread.sleep(100);
+    assertEquals(1, pending.size());
+    pending.get(0).response().end();
+    assertWaitUntil(() -> pending.size() == 2);
+    pending.get(1).response().end();
+    Future.all(responses).await();
+  }
+
   @Test
   public void testServerResponseChunkedSend() throws Exception {
     testServerResponseSend(true);
@@ -6627,4 +6627,94 @@ public abstract class HttpTest extends SimpleHttpTest2 {
       })
       .await();
   }
+
+  @Test
+  public void testServerAdmissionControlMaxConcurrentRequests() throws Exception {
+    server = vertx.httpServerBuilder()
+      .with(config.forServer()
+        .config().setAdmissionControlConfig(new AdmissionControlConfig()
+          .setMaxConcurrentRequests(1)
+          .setQueueDelayTarget(null)))
+      .with(config.forServer().sslOptions())
+      .build();
+    Promise<Void> dispatched = Promise.promise();
+    Promise<Void> pending = Promise.promise();
+    server.requestHandler(req -> {
+      if (req.path().equals("/pending")) {
+        dispatched.complete();
+        pending.future().onComplete(v -> req.response().end("pending"));
+      } else {
+        req.response().end("ok");
+      }
+    });
+    startServer(testAddress);
+    Future<Buffer> first = client.request(new RequestOptions(requestOptions).setURI("/pending"))
+      .compose(req -> req.send().compose(HttpClientResponse::body));
+    dispatched.future().await();
+    HttpClientResponse rejected = client.request(requestOptions)
+      .compose(req -> req.send().compose(resp -> resp.body().map(resp)))
+      .await();
+    assertEquals(503, rejected.statusCode());
+    assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    pending.complete();
+    assertEquals("pending", first.await().toString());
+    // The request is released when its response is sent
+    Buffer body = client.request(requestOptions)
+      .compose(req -> req.send().compose(resp -> {
+        assertEquals(200, resp.statusCode());
+        return resp.body();
+      }))
+      .await();
+    assertEquals("ok", body.toString());
+  }
+
+  @Test
+  public void testServerAdmissionControlQueueDelay() throws Exception {
+    AtomicInteger rejectedDispatches = new AtomicInteger();
+    CountDownLatch blocking = new CountDownLatch(1);
+    vertx.deployVerticle(new VerticleBase() {
+        @Override
+        public Future<?> start() {
+          HttpServer server = vertx.httpServerBuilder()
+            .with(config.forServer()
+              .config().setAdmissionControlConfig(new AdmissionControlConfig()
+                .setQueueDelayTarget(Duration.ofMillis(5))
+                .setQueueDelayInterval(Duration.ofMillis(100))))
+            .with(config.forServer().sslOptions())
+            .build();
+          server.requestHandler(req -> {
+            if (req.path().equals("/rejected")) {
+              rejectedDispatches.incrementAndGet();
+            } else if (req.path().equals("/block")) {
+              blocking.countDown();
+              try {
+                // Block the worker, the next requests wait in the worker queue
+                Thread.sleep(500);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+            req.response().end("ok");
+          });
+          return server.listen(testAddress);
+        }
+      }, new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER))
+      .await(20, TimeUnit.SECONDS);
+    // Warm up the server so the first request is not shed
+    for (int i = 0;i < 4;i++) {
+      client.request(requestOptions)
+        .compose(req -> req.send().compose(HttpClientResponse::body))
+        .await();
+    }
+    Future<Integer> first = client.request(new RequestOptions(requestOptions).setURI("/block"))
+      .compose(req -> req.send().compose(resp -> resp.body().map(resp.statusCode())));
+    TestUtils.awaitLatch(blocking);
+    HttpClientResponse rejected = client.request(new RequestOptions(requestOptions).setURI("/rejected"))
+      .compose(req -> req.send().compose(resp -> resp.body().map(resp)))
+      .await();
+    assertEquals(503, rejected.statusCode());
+    assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    assertEquals(200, (int) first.await());
+    assertEquals(0, rejectedDispatches.get());
+  }
 }
@@ -40,6 +40,8 @@ public class RequestOptionsTest {
     assertEquals(RequestOptions.DEFAULT_TIMEOUT, options.getTimeout());
     assertEquals(RequestOptions.DEFAULT_CONNECT_TIMEOUT, options.getConnectTimeout());
     assertEquals(RequestOptions.DEFAULT_IDLE_TIMEOUT, options.getIdleTimeout());
+    assertEquals(RequestOptions.DEFAULT_HEDGING_DELAY, options.getHedgingDelay());
+    assertEquals(RequestOptions.DEFAULT_HEDGING_PERCENTILE, options.getHedgingPercentile(), 0D);
   }
 
   @Test
@@ -49,13 +51,17 @@ public class RequestOptionsTest {
       .setPort(8443)
       .setSsl(true)
       .setFollowRedirects(true)
-      .setRoutingKey("user-123");
+      .setRoutingKey("user-123")
+      .setHedgingDelay(50)
+      .setHedgingPercentile(95);
     RequestOptions copy = new RequestOptions(options);
     assertEquals(options.getMethod(), copy.getMethod());
     assertEquals(options.getPort(), copy.getPort());
     assertEquals(options.isSsl(), copy.isSsl());
     assertEquals(options.getFollowRedirects(), copy.getFollowRedirects());
     assertEquals(options.getRoutingKey(), copy.getRoutingKey());
+    assertEquals(options.getHedgingDelay(), copy.getHedgingDelay());
+    assertEquals(options.getHedgingPercentile(), copy.getHedgingPercentile(), 0D);
   }
 
   @Test
@@ -71,6 +77,8 @@ public class RequestOptionsTest {
       .put("timeout", RequestOptions.DEFAULT_TIMEOUT)
       .put("connectTimeout", RequestOptions.DEFAULT_CONNECT_TIMEOUT)
       .put("idleTimeout", RequestOptions.DEFAULT_IDLE_TIMEOUT)
+      .put("hedgingDelay", RequestOptions.DEFAULT_HEDGING_DELAY)
+      .put("hedgingPercentile", RequestOptions.DEFAULT_HEDGING_PERCENTILE)
       .put("uri", RequestOptions.DEFAULT_URI)
       .put("method", "PUT")
       .put("port", 8443)
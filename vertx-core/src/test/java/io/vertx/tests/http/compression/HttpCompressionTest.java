@@ -140,6 +140,45 @@ public abstract class HttpCompressionTest extends HttpCompressionTestBase {
     await();
   }
 
+  @Test
+  public void testServerCompressionCache() throws Exception {
+    Buffer other = Buffer.buffer(COMPRESS_TEST_STRING.toUpperCase());
+    Buffer compressedOther = compress(other);
+    server.close();
+    HttpServerConfigurator options = config.forServer();
+    options.setCompression(serverCompressionConfig().get().setCacheConfig(new CompressionCacheConfig()));
+    server = options.create(vertx);
+    server.requestHandler(req -> {
+      if (req.path().equals("/other")) {
+        req.response().end(other);
+      } else {
+        req.response().end(Buffer.buffer(COMPRESS_TEST_STRING));
+      }
+    });
+    startServer();
+    // The bodies are cached when sent the second time and served from the cache the third time
+    for (int i = 0;i < 6;i++) {
+      String uri = i % 2 == 0 ? "/" : "/other";
+      Buffer expected = i % 2 == 0 ? compressedTestString : compressedOther;
+      Buffer body = client.request(new RequestOptions()
+          .setURI(uri)
+          .addHeader(HttpHeaders.ACCEPT_ENCODING, encoding()))
+        .compose(req -> req.send().compose(resp -> {
+          assertEquals(encoding(), resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+          return resp.body();
+        }))
+        .await();
+      assertEquals(StringUtil.toHexString(expected.getBytes()), StringUtil.toHexString(body.getBytes()));
+    }
+    Buffer body = client.request(new RequestOptions())
+      .compose(req -> req.send().compose(resp -> {
+        assertNull(resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+        return resp.body();
+      }))
+      .await();
+    assertEquals(COMPRESS_TEST_STRING, body.toString());
+  }
+
   @Test
   public void testServerDecompression() throws Exception {
     server.close();
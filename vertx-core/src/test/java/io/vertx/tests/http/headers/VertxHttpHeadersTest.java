@@ -11,11 +11,14 @@
 
 package io.vertx.tests.http.headers;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.AsciiString;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.impl.headers.Http1xHeaders;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -380,6 +383,48 @@ public class VertxHttpHeadersTest extends HeadersTest {
     assertSame(immutable.iteratorCharSequence().next(), mutable.iteratorCharSequence().next());
   }
 
+  @Test
+  public void testEncodedBlock() {
+    MultiMap block = Http1xHeaders.encoded(newMultiMap()
+      .set("server", "vert.x")
+      .set("content-type", "application/json"));
+    assertFalse(block.isMutable());
+    try {
+      block.set("foo", "bar");
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    Http1xHeaders headers = newMultiMap();
+    headers.addAll(block);
+    headers.set("content-length", "10");
+    assertEquals("vert.x", headers.get("server"));
+    assertEquals("server: vert.x\r\ncontent-type: application/json\r\ncontent-length: 10\r\n", encode(headers));
+    headers.add("vary", "accept");
+    headers.remove("content-length");
+    assertEquals("server: vert.x\r\ncontent-type: application/json\r\nvary: accept\r\n", encode(headers));
+    headers.set("server", "other");
+    assertEquals("content-type: application/json\r\nvary: accept\r\nserver: other\r\n", encode(headers));
+    assertEquals("server: vert.x\r\ncontent-type: application/json\r\n", encode((Http1xHeaders) block));
+  }
+
+  @Test
+  public void testEncodedBlockSetValue() {
+    MultiMap block = Http1xHeaders.encoded(newMultiMap()
+      .set("server", "vert.x")
+      .set("content-type", "application/json"));
+    Http1xHeaders headers = newMultiMap();
+    headers.addAll(block);
+    Iterator<Map.Entry<String, String>> it = headers.iterator();
+    it.next().setValue("other");
+    assertEquals("server: other\r\ncontent-type: application/json\r\n", encode(headers));
+  }
+
+  private static String encode(Http1xHeaders headers) {
+    ByteBuf buf = Unpooled.buffer();
+    headers.encode(buf, false);
+    return buf.toString(StandardCharsets.US_ASCII);
+  }
+
   @Test
   public void testConcurrentModification() {
     MultiMap map = newMultiMap();
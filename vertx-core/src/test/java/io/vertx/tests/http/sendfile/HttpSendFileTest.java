@@ -13,12 +13,17 @@ package io.vertx.tests.http.sendfile;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.FileCacheConfig;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpResponseExpectation;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerConfig;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.RequestOptions;
 import io.vertx.test.core.Checkpoint;
 import io.vertx.test.core.DetectFileDescriptorLeaks;
 import io.vertx.test.core.FileDescriptorLeakDetectorRule;
@@ -30,15 +35,20 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 import static io.vertx.test.core.AssertExpectations.that;
 import static org.junit.Assert.*;
@@ -90,6 +100,94 @@ public abstract class HttpSendFileTest extends HttpTestBase2 {
       .await();
   }
 
+  @Test
+  public void testSendCachedFile() throws Exception {
+    String content = TestUtils.randomAlphaString(10000);
+    File file = setupFile("test-send-file.html", content);
+    server.close();
+    server = createFileCacheServer(false);
+    server.requestHandler(req -> {
+      if (req.getParam("offset") != null) {
+        req.response().sendFile(file.getAbsolutePath(), Long.parseLong(req.getParam("offset")), 20);
+      } else {
+        req.response().sendFile(file.getAbsolutePath());
+      }
+    });
+    startServer(testAddress);
+    Set<String> etags = new HashSet<>();
+    // The file is sent from the file system until a worker loads it in the cache
+    long now = System.currentTimeMillis();
+    while (etags.isEmpty()) {
+      assertTrue(System.currentTimeMillis() - now < 10_000);
+      Buffer body = client.request(requestOptions)
+        .compose(req -> req.send().compose(resp -> {
+          if (resp.getHeader(HttpHeaders.ETAG) != null) {
+            etags.add(resp.getHeader(HttpHeaders.ETAG));
+          }
+          return resp.body();
+        }))
+        .await();
+      assertEquals(content, body.toString());
+    }
+    for (int i = 0;i < 3;i++) {
+      Buffer body = client.request(requestOptions)
+        .compose(req -> req.send().compose(resp -> {
+          assertEquals("text/html", resp.getHeader(HttpHeaders.CONTENT_TYPE));
+          assertNotNull(resp.getHeader(HttpHeaders.LAST_MODIFIED));
+          assertNotNull(resp.getHeader(HttpHeaders.ETAG));
+          etags.add(resp.getHeader(HttpHeaders.ETAG));
+          return resp.body();
+        }))
+        .await();
+      assertEquals(content, body.toString());
+    }
+    assertEquals(1, etags.size());
+    // The file changed
+    String update = TestUtils.randomAlphaString(5000);
+    Files.writeString(file.toPath(), update);
+    assertTrue(file.setLastModified(file.lastModified() + 2000));
+    Buffer body = client.request(requestOptions)
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await();
+    assertEquals(update, body.toString());
+    body = client.request(new RequestOptions(requestOptions).setURI("/?offset=10"))
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await();
+    assertEquals(update.substring(10, 30), body.toString());
+  }
+
+  @Test
+  public void testSendCachedFilePrecompressed() throws Exception {
+    String content = "<html><body>" + "hello ".repeat(1000) + "</body></html>";
+    File file = setupFile("test-send-file.html", content);
+    server.close();
+    server = createFileCacheServer(true);
+    server.requestHandler(req -> req.response().sendFile(file.getAbsolutePath()));
+    startServer(testAddress);
+    for (int i = 0;i < 2;i++) {
+      Buffer body = client.request(new RequestOptions(requestOptions).putHeader(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .compose(req -> req.send().compose(resp -> {
+          assertEquals("gzip", resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+          return resp.body();
+        }))
+        .await();
+      assertTrue(body.length() < content.length());
+      try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.getBytes()))) {
+        assertEquals(content, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    Buffer body = client.request(requestOptions)
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .await();
+    assertEquals(content, body.toString());
+  }
+
+  private HttpServer createFileCacheServer(boolean compression) {
+    HttpServerOptions options = createBaseServerOptions().setCompressionSupported(compression);
+    HttpServerConfig config = new HttpServerConfig(options).setFileCacheConfig(new FileCacheConfig());
+    return vertx.createHttpServer(config, options.isSsl() ? options.getSslOptions() : null);
+  }
+
   @Test
   public void testSendNonExistingFile() throws Exception {
     server.requestHandler(req -> {
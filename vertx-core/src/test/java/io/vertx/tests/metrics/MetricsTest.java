@@ -27,6 +27,9 @@ import io.vertx.core.net.NetClient;
 import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.SocketAddress;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.Lock;
+import io.vertx.core.shareddata.LocalAsyncMapOptions;
 import io.vertx.core.spi.VertxMetricsFactory;
 import io.vertx.core.spi.metrics.HttpServerMetrics;
 import io.vertx.core.spi.metrics.MetricsProvider;
@@ -1289,4 +1292,35 @@ public class MetricsTest extends VertxTestBase {
     assertNull(((MetricsProvider)tcpClient).getMetrics());
   }
 
+  @Test
+  public void testLocalAsyncMapCacheMetrics() {
+    AsyncMap<String, String> map = vertx.sharedData().<String, String>getLocalAsyncMap("the-cache", new LocalAsyncMapOptions().setMaxEntries(2)).await();
+    FakeCacheMetrics metrics = FakeCacheMetrics.getMetrics("the-cache");
+    assertNotNull(metrics);
+    map.put("a", "1").await();
+    map.put("b", "2").await();
+    assertEquals("1", map.get("a").await());
+    assertNull(map.get("c").await());
+    map.put("c", "3").await();
+    assertNull(map.get("b").await());
+    assertEquals(1, metrics.hits());
+    assertEquals(2, metrics.misses());
+    assertEquals(1, metrics.evictions());
+  }
+
+  @Test
+  public void testLocalLockMetrics() {
+    FakePoolMetrics metrics = FakePoolMetrics.getMetrics("vert.x-local-locks");
+    assertNotNull(metrics);
+    Lock lock = vertx.sharedData().getLocalLock("foo").await();
+    Future<Lock> waiter = vertx.sharedData().getLocalLock("foo");
+    assertEquals(1, metrics.pending());
+    assertEquals(1, metrics.inUse());
+    lock.release();
+    waiter.await().release();
+    assertEquals(0, metrics.pending());
+    assertEquals(0, metrics.inUse());
+    assertEquals(2, metrics.numberOfEnqueues());
+    assertEquals(2, metrics.numberOfReleases());
+  }
 }
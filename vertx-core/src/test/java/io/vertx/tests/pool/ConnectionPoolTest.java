@@ -1146,6 +1146,178 @@ public class ConnectionPoolTest extends VertxTestBase {
 //    assertEquals(Arrays.asList(0, 2, 1, 3, 4), res);
   }
 
+  @Test
+  public void testShardedPoolStealsConnections() throws Exception {
+    ContextInternal ctx1 = vertx.createEventLoopContext();
+    ContextInternal ctx2 = vertx.createEventLoopContext();
+    Assert.assertNotSame(ctx1.nettyEventLoop(), ctx2.nettyEventLoop());
+    ConnectionManager mgr = new ConnectionManager();
+    ConnectionPool<Connection> pool = ConnectionPool.pool(mgr, new int[] { 2 }, -1, 2);
+    Assert.assertEquals(2, ((ShardedConnectionPool<Connection>) pool).shards());
+    Connection conn1 = new Connection();
+    Connection conn2 = new Connection();
+    CompletableFuture<Lease<Connection>> lease1 = new CompletableFuture<>();
+    pool.acquire(ctx1, 0, TestUtils.onSuccess2(lease1::complete));
+    mgr.assertRequest().connect(conn1, 0);
+    Assert.assertSame(conn1, lease1.get(10, TimeUnit.SECONDS).get());
+    // The shard of ctx1 is exhausted, the connection is created by the other shard
+    CompletableFuture<Lease<Connection>> lease2 = new CompletableFuture<>();
+    pool.acquire(ctx1, 0, TestUtils.onSuccess2(lease2::complete));
+    ConnectionRequest request = mgr.assertRequest();
+    Assert.assertSame(ctx1.nettyEventLoop(), request.context.nettyEventLoop());
+    request.connect(conn2, 0);
+    Assert.assertSame(conn2, lease2.get(10, TimeUnit.SECONDS).get());
+    Assert.assertEquals(2, pool.size());
+    // All shards are exhausted, the waiter is enqueued
+    CompletableFuture<Lease<Connection>> lease3 = new CompletableFuture<>();
+    pool.acquire(ctx2, 0, TestUtils.onSuccess2(lease3::complete));
+    Assert.assertNull(mgr.requests.poll());
+    Assert.assertEquals(1, pool.waiters());
+    lease1.get().recycle();
+    lease2.get().recycle();
+    Assert.assertNotNull(lease3.get(10, TimeUnit.SECONDS).get());
+    Assert.assertEquals(0, pool.waiters());
+  }
+
+  @Test
+  public void testShardedPoolCapsShardsPerKind() throws Exception {
+    ContextInternal ctx1 = vertx.createEventLoopContext();
+    ContextInternal ctx2 = vertx.createEventLoopContext();
+    Assert.assertNotSame(ctx1.nettyEventLoop(), ctx2.nettyEventLoop());
+    ConnectionManager mgr = new ConnectionManager();
+    ConnectionPool<Connection> pool = ConnectionPool.pool(mgr, new int[] { 2, 1 }, -1, 2);
+    // The smallest max size does not bound the number of shards
+    Assert.assertEquals(2, ((ShardedConnectionPool<Connection>) pool).shards());
+    Connection conn = new Connection();
+    CompletableFuture<Lease<Connection>> lease1 = new CompletableFuture<>();
+    pool.acquire(ctx1, 1, TestUtils.onSuccess2(lease1::complete));
+    mgr.assertRequest().connect(conn, 1);
+    Assert.assertSame(conn, lease1.get(10, TimeUnit.SECONDS).get());
+    // The other shard does not serve the kind, the max size of the kind is not exceeded
+    CompletableFuture<Lease<Connection>> lease2 = new CompletableFuture<>();
+    pool.acquire(ctx2, 1, TestUtils.onSuccess2(lease2::complete));
+    Assert.assertNull(mgr.requests.poll());
+    Assert.assertEquals(1, pool.waiters());
+    lease1.get().recycle();
+    Assert.assertSame(conn, lease2.get(10, TimeUnit.SECONDS).get());
+    Assert.assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testOpen() throws Exception {
+    ContextInternal ctx = vertx.createEventLoopContext();
+    ConnectionManager mgr = new ConnectionManager();
+    ConnectionPool<Connection> pool = ConnectionPool.pool(mgr, new int[] { 3 }, 0);
+    CompletableFuture<Future<Connection>> open1 = new CompletableFuture<>();
+    pool.open(ctx, 0, 2, TestUtils.onSuccess2(open1::complete));
+    Assert.assertNotNull(open1.get(10, TimeUnit.SECONDS));
+    CompletableFuture<Future<Connection>> open2 = new CompletableFuture<>();
+    pool.open(ctx, 0, 2, TestUtils.onSuccess2(open2::complete));
+    Assert.assertNotNull(open2.get(10, TimeUnit.SECONDS));
+    // The connections being opened count as idle connections
+    CompletableFuture<Future<Connection>> open3 = new CompletableFuture<>();
+    pool.open(ctx, 0, 2, TestUtils.onSuccess2(open3::complete));
+    Assert.assertNull(open3.get(10, TimeUnit.SECONDS));
+    Connection conn1 = new Connection();
+    mgr.assertRequest().connect(conn1, 0);
+    mgr.assertRequest().connect(new Connection(), 0);
+    Assert.assertEquals(2, pool.size());
+    Assert.assertEquals(0, pool.waiters());
+    // Opening a connection does not count against the wait queue size
+    CompletableFuture<Lease<Connection>> lease = new CompletableFuture<>();
+    pool.acquire(ctx, 0, TestUtils.onSuccess2(lease::complete));
+    Assert.assertNotNull(lease.get(10, TimeUnit.SECONDS).get());
+    // The lent connection does not count as idle
+    CompletableFuture<Future<Connection>> open4 = new CompletableFuture<>();
+    pool.open(ctx, 0, 2, TestUtils.onSuccess2(open4::complete));
+    Assert.assertNotNull(open4.get(10, TimeUnit.SECONDS));
+    mgr.assertRequest().connect(new Connection(), 0);
+    // The pool is full
+    CompletableFuture<Future<Connection>> open5 = new CompletableFuture<>();
+    pool.open(ctx, 0, 3, TestUtils.onSuccess2(open5::complete));
+    Assert.assertNull(open5.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(3, pool.size());
+  }
+
+  @Test
+  public void testShardedPoolServesWaiterFromAnotherShard() throws Exception {
+    ContextInternal ctx = vertx.createEventLoopContext();
+    ConnectionManager mgr = new ConnectionManager();
+    ConnectionPool<Connection> pool = ConnectionPool.pool(mgr, new int[] { 2 }, -1, 2);
+    Connection conn1 = new Connection();
+    Connection conn2 = new Connection();
+    CompletableFuture<Lease<Connection>> lease1 = new CompletableFuture<>();
+    CompletableFuture<Lease<Connection>> lease2 = new CompletableFuture<>();
+    pool.acquire(ctx, 0, TestUtils.onSuccess2(lease1::complete));
+    mgr.assertRequest().connect(conn1, 0);
+    pool.acquire(ctx, 0, TestUtils.onSuccess2(lease2::complete));
+    mgr.assertRequest().connect(conn2, 0);
+    Assert.assertSame(conn1, lease1.get(10, TimeUnit.SECONDS).get());
+    Assert.assertSame(conn2, lease2.get(10, TimeUnit.SECONDS).get());
+    // The waiter home shard is the one of conn1, conn2 is recycled in the other shard
+    CompletableFuture<Lease<Connection>> lease3 = new CompletableFuture<>();
+    pool.acquire(ctx, 0, TestUtils.onSuccess2(lease3::complete));
+    Assert.assertEquals(1, pool.waiters());
+    lease2.get().recycle();
+    Assert.assertSame(conn2, lease3.get(10, TimeUnit.SECONDS).get());
+    Assert.assertEquals(0, pool.waiters());
+  }
+
+  @Test
+  public void testShardedPoolMaxWaiters() throws Exception {
+    ContextInternal ctx1 = vertx.createEventLoopContext();
+    ContextInternal ctx2 = vertx.createEventLoopContext();
+    ConnectionManager mgr = new ConnectionManager();
+    ConnectionPool<Connection> pool = ConnectionPool.pool(mgr, new int[] { 2 }, 1, 2);
+    CompletableFuture<Lease<Connection>> lease1 = new CompletableFuture<>();
+    CompletableFuture<Lease<Connection>> lease2 = new CompletableFuture<>();
+    pool.acquire(ctx1, 0, TestUtils.onSuccess2(lease1::complete));
+    mgr.assertRequest().connect(new Connection(), 0);
+    pool.acquire(ctx1, 0, TestUtils.onSuccess2(lease2::complete));
+    mgr.assertRequest().connect(new Connection(), 0);
+    lease1.get(10, TimeUnit.SECONDS);
+    lease2.get(10, TimeUnit.SECONDS);
+    // The wait queue is shared by the shards, the first waiter is enqueued whatever its shard
+    CompletableFuture<Lease<Connection>> lease3 = new CompletableFuture<>();
+    pool.acquire(ctx2, 0, TestUtils.onSuccess2(lease3::complete));
+    Assert.assertEquals(1, pool.waiters());
+    CompletableFuture<Throwable> failure = new CompletableFuture<>();
+    pool.acquire(ctx1, 0, TestUtils.onFailure2(failure::complete));
+    Assert.assertTrue(failure.get(10, TimeUnit.SECONDS) instanceof ConnectionPoolTooBusyException);
+    lease1.get().recycle();
+    Assert.assertNotNull(lease3.get(10, TimeUnit.SECONDS).get());
+  }
+
+  @Test
+  public void testShardedPoolCancelAndClose() throws Exception {
+    ContextInternal ctx = vertx.createEventLoopContext();
+    ConnectionManager mgr = new ConnectionManager();
+    ConnectionPool<Connection> pool = ConnectionPool.pool(mgr, new int[] { 2 }, -1, 2);
+    CompletableFuture<Lease<Connection>> lease1 = new CompletableFuture<>();
+    CompletableFuture<Lease<Connection>> lease2 = new CompletableFuture<>();
+    pool.acquire(ctx, 0, TestUtils.onSuccess2(lease1::complete));
+    pool.acquire(ctx, 0, TestUtils.onSuccess2(lease2::complete));
+    mgr.assertRequest().connect(new Connection(), 0);
+    mgr.assertRequest().connect(new Connection(), 0);
+    lease1.get(10, TimeUnit.SECONDS);
+    lease2.get(10, TimeUnit.SECONDS);
+    AtomicReference<PoolWaiter<Connection>> waiter = new AtomicReference<>();
+    pool.acquire(ctx, new PoolWaiter.Listener<>() {
+      @Override
+      public void onEnqueue(PoolWaiter<Connection> w) {
+        waiter.set(w);
+      }
+    }, 0, TestUtils.onFailure2(err -> {}));
+    Assert.assertNotNull(waiter.get());
+    CompletableFuture<Boolean> cancelled = new CompletableFuture<>();
+    pool.cancel(waiter.get(), TestUtils.onSuccess2(cancelled::complete));
+    Assert.assertTrue(cancelled.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(0, pool.waiters());
+    CompletableFuture<List<Future<Connection>>> closed = new CompletableFuture<>();
+    pool.close(TestUtils.onSuccess2(closed::complete));
+    Assert.assertEquals(2, closed.get(10, TimeUnit.SECONDS).size());
+  }
+
   static class Connection {
     public Connection() {
     }
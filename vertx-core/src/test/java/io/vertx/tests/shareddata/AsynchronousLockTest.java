@@ -352,4 +352,64 @@ public class AsynchronousLockTest extends VertxTestBase {
       }));
     await();
   }
+
+  @Test
+  public void testWaitersAreServedInOrder() {
+    int numWaiters = 16;
+    SharedData sharedData = vertx.sharedData();
+    List<Integer> order = new ArrayList<>();
+    sharedData
+      .getLocalLock("foo")
+      .onComplete(onSuccess(lock -> {
+        for (int i = 0; i < numWaiters; i++) {
+          int val = i;
+          sharedData.getLocalLock("foo").onComplete(onSuccess(l -> {
+            order.add(val);
+            l.release();
+            if (val == numWaiters - 1) {
+              List<Integer> expected = new ArrayList<>();
+              for (int j = 0; j < numWaiters; j++) {
+                expected.add(j);
+              }
+              assertEquals(expected, order);
+              testComplete();
+            }
+          }));
+        }
+        lock.release();
+      }));
+    await();
+  }
+
+  @Test
+  public void testMutualExclusionUnderContention() throws Exception {
+    int numContexts = 4;
+    int numAcquisitions = 1000;
+    SharedData sharedData = vertx.sharedData();
+    AtomicInteger owners = new AtomicInteger();
+    AtomicInteger count = new AtomicInteger();
+    waitFor(numContexts);
+    for (int i = 0; i < numContexts; i++) {
+      Context ctx = vertx.getOrCreateContext();
+      ctx.runOnContext(v -> {
+        AtomicInteger remaining = new AtomicInteger(numAcquisitions);
+        for (int j = 0; j < numAcquisitions; j++) {
+          // Some waiters time out and must be skipped
+          sharedData.getLocalLockWithTimeout("foo", j % 10 == 0 ? 1 : 10_000).onComplete(ar -> {
+            if (ar.succeeded()) {
+              assertEquals(1, owners.incrementAndGet());
+              count.incrementAndGet();
+              owners.decrementAndGet();
+              ar.result().release();
+            }
+            if (remaining.decrementAndGet() == 0) {
+              complete();
+            }
+          });
+        }
+      });
+    }
+    await();
+    assertTrue(count.get() >= numContexts * numAcquisitions * 9 / 10);
+  }
 }
@@ -11,10 +11,23 @@
 
 package io.vertx.tests.shareddata;
 
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.LocalAsyncMapOptions;
 import io.vertx.test.core.Repeat;
+import io.vertx.test.core.TestUtils;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static io.vertx.test.core.TestUtils.assertIllegalArgumentException;
+
 /**
  * @author Thomas Segismont
  */
@@ -45,4 +58,100 @@ public class LocalAsyncMapTest extends AsyncMapTest {
   public void testMapPutIfAbsentTtl() {
     super.testMapPutIfAbsentTtl();
   }
+
+  @Test
+  public void testManyEntriesExpireInBatches() {
+    int num = 10_000;
+    vertx.sharedData().<Integer, Integer>getLocalAsyncMap("foo").onComplete(TestUtils.onSuccess(map -> {
+      List<Future<Void>> puts = new ArrayList<>();
+      for (int i = 0;i < num;i++) {
+        puts.add(map.put(i, i, 500 + i % 50));
+      }
+      // Entries without TTL are kept
+      puts.add(map.put(-1, -1));
+      Future.all(puts)
+        .compose(v -> map.size())
+        .onComplete(TestUtils.onSuccess(size -> {
+          Assert.assertEquals(num + 1, (int) size);
+          waitUntilSize(map, 1);
+        }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    AsyncMap<String, String> map = vertx.sharedData().<String, String>getLocalAsyncMap("foo", new LocalAsyncMapOptions().setMaxEntries(3)).await();
+    map.put("a", "1").await();
+    map.put("b", "2").await();
+    map.put("c", "3").await();
+    // Access a so b is the least recently used entry
+    Assert.assertEquals("1", map.get("a").await());
+    map.put("d", "4").await();
+    Assert.assertEquals(3, (int) map.size().await());
+    Assert.assertNull(map.get("b").await());
+    Assert.assertEquals("1", map.get("a").await());
+    Assert.assertEquals("3", map.get("c").await());
+    Assert.assertEquals("4", map.get("d").await());
+    // Replacing an entry does not evict
+    map.put("a", "5").await();
+    Assert.assertEquals(3, (int) map.size().await());
+    map.remove("c").await();
+    map.put("e", "6").await();
+    Assert.assertEquals(3, (int) map.size().await());
+    Assert.assertEquals(new HashSet<>(Arrays.asList("a", "d", "e")), map.keys().await());
+  }
+
+  @Test
+  public void testEvictByWeight() {
+    AsyncMap<String, Buffer> map = vertx.sharedData().<String, Buffer>getLocalAsyncMap("foo", new LocalAsyncMapOptions().setMaxWeight(1024)).await();
+    for (int i = 0;i < 10;i++) {
+      map.put("k" + i, TestUtils.randomBuffer(200)).await();
+    }
+    // Each entry weighs 204 bytes
+    Assert.assertEquals(5, (int) map.size().await());
+    Assert.assertEquals(new HashSet<>(Arrays.asList("k5", "k6", "k7", "k8", "k9")), map.keys().await());
+  }
+
+  @Test
+  public void testClearBoundedMap() {
+    AsyncMap<String, String> map = vertx.sharedData().<String, String>getLocalAsyncMap("foo", new LocalAsyncMapOptions().setMaxEntries(2)).await();
+    map.put("a", "1").await();
+    map.put("b", "2").await();
+    map.clear().await();
+    Assert.assertEquals(0, (int) map.size().await());
+    map.put("c", "3").await();
+    map.put("d", "4").await();
+    Assert.assertEquals(new HashSet<>(Arrays.asList("c", "d")), map.keys().await());
+  }
+
+  @Test
+  public void testSizeIgnoresExpiredEntries() throws Exception {
+    AsyncMap<String, String> map = vertx.sharedData().<String, String>getLocalAsyncMap("foo").await();
+    map.put("a", "1").await();
+    map.put("b", "2", 1).await();
+    Thread.sleep(20);
+    Assert.assertEquals(1, (int) map.size().await());
+  }
+
+  @Test
+  public void testBoundedMapOptionsJson() {
+    LocalAsyncMapOptions options = new LocalAsyncMapOptions(new LocalAsyncMapOptions().setMaxEntries(10).setMaxWeight(4096).toJson());
+    Assert.assertEquals(10, options.getMaxEntries());
+    Assert.assertEquals(4096, options.getMaxWeight());
+    assertIllegalArgumentException(() -> new LocalAsyncMapOptions().setMaxEntries(0));
+  }
+
+  private void waitUntilSize(AsyncMap<Integer, Integer> map, int expected) {
+    vertx.setTimer(20, id -> map.size().onComplete(TestUtils.onSuccess(size -> {
+      if (size == expected) {
+        map.get(-1).onComplete(TestUtils.onSuccess(v -> {
+          Assert.assertEquals(-1, (int) v);
+          testComplete();
+        }));
+      } else {
+        waitUntilSize(map, expected);
+      }
+    })));
+  }
 }
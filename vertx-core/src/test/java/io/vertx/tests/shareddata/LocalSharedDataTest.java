@@ -15,6 +15,7 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.LocalMapOptions;
 import io.vertx.core.shareddata.Shareable;
 import io.vertx.core.shareddata.SharedData;
 import io.vertx.tests.shareddata.AsyncMapTest.SomeClusterSerializableObject;
@@ -25,6 +26,7 @@ import org.junit.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ReadOnlyBufferException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
@@ -386,6 +388,86 @@ public class LocalSharedDataTest extends VertxTestBase {
     assertNotSame(value, result);
   }
 
+  @Test
+  public void testOffHeapMap() {
+    LocalMap<String, Buffer> map = sharedData.getLocalMap("foo", new LocalMapOptions().setOffHeap(true).setSegmentSize(1024));
+    assertSame(map, sharedData.getLocalMap("foo"));
+    Buffer small = TestUtils.randomBuffer(100);
+    Buffer large = TestUtils.randomBuffer(4096);
+    assertNull(map.put("small", small));
+    assertNull(map.put("large", large));
+    assertEquals(2, map.size());
+    for (int i = 0;i < 64;i++) {
+      map.put("key-" + i, Buffer.buffer("value-" + i));
+    }
+    for (int i = 0;i < 64;i++) {
+      assertEquals(Buffer.buffer("value-" + i), map.get("key-" + i));
+    }
+    Buffer view = map.get("small");
+    assertEquals(small, view);
+    // Modifying the original buffer does not modify the stored value
+    small.setByte(0, (byte) (small.getByte(0) + 1));
+    assertNotEquals(small, map.get("small"));
+    assertEquals(view, map.get("small"));
+    // Views are read-only
+    try {
+      view.setByte(0, (byte) 0);
+      fail();
+    } catch (ReadOnlyBufferException ignore) {
+    }
+    assertEquals(large, map.get("large"));
+    assertTrue(map.containsValue(large));
+    assertFalse(map.replace("large", small, large));
+    assertTrue(map.replace("large", large, small));
+    assertEquals(small, map.get("large"));
+    assertTrue(map.remove("large", small));
+    assertFalse(map.containsKey("large"));
+    assertEquals(Buffer.buffer("value-0-foo"), map.merge("key-0", Buffer.buffer("-foo"), (v1, v2) -> Buffer.buffer().appendBuffer(v1).appendBuffer(v2)));
+    assertEquals(Buffer.buffer("value-0-foo"), map.get("key-0"));
+  }
+
+  @Test
+  public void testOffHeapMapCompaction() {
+    LocalMap<String, Buffer> map = sharedData.getLocalMap("foo", new LocalMapOptions().setOffHeap(true).setSegmentSize(1024));
+    Map<String, Buffer> expected = new HashMap<>();
+    Buffer first = TestUtils.randomBuffer(100);
+    map.put("key-0", first);
+    Buffer view = map.get("key-0");
+    for (int i = 0;i < 2000;i++) {
+      String key = "key-" + (i % 16);
+      Buffer value = TestUtils.randomBuffer(1 + i % 200);
+      expected.put(key, value);
+      if (i % 3 == 0) {
+        map.put(key, value);
+      } else {
+        map.compute(key, (k, v) -> value);
+      }
+      if (i % 7 == 0) {
+        map.remove(key);
+        expected.remove(key);
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    // Views remain valid after the values are moved
+    assertEquals(first, view);
+  }
+
+  @Test
+  public void testOffHeapMapInvalidValue() {
+    LocalMap<String, Object> map = sharedData.getLocalMap("foo", new LocalMapOptions().setOffHeap(true));
+    assertIllegalArgumentException(() -> map.put("foo", "bar"));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testLocalMapOptionsJson() {
+    LocalMapOptions options = new LocalMapOptions(new LocalMapOptions().setOffHeap(true).setSegmentSize(4096).toJson());
+    assertTrue(options.isOffHeap());
+    assertEquals(4096, options.getSegmentSize());
+    assertIllegalArgumentException(() -> new LocalMapOptions().setSegmentSize(0));
+  }
+
   private static class ShareableObject implements Shareable {
     private final String data;
 
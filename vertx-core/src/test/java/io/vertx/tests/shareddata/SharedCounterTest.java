@@ -11,7 +11,12 @@
 
 package io.vertx.tests.shareddata;
 
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.Counter;
+import io.vertx.core.shareddata.LocalCounter;
+import io.vertx.core.shareddata.LocalCounterOptions;
 import io.vertx.test.core.VertxTestBase;
 import org.junit.Test;
 
@@ -165,4 +170,70 @@ public class SharedCounterTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testLocalCounterSyncOperations() {
+    LocalCounter counter = vertx.sharedData().getLocalCounter("foo", new LocalCounterOptions());
+    counter.increment();
+    counter.add(5);
+    counter.decrement();
+    assertEquals(5L, counter.sum());
+    assertSame(counter, vertx.sharedData().getLocalCounter("foo", new LocalCounterOptions()));
+    vertx.sharedData().getLocalCounter("foo").onComplete(onSuccess(counter2 -> {
+      counter2.compareAndSet(5, 10).onComplete(onSuccess(res -> {
+        assertTrue(res);
+        assertEquals(10L, counter.sum());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testStripedCounter() {
+    Vertx vertx = getVertx();
+    int numContexts = 4;
+    int numAdds = 10_000;
+    LocalCounter counter = vertx.sharedData().getLocalCounter("foo", new LocalCounterOptions().setStriped(true));
+    waitFor(numContexts);
+    for (int i = 0; i < numContexts; i++) {
+      Context ctx = vertx.getOrCreateContext();
+      ctx.runOnContext(v -> {
+        for (int j = 0; j < numAdds; j++) {
+          counter.increment();
+        }
+        complete();
+      });
+    }
+    await();
+    assertEquals((long) numContexts * numAdds, counter.sum());
+  }
+
+  @Test
+  public void testStripedCounterNamespace() {
+    LocalCounter striped = vertx.sharedData().getLocalCounter("foo", new LocalCounterOptions().setStriped(true));
+    assertSame(striped, vertx.sharedData().getLocalCounter("foo", new LocalCounterOptions().setStriped(true)));
+    assertFalse(striped instanceof Counter);
+    striped.add(3);
+    LocalCounter counter = vertx.sharedData().getLocalCounter("foo", new LocalCounterOptions());
+    assertNotSame(striped, counter);
+    assertEquals(0L, counter.sum());
+    vertx.sharedData().getLocalCounter("foo").onComplete(onSuccess(counter2 -> {
+      counter2.incrementAndGet().onComplete(onSuccess(res -> {
+        assertEquals(1L, res.longValue());
+        assertEquals(1L, counter.sum());
+        assertEquals(3L, striped.sum());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testLocalCounterOptionsJson() {
+    LocalCounterOptions options = new LocalCounterOptions(new JsonObject().put("striped", true));
+    assertTrue(options.isStriped());
+    assertEquals(new JsonObject().put("striped", true), options.toJson());
+    assertFalse(new LocalCounterOptions().isStriped());
+    assertTrue(new LocalCounterOptions(options).isStriped());
+  }
 }